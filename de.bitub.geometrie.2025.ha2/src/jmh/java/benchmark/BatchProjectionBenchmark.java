@@ -0,0 +1,72 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.Point;
+import projection.BatchProjection;
+import projection.PolygonProjection;
+
+/**
+ * Projection of the outer ring of a large face stored as x, y, z arrays,
+ * vectorized against scalar. The fork resolves {@code jdk.incubator.vector},
+ * otherwise both benchmarks run the scalar loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class BatchProjectionBenchmark {
+
+	@Param({ "1024", "65536", "1048576" })
+	public int vertices;
+
+	private double[] xs, ys, zs;
+	private double[] us, vs;
+	private final double[] origin = new double[3];
+	private final double[] basisX = new double[3];
+	private final double[] basisY = new double[3];
+
+	@Setup
+	public void setup() {
+		List<Point> ring = Workloads.polygonWithHoles(vertices, 0, 0, 42).get(0);
+		PolygonProjection.fitPlane(ring, origin, new double[3], basisX, basisY);
+		xs = new double[vertices];
+		ys = new double[vertices];
+		zs = new double[vertices];
+		for (int i = 0; i < vertices; i++) {
+			xs[i] = ring.get(i).xyz[0];
+			ys[i] = ring.get(i).xyz[1];
+			zs[i] = ring.get(i).xyz[2];
+		}
+		us = new double[vertices];
+		vs = new double[vertices];
+	}
+
+	@Benchmark
+	public double[] projectVectorized() {
+		BatchProjection.project(xs, ys, zs, vertices, origin, basisX, basisY, us, vs);
+		return us;
+	}
+
+	@Benchmark
+	public double[] projectScalar() {
+		BatchProjection.projectScalar(xs, ys, zs, vertices, origin, basisX, basisY, us, vs);
+		return us;
+	}
+
+}
@@ -0,0 +1,99 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import model.Cube;
+import model.HalfEdge;
+import model.HalfEdgeUtil;
+import model.Point;
+import model.Polyhedron;
+import model.StitchReport;
+import triangulation.TriangleBuffer;
+import triangulation.TriangulationService;
+
+/**
+ * Half-edge construction, twin linking and whole-mesh triangulation on an
+ * {@code gridSize x gridSize} quad grid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HalfEdgeBenchmark {
+
+	@Param({ "16", "64", "256" })
+	public int gridSize;
+
+	private List<List<Point>> quads;
+	private Polyhedron grid;
+	private HalfEdge[] rings;
+
+	@Setup
+	public void setup() {
+		quads = Workloads.gridQuads(gridSize, Workloads.gridPoints(gridSize));
+		grid = Workloads.gridMesh(gridSize);
+		rings = grid.getHalfEdges().toArray(HalfEdge[]::new);
+	}
+
+	@Benchmark
+	public void buildPolygons(Blackhole bh) {
+		for (List<Point> quad : quads) {
+			bh.consume(HalfEdgeUtil.buildPolygon(quad));
+		}
+	}
+
+	/**
+	 * Links every quad with its right and upper neighbour, i.e. the pairwise
+	 * approach restricted to the pairs that actually share an edge.
+	 */
+	@Benchmark
+	public HalfEdge connectNeighbours() {
+		int n = gridSize;
+		for (int j = 0; j < n; j++) {
+			for (int i = 0; i < n; i++) {
+				HalfEdge quad = rings[j * n + i];
+				if (i + 1 < n) {
+					HalfEdgeUtil.connectTwoPolygons(quad, rings[j * n + i + 1]);
+				}
+				if (j + 1 < n) {
+					HalfEdgeUtil.connectTwoPolygons(quad, rings[(j + 1) * n + i]);
+				}
+			}
+		}
+		return rings[0];
+	}
+
+	@Benchmark
+	public StitchReport<HalfEdge> stitchFaces() {
+		return grid.stitchFaces();
+	}
+
+	@Benchmark
+	public TriangleBuffer triangulateMesh() {
+		return new TriangulationService().triangulate(grid);
+	}
+
+	@Benchmark
+	public void cubeConstruction(Blackhole bh) {
+		for (int i = 0; i < gridSize; i++) {
+			bh.consume(new Cube(new Point(i, 0, 0), 1));
+		}
+	}
+
+}
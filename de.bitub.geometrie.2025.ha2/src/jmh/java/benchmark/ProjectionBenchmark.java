@@ -0,0 +1,92 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.poly2tri.Poly2Tri;
+import org.poly2tri.geometry.polygon.Polygon;
+import org.poly2tri.geometry.polygon.PolygonPoint;
+
+import model.Point;
+import projection.PolygonProjection;
+import projection.ProjectionResult;
+import triangulation.EarClippingTriangulation;
+import triangulation.Poly2TriTriangulation;
+
+/**
+ * Projection and triangulation of a single polygon with holes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+	@Param({ "16", "1024", "65536" })
+	public int vertices;
+
+	@Param({ "0", "8" })
+	public int holes;
+
+	private List<List<Point>> boundaries;
+
+	private final Poly2TriTriangulation poly2tri = new Poly2TriTriangulation();
+	private final EarClippingTriangulation earClipping = new EarClippingTriangulation(poly2tri);
+
+	@Setup
+	public void setup() {
+		boundaries = Workloads.polygonWithHoles(vertices, holes, Math.max(4, vertices / 64), 42);
+	}
+
+	@Benchmark
+	public Map<PolygonPoint, Point> projectTo2D() {
+		return PolygonProjection.projectTo2D(boundaries, new ArrayList<>());
+	}
+
+	@Benchmark
+	public ProjectionResult projectTo2DIndexed() {
+		return PolygonProjection.projectTo2D(boundaries);
+	}
+
+	@Benchmark
+	public Polygon projectAndTriangulate() {
+		List<List<PolygonPoint>> points2D = new ArrayList<>();
+		PolygonProjection.projectTo2D(boundaries, points2D);
+		Polygon polygon = new Polygon(points2D.get(0));
+		for (int i = 1; i < points2D.size(); i++) {
+			polygon.addHole(new Polygon(points2D.get(i)));
+		}
+		Poly2Tri.triangulate(polygon);
+		return polygon;
+	}
+
+	/**
+	 * Ear clipping for up to {@link EarClippingTriangulation#MAX_VERTICES}
+	 * vertices without holes, poly2tri for everything else.
+	 */
+	@Benchmark
+	public int[] triangulateEarClipping() {
+		return earClipping.triangulate(boundaries);
+	}
+
+	@Benchmark
+	public int[] triangulatePoly2Tri() {
+		return poly2tri.triangulate(boundaries);
+	}
+
+}
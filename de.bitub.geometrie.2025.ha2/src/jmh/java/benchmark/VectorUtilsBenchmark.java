@@ -0,0 +1,81 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import projection.PolygonProjection.VectorUtils;
+
+/**
+ * Projection of a coordinate pool onto a plane basis with the allocating
+ * VectorUtils methods, the out-parameter variants and the pool variants. Run
+ * with {@code -prof gc} to see the bytes allocated per operation; the JIT may
+ * scalar-replace the temporary arrays of the allocating variant, add
+ * {@code -jvmArgsAppend -XX:-DoEscapeAnalysis} to see their raw cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorUtilsBenchmark {
+
+	private static final int VERTICES = 1_000_000;
+
+	private double[] pool;
+	private final double[] origin = { 1, 2, 3 };
+	private double[] basisX;
+	private double[] basisY;
+	private final double[] v = new double[3];
+
+	@Setup
+	public void setup() {
+		pool = new double[3 * VERTICES];
+		for (int i = 0; i < pool.length; i++) {
+			pool[i] = Math.sin(i) * 100;
+		}
+		basisX = VectorUtils.normalize(new double[] { 1, 1, 0 });
+		basisY = VectorUtils.normalize(new double[] { -1, 1, 1 });
+	}
+
+	@Benchmark
+	public double allocating() {
+		double sum = 0;
+		for (int i = 0; i < VERTICES; i++) {
+			double[] p = { pool[3 * i], pool[3 * i + 1], pool[3 * i + 2] };
+			double[] d = VectorUtils.subtract(p, origin);
+			sum += VectorUtils.dotProduct(d, basisX) + VectorUtils.dotProduct(d, basisY);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double outParameter() {
+		double sum = 0;
+		for (int i = 0; i < VERTICES; i++) {
+			VectorUtils.subtract(pool, i, origin, v);
+			sum += VectorUtils.dotProduct(v, basisX) + VectorUtils.dotProduct(v, basisY);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double pool() {
+		double sum = 0;
+		for (int i = 0; i < VERTICES; i++) {
+			sum += VectorUtils.projectOnto(pool, i, origin, basisX) + VectorUtils.projectOnto(pool, i, origin, basisY);
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,127 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import model.Face;
+import model.HalfEdge;
+import model.HalfEdgeUtil;
+import model.Point;
+import model.Polyhedron;
+
+/**
+ * Synthetic, reproducible inputs for the benchmarks.
+ */
+public final class Workloads {
+
+	// orthonormal basis of a tilted plane so that no projection axis is trivial
+	private static final double[] ORIGIN = { 10, 20, 30 };
+	private static final double[] AXIS_U = { 1 / Math.sqrt(2), 1 / Math.sqrt(2), 0 };
+	private static final double[] AXIS_V = { -1 / Math.sqrt(6), 1 / Math.sqrt(6), 2 / Math.sqrt(6) };
+
+	private static final double OUTER_RADIUS = 100;
+
+	private Workloads() {
+	}
+
+	/**
+	 * Creates a star-shaped polygon in a tilted plane with holes, in the form
+	 * expected by {@code PolygonProjection.projectTo2D}: the outer ring first,
+	 * then the holes in reverse orientation.
+	 *
+	 * @param vertices     number of vertices of the outer ring
+	 * @param holes        number of holes
+	 * @param holeVertices number of vertices per hole
+	 * @param seed         seed for the radial jitter of the outer ring
+	 * @return the rings of the polygon
+	 */
+	public static List<List<Point>> polygonWithHoles(int vertices, int holes, int holeVertices, long seed) {
+		Random random = new Random(seed);
+		List<List<Point>> boundaries = new ArrayList<>(holes + 1);
+
+		List<Point> outer = new ArrayList<>(vertices);
+		for (int i = 0; i < vertices; i++) {
+			double angle = 2 * Math.PI * i / vertices;
+			double r = OUTER_RADIUS * (0.9 + 0.1 * random.nextDouble());
+			outer.add(pointInPlane(r * Math.cos(angle), r * Math.sin(angle)));
+		}
+		boundaries.add(outer);
+
+		// holes on a circle of radius 50, small enough not to touch each other
+		double holeRadius = holes == 1 ? 30 : Math.min(20, 40 * Math.sin(Math.PI / holes));
+		for (int h = 0; h < holes; h++) {
+			double angle = 2 * Math.PI * h / holes;
+			double cu = holes == 1 ? 0 : 50 * Math.cos(angle);
+			double cv = holes == 1 ? 0 : 50 * Math.sin(angle);
+			List<Point> hole = new ArrayList<>(holeVertices);
+			for (int i = 0; i < holeVertices; i++) {
+				double a = 2 * Math.PI * i / holeVertices;
+				hole.add(pointInPlane(cu + holeRadius * Math.cos(a), cv + holeRadius * Math.sin(a)));
+			}
+			boundaries.add(hole.reversed());
+		}
+		return boundaries;
+	}
+
+	private static Point pointInPlane(double u, double v) {
+		return new Point(ORIGIN[0] + u * AXIS_U[0] + v * AXIS_V[0], ORIGIN[1] + u * AXIS_U[1] + v * AXIS_V[1],
+				ORIGIN[2] + u * AXIS_U[2] + v * AXIS_V[2]);
+	}
+
+	/**
+	 * Creates the shared corner points of an {@code n x n} quad grid in the
+	 * z = 0 plane, row by row.
+	 *
+	 * @param n number of quads per side
+	 * @return (n + 1)² points
+	 */
+	public static Point[] gridPoints(int n) {
+		Point[] points = new Point[(n + 1) * (n + 1)];
+		for (int j = 0; j <= n; j++) {
+			for (int i = 0; i <= n; i++) {
+				points[j * (n + 1) + i] = new Point(i, j, 0);
+			}
+		}
+		return points;
+	}
+
+	/**
+	 * Returns the counter-clockwise corner lists of the quads of an
+	 * {@code n x n} grid, quad {@code j * n + i} at column i and row j.
+	 *
+	 * @param n      number of quads per side
+	 * @param points the points from {@link #gridPoints(int)}
+	 * @return one corner list per quad
+	 */
+	public static List<List<Point>> gridQuads(int n, Point[] points) {
+		List<List<Point>> quads = new ArrayList<>(n * n);
+		for (int j = 0; j < n; j++) {
+			for (int i = 0; i < n; i++) {
+				int a = j * (n + 1) + i;
+				quads.add(List.of(points[a], points[a + 1], points[a + n + 2], points[a + n + 1]));
+			}
+		}
+		return quads;
+	}
+
+	/**
+	 * Creates an {@code n x n} quad grid as polyhedron with shared points and
+	 * without twins.
+	 *
+	 * @param n number of quads per side
+	 * @return the grid
+	 */
+	public static Polyhedron gridMesh(int n) {
+		Point[] points = gridPoints(n);
+		List<Face> faces = new ArrayList<>(n * n);
+		List<HalfEdge> halfEdges = new ArrayList<>(n * n);
+		for (List<Point> quad : gridQuads(n, points)) {
+			HalfEdge he = HalfEdgeUtil.buildPolygon(quad);
+			halfEdges.add(he);
+			faces.add(new Face(he));
+		}
+		return new Polyhedron(faces, halfEdges, new ArrayList<>(List.of(points)));
+	}
+
+}
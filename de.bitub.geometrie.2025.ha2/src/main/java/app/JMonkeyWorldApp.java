@@ -1,13 +1,33 @@
 package app;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 import com.jme3.system.AppSettings;
 
+import io.ObjReader;
+import io.OffReader;
 import jme3D.SimpleBoxPicking;
 
 public class JMonkeyWorldApp {
-	public static void main(String[] args) {
+
+	/**
+	 * @param args optional path of an OBJ or OFF model to display, optional
+	 *             {@code --instances=N} for a grid of N x N instanced cubes
+	 */
+	public static void main(String[] args) throws IOException {
 		SimpleBoxPicking app = new SimpleBoxPicking();
 
+		for (String arg : args) {
+			if (arg.startsWith("--instances=")) {
+				app.setInstanceGrid(Integer.parseInt(arg.substring("--instances=".length())));
+			} else {
+				Path file = Path.of(arg);
+				boolean off = file.getFileName().toString().toLowerCase().endsWith(".off");
+				app.setModel(off ? OffReader.read(file) : ObjReader.read(file));
+			}
+		}
+
 		// Configure before start
 		AppSettings settings = new AppSettings(true);
 		settings.setWidth(1400);
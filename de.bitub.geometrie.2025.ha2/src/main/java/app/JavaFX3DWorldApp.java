@@ -1,18 +1,46 @@
 package app;
 
+import java.nio.file.Path;
+import java.util.List;
+
+import fx3D.BVHPicker;
 import fx3D.JavaFX3DWorldGroup;
+import fx3D.LodMeshView;
+import fx3D.PolyhedronMeshConverter;
+import io.ObjReader;
+import io.OffReader;
 import javafx.application.Application;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.Box;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.Mesh;
+import javafx.scene.shape.MeshView;
 import javafx.stage.Stage;
 import javafx.stage.WindowEvent;
 import model.Cube;
+import model.MeshSimplifier;
+import model.Point;
+import model.Polyhedron;
+import model.VoxelGrid;
+import spatial.FaceBVH;
+import spatial.FaceHit;
+import triangulation.TriangleBuffer;
+import triangulation.TriangulationService;
 
 /** JavaFX Application to run the 3D example */
 public class JavaFX3DWorldApp extends Application {
 
+	/**
+	 * @param args optional path of an OBJ or OFF model to display with levels of
+	 *             detail, optional {@code --boxes=N} for a grid of N x N culled
+	 *             boxes
+	 */
 	public static void main(String[] args) {
 		launch(args);
 	}
@@ -24,15 +52,113 @@ public class JavaFX3DWorldApp extends Application {
 		JavaFX3DWorldGroup world = new JavaFX3DWorldGroup();
 		Cube c = Cube.createExampelCube();
 
-		world.getChildren().add(c.getBox()); // Add the cube to the world
+		// Render the half-edge model as one mesh
+		TriangleBuffer triangles = new TriangulationService().triangulate(c.toPolyhedron());
+		MeshView cube = PolyhedronMeshConverter.toMeshView(triangles);
+		PhongMaterial material = new PhongMaterial(Color.CORNFLOWERBLUE);
+		cube.setMaterial(material);
+		world.getChildren().add(cube); // Add the cube to the world
 //		world.getChildren().add(new MyCubeFX(2).getBox());
 
+		// Picking a face of the cube toggles its color
+		BVHPicker picker = new BVHPicker(FaceBVH.build(triangles), cube);
+		world.subScene.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
+			if (!event.isStillSincePress()) {
+				return; // the scene was rotated
+			}
+			FaceHit hit = picker.pick(world.subScene, event.getSceneX(), event.getSceneY());
+			if (hit != null) {
+				material.setDiffuseColor(
+						material.getDiffuseColor() == Color.CORNFLOWERBLUE ? Color.ORANGE : Color.CORNFLOWERBLUE);
+			}
+		});
+
+		List<String> args = getParameters().getUnnamed();
+		if (!args.isEmpty()) {
+			world.addLod(createModel(Path.of(args.get(0))));
+		}
+		String boxes = getParameters().getNamed().get("boxes");
+		if (boxes != null) {
+			addBoxGrid(world, Integer.parseInt(boxes));
+		}
+		String voxels = getParameters().getNamed().get("voxels");
+		if (voxels != null) {
+			world.getChildren().add(createVoxelBall(Integer.parseInt(voxels)));
+		}
+
 		// Set Scene and start application
 		primaryStage.setScene(world.subScene);
 		primaryStage.setOnCloseRequest(this::goodbye);
 		primaryStage.show();
 	}
 
+	/**
+	 * Loads a model and creates a view with levels of detail, switched by the
+	 * camera distance.
+	 * 
+	 * @param file an OBJ or OFF file
+	 * @return the view
+	 */
+	private LodMeshView createModel(Path file) throws Exception {
+		boolean off = file.getFileName().toString().toLowerCase().endsWith(".off");
+		Polyhedron model = off ? OffReader.read(file) : ObjReader.read(file);
+
+		List<Polyhedron> levels = MeshSimplifier.createLevels(model, 1, 0.5, 0.25, 0.1);
+		Mesh[] meshes = new Mesh[levels.size()];
+		for (int i = 0; i < meshes.length; i++) {
+			meshes[i] = PolyhedronMeshConverter.toTriangleMesh(levels.get(i));
+		}
+		LodMeshView view = new LodMeshView(meshes);
+		view.setCullFace(CullFace.NONE);
+		view.setMaterial(new PhongMaterial(Color.LIGHTGRAY));
+		view.setTranslateX(3);
+		return view;
+	}
+
+	/**
+	 * Adds a grid of boxes below the cube, boxes outside the view are hidden.
+	 * 
+	 * @param world the world
+	 * @param size  number of boxes along each side
+	 */
+	private void addBoxGrid(JavaFX3DWorldGroup world, int size) {
+		PhongMaterial material = new PhongMaterial(Color.DARKSEAGREEN);
+		double offset = (size - 1) / 2.0;
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				Box box = new Box(0.5, 0.5, 0.5);
+				box.setMaterial(material);
+				box.setTranslateX(i - offset);
+				box.setTranslateY(j - offset);
+				box.setTranslateZ(-2);
+				world.addCulled(box);
+			}
+		}
+	}
+
+	/**
+	 * Creates a voxelised ball beside the cube, rendered as one mesh of its
+	 * surface.
+	 * 
+	 * @param size number of voxels along the diameter
+	 * @return the view
+	 */
+	private MeshView createVoxelBall(int size) {
+		VoxelGrid grid = new VoxelGrid(size, size, size);
+		double r = size / 2.0;
+		for (int k = 0; k < size; k++) {
+			for (int j = 0; j < size; j++) {
+				for (int i = 0; i < size; i++) {
+					double x = i + 0.5 - r, y = j + 0.5 - r, z = k + 0.5 - r;
+					grid.set(i, j, k, x * x + y * y + z * z <= r * r);
+				}
+			}
+		}
+		MeshView view = PolyhedronMeshConverter.toMeshView(grid.toPolyhedron(new Point(-4, -1, -1), 2.0 / size));
+		view.setMaterial(new PhongMaterial(Color.SANDYBROWN));
+		return view;
+	}
+
 	/**
 	 * Good Luck! 祝你順利 !
 	 * 
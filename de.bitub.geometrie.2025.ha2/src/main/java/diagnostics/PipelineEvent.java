@@ -0,0 +1,37 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event of one pipeline stage, committed by
+ * {@link PipelineMetrics#record(PipelineStage, long, int, int)} while a
+ * recording runs, e.g. started with {@code -XX:StartFlightRecording}. The time
+ * is measured by the pipeline, so it is a field instead of the event duration.
+ */
+@Name("geometrie.PipelineStage")
+@Label("Geometry Pipeline Stage")
+@Category("Geometrie")
+@Description("Time and size of one stage of the geometry pipeline")
+@StackTrace(false)
+final class PipelineEvent extends Event {
+
+	@Label("Stage")
+	String stage;
+
+	@Label("Elapsed")
+	@Timespan(Timespan.NANOSECONDS)
+	long elapsed;
+
+	@Label("Faces")
+	int faces;
+
+	@Label("Vertices")
+	int vertices;
+
+}
@@ -0,0 +1,263 @@
+package diagnostics;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.EventType;
+
+/**
+ * Instrumentation of the geometry pipeline: every stage is timed with
+ * {@link #start()} and {@link #record(PipelineStage, long, int, int)}, which
+ * adds the time and the number of faces and vertices to in-process counters
+ * (if {@link #setEnabled(boolean) enabled}) and commits a {@link PipelineEvent}
+ * (if a flight recording runs).
+ * <p>
+ * When both are off, {@code start()} does not read the clock and
+ * {@code record} returns after one comparison, so the calls can stay in hot
+ * paths. The counters are {@link LongAdder}s and a histogram of power-of-two
+ * time buckets, safe to update from parallel streams without contention.
+ *
+ * <pre>
+ * long start = PipelineMetrics.start();
+ * // ... work ...
+ * PipelineMetrics.record(PipelineStage.TRIANGULATION, start, faces, vertices);
+ * </pre>
+ */
+public final class PipelineMetrics {
+
+	/**
+	 * Returned by {@link #start()} when nothing is recorded.
+	 */
+	public static final long NOT_TIMED = Long.MIN_VALUE;
+
+	private static final Logger LOGGER = System.getLogger(PipelineMetrics.class.getName());
+	private static final EventType EVENT_TYPE = EventType.getEventType(PipelineEvent.class);
+	private static final Map<PipelineStage, Stats> STATS = new EnumMap<>(PipelineStage.class);
+	private static volatile boolean enabled;
+
+	static {
+		for (PipelineStage stage : PipelineStage.values()) {
+			STATS.put(stage, new Stats());
+		}
+	}
+
+	private PipelineMetrics() {
+	}
+
+	/**
+	 * Switches the in-process counters on or off; flight recorder events do not
+	 * depend on this.
+	 *
+	 * @param enabled true to count
+	 */
+	public static void setEnabled(boolean enabled) {
+		PipelineMetrics.enabled = enabled;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return the start time of a stage, or {@link #NOT_TIMED} if neither the
+	 *         counters nor the flight recorder event are enabled
+	 */
+	public static long start() {
+		return enabled || EVENT_TYPE.isEnabled() ? System.nanoTime() : NOT_TIMED;
+	}
+
+	/**
+	 * Records a stage started with {@link #start()}.
+	 *
+	 * @param stage    the stage
+	 * @param start    the value returned by {@link #start()}
+	 * @param faces    the number of faces processed
+	 * @param vertices the number of vertices processed
+	 */
+	public static void record(PipelineStage stage, long start, int faces, int vertices) {
+		if (start == NOT_TIMED) {
+			return;
+		}
+		long elapsed = System.nanoTime() - start;
+		if (enabled) {
+			STATS.get(stage).add(elapsed, faces, vertices);
+		}
+		if (EVENT_TYPE.isEnabled()) {
+			PipelineEvent event = new PipelineEvent();
+			if (event.shouldCommit()) {
+				event.stage = stage.name();
+				event.elapsed = elapsed;
+				event.faces = faces;
+				event.vertices = vertices;
+				event.commit();
+			}
+		}
+	}
+
+	/**
+	 * Records an input a stage could not process, e.g. a face poly2tri rejects:
+	 * counts it (if enabled) and logs it at {@link Level#DEBUG}.
+	 *
+	 * @param stage the stage
+	 * @param cause the exception thrown for the input
+	 */
+	public static void recordFailure(PipelineStage stage, RuntimeException cause) {
+		if (enabled) {
+			STATS.get(stage).failures.increment();
+		}
+		LOGGER.log(Level.DEBUG, () -> stage + " failed: " + cause);
+	}
+
+	/**
+	 * @param stage the stage
+	 * @return the live counters of the stage
+	 */
+	public static Stats get(PipelineStage stage) {
+		return STATS.get(stage);
+	}
+
+	/**
+	 * Clears the counters of all stages.
+	 */
+	public static void reset() {
+		for (Stats stats : STATS.values()) {
+			stats.reset();
+		}
+	}
+
+	/**
+	 * Counters of one stage. Values read while other threads record may be
+	 * slightly inconsistent with each other.
+	 */
+	public static final class Stats {
+
+		/**
+		 * Number of histogram buckets; bucket {@code i > 0} counts times from
+		 * {@code 2^(i-1)} to {@code 2^i - 1} nanoseconds.
+		 */
+		public static final int BUCKETS = 64;
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+		private final LongAdder faces = new LongAdder();
+		private final LongAdder vertices = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+		private Stats() {
+		}
+
+		private void add(long elapsed, int faceCount, int vertexCount) {
+			long time = Math.max(elapsed, 0);
+			count.increment();
+			nanos.add(time);
+			maxNanos.accumulate(time);
+			faces.add(faceCount);
+			vertices.add(vertexCount);
+			histogram.incrementAndGet(bucket(time));
+		}
+
+		static int bucket(long nanos) {
+			return 64 - Long.numberOfLeadingZeros(nanos);
+		}
+
+		private void reset() {
+			count.reset();
+			nanos.reset();
+			maxNanos.reset();
+			faces.reset();
+			vertices.reset();
+			failures.reset();
+			for (int i = 0; i < BUCKETS; i++) {
+				histogram.set(i, 0);
+			}
+		}
+
+		/**
+		 * @return the number of recorded runs
+		 */
+		public long getCount() {
+			return count.sum();
+		}
+
+		public long getTotalNanos() {
+			return nanos.sum();
+		}
+
+		public long getMaxNanos() {
+			return maxNanos.get();
+		}
+
+		/**
+		 * @return the faces of all runs
+		 */
+		public long getFaces() {
+			return faces.sum();
+		}
+
+		/**
+		 * @return the vertices of all runs
+		 */
+		public long getVertices() {
+			return vertices.sum();
+		}
+
+		/**
+		 * @return the inputs recorded with {@link PipelineMetrics#recordFailure}
+		 */
+		public long getFailures() {
+			return failures.sum();
+		}
+
+		/**
+		 * @return a copy of the histogram, see {@link #BUCKETS}
+		 */
+		public long[] getHistogram() {
+			long[] copy = new long[BUCKETS];
+			for (int i = 0; i < BUCKETS; i++) {
+				copy[i] = histogram.get(i);
+			}
+			return copy;
+		}
+
+		/**
+		 * Estimates a percentile from the histogram.
+		 *
+		 * @param fraction the fraction of runs, e.g. 0.99
+		 * @return the upper bound of the bucket containing the percentile in
+		 *         nanoseconds, 0 if nothing was recorded
+		 */
+		public long getPercentileNanos(double fraction) {
+			long[] buckets = getHistogram();
+			long total = 0;
+			for (long b : buckets) {
+				total += b;
+			}
+			long rank = (long) Math.ceil(fraction * total);
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += buckets[i];
+				if (seen >= rank && seen > 0) {
+					return i == 0 ? 0 : (1L << i) - 1;
+				}
+			}
+			return 0;
+		}
+
+		@Override
+		public String toString() {
+			long n = getCount();
+			return String.format("count=%d, mean=%.3f ms, p99<=%.3f ms, max=%.3f ms, faces=%d, vertices=%d", n,
+					n == 0 ? 0 : getTotalNanos() / 1e6 / n, getPercentileNanos(0.99) / 1e6, getMaxNanos() / 1e6,
+					getFaces(), getVertices());
+		}
+
+	}
+
+}
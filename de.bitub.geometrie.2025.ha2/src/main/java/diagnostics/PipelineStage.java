@@ -0,0 +1,38 @@
+package diagnostics;
+
+/**
+ * Stages of the geometry pipeline recorded by {@link PipelineMetrics}.
+ */
+public enum PipelineStage {
+
+	/**
+	 * Reading a mesh file into a polyhedron.
+	 */
+	IMPORT,
+
+	/**
+	 * Building or linking half-edges, e.g. stitching faces or generating voxels.
+	 */
+	HALF_EDGE_BUILD,
+
+	/**
+	 * Projecting the rings of one face into its plane.
+	 */
+	PROJECTION,
+
+	/**
+	 * Triangulating the faces of a polyhedron.
+	 */
+	TRIANGULATION,
+
+	/**
+	 * Converting triangles into a JavaFX or jME mesh.
+	 */
+	MESH_CONVERSION,
+
+	/**
+	 * Editing a face ring.
+	 */
+	EDIT
+
+}
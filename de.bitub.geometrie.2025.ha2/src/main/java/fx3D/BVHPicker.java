@@ -0,0 +1,74 @@
+package fx3D;
+
+import javafx.geometry.Point3D;
+import javafx.scene.Camera;
+import javafx.scene.Node;
+import javafx.scene.PerspectiveCamera;
+import javafx.scene.Scene;
+import spatial.FaceBVH;
+import spatial.FaceHit;
+
+/**
+ * Picks faces of a {@link FaceBVH} displayed by a node, instead of relying on
+ * the per-node picking of JavaFX. The ray is transformed into the local
+ * coordinates of the node, so the hierarchy does not need to be rebuilt when
+ * the node or the scene root is transformed.
+ */
+public class BVHPicker {
+
+	private final FaceBVH bvh;
+	private final Node target;
+
+	/**
+	 * @param bvh    hierarchy in the local coordinates of {@code target}
+	 * @param target the node showing the triangles of the hierarchy
+	 */
+	public BVHPicker(FaceBVH bvh, Node target) {
+		this.bvh = bvh;
+		this.target = target;
+	}
+
+	/**
+	 * Casts a ray from the camera of a scene through a scene position, e.g. the
+	 * position of a mouse event.
+	 *
+	 * @param scene  the scene, its camera must be a {@link PerspectiveCamera} with
+	 *               the eye at the camera origin
+	 * @param sceneX x-coordinate in the scene
+	 * @param sceneY y-coordinate in the scene
+	 * @return the closest face hit or null
+	 */
+	public FaceHit pick(Scene scene, double sceneX, double sceneY) {
+		Camera camera = scene.getCamera();
+		if (!(camera instanceof PerspectiveCamera perspective) || !perspective.isFixedEyeAtCameraZero()) {
+			throw new IllegalArgumentException("Picking needs a PerspectiveCamera with fixed eye at camera zero");
+		}
+		double width = scene.getWidth();
+		double height = scene.getHeight();
+		double tan = Math.tan(Math.toRadians(perspective.getFieldOfView()) / 2);
+		double halfWidth = perspective.isVerticalFieldOfView() ? tan * width / height : tan;
+		double halfHeight = perspective.isVerticalFieldOfView() ? tan : tan * height / width;
+
+		// camera space: looking along +z, x to the right, y down
+		Point3D direction = new Point3D((2 * sceneX / width - 1) * halfWidth, (2 * sceneY / height - 1) * halfHeight,
+				1);
+		Point3D origin = camera.localToScene(Point3D.ZERO);
+		Point3D through = camera.localToScene(direction);
+		return pick(origin, through.subtract(origin).normalize());
+	}
+
+	/**
+	 * Casts a ray given in scene coordinates.
+	 *
+	 * @param origin    the ray origin
+	 * @param direction the ray direction
+	 * @return the closest face hit or null; the distance is measured along the
+	 *         scene ray, the point is in the local coordinates of the target
+	 */
+	public FaceHit pick(Point3D origin, Point3D direction) {
+		Point3D o = target.sceneToLocal(origin);
+		Point3D d = target.sceneToLocal(origin.add(direction)).subtract(o);
+		return bvh.raycast(o.getX(), o.getY(), o.getZ(), d.getX(), d.getY(), d.getZ(), Double.POSITIVE_INFINITY);
+	}
+
+}
@@ -0,0 +1,175 @@
+package fx3D;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.beans.InvalidationListener;
+import javafx.geometry.Bounds;
+import javafx.scene.Camera;
+import javafx.scene.Node;
+import javafx.scene.PerspectiveCamera;
+import javafx.scene.transform.NonInvertibleTransformException;
+import javafx.scene.transform.Transform;
+
+/**
+ * Hides nodes outside the view frustum of a {@link PerspectiveCamera}, so
+ * JavaFX neither renders nor picks them.
+ * <p>
+ * Every node is approximated by the bounding sphere of its bounds in the parent
+ * (the space node, e.g. the world group). The spheres are cached and only read
+ * again after a node was moved or resized; a frustum test then transforms the
+ * sphere centers with one matrix from the space into the camera, so culling
+ * costs a few multiplications per node and no scene graph queries.
+ */
+public class FrustumCuller {
+
+	private final List<Node> nodes = new ArrayList<>();
+	// center x, y, z and radius per node, in the parent of the nodes
+	private double[] spheres = new double[4 * 16];
+	private boolean boundsDirty;
+	private int visibleCount;
+
+	private final InvalidationListener boundsListener = observable -> boundsDirty = true;
+
+	/**
+	 * Tracks a node. The node must be a child of the space passed to
+	 * {@link #update(Camera, Node, double, double)}.
+	 *
+	 * @param node the node
+	 */
+	public void add(Node node) {
+		nodes.add(node);
+		node.boundsInParentProperty().addListener(boundsListener);
+		boundsDirty = true;
+	}
+
+	/**
+	 * Stops tracking a node and shows it again.
+	 *
+	 * @param node the node
+	 */
+	public void remove(Node node) {
+		if (nodes.remove(node)) {
+			node.boundsInParentProperty().removeListener(boundsListener);
+			node.setVisible(true);
+			boundsDirty = true;
+		}
+	}
+
+	/**
+	 * @return true if a tracked node was added, moved or resized since the last
+	 *         update
+	 */
+	public boolean isDirty() {
+		return boundsDirty;
+	}
+
+	public int getNodeCount() {
+		return nodes.size();
+	}
+
+	/**
+	 * @return the number of nodes shown by the last update
+	 */
+	public int getVisibleCount() {
+		return visibleCount;
+	}
+
+	private void readBounds() {
+		if (spheres.length < 4 * nodes.size()) {
+			spheres = Arrays.copyOf(spheres, 4 * nodes.size());
+		}
+		for (int i = 0; i < nodes.size(); i++) {
+			Bounds b = nodes.get(i).getBoundsInParent();
+			double w = b.getWidth(), h = b.getHeight(), d = b.getDepth();
+			spheres[4 * i] = (b.getMinX() + b.getMaxX()) / 2;
+			spheres[4 * i + 1] = (b.getMinY() + b.getMaxY()) / 2;
+			spheres[4 * i + 2] = (b.getMinZ() + b.getMaxZ()) / 2;
+			spheres[4 * i + 3] = b.isEmpty() ? 0 : Math.sqrt(w * w + h * h + d * d) / 2;
+		}
+		boundsDirty = false;
+	}
+
+	/**
+	 * Shows the nodes intersecting the view frustum and hides the others. Nodes
+	 * stay visible if the camera is not a {@link PerspectiveCamera} with the eye
+	 * at its origin.
+	 *
+	 * @param camera the camera
+	 * @param space  the parent of the tracked nodes
+	 * @param width  width of the viewport
+	 * @param height height of the viewport
+	 * @return the number of visible nodes
+	 */
+	public int update(Camera camera, Node space, double width, double height) {
+		if (boundsDirty) {
+			readBounds();
+		}
+		Transform toCamera = null;
+		if (camera instanceof PerspectiveCamera perspective && perspective.isFixedEyeAtCameraZero() && width > 0
+				&& height > 0) {
+			try {
+				toCamera = camera.getLocalToSceneTransform().createInverse()
+						.createConcatenation(space.getLocalToSceneTransform());
+			} catch (NonInvertibleTransformException e) {
+				toCamera = null;
+			}
+		}
+		if (toCamera == null) {
+			for (Node node : nodes) {
+				setVisible(node, true);
+			}
+			boundsDirty = false;
+			return visibleCount = nodes.size();
+		}
+
+		PerspectiveCamera perspective = (PerspectiveCamera) camera;
+		double aspect = width / height;
+		double tan = Math.tan(Math.toRadians(perspective.getFieldOfView()) / 2);
+		double tanV = perspective.isVerticalFieldOfView() ? tan : tan / aspect;
+		double tanH = tanV * aspect;
+		double normH = Math.sqrt(1 + tanH * tanH);
+		double normV = Math.sqrt(1 + tanV * tanV);
+		double near = camera.getNearClip();
+		double far = camera.getFarClip();
+
+		double mxx = toCamera.getMxx(), mxy = toCamera.getMxy(), mxz = toCamera.getMxz(), tx = toCamera.getTx();
+		double myx = toCamera.getMyx(), myy = toCamera.getMyy(), myz = toCamera.getMyz(), ty = toCamera.getTy();
+		double mzx = toCamera.getMzx(), mzy = toCamera.getMzy(), mzz = toCamera.getMzz(), tz = toCamera.getTz();
+		// radii grow with the largest scale of the transform
+		double scale = Math.sqrt(Math.max(mxx * mxx + myx * myx + mzx * mzx,
+				Math.max(mxy * mxy + myy * myy + mzy * mzy, mxz * mxz + myz * myz + mzz * mzz)));
+
+		int visible = 0;
+		for (int i = 0; i < nodes.size(); i++) {
+			double sx = spheres[4 * i], sy = spheres[4 * i + 1], sz = spheres[4 * i + 2];
+			double r = spheres[4 * i + 3] * scale;
+			// camera space: looking along +z, x to the right, y down
+			double x = mxx * sx + mxy * sy + mxz * sz + tx;
+			double y = myx * sx + myy * sy + myz * sz + ty;
+			double z = mzx * sx + mzy * sy + mzz * sz + tz;
+			boolean inside = z + r >= near && z - r <= far && (x - z * tanH) / normH <= r
+					&& (-x - z * tanH) / normH <= r && (y - z * tanV) / normV <= r && (-y - z * tanV) / normV <= r;
+			Node node = nodes.get(i);
+			setVisible(node, inside);
+			if (inside) {
+				visible++;
+			}
+		}
+		boundsDirty = false;
+		return visibleCount = visible;
+	}
+
+	/**
+	 * Changing the visibility invalidates the bounds without changing them; they
+	 * are validated again, so the listener reports the next real change.
+	 */
+	private static void setVisible(Node node, boolean visible) {
+		if (node.isVisible() != visible) {
+			node.setVisible(visible);
+			node.getBoundsInParent();
+		}
+	}
+
+}
@@ -1,6 +1,12 @@
 package fx3D;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.InvalidationListener;
 import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.PerspectiveCamera;
 import javafx.scene.Scene;
 import javafx.scene.SceneAntialiasing;
@@ -16,6 +22,12 @@ import javafx.scene.transform.Translate;
  * JavaFX 3D world with interactive camera controls and coordinate system.
  * Features: - Mouse drag: Rotate the scene around X and Y axes - Mouse scroll:
  * Zoom in/out along Z axis - Coordinate axes: Red (X), Green (Y), Blue (Z)
+ * <p>
+ * Mouse events only record the wanted view; it is applied once per pulse, so
+ * many drag events between two frames cause one transform update. After a
+ * view change, objects added with {@link #addCulled(Node)} outside the view
+ * frustum are hidden and level of detail views are updated. The timer for
+ * the update runs only while a view change or a moved object is pending.
  */
 public class JavaFX3DWorldGroup extends Group {
 
@@ -37,6 +49,24 @@ public class JavaFX3DWorldGroup extends Group {
 	private final Rotate rotateY = new Rotate(0, Rotate.Z_AXIS);
 	private final Translate translateZ = new Translate(0, 0, INITIAL_CAMERA_DISTANCE);
 
+	// Wanted view, applied at most once per pulse
+	private double pendingAngleX = 0;
+	private double pendingAngleY = 0;
+	private double pendingZ = INITIAL_CAMERA_DISTANCE;
+	private boolean viewDirty = true;
+
+	// Culled objects and level of detail views, updated when the view changes
+	private final FrustumCuller culler = new FrustumCuller();
+	private final List<LodMeshView> lodViews = new ArrayList<>();
+	private final AnimationTimer pulse = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			updateView();
+		}
+	};
+	// starts the timer when a culled object moves, the culler only marks itself dirty
+	private final InvalidationListener culledMoved = o -> pulse.start();
+
 	public Scene subScene;
 
 	public JavaFX3DWorldGroup() {
@@ -70,6 +100,9 @@ public class JavaFX3DWorldGroup extends Group {
 		scene.setOnMousePressed(this::handleMousePressed);
 		scene.setOnMouseDragged(this::handleMouseDragged);
 		scene.setOnScroll(this::handleScroll);
+		scene.widthProperty().addListener(o -> requestView());
+		scene.heightProperty().addListener(o -> requestView());
+		pulse.start();
 
 		return scene;
 	}
@@ -110,6 +143,82 @@ public class JavaFX3DWorldGroup extends Group {
 		return axis;
 	}
 
+	/**
+	 * Adds a level of detail view to the world; its level follows the camera
+	 * distance from the next frame on.
+	 * 
+	 * @param view the view
+	 */
+	public void addLod(LodMeshView view) {
+		getChildren().add(view);
+		lodViews.add(view);
+		requestView();
+	}
+
+	/**
+	 * Adds an object that is hidden while it is outside the view frustum.
+	 * 
+	 * @param node the object
+	 */
+	public void addCulled(Node node) {
+		getChildren().add(node);
+		culler.add(node);
+		node.boundsInParentProperty().addListener(culledMoved);
+		pulse.start();
+	}
+
+	/**
+	 * Removes an object added with {@link #addCulled(Node)}.
+	 * 
+	 * @param node the object
+	 */
+	public void removeCulled(Node node) {
+		node.boundsInParentProperty().removeListener(culledMoved);
+		culler.remove(node);
+		getChildren().remove(node);
+		pulse.start();
+	}
+
+	/**
+	 * @return the number of culled objects visible after the last view update
+	 */
+	public int getVisibleCount() {
+		return culler.getVisibleCount();
+	}
+
+	/**
+	 * Marks the view as changed and schedules its update for the next pulse.
+	 */
+	private void requestView() {
+		viewDirty = true;
+		pulse.start();
+	}
+
+	/**
+	 * Applies the wanted view, then culls the objects and updates the level of
+	 * detail views if the view or an object changed. Stops the timer, the next
+	 * change starts it again.
+	 */
+	private void updateView() {
+		pulse.stop();
+		boolean cullerDirty = culler.isDirty();
+		if (!viewDirty && !cullerDirty) {
+			return;
+		}
+		if (viewDirty) {
+			rotateX.setAngle(pendingAngleX);
+			rotateY.setAngle(pendingAngleY);
+			translateZ.setZ(pendingZ);
+		}
+		culler.update(subScene.getCamera(), this, subScene.getWidth(), subScene.getHeight());
+		if (viewDirty) {
+			for (LodMeshView view : lodViews) {
+				view.update(subScene.getCamera());
+			}
+		}
+		viewDirty = false;
+	}
+
 	/**
 	 * Handles mouse scroll for zoom in/out functionality
 	 * 
@@ -117,7 +226,8 @@ public class JavaFX3DWorldGroup extends Group {
 	 */
 	private void handleScroll(ScrollEvent event) {
 		double deltaZ = event.getDeltaY() * SCROLL_SPEED;
-		translateZ.setZ(translateZ.getZ() + deltaZ);
+		pendingZ += deltaZ;
+		requestView();
 	}
 
 	/**
@@ -129,12 +239,12 @@ public class JavaFX3DWorldGroup extends Group {
 	private void handleMousePressed(MouseEvent event) {
 		anchorX = event.getSceneX();
 		anchorY = event.getSceneY();
-		anchorAngleX = rotateX.getAngle();
-		anchorAngleY = rotateY.getAngle();
+		anchorAngleX = pendingAngleX;
+		anchorAngleY = pendingAngleY;
 	}
 
 	/**
-	 * Handles mouse drag - updates scene rotation based on mouse movement
+	 * Handles mouse drag - records the scene rotation for the next pulse
 	 * 
 	 * @param event mouse drag event
 	 */
@@ -144,7 +254,8 @@ public class JavaFX3DWorldGroup extends Group {
 
 		// Update rotations: Y-mouse movement affects X-axis rotation (pitch)
 		// X-mouse movement affects Y-axis rotation (yaw)
-		rotateX.setAngle(anchorAngleX - deltaY);
-		rotateY.setAngle(anchorAngleY + deltaX);
+		pendingAngleX = anchorAngleX - deltaY;
+		pendingAngleY = anchorAngleY + deltaX;
+		requestView();
 	}
 }
\ No newline at end of file
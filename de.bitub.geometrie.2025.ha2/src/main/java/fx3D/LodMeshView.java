@@ -0,0 +1,99 @@
+package fx3D;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.Point3D;
+import javafx.scene.Camera;
+import javafx.scene.shape.Mesh;
+import javafx.scene.shape.MeshView;
+
+/**
+ * Mesh view that switches between levels of detail by the distance of the
+ * camera, e.g. with levels created by
+ * {@link model.MeshSimplifier#createLevels(model.Polyhedron, double...)} and
+ * converted with {@link PolyhedronMeshConverter}. JavaFX has no per-frame hook
+ * for nodes, so {@link #update(Camera)} is called by the world, see
+ * {@link JavaFX3DWorldGroup#addLod(LodMeshView)}.
+ */
+public class LodMeshView extends MeshView {
+
+	private final Mesh[] levels;
+	// null until the first use if the defaults are taken from the bounds
+	private double[] distances;
+	private int level;
+
+	/**
+	 * Uses level {@code i} from a distance of {@code 2^i} times the diagonal of
+	 * the finest level on.
+	 *
+	 * @param levels the meshes, finest first
+	 */
+	public LodMeshView(Mesh... levels) {
+		this(levels, null);
+	}
+
+	/**
+	 * @param levels    the meshes, finest first
+	 * @param distances the distance from which level {@code i + 1} is used, one
+	 *                  less than levels, increasing
+	 */
+	public LodMeshView(Mesh[] levels, double[] distances) {
+		super(levels.length > 0 ? levels[0] : null);
+		if (levels.length == 0 || (distances != null && distances.length != levels.length - 1)) {
+			throw new IllegalArgumentException("Need one distance less than levels");
+		}
+		this.levels = levels;
+		this.distances = distances;
+	}
+
+	private static double[] defaultDistances(Bounds bounds, int count) {
+		double size = Math.max(
+				Math.sqrt(bounds.getWidth() * bounds.getWidth() + bounds.getHeight() * bounds.getHeight()
+						+ bounds.getDepth() * bounds.getDepth()), 1e-3);
+		double[] distances = new double[count - 1];
+		for (int i = 0; i < distances.length; i++) {
+			distances[i] = size * (2 << i);
+		}
+		return distances;
+	}
+
+	/**
+	 * @param distance the distance of the camera
+	 * @return the level used at the distance
+	 */
+	public int levelAt(double distance) {
+		if (distances == null) {
+			// not in the constructor, the bounds are read from a view under construction
+			distances = defaultDistances(getBoundsInLocal(), levels.length);
+		}
+		int i = 0;
+		while (i < distances.length && distance >= distances[i]) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Shows the level for the current distance between the camera and the center
+	 * of this view, both in scene coordinates.
+	 *
+	 * @param camera the camera of the scene
+	 */
+	public void update(Camera camera) {
+		Bounds bounds = getBoundsInLocal();
+		Point3D center = localToScene(new Point3D((bounds.getMinX() + bounds.getMaxX()) / 2,
+				(bounds.getMinY() + bounds.getMaxY()) / 2, (bounds.getMinZ() + bounds.getMaxZ()) / 2));
+		int wanted = levelAt(camera.localToScene(Point3D.ZERO).distance(center));
+		if (wanted != level) {
+			level = wanted;
+			setMesh(levels[level]);
+		}
+	}
+
+	/**
+	 * @return the level currently shown
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+}
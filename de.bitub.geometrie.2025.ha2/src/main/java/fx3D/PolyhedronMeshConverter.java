@@ -0,0 +1,202 @@
+package fx3D;
+
+import diagnostics.PipelineMetrics;
+import diagnostics.PipelineStage;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import model.Polyhedron;
+import triangulation.IncrementalTriangulator;
+import triangulation.TriangleBuffer;
+import triangulation.TriangulationService;
+
+/**
+ * Converts a {@link Polyhedron} into one JavaFX {@link TriangleMesh}, so a
+ * model is rendered by a single {@link MeshView} instead of one
+ * {@code Shape3D} per face.
+ * <p>
+ * The faces (with holes) are triangulated by the {@link TriangulationService}.
+ * Points, texture coordinates, faces and smoothing groups are filled with one
+ * bulk {@code setAll} each. The points are shared between faces; every face
+ * gets a smoothing group that no face touching it uses, so JavaFX smooths the
+ * normals inside a face but keeps the edges between faces sharp. Triangle
+ * {@code t} of the mesh is triangle {@code t} of the triangle buffer, so
+ * {@link TriangleBuffer#getFaceIds()} maps picked triangles to faces.
+ */
+public final class PolyhedronMeshConverter {
+
+	private PolyhedronMeshConverter() {
+	}
+
+	/**
+	 * Triangulates and converts a polyhedron.
+	 *
+	 * @param polyhedron the polyhedron
+	 * @return the mesh
+	 */
+	public static TriangleMesh toTriangleMesh(Polyhedron polyhedron) {
+		return toTriangleMesh(new TriangulationService().triangulate(polyhedron));
+	}
+
+	/**
+	 * Converts triangulated faces.
+	 *
+	 * @param buffer the triangles of the faces, stored face by face
+	 * @return the mesh
+	 */
+	public static TriangleMesh toTriangleMesh(TriangleBuffer buffer) {
+		long time = PipelineMetrics.start();
+		double[] pool = buffer.getPositions();
+		int[] indices = buffer.getIndices();
+
+		float[] points = new float[3 * buffer.getVertexCount()];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = (float) pool[i];
+		}
+
+		// the mesh has no texture, all corners use texture coordinate 0
+		int[] faces = new int[2 * indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			faces[2 * i] = indices[i];
+		}
+
+		TriangleMesh mesh = new TriangleMesh();
+		mesh.getPoints().setAll(points);
+		mesh.getTexCoords().setAll(0, 0);
+		mesh.getFaces().setAll(faces);
+		mesh.getFaceSmoothingGroups().setAll(smoothingGroups(buffer));
+		PipelineMetrics.record(PipelineStage.MESH_CONVERSION, time, buffer.getFaceCount(), buffer.getVertexCount());
+		return mesh;
+	}
+
+	/**
+	 * Converts the slots of an incremental triangulation, including the
+	 * degenerate padding, so the triangles of a face keep their place in the mesh
+	 * while it is edited, see {@link #update(TriangleMesh, IncrementalTriangulator)}.
+	 * Faces are planar, so all triangles are shaded flat (smoothing group 0).
+	 *
+	 * @param triangulator the triangulation
+	 * @return the mesh
+	 */
+	public static TriangleMesh toTriangleMesh(IncrementalTriangulator triangulator) {
+		TriangleMesh mesh = new TriangleMesh();
+		mesh.getTexCoords().setAll(0, 0);
+		fill(mesh, triangulator);
+		triangulator.clearDirty();
+		return mesh;
+	}
+
+	/**
+	 * Copies the slots and vertices written by
+	 * {@link IncrementalTriangulator#update()} into a mesh created by
+	 * {@link #toTriangleMesh(IncrementalTriangulator)}. Only these ranges are set,
+	 * so JavaFX only uploads them; the whole mesh is refilled if the triangulation
+	 * grew.
+	 *
+	 * @param mesh         the mesh
+	 * @param triangulator the triangulation
+	 */
+	public static void update(TriangleMesh mesh, IncrementalTriangulator triangulator) {
+		if (triangulator.isResized()) {
+			fill(mesh, triangulator);
+		} else {
+			double[] pool = triangulator.getPositions();
+			int from = triangulator.getDirtyVertexFrom();
+			int to = triangulator.getDirtyVertexTo();
+			if (from < to) {
+				float[] points = new float[3 * (to - from)];
+				for (int i = 0; i < points.length; i++) {
+					points[i] = (float) pool[3 * from + i];
+				}
+				mesh.getPoints().set(3 * from, points, 0, points.length);
+			}
+
+			int[] indices = triangulator.getIndices();
+			from = triangulator.getDirtySlotFrom();
+			to = triangulator.getDirtySlotTo();
+			if (from < to) {
+				int[] faces = new int[6 * (to - from)];
+				for (int i = 0; i < 3 * (to - from); i++) {
+					faces[2 * i] = indices[3 * from + i];
+				}
+				mesh.getFaces().set(6 * from, faces, 0, faces.length);
+			}
+		}
+		triangulator.clearDirty();
+	}
+
+	private static void fill(TriangleMesh mesh, IncrementalTriangulator triangulator) {
+		double[] pool = triangulator.getPositions();
+		float[] points = new float[3 * triangulator.getVertexCount()];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = (float) pool[i];
+		}
+		int[] indices = triangulator.getIndices();
+		int[] faces = new int[6 * triangulator.getSlotCount()];
+		for (int i = 0; i < faces.length / 2; i++) {
+			faces[2 * i] = indices[i];
+		}
+		mesh.getPoints().setAll(points);
+		mesh.getFaces().setAll(faces);
+		mesh.getFaceSmoothingGroups().setAll(new int[triangulator.getSlotCount()]);
+	}
+
+	/**
+	 * Assigns one smoothing group bit per face, greedily choosing the lowest bit
+	 * not used by a face sharing a point. If all 32 bits are taken around a face
+	 * it gets no group and every triangle is shaded flat, which only differs for
+	 * faces that are not planar.
+	 *
+	 * @param buffer the triangles of the faces
+	 * @return the smoothing group of every triangle
+	 */
+	static int[] smoothingGroups(TriangleBuffer buffer) {
+		int[] indices = buffer.getIndices();
+		int[] groups = new int[buffer.getTriangleCount()];
+		// the groups of all faces using a point
+		int[] used = new int[buffer.getVertexCount()];
+
+		for (int f = 0; f < buffer.getFaceCount(); f++) {
+			int start = buffer.getFaceTriangleStart(f);
+			int end = buffer.getFaceTriangleStart(f + 1);
+			int taken = 0;
+			for (int i = 3 * start; i < 3 * end; i++) {
+				taken |= used[indices[i]];
+			}
+			int group = Integer.lowestOneBit(~taken);
+			for (int i = 3 * start; i < 3 * end; i++) {
+				used[indices[i]] |= group;
+			}
+			for (int t = start; t < end; t++) {
+				groups[t] = group;
+			}
+		}
+		return groups;
+	}
+
+	/**
+	 * Triangulates a polyhedron and wraps the mesh in a view. The model is
+	 * right-handed while JavaFX is y-down, so the faces appear mirrored to JavaFX
+	 * and back face culling is switched off.
+	 *
+	 * @param polyhedron the polyhedron
+	 * @return the mesh view
+	 */
+	public static MeshView toMeshView(Polyhedron polyhedron) {
+		return toMeshView(new TriangulationService().triangulate(polyhedron));
+	}
+
+	/**
+	 * Wraps the mesh of triangulated faces in a view, see
+	 * {@link #toMeshView(Polyhedron)}.
+	 *
+	 * @param buffer the triangles of the faces, stored face by face
+	 * @return the mesh view
+	 */
+	public static MeshView toMeshView(TriangleBuffer buffer) {
+		MeshView view = new MeshView(toTriangleMesh(buffer));
+		view.setCullFace(CullFace.NONE);
+		return view;
+	}
+
+}
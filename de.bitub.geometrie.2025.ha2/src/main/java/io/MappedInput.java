@@ -0,0 +1,324 @@
+package io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Byte-wise reader over a memory-mapped file. The file is mapped in windows of
+ * at most {@link #WINDOW} bytes, so the heap use does not depend on the file
+ * size. Numbers are parsed directly from the bytes; only numbers outside the
+ * exact fast path go through {@link Double#parseDouble(String)}.
+ * <p>
+ * Blanks are spaces, tabs and carriage returns; lines end with {@code '\n'}.
+ */
+final class MappedInput implements Closeable {
+
+	/**
+	 * Size of one mapped window.
+	 */
+	static final long WINDOW = 1L << 28;
+
+	private static final double[] POW10 = new double[23];
+	static {
+		POW10[0] = 1;
+		for (int i = 1; i < POW10.length; i++) {
+			POW10[i] = POW10[i - 1] * 10;
+		}
+	}
+
+	private final Path path;
+	private final FileChannel channel;
+	private final long size;
+	private final long window;
+	private MappedByteBuffer buffer;
+	private long base;
+	private int line = 1;
+
+	// characters of the current number, only used for the slow path
+	private char[] token = new char[32];
+	private int tokenLength;
+
+	MappedInput(Path path) throws IOException {
+		this(path, WINDOW);
+	}
+
+	MappedInput(Path path, long window) throws IOException {
+		this.path = path;
+		this.window = window;
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.size = channel.size();
+		map(0);
+	}
+
+	private void map(long position) throws IOException {
+		base = position;
+		buffer = channel.map(MapMode.READ_ONLY, position, Math.min(window, size - position));
+	}
+
+	/**
+	 * @return the next byte without consuming it, -1 at the end of the file
+	 */
+	int peek() throws IOException {
+		if (!buffer.hasRemaining()) {
+			long next = base + buffer.limit();
+			if (next >= size) {
+				return -1;
+			}
+			map(next);
+		}
+		return buffer.get(buffer.position()) & 0xff;
+	}
+
+	/**
+	 * @return the next byte, -1 at the end of the file
+	 */
+	int read() throws IOException {
+		int c = peek();
+		if (c >= 0) {
+			buffer.position(buffer.position() + 1);
+			if (c == '\n') {
+				line++;
+			}
+		}
+		return c;
+	}
+
+	boolean isEof() throws IOException {
+		return peek() < 0;
+	}
+
+	/**
+	 * @return the current line number, starting at 1
+	 */
+	int getLine() {
+		return line;
+	}
+
+	private static boolean isBlank(int c) {
+		return c == ' ' || c == '\t' || c == '\r';
+	}
+
+	private static boolean isDelimiter(int c) {
+		return c < 0 || c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '#' || c == '/';
+	}
+
+	void skipBlanks() throws IOException {
+		while (isBlank(peek())) {
+			read();
+		}
+	}
+
+	/**
+	 * Skips blanks and tells whether the line ends here; a comment counts as the
+	 * end of the line.
+	 */
+	boolean atLineEnd() throws IOException {
+		skipBlanks();
+		int c = peek();
+		return c < 0 || c == '\n' || c == '#';
+	}
+
+	/**
+	 * Skips the rest of the current line including the line break.
+	 */
+	void skipLine() throws IOException {
+		int c;
+		do {
+			c = read();
+		} while (c >= 0 && c != '\n');
+	}
+
+	/**
+	 * Skips blank lines, comment lines and leading blanks up to the next token.
+	 */
+	void skipEmptyLines() throws IOException {
+		while (atLineEnd() && !isEof()) {
+			skipLine();
+		}
+	}
+
+	/**
+	 * Skips the rest of the current token, e.g. the texture and normal indices of
+	 * an OBJ face corner.
+	 */
+	void skipToken() throws IOException {
+		int c = peek();
+		while (c >= 0 && !isBlank(c) && c != '\n') {
+			read();
+			c = peek();
+		}
+	}
+
+	/**
+	 * Reads the next whitespace separated token as text.
+	 */
+	String readWord() throws IOException {
+		skipBlanks();
+		StringBuilder sb = new StringBuilder();
+		int c = peek();
+		while (c >= 0 && !isBlank(c) && c != '\n') {
+			sb.append((char) read());
+			c = peek();
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Reads a decimal integer.
+	 */
+	int readInt() throws IOException {
+		skipBlanks();
+		boolean negative = false;
+		int c = peek();
+		if (c == '-' || c == '+') {
+			negative = c == '-';
+			read();
+			c = peek();
+		}
+		if (c < '0' || c > '9') {
+			throw error("integer expected");
+		}
+		long value = 0;
+		while (c >= '0' && c <= '9') {
+			value = value * 10 + (c - '0');
+			if (value > Integer.MAX_VALUE + 1L) {
+				throw error("integer out of range");
+			}
+			read();
+			c = peek();
+		}
+		if (!isDelimiter(c)) {
+			throw error("invalid integer");
+		}
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE) {
+			throw error("integer out of range");
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Reads a decimal floating-point number. Numbers with at most 15 significant
+	 * digits and a decimal exponent of at most 22 are computed exactly from the
+	 * digits; all others are passed to {@link Double#parseDouble(String)}.
+	 */
+	double readDouble() throws IOException {
+		skipBlanks();
+		tokenLength = 0;
+		boolean negative = false;
+		int c = peek();
+		if (c == '-' || c == '+') {
+			negative = c == '-';
+			c = consume();
+		}
+
+		long mantissa = 0;
+		int digits = 0;
+		int exponent = 0;
+		boolean any = false;
+		while (c >= '0' && c <= '9') {
+			any = true;
+			if (digits < 18) {
+				mantissa = mantissa * 10 + (c - '0');
+				if (mantissa != 0) {
+					digits++;
+				}
+			} else {
+				exponent++;
+			}
+			c = consume();
+		}
+		if (c == '.') {
+			c = consume();
+			while (c >= '0' && c <= '9') {
+				any = true;
+				if (digits < 18) {
+					mantissa = mantissa * 10 + (c - '0');
+					if (mantissa != 0) {
+						digits++;
+					}
+					exponent--;
+				}
+				c = consume();
+			}
+		}
+		if (!any) {
+			// nan, inf and the like
+			while (!isDelimiter(c)) {
+				c = consume();
+			}
+			return parseToken();
+		}
+		if (c == 'e' || c == 'E') {
+			c = consume();
+			boolean negativeExponent = false;
+			if (c == '-' || c == '+') {
+				negativeExponent = c == '-';
+				c = consume();
+			}
+			if (c < '0' || c > '9') {
+				throw error("invalid number");
+			}
+			int e = 0;
+			while (c >= '0' && c <= '9') {
+				if (e < 100000) {
+					e = e * 10 + (c - '0');
+				}
+				c = consume();
+			}
+			exponent += negativeExponent ? -e : e;
+		}
+		if (!isDelimiter(c)) {
+			throw error("invalid number");
+		}
+
+		if (digits <= 15 && exponent >= -22 && exponent <= 22) {
+			double value = exponent >= 0 ? mantissa * POW10[exponent] : mantissa / POW10[-exponent];
+			return negative ? -value : value;
+		}
+		return parseToken();
+	}
+
+	private int consume() throws IOException {
+		if (tokenLength == token.length) {
+			token = Arrays.copyOf(token, 2 * token.length);
+		}
+		token[tokenLength++] = (char) read();
+		return peek();
+	}
+
+	private double parseToken() throws IOException {
+		String text = new String(token, 0, tokenLength);
+		try {
+			return Double.parseDouble(text);
+		} catch (NumberFormatException e) {
+			throw error("invalid number '" + text + "'");
+		}
+	}
+
+	/**
+	 * @return the size of the file in bytes
+	 */
+	long size() {
+		return size;
+	}
+
+	/**
+	 * @return an exception pointing at the current line
+	 */
+	IOException error(String message) {
+		return new IOException(path + ":" + line + ": " + message);
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+}
@@ -0,0 +1,214 @@
+package io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import model.Face;
+import model.HalfEdge;
+import model.LongIntMap;
+import model.Point;
+import model.Polyhedron;
+import model.VertexWeldIndex;
+
+/**
+ * Builds a {@link Polyhedron} vertex by vertex and face by face, as the mesh
+ * readers encounter them. Vertices within a tolerance are merged into one
+ * {@link Point} by a {@link VertexWeldIndex}, and every new half-edge is linked
+ * to its twin as soon as the opposite half-edge exists, so no list of faces or
+ * edges has to be kept besides the polyhedron itself.
+ * <p>
+ * Directed edges occurring more than once (non-manifold edges or inconsistently
+ * oriented faces) are left without twins.
+ */
+public class MeshBuilder {
+
+	private static final int NON_MANIFOLD = -2;
+	// largest pre-sized capacity; the expected counts may come from an untrusted
+	// file header, larger meshes grow the lists as usual
+	private static final int MAX_PRESIZE = 1 << 20;
+
+	private final List<Point> vertices;
+	private final List<HalfEdge> halfEdges;
+	private final List<Face> faces;
+
+	// input vertex index -> index in vertices
+	private int[] inputToVertex;
+	private int inputCount;
+
+	private final VertexWeldIndex weldIndex;
+
+	// directed edge (from, to) -> index in halfEdges, or NON_MANIFOLD
+	private final LongIntMap edges;
+
+	private int[] ring = new int[8];
+
+	private int duplicateVertexCount;
+	private int degenerateFaceCount;
+	private int duplicateEdgeCount;
+
+	public MeshBuilder() {
+		this(16, 16);
+	}
+
+	/**
+	 * Merges vertices within {@link VertexWeldIndex#DEFAULT_TOLERANCE}.
+	 *
+	 * @param expectedVertices number of input vertices, if known
+	 * @param expectedFaces    number of faces, if known
+	 */
+	public MeshBuilder(int expectedVertices, int expectedFaces) {
+		this(expectedVertices, expectedFaces, VertexWeldIndex.DEFAULT_TOLERANCE);
+	}
+
+	/**
+	 * @param expectedVertices number of input vertices, if known; a hint only
+	 * @param expectedFaces    number of faces, if known; a hint only
+	 * @param tolerance        the bound for the difference per coordinate of
+	 *                         merged vertices, exclusive; 0 merges only
+	 *                         identical coordinates
+	 */
+	public MeshBuilder(int expectedVertices, int expectedFaces, double tolerance) {
+		int vertexHint = presize(expectedVertices);
+		int faceHint = presize(expectedFaces);
+		int edgeHint = presize(4L * faceHint);
+		vertices = new ArrayList<>(vertexHint);
+		faces = new ArrayList<>(faceHint);
+		halfEdges = new ArrayList<>(edgeHint);
+		inputToVertex = new int[Math.max(16, vertexHint)];
+		weldIndex = new VertexWeldIndex(tolerance, vertexHint);
+		edges = new LongIntMap(edgeHint);
+	}
+
+	private static int presize(long expected) {
+		return (int) Math.max(0, Math.min(expected, MAX_PRESIZE));
+	}
+
+	/**
+	 * Adds an input vertex.
+	 *
+	 * @return the index of the input vertex, to be used in
+	 *         {@link #addFace(int[], int)}
+	 */
+	public int addVertex(double x, double y, double z) {
+		int vertex = weldIndex.add(x, y, z);
+		if (vertex < vertices.size()) {
+			duplicateVertexCount++;
+		} else {
+			vertices.add(new Point(weldIndex.get(vertex, 0), weldIndex.get(vertex, 1), weldIndex.get(vertex, 2)));
+		}
+
+		if (inputCount == inputToVertex.length) {
+			inputToVertex = Arrays.copyOf(inputToVertex, 2 * inputCount);
+		}
+		inputToVertex[inputCount] = vertex;
+		return inputCount++;
+	}
+
+	/**
+	 * @return the number of input vertices added so far
+	 */
+	public int getInputVertexCount() {
+		return inputCount;
+	}
+
+	/**
+	 * Adds a face without holes. Consecutive corners that refer to the same
+	 * (merged) vertex are collapsed; faces with less than three corners left are
+	 * skipped.
+	 *
+	 * @param corners input vertex indices of the corners, counter-clockwise
+	 * @param count   number of corners used from {@code corners}
+	 * @return false if the face was skipped as degenerate
+	 */
+	public boolean addFace(int[] corners, int count) {
+		if (ring.length < count) {
+			ring = new int[Math.max(count, 2 * ring.length)];
+		}
+		int n = 0;
+		for (int i = 0; i < count; i++) {
+			int input = corners[i];
+			if (input < 0 || input >= inputCount) {
+				throw new IndexOutOfBoundsException("Vertex index " + input + " out of range");
+			}
+			int v = inputToVertex[input];
+			if (n == 0 || ring[n - 1] != v) {
+				ring[n++] = v;
+			}
+		}
+		while (n > 1 && ring[n - 1] == ring[0]) {
+			n--;
+		}
+		if (n < 3) {
+			degenerateFaceCount++;
+			return false;
+		}
+
+		int first = halfEdges.size();
+		for (int i = 0; i < n; i++) {
+			halfEdges.add(new HalfEdge(vertices.get(ring[i])));
+		}
+		for (int i = 0; i < n; i++) {
+			HalfEdge he = halfEdges.get(first + i);
+			he.setNext(halfEdges.get(first + (i + 1) % n));
+			he.setPrev(halfEdges.get(first + (i + n - 1) % n));
+			link(ring[i], ring[(i + 1) % n], first + i);
+		}
+		faces.add(new Face(halfEdges.get(first)));
+		return true;
+	}
+
+	private void link(int from, int to, int index) {
+		int existing = edges.putIfAbsent(LongIntMap.edgeKey(from, to), index, -1);
+		if (existing != -1) {
+			// the directed edge is used twice, none of its copies gets a twin
+			duplicateEdgeCount++;
+			if (existing >= 0) {
+				HalfEdge other = halfEdges.get(existing);
+				if (other.getTwin() != null) {
+					other.getTwin().setTwin(null);
+					other.setTwin(null);
+				}
+				edges.put(LongIntMap.edgeKey(from, to), NON_MANIFOLD, -1);
+			}
+			return;
+		}
+		int opposite = edges.get(LongIntMap.edgeKey(to, from), -1);
+		if (opposite >= 0) {
+			HalfEdge he = halfEdges.get(index);
+			HalfEdge twin = halfEdges.get(opposite);
+			he.setTwin(twin);
+			twin.setTwin(he);
+		}
+	}
+
+	/**
+	 * @return the number of input vertices merged into an earlier vertex
+	 */
+	public int getDuplicateVertexCount() {
+		return duplicateVertexCount;
+	}
+
+	/**
+	 * @return the number of faces skipped because they had less than three
+	 *         distinct corners
+	 */
+	public int getDegenerateFaceCount() {
+		return degenerateFaceCount;
+	}
+
+	/**
+	 * @return the number of half-edges repeating an existing directed edge
+	 */
+	public int getDuplicateEdgeCount() {
+		return duplicateEdgeCount;
+	}
+
+	/**
+	 * @return the polyhedron built so far
+	 */
+	public Polyhedron build() {
+		return new Polyhedron(faces, halfEdges, vertices);
+	}
+
+}
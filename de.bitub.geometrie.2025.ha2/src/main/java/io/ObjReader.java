@@ -0,0 +1,95 @@
+package io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import diagnostics.PipelineMetrics;
+import diagnostics.PipelineStage;
+import model.Polyhedron;
+import model.VertexWeldIndex;
+
+/**
+ * Streaming reader for Wavefront OBJ files. Only the geometry is read: vertex
+ * positions ({@code v}) and faces ({@code f}); texture coordinates, normals,
+ * groups, materials and all other statements are skipped. Face corners may
+ * carry texture and normal indices ({@code v/vt/vn}) and may be negative
+ * (relative to the last vertex).
+ * <p>
+ * The file is memory-mapped and parsed without creating strings, and the
+ * polyhedron is built directly by a {@link MeshBuilder}.
+ */
+public final class ObjReader {
+
+	private ObjReader() {
+	}
+
+	/**
+	 * Reads an OBJ file into a polyhedron with merged vertices and linked twins.
+	 *
+	 * @param path the file
+	 * @return the polyhedron
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public static Polyhedron read(Path path) throws IOException {
+		return read(path, VertexWeldIndex.DEFAULT_TOLERANCE);
+	}
+
+	/**
+	 * Reads an OBJ file into a polyhedron, merging vertices within a tolerance.
+	 *
+	 * @param path      the file
+	 * @param tolerance the bound for the difference per coordinate of merged
+	 *                  vertices, exclusive
+	 * @return the polyhedron
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public static Polyhedron read(Path path, double tolerance) throws IOException {
+		long time = PipelineMetrics.start();
+		MeshBuilder builder = new MeshBuilder(16, 16, tolerance);
+		try (MappedInput in = new MappedInput(path)) {
+			read(in, builder);
+		}
+		Polyhedron polyhedron = builder.build();
+		PipelineMetrics.record(PipelineStage.IMPORT, time, polyhedron.getFaces().size(),
+				polyhedron.getVertices().size());
+		return polyhedron;
+	}
+
+	static void read(MappedInput in, MeshBuilder builder) throws IOException {
+		int[] corners = new int[16];
+		while (!in.isEof()) {
+			in.skipBlanks();
+			int c = in.read();
+			if (c == 'v' && isBlank(in.peek())) {
+				double x = in.readDouble();
+				double y = in.readDouble();
+				double z = in.readDouble();
+				builder.addVertex(x, y, z);
+			} else if (c == 'f' && isBlank(in.peek())) {
+				int count = 0;
+				while (!in.atLineEnd()) {
+					int index = in.readInt();
+					int vertexCount = builder.getInputVertexCount();
+					if (index == 0 || index > vertexCount || index < -vertexCount) {
+						throw in.error("vertex index " + index + " out of range");
+					}
+					if (count == corners.length) {
+						corners = Arrays.copyOf(corners, 2 * count);
+					}
+					corners[count++] = index > 0 ? index - 1 : vertexCount + index;
+					in.skipToken();
+				}
+				builder.addFace(corners, count);
+			}
+			if (c != '\n') {
+				in.skipLine();
+			}
+		}
+	}
+
+	private static boolean isBlank(int c) {
+		return c == ' ' || c == '\t';
+	}
+
+}
@@ -0,0 +1,107 @@
+package io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import diagnostics.PipelineMetrics;
+import diagnostics.PipelineStage;
+import model.Polyhedron;
+import model.VertexWeldIndex;
+
+/**
+ * Streaming reader for Object File Format (OFF) files. The header keyword may
+ * be prefixed ({@code COFF}, {@code NOFF}, ...); colors and other values after
+ * the coordinates of a vertex or the indices of a face are ignored, as are
+ * comments starting with {@code #}.
+ * <p>
+ * The file is memory-mapped and parsed without creating strings, and the
+ * polyhedron is built directly by a {@link MeshBuilder}, sized from the counts
+ * in the header.
+ */
+public final class OffReader {
+
+	private OffReader() {
+	}
+
+	/**
+	 * Reads an OFF file into a polyhedron with merged vertices and linked twins.
+	 *
+	 * @param path the file
+	 * @return the polyhedron
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public static Polyhedron read(Path path) throws IOException {
+		return read(path, VertexWeldIndex.DEFAULT_TOLERANCE);
+	}
+
+	/**
+	 * Reads an OFF file into a polyhedron, merging vertices within a tolerance.
+	 *
+	 * @param path      the file
+	 * @param tolerance the bound for the difference per coordinate of merged
+	 *                  vertices, exclusive
+	 * @return the polyhedron
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public static Polyhedron read(Path path, double tolerance) throws IOException {
+		long time = PipelineMetrics.start();
+		Polyhedron polyhedron;
+		try (MappedInput in = new MappedInput(path)) {
+			polyhedron = read(in, tolerance).build();
+		}
+		PipelineMetrics.record(PipelineStage.IMPORT, time, polyhedron.getFaces().size(),
+				polyhedron.getVertices().size());
+		return polyhedron;
+	}
+
+	static MeshBuilder read(MappedInput in, double tolerance) throws IOException {
+		in.skipEmptyLines();
+		String keyword = in.readWord();
+		if (!keyword.endsWith("OFF")) {
+			throw in.error("OFF header expected");
+		}
+		if (in.atLineEnd()) {
+			in.skipEmptyLines();
+		}
+		int vertexCount = in.readInt();
+		int faceCount = in.readInt();
+		if (vertexCount < 0 || faceCount < 0) {
+			throw in.error("negative element count");
+		}
+		in.skipLine();
+
+		// the counts are hints: a vertex line takes at least 6 bytes, a face line 2
+		long bytes = in.size();
+		MeshBuilder builder = new MeshBuilder((int) Math.min(vertexCount, bytes / 6),
+				(int) Math.min(faceCount, bytes / 2), tolerance);
+		for (int v = 0; v < vertexCount; v++) {
+			in.skipEmptyLines();
+			builder.addVertex(in.readDouble(), in.readDouble(), in.readDouble());
+			in.skipLine();
+		}
+
+		int[] corners = new int[16];
+		for (int f = 0; f < faceCount; f++) {
+			in.skipEmptyLines();
+			int count = in.readInt();
+			if (count < 0) {
+				throw in.error("negative corner count");
+			}
+			if (count > corners.length) {
+				corners = Arrays.copyOf(corners, Math.max(count, 2 * corners.length));
+			}
+			for (int i = 0; i < count; i++) {
+				int index = in.readInt();
+				if (index < 0 || index >= vertexCount) {
+					throw in.error("vertex index " + index + " out of range");
+				}
+				corners[i] = index;
+			}
+			builder.addFace(corners, count);
+			in.skipLine();
+		}
+		return builder;
+	}
+
+}
@@ -0,0 +1,59 @@
+package jme3D;
+
+import com.jme3.math.Ray;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.Spatial;
+
+import spatial.FaceBVH;
+import spatial.FaceHit;
+
+/**
+ * Picks faces of a {@link FaceBVH} displayed by a spatial, instead of letting
+ * {@code collideWith} test every geometry of the scene graph. The ray is
+ * transformed into the local coordinates of the spatial, so the hierarchy does
+ * not need to be rebuilt when the spatial moves.
+ */
+public class BVHPicker {
+
+	private final FaceBVH bvh;
+	private final Spatial target;
+
+	/**
+	 * @param bvh    hierarchy in the local coordinates of {@code target}
+	 * @param target the spatial showing the triangles of the hierarchy
+	 */
+	public BVHPicker(FaceBVH bvh, Spatial target) {
+		this.bvh = bvh;
+		this.target = target;
+	}
+
+	/**
+	 * Casts a ray from the camera through a screen position.
+	 *
+	 * @param cam    the camera
+	 * @param cursor the screen position, e.g. the cursor position
+	 * @return the closest face hit or null
+	 */
+	public FaceHit pick(Camera cam, Vector2f cursor) {
+		Vector3f start = cam.getWorldCoordinates(cursor, 0f);
+		Vector3f end = cam.getWorldCoordinates(cursor, 1f);
+		return pick(new Ray(start, end.subtractLocal(start).normalizeLocal()));
+	}
+
+	/**
+	 * Casts a ray given in world coordinates.
+	 *
+	 * @param ray the ray
+	 * @return the closest face hit or null; the distance is measured along the
+	 *         world ray, the point is in the local coordinates of the target
+	 */
+	public FaceHit pick(Ray ray) {
+		Vector3f origin = target.worldToLocal(ray.getOrigin(), null);
+		// not normalized: the ray parameter stays the world distance under scaling
+		Vector3f direction = target.worldToLocal(ray.getOrigin().add(ray.getDirection()), null).subtractLocal(origin);
+		return bvh.raycast(origin.x, origin.y, origin.z, direction.x, direction.y, direction.z, ray.getLimit());
+	}
+
+}
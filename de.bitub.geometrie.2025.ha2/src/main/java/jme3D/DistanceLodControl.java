@@ -0,0 +1,114 @@
+package jme3D;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.control.AbstractControl;
+
+/**
+ * Switches the mesh of a {@link Geometry} between levels of detail by the
+ * distance of the camera to the geometry, e.g. with levels created by
+ * {@link model.MeshSimplifier#createLevels(model.Polyhedron, double...)} and
+ * converted with {@link PolyhedronMeshConverter}.
+ * <p>
+ * jME's own {@code LodControl} only switches index buffers over one shared
+ * vertex buffer; the simplified levels have their own vertices, so the whole
+ * mesh is exchanged. This happens in the update pass, before the bounds are
+ * computed for rendering.
+ */
+public class DistanceLodControl extends AbstractControl {
+
+	private final Camera cam;
+	private final Mesh[] levels;
+	private final float[] distances;
+	private int level = -1;
+
+	/**
+	 * Uses level {@code i} from a distance of {@code 2^i} times the diagonal of
+	 * the finest level on.
+	 *
+	 * @param cam    the camera
+	 * @param levels the meshes, finest first
+	 */
+	public DistanceLodControl(Camera cam, Mesh... levels) {
+		this(cam, levels, defaultDistances(levels));
+	}
+
+	/**
+	 * @param cam       the camera
+	 * @param levels    the meshes, finest first
+	 * @param distances the distance from which level {@code i + 1} is used, one
+	 *                  less than levels, increasing
+	 */
+	public DistanceLodControl(Camera cam, Mesh[] levels, float[] distances) {
+		if (levels.length == 0 || distances.length != levels.length - 1) {
+			throw new IllegalArgumentException("Need one distance less than levels");
+		}
+		this.cam = cam;
+		this.levels = levels;
+		this.distances = distances;
+	}
+
+	private static float[] defaultDistances(Mesh[] levels) {
+		float size = 1;
+		BoundingVolume bound = levels.length > 0 ? levels[0].getBound() : null;
+		if (bound instanceof BoundingBox box) {
+			size = Math.max(2 * box.getExtent(null).length(), 1e-3f);
+		}
+		float[] distances = new float[Math.max(levels.length - 1, 0)];
+		for (int i = 0; i < distances.length; i++) {
+			distances[i] = size * (2 << i);
+		}
+		return distances;
+	}
+
+	/**
+	 * @param distance the distance of the camera
+	 * @return the level used at the distance
+	 */
+	public int levelAt(float distance) {
+		int i = 0;
+		while (i < distances.length && distance >= distances[i]) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * @return the level currently shown, -1 before the first update
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	@Override
+	public void setSpatial(Spatial spatial) {
+		if (spatial != null && !(spatial instanceof Geometry)) {
+			throw new IllegalArgumentException("DistanceLodControl needs a Geometry");
+		}
+		super.setSpatial(spatial);
+		level = -1;
+	}
+
+	@Override
+	protected void controlUpdate(float tpf) {
+		BoundingVolume bound = spatial.getWorldBound();
+		float distance = bound != null ? cam.getLocation().distance(bound.getCenter())
+				: cam.getLocation().distance(spatial.getWorldTranslation());
+		int wanted = levelAt(distance);
+		if (wanted != level) {
+			level = wanted;
+			((Geometry) spatial).setMesh(levels[level]);
+		}
+	}
+
+	@Override
+	protected void controlRender(RenderManager rm, ViewPort vp) {
+	}
+
+}
@@ -0,0 +1,189 @@
+package jme3D;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.VertexBuffer.Type;
+import com.jme3.util.BufferUtils;
+
+import triangulation.TriangleBuffer;
+
+/**
+ * Collects the faces of many objects into one indexed {@link Mesh}, so a whole
+ * batch is drawn with one draw call instead of one {@code Geometry} per face.
+ * <p>
+ * Every face gets its own vertices, which carry the face color (use a material
+ * with vertex colors), and every triangle remembers its face, so a picked
+ * triangle index can be mapped back with {@link #getFace(int)}. Colors of
+ * single faces can be changed after the mesh was built.
+ */
+public class FaceBatch {
+
+	private float[] positions = new float[3 * 64];
+	private float[] colors = new float[4 * 64];
+	private int vertexCount;
+
+	private int[] indices = new int[3 * 32];
+	private int[] triangleFaces = new int[32];
+	private int triangleCount;
+
+	// first vertex and first triangle of every face, plus the totals
+	private int[] faceVertexStart = new int[17];
+	private int[] faceTriangleStart = new int[17];
+	private int faceCount;
+
+	private Mesh mesh;
+
+	/**
+	 * Adds a convex face, triangulated as a fan around its first corner.
+	 *
+	 * @param color   the face color
+	 * @param corners the corners, counter-clockwise seen from the front
+	 * @return the face id
+	 */
+	public int addFace(ColorRGBA color, Vector3f... corners) {
+		if (corners.length < 3) {
+			throw new IllegalArgumentException("Face needs at least 3 corners");
+		}
+		int n = corners.length;
+		ensureVertices(vertexCount + n);
+		ensureTriangles(triangleCount + n - 2);
+		if (faceCount + 2 > faceVertexStart.length) {
+			faceVertexStart = Arrays.copyOf(faceVertexStart, 2 * faceVertexStart.length);
+			faceTriangleStart = Arrays.copyOf(faceTriangleStart, 2 * faceTriangleStart.length);
+		}
+
+		int first = vertexCount;
+		for (Vector3f corner : corners) {
+			positions[3 * vertexCount] = corner.x;
+			positions[3 * vertexCount + 1] = corner.y;
+			positions[3 * vertexCount + 2] = corner.z;
+			vertexCount++;
+		}
+		for (int i = 1; i < n - 1; i++) {
+			indices[3 * triangleCount] = first;
+			indices[3 * triangleCount + 1] = first + i;
+			indices[3 * triangleCount + 2] = first + i + 1;
+			triangleFaces[triangleCount++] = faceCount;
+		}
+
+		int face = faceCount++;
+		faceVertexStart[faceCount] = vertexCount;
+		faceTriangleStart[faceCount] = triangleCount;
+		writeColor(face, color);
+		return face;
+	}
+
+	private void ensureVertices(int count) {
+		if (3 * count > positions.length) {
+			int capacity = Math.max(count, 2 * vertexCount);
+			positions = Arrays.copyOf(positions, 3 * capacity);
+			colors = Arrays.copyOf(colors, 4 * capacity);
+		}
+	}
+
+	private void ensureTriangles(int count) {
+		if (count > triangleFaces.length) {
+			int capacity = Math.max(count, 2 * triangleCount);
+			indices = Arrays.copyOf(indices, 3 * capacity);
+			triangleFaces = Arrays.copyOf(triangleFaces, capacity);
+		}
+	}
+
+	/**
+	 * Creates the mesh with position, color and index buffers. Faces added
+	 * afterwards need a new call.
+	 *
+	 * @return the mesh
+	 */
+	public Mesh build() {
+		mesh = new Mesh();
+		mesh.setBuffer(Type.Position, 3, BufferUtils.createFloatBuffer(Arrays.copyOf(positions, 3 * vertexCount)));
+		mesh.setBuffer(Type.Color, 4, BufferUtils.createFloatBuffer(Arrays.copyOf(colors, 4 * vertexCount)));
+		mesh.setBuffer(Type.Index, 3, BufferUtils.createIntBuffer(Arrays.copyOf(indices, 3 * triangleCount)));
+		mesh.updateBound();
+		mesh.updateCounts();
+		return mesh;
+	}
+
+	/**
+	 * @return the mesh created by the last {@link #build()}, or null
+	 */
+	public Mesh getMesh() {
+		return mesh;
+	}
+
+	public int getFaceCount() {
+		return faceCount;
+	}
+
+	public int getTriangleCount() {
+		return triangleCount;
+	}
+
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * @param triangle a triangle index, e.g. from
+	 *                 {@code CollisionResult.getTriangleIndex()}
+	 * @return the face the triangle belongs to
+	 */
+	public int getFace(int triangle) {
+		return triangleFaces[triangle];
+	}
+
+	public ColorRGBA getFaceColor(int face) {
+		int c = 4 * faceVertexStart[face];
+		return new ColorRGBA(colors[c], colors[c + 1], colors[c + 2], colors[c + 3]);
+	}
+
+	/**
+	 * Changes the color of a face, also in the built mesh.
+	 *
+	 * @param face  the face id
+	 * @param color the new color
+	 */
+	public void setFaceColor(int face, ColorRGBA color) {
+		writeColor(face, color);
+		if (mesh != null && faceVertexStart[face + 1] <= mesh.getVertexCount()) {
+			VertexBuffer buffer = mesh.getBuffer(Type.Color);
+			FloatBuffer data = (FloatBuffer) buffer.getData();
+			for (int i = 4 * faceVertexStart[face]; i < 4 * faceVertexStart[face + 1]; i++) {
+				data.put(i, colors[i]);
+			}
+			buffer.setUpdateNeeded();
+		}
+	}
+
+	private void writeColor(int face, ColorRGBA color) {
+		for (int v = faceVertexStart[face]; v < faceVertexStart[face + 1]; v++) {
+			colors[4 * v] = color.r;
+			colors[4 * v + 1] = color.g;
+			colors[4 * v + 2] = color.b;
+			colors[4 * v + 3] = color.a;
+		}
+	}
+
+	/**
+	 * Copies the triangles into a {@link TriangleBuffer}, e.g. to build a
+	 * {@link spatial.FaceBVH} for picking. Triangle indices and face ids are the
+	 * same as in the mesh.
+	 *
+	 * @return the triangle buffer
+	 */
+	public TriangleBuffer toTriangleBuffer() {
+		double[] pool = new double[3 * vertexCount];
+		for (int i = 0; i < pool.length; i++) {
+			pool[i] = positions[i];
+		}
+		return new TriangleBuffer(pool, vertexCount, Arrays.copyOf(indices, 3 * triangleCount),
+				Arrays.copyOf(triangleFaces, triangleCount), Arrays.copyOf(faceTriangleStart, faceCount + 1), 0);
+	}
+
+}
@@ -0,0 +1,48 @@
+package jme3D;
+
+import spatial.FaceHit;
+
+/**
+ * Result of picking {@link InstancedElements}: the instance hit and the face
+ * of the shared mesh.
+ */
+public final class InstanceHit {
+
+	private final int instance;
+	private final FaceHit hit;
+
+	/**
+	 * @param instance the instance index
+	 * @param hit      the face hit in the local coordinates of the instance
+	 */
+	public InstanceHit(int instance, FaceHit hit) {
+		this.instance = instance;
+		this.hit = hit;
+	}
+
+	public int getInstance() {
+		return instance;
+	}
+
+	/**
+	 * @return the face hit; the point is in the local coordinates of the
+	 *         instance, the distance is measured along the picking ray
+	 */
+	public FaceHit getFaceHit() {
+		return hit;
+	}
+
+	public int getFace() {
+		return hit.getFace();
+	}
+
+	public double getDistance() {
+		return hit.getDistance();
+	}
+
+	@Override
+	public String toString() {
+		return "InstanceHit [instance=" + instance + ", " + hit + "]";
+	}
+
+}
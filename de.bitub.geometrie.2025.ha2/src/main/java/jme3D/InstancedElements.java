@@ -0,0 +1,268 @@
+package jme3D;
+
+import java.util.Arrays;
+
+import com.jme3.material.Material;
+import com.jme3.math.Ray;
+import com.jme3.math.Transform;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.instancing.InstancedNode;
+
+import model.Polyhedron;
+import spatial.FaceBVH;
+import spatial.FaceHit;
+import triangulation.TriangleBuffer;
+import triangulation.TriangulationService;
+
+/**
+ * Many copies of one element (cube, column, window, ...) drawn with hardware
+ * instancing: all instances share one {@link Mesh} and are rendered by an
+ * {@link InstancedNode}, which uploads only one transform per instance.
+ * Instances with the same material are drawn with one call; changing the
+ * material of an instance, e.g. to highlight it, moves it into another batch.
+ * <p>
+ * Picking does not use the scene graph: the ray is tested against the bounding
+ * box of every instance and, where it enters the box before the closest hit so
+ * far, transformed into the instance and cast into one {@link FaceBVH} of the
+ * shared mesh. So a hit is resolved to the specific instance and its face.
+ */
+public class InstancedElements {
+
+	private final Mesh mesh;
+	private final FaceBVH bvh;
+	private final InstancedNode node;
+
+	// bounding box of the shared mesh
+	private final double[] meshMin = new double[3];
+	private final double[] meshMax = new double[3];
+
+	private Geometry[] instances = new Geometry[16];
+	// min x, y, z, max x, y, z per instance, in the coordinates of the node
+	private double[] bounds = new double[6 * 16];
+	private int instanceCount;
+
+	/**
+	 * @param name      name of the node
+	 * @param mesh      the shared mesh
+	 * @param triangles the triangles of the mesh, for picking
+	 */
+	public InstancedElements(String name, Mesh mesh, TriangleBuffer triangles) {
+		this.mesh = mesh;
+		this.bvh = FaceBVH.build(triangles);
+		this.node = new InstancedNode(name);
+
+		Arrays.fill(meshMin, Double.POSITIVE_INFINITY);
+		Arrays.fill(meshMax, Double.NEGATIVE_INFINITY);
+		double[] positions = triangles.getPositions();
+		for (int v = 0; v < triangles.getVertexCount(); v++) {
+			for (int k = 0; k < 3; k++) {
+				meshMin[k] = Math.min(meshMin[k], positions[3 * v + k]);
+				meshMax[k] = Math.max(meshMax[k], positions[3 * v + k]);
+			}
+		}
+	}
+
+	/**
+	 * Instances of a polyhedron, converted by {@link PolyhedronMeshConverter}.
+	 *
+	 * @param name       name of the node
+	 * @param polyhedron the polyhedron
+	 * @return the instances, still empty
+	 */
+	public static InstancedElements of(String name, Polyhedron polyhedron) {
+		TriangleBuffer triangles = new TriangulationService().triangulate(polyhedron);
+		return new InstancedElements(name, PolyhedronMeshConverter.toMesh(triangles), triangles);
+	}
+
+	/**
+	 * Instances of the faces of a batch, e.g. filled by
+	 * {@link MyCubeJMonkey#addTo(FaceBatch, Vector3f, com.jme3.math.ColorRGBA)}.
+	 * The face colors are shared by all instances.
+	 *
+	 * @param name  name of the node
+	 * @param batch the batch
+	 * @return the instances, still empty
+	 */
+	public static InstancedElements of(String name, FaceBatch batch) {
+		Mesh mesh = batch.getMesh() != null ? batch.getMesh() : batch.build();
+		return new InstancedElements(name, mesh, batch.toTriangleBuffer());
+	}
+
+	/**
+	 * Adds an instance. Call {@link #instance()} after adding or changing
+	 * instances.
+	 *
+	 * @param transform placement of the instance in the node
+	 * @param material  the material, its definition must support instancing (as
+	 *                  {@code Unshaded.j3md} and {@code Lighting.j3md} do)
+	 * @return the instance index
+	 */
+	public int addInstance(Transform transform, Material material) {
+		if (instanceCount == instances.length) {
+			instances = Arrays.copyOf(instances, 2 * instanceCount);
+			bounds = Arrays.copyOf(bounds, 12 * instanceCount);
+		}
+		int instance = instanceCount++;
+		Geometry geometry = new Geometry(node.getName() + "-" + instance, mesh);
+		material.setBoolean("UseInstancing", true);
+		geometry.setMaterial(material);
+		geometry.setLocalTransform(transform);
+		instances[instance] = geometry;
+		updateBounds(instance);
+		node.attachChild(geometry);
+		return instance;
+	}
+
+	/**
+	 * Moves an instance.
+	 *
+	 * @param instance  the instance index
+	 * @param transform the new placement in the node
+	 */
+	public void setTransform(int instance, Transform transform) {
+		instances[instance].setLocalTransform(transform);
+		updateBounds(instance);
+	}
+
+	public Transform getTransform(int instance) {
+		return instances[instance].getLocalTransform();
+	}
+
+	/**
+	 * Changes the material of an instance, the instance is drawn with the other
+	 * instances using this material.
+	 *
+	 * @param instance the instance index
+	 * @param material the material, see {@link #addInstance(Transform, Material)}
+	 */
+	public void setMaterial(int instance, Material material) {
+		material.setBoolean("UseInstancing", true);
+		instances[instance].setMaterial(material);
+	}
+
+	public Material getMaterial(int instance) {
+		return instances[instance].getMaterial();
+	}
+
+	/**
+	 * Groups the added instances into instanced geometries, see
+	 * {@link InstancedNode#instance()}.
+	 */
+	public void instance() {
+		node.instance();
+	}
+
+	/**
+	 * @return the node to attach to the scene
+	 */
+	public InstancedNode getNode() {
+		return node;
+	}
+
+	public Mesh getMesh() {
+		return mesh;
+	}
+
+	public int getInstanceCount() {
+		return instanceCount;
+	}
+
+	/**
+	 * Transforms the corners of the mesh bounding box into the node.
+	 */
+	private void updateBounds(int instance) {
+		Transform transform = instances[instance].getLocalTransform();
+		int b = 6 * instance;
+		for (int k = 0; k < 3; k++) {
+			bounds[b + k] = Double.POSITIVE_INFINITY;
+			bounds[b + 3 + k] = Double.NEGATIVE_INFINITY;
+		}
+		Vector3f corner = new Vector3f();
+		for (int c = 0; c < 8; c++) {
+			corner.set((float) ((c & 1) == 0 ? meshMin[0] : meshMax[0]),
+					(float) ((c & 2) == 0 ? meshMin[1] : meshMax[1]),
+					(float) ((c & 4) == 0 ? meshMin[2] : meshMax[2]));
+			transform.transformVector(corner, corner);
+			for (int k = 0; k < 3; k++) {
+				bounds[b + k] = Math.min(bounds[b + k], corner.get(k));
+				bounds[b + 3 + k] = Math.max(bounds[b + 3 + k], corner.get(k));
+			}
+		}
+		// the corners were transformed in float precision
+		for (int k = 0; k < 3; k++) {
+			double pad = 1e-5 * (1 + Math.abs(bounds[b + k]) + Math.abs(bounds[b + 3 + k]));
+			bounds[b + k] -= pad;
+			bounds[b + 3 + k] += pad;
+		}
+	}
+
+	/**
+	 * Casts a ray from the camera through a screen position.
+	 *
+	 * @param cam    the camera
+	 * @param cursor the screen position, e.g. the cursor position
+	 * @return the closest instance hit or null
+	 */
+	public InstanceHit pick(Camera cam, Vector2f cursor) {
+		Vector3f start = cam.getWorldCoordinates(cursor, 0f);
+		Vector3f end = cam.getWorldCoordinates(cursor, 1f);
+		return pick(new Ray(start, end.subtractLocal(start).normalizeLocal()));
+	}
+
+	/**
+	 * Casts a ray given in world coordinates.
+	 *
+	 * @param ray the ray
+	 * @return the closest instance hit or null; the distance is measured along
+	 *         the world ray
+	 */
+	public InstanceHit pick(Ray ray) {
+		// not normalized: the ray parameter stays the world distance under scaling
+		Vector3f origin = node.worldToLocal(ray.getOrigin(), null);
+		Vector3f direction = node.worldToLocal(ray.getOrigin().add(ray.getDirection()), null).subtractLocal(origin);
+		double ix = 1 / (direction.x != 0 ? direction.x : Double.MIN_NORMAL);
+		double iy = 1 / (direction.y != 0 ? direction.y : Double.MIN_NORMAL);
+		double iz = 1 / (direction.z != 0 ? direction.z : Double.MIN_NORMAL);
+
+		double best = ray.getLimit();
+		FaceHit bestHit = null;
+		int bestInstance = -1;
+		Vector3f o = new Vector3f();
+		Vector3f d = new Vector3f();
+		for (int i = 0; i < instanceCount; i++) {
+			if (!(entry(i, origin, ix, iy, iz) <= best)) {
+				continue;
+			}
+			Transform transform = instances[i].getLocalTransform();
+			transform.transformInverseVector(origin, o);
+			transform.transformInverseVector(d.set(origin).addLocal(direction), d).subtractLocal(o);
+			FaceHit hit = bvh.raycast(o.x, o.y, o.z, d.x, d.y, d.z, best);
+			if (hit != null) {
+				best = hit.getDistance();
+				bestHit = hit;
+				bestInstance = i;
+			}
+		}
+		return bestHit == null ? null : new InstanceHit(bestInstance, bestHit);
+	}
+
+	/**
+	 * Slab test of the ray against the bounding box of an instance.
+	 *
+	 * @return the ray parameter where the ray enters the box, or NaN if it misses
+	 */
+	private double entry(int instance, Vector3f origin, double ix, double iy, double iz) {
+		int b = 6 * instance;
+		double tx1 = (bounds[b] - origin.x) * ix, tx2 = (bounds[b + 3] - origin.x) * ix;
+		double ty1 = (bounds[b + 1] - origin.y) * iy, ty2 = (bounds[b + 4] - origin.y) * iy;
+		double tz1 = (bounds[b + 2] - origin.z) * iz, tz2 = (bounds[b + 5] - origin.z) * iz;
+		double near = Math.max(Math.max(Math.min(tx1, tx2), Math.min(ty1, ty2)), Math.max(Math.min(tz1, tz2), 0));
+		double far = Math.min(Math.min(Math.max(tx1, tx2), Math.max(ty1, ty2)), Math.max(tz1, tz2));
+		return near <= far ? near : Double.NaN;
+	}
+
+}
@@ -1,19 +1,21 @@
 package jme3D;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import com.jme3.asset.AssetManager;
+import com.jme3.material.Material;
+import com.jme3.math.ColorRGBA;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.Geometry;
-import com.jme3.scene.Mesh;
 import com.jme3.scene.Node;
-import com.jme3.scene.VertexBuffer.Type;
-import com.jme3.util.BufferUtils;
 
 public class MyCubeJMonkey {
 
+	// Indexed Face Set: Polygons
+	// ccw - counterclockwise
+	private static final int[][] POLYGONS = new int[][] { { 3, 2, 1, 0 }, { 1, 2, 6, 5 }, { 0, 1, 5, 4 },
+			{ 0, 4, 7, 3 }, { 2, 3, 7, 6 }, { 4, 5, 6, 7 } };
+
 	private Vector3f[] corners;
+	private FaceBatch batch;
 
 	/**
 	 * Indexed Face Set Cube with 6 surface areas, 8 vertices center of gravity is
@@ -40,40 +42,54 @@ public class MyCubeJMonkey {
 	}
 
 	/**
-	 * Creates your own mesh for the cube
+	 * Creates your own mesh for the cube: one merged mesh for all faces, drawn
+	 * with a single call. The faces stay clickable through the face ids of the
+	 * {@link FaceBatch}, see {@link #getFaceBatch()}.
 	 * 
-	 * @return
+	 * @return node with the geometry of the cube
 	 */
 	public Node createMeshes(AssetManager assetManager) {
 
-		// Indexed Face Set: Polygons
-		// ccw - counterclockwise
-		int[][] polygons = new int[][] { { 3, 2, 1, 0 }, { 1, 2, 6, 5 }, { 0, 1, 5, 4 }, { 0, 4, 7, 3 }, { 2, 3, 7, 6 },
-				{ 4, 5, 6, 7 } };
-
-		int i = 0;
-		Node box = new Node("Box"); // one mesh per face to make each face clickable
-
-		for (int[] p : polygons) {
+		batch = new FaceBatch();
+		addTo(batch, Vector3f.ZERO, ColorRGBA.Red);
 
-			// decomposition in triangles
-			ArrayList<Integer> face = new ArrayList<Integer>();
-			face.addAll(List.of(p[0], p[1], p[2]));
-			face.addAll(List.of(p[2], p[3], p[0]));
+		Material material = new Material(assetManager, "Common/MatDefs/Misc/Unshaded.j3md");
+		material.setBoolean("VertexColor", true);
 
-			// Array from List
-			int[] indexArray = face.stream().mapToInt(Integer::intValue).toArray();
+		Geometry faces = new Geometry("Faces", batch.build());
+		faces.setMaterial(material);
 
-			// Face mesh
-			Mesh faceMesh = new Mesh();
-			faceMesh.setBuffer(Type.Position, 3, BufferUtils.createFloatBuffer(corners));
-			faceMesh.setBuffer(Type.Index, 1, BufferUtils.createIntBuffer(indexArray));
-			faceMesh.updateBound();
+		Node box = new Node("Box");
+		box.attachChild(faces);
+		return box;
+	}
 
-			box.attachChild(new Geometry("Face" + i++, faceMesh));
+	/**
+	 * Adds the six faces of the cube to a batch, so that many cubes can share one
+	 * mesh.
+	 * 
+	 * @param batch  the batch
+	 * @param offset translation of the cube center
+	 * @param color  initial color of the faces
+	 * @return the id of the first face in the batch, the others follow in order
+	 */
+	public int addTo(FaceBatch batch, Vector3f offset, ColorRGBA color) {
+		int first = batch.getFaceCount();
+		for (int[] p : POLYGONS) {
+			Vector3f[] ring = new Vector3f[p.length];
+			for (int i = 0; i < p.length; i++) {
+				ring[i] = corners[p[i]].add(offset);
+			}
+			batch.addFace(color, ring);
 		}
+		return first;
+	}
 
-		return box;
+	/**
+	 * @return the batch of the last {@link #createMeshes(AssetManager)} call
+	 */
+	public FaceBatch getFaceBatch() {
+		return batch;
 	}
 
 }
@@ -0,0 +1,126 @@
+package jme3D;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer.Type;
+import com.jme3.util.BufferUtils;
+
+import diagnostics.PipelineMetrics;
+import diagnostics.PipelineStage;
+import model.Polyhedron;
+import triangulation.TriangleBuffer;
+import triangulation.TriangulationService;
+
+/**
+ * Converts a {@link Polyhedron} into a jMonkeyEngine {@link Mesh} with
+ * positions, normals and indices.
+ * <p>
+ * The faces (with holes) are triangulated by the {@link TriangulationService};
+ * the mesh is flat shaded, i.e. every face gets its own copy of its vertices
+ * with the face normal. The buffers are sized in a first pass and then filled
+ * directly from a {@link TriangleBuffer}, without intermediate lists or boxed
+ * values. Triangle {@code t} of the mesh is triangle {@code t} of the triangle
+ * buffer, so {@link TriangleBuffer#getFaceIds()} maps picked triangles to
+ * faces.
+ */
+public final class PolyhedronMeshConverter {
+
+	private PolyhedronMeshConverter() {
+	}
+
+	/**
+	 * Triangulates and converts a polyhedron. The triangulation merges the
+	 * vertices of all faces without boxing, but projecting and triangulating a
+	 * face still allocates per face; only {@link #toMesh(TriangleBuffer)} works
+	 * without intermediate objects.
+	 *
+	 * @param polyhedron the polyhedron
+	 * @return the mesh
+	 */
+	public static Mesh toMesh(Polyhedron polyhedron) {
+		return toMesh(new TriangulationService().triangulate(polyhedron));
+	}
+
+	/**
+	 * Converts triangulated faces.
+	 *
+	 * @param buffer the triangles of the faces, stored face by face
+	 * @return the mesh
+	 */
+	public static Mesh toMesh(TriangleBuffer buffer) {
+		long time = PipelineMetrics.start();
+		double[] pool = buffer.getPositions();
+		int[] indices = buffer.getIndices();
+		int faceCount = buffer.getFaceCount();
+
+		// a vertex is copied once per face: stamp[v] is the last face that used it
+		int[] stamp = new int[buffer.getVertexCount()];
+		int[] local = new int[buffer.getVertexCount()];
+		Arrays.fill(stamp, -1);
+		int vertexCount = 0;
+		for (int f = 0; f < faceCount; f++) {
+			for (int i = 3 * buffer.getFaceTriangleStart(f); i < 3 * buffer.getFaceTriangleStart(f + 1); i++) {
+				int v = indices[i];
+				if (stamp[v] != f) {
+					stamp[v] = f;
+					vertexCount++;
+				}
+			}
+		}
+
+		FloatBuffer positions = BufferUtils.createFloatBuffer(3 * vertexCount);
+		FloatBuffer normals = BufferUtils.createFloatBuffer(3 * vertexCount);
+		IntBuffer triangles = BufferUtils.createIntBuffer(indices.length);
+
+		Arrays.fill(stamp, -1);
+		int next = 0;
+		for (int f = 0; f < faceCount; f++) {
+			int start = 3 * buffer.getFaceTriangleStart(f);
+			int end = 3 * buffer.getFaceTriangleStart(f + 1);
+
+			// area weighted normal of the triangles, i.e. the Newell normal of the face
+			double nx = 0, ny = 0, nz = 0;
+			for (int i = start; i < end; i += 3) {
+				int a = 3 * indices[i], b = 3 * indices[i + 1], c = 3 * indices[i + 2];
+				double ux = pool[b] - pool[a], uy = pool[b + 1] - pool[a + 1], uz = pool[b + 2] - pool[a + 2];
+				double vx = pool[c] - pool[a], vy = pool[c + 1] - pool[a + 1], vz = pool[c + 2] - pool[a + 2];
+				nx += uy * vz - uz * vy;
+				ny += uz * vx - ux * vz;
+				nz += ux * vy - uy * vx;
+			}
+			double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+			if (length > 0) {
+				nx /= length;
+				ny /= length;
+				nz /= length;
+			}
+
+			for (int i = start; i < end; i++) {
+				int v = indices[i];
+				if (stamp[v] != f) {
+					stamp[v] = f;
+					local[v] = next++;
+					positions.put((float) pool[3 * v]).put((float) pool[3 * v + 1]).put((float) pool[3 * v + 2]);
+					normals.put((float) nx).put((float) ny).put((float) nz);
+				}
+				triangles.put(local[v]);
+			}
+		}
+		positions.flip();
+		normals.flip();
+		triangles.flip();
+
+		Mesh mesh = new Mesh();
+		mesh.setBuffer(Type.Position, 3, positions);
+		mesh.setBuffer(Type.Normal, 3, normals);
+		mesh.setBuffer(Type.Index, 3, triangles);
+		mesh.updateBound();
+		mesh.updateCounts();
+		PipelineMetrics.record(PipelineStage.MESH_CONVERSION, time, faceCount, vertexCount);
+		return mesh;
+	}
+
+}
@@ -1,26 +1,64 @@
 package jme3D;
 
+import java.util.List;
+
 import com.jme3.app.SimpleApplication;
-import com.jme3.collision.CollisionResults;
 import com.jme3.input.MouseInput;
 import com.jme3.input.controls.ActionListener;
 import com.jme3.input.controls.MouseButtonTrigger;
+import com.jme3.light.AmbientLight;
+import com.jme3.light.DirectionalLight;
 import com.jme3.material.Material;
 import com.jme3.math.ColorRGBA;
 import com.jme3.math.Ray;
+import com.jme3.math.Transform;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
 import com.jme3.scene.Node;
 import com.jme3.scene.debug.Arrow;
 
+import model.MeshSimplifier;
+import model.Polyhedron;
+import spatial.FaceBVH;
+import spatial.FaceHit;
+
 /**
  * 3D scene with clickable box that changes color and camera controls. Left
- * click: toggle box color between red/blue Right click: enable camera movement
+ * click: toggle face color between red/blue Right click: enable camera movement
  */
 public class SimpleBoxPicking extends SimpleApplication implements ActionListener {
 
-	private Material redMaterial, blueMaterial;
+	private FaceBatch boxFaces;
+	private BVHPicker boxPicker;
+	private Polyhedron model;
+	private int gridSize;
+
+	// instanced cubes, picked instances switch between the two materials
+	private InstancedElements gridCubes;
+	private Material gridMaterial;
+	private Material gridSelectedMaterial;
+
+	/**
+	 * Sets an additional model to display next to the box; call before the
+	 * application is started.
+	 * 
+	 * @param model the model, e.g. loaded with {@link io.ObjReader}
+	 */
+	public void setModel(Polyhedron model) {
+		this.model = model;
+	}
+
+	/**
+	 * Sets the size of a grid of instanced cubes to display below the box; call
+	 * before the application is started.
+	 * 
+	 * @param size number of cubes along each side, 0 for no grid
+	 */
+	public void setInstanceGrid(int size) {
+		this.gridSize = size;
+	}
 
 	@Override
 	public void simpleInitApp() {
@@ -37,14 +75,69 @@ public class SimpleBoxPicking extends SimpleApplication implements ActionListene
 		createAxis(new Vector3f(0f, 2f, 0f), ColorRGBA.Green);
 		createAxis(new Vector3f(0f, 0f, 2f), ColorRGBA.Blue);
 
-		redMaterial = createMaterial(ColorRGBA.Red, "red");
-		blueMaterial = createMaterial(ColorRGBA.Blue, "blue");
-
-		// Create clickable box
-		Node boxNode = new MyCubeJMonkey(2f).createMeshes(assetManager);
-		boxNode.getChildren().forEach(g -> g.setMaterial(redMaterial));
+		// Create clickable box: one mesh, faces are picked through the BVH
+		MyCubeJMonkey cube = new MyCubeJMonkey(2f);
+		Node boxNode = cube.createMeshes(assetManager);
 		boxNode.setLocalTranslation(0, -2, 1);
 		rootNode.attachChild(boxNode);
+
+		boxFaces = cube.getFaceBatch();
+		boxPicker = new BVHPicker(FaceBVH.build(boxFaces.toTriangleBuffer()), boxNode);
+
+		if (model != null) {
+			createModel();
+		}
+		if (gridSize > 0) {
+			createInstanceGrid();
+		}
+	}
+
+	/** Add a grid of cubes sharing one mesh, drawn with instancing */
+	private void createInstanceGrid() {
+		MyCubeJMonkey cube = new MyCubeJMonkey(0.4f);
+		FaceBatch batch = new FaceBatch();
+		cube.addTo(batch, Vector3f.ZERO, ColorRGBA.Orange);
+		gridCubes = InstancedElements.of("Grid", batch);
+
+		gridMaterial = new Material(assetManager, "Common/MatDefs/Misc/Unshaded.j3md");
+		gridMaterial.setBoolean("VertexColor", true);
+		gridSelectedMaterial = new Material(assetManager, "Common/MatDefs/Misc/Unshaded.j3md");
+		gridSelectedMaterial.setColor("Color", ColorRGBA.Yellow);
+
+		float spacing = 0.6f;
+		float offset = (gridSize - 1) * spacing / 2;
+		for (int i = 0; i < gridSize; i++) {
+			for (int j = 0; j < gridSize; j++) {
+				gridCubes.addInstance(new Transform(new Vector3f(i * spacing - offset, j * spacing - offset, 0)),
+						gridMaterial);
+			}
+		}
+		gridCubes.instance();
+		gridCubes.getNode().setLocalTranslation(0, 0, -3);
+		rootNode.attachChild(gridCubes.getNode());
+	}
+
+	/** Add the model as a lit, flat shaded mesh with levels of detail */
+	private void createModel() {
+		Material mat = new Material(assetManager, "Common/MatDefs/Light/Lighting.j3md");
+		mat.setBoolean("UseMaterialColors", true);
+		mat.setColor("Diffuse", ColorRGBA.LightGray);
+		mat.setColor("Ambient", ColorRGBA.Gray);
+
+		List<Polyhedron> levels = MeshSimplifier.createLevels(model, 1, 0.5, 0.25, 0.1);
+		Mesh[] meshes = new Mesh[levels.size()];
+		for (int i = 0; i < meshes.length; i++) {
+			meshes[i] = PolyhedronMeshConverter.toMesh(levels.get(i));
+		}
+
+		Geometry geometry = new Geometry("Model", meshes[0]);
+		geometry.setMaterial(mat);
+		geometry.addControl(new DistanceLodControl(cam, meshes));
+		geometry.setLocalTranslation(0, 2, 0);
+		rootNode.attachChild(geometry);
+
+		rootNode.addLight(new DirectionalLight(new Vector3f(-1, -2, -3).normalizeLocal()));
+		rootNode.addLight(new AmbientLight(ColorRGBA.DarkGray));
 	}
 
 	/** Configure mouse input controls */
@@ -64,14 +157,6 @@ public class SimpleBoxPicking extends SimpleApplication implements ActionListene
 		flyCam.setEnabled(false);
 	}
 
-	/** Helper to create colored material */
-	private Material createMaterial(ColorRGBA color, String name) {
-		Material mat = new Material(assetManager, "Common/MatDefs/Misc/Unshaded.j3md");
-		mat.setColor("Color", color);
-		mat.setName(name);
-		return mat;
-	}
-
 	/** Create a coordinate axis arrow with specified direction and color */
 	private void createAxis(Vector3f direction, ColorRGBA color) {
 		Geometry axis = new Geometry("Axis", new Arrow(direction));
@@ -93,30 +178,34 @@ public class SimpleBoxPicking extends SimpleApplication implements ActionListene
 		}
 	}
 
-	/** Toggle box color when clicked */
+	/** Toggle face color when clicked */
 	private void handleBoxClick() {
-		CollisionResults results = getMouseCollision();
-		if (results.size() > 0) {
-			Geometry geo = results.getClosestCollision().getGeometry();
-			boolean isRed = geo.getMaterial().getName().equals("red");
-			geo.setMaterial(isRed ? blueMaterial : redMaterial);
-			System.out.println("Box clicked! Changed to " + (isRed ? "blue" : "red"));
+		Ray ray = getMouseRay();
+		FaceHit hit = boxPicker.pick(ray);
+		InstanceHit instanceHit = gridCubes != null ? gridCubes.pick(ray) : null;
+		if (instanceHit != null && (hit == null || instanceHit.getDistance() < hit.getDistance())) {
+			int instance = instanceHit.getInstance();
+			boolean selected = gridCubes.getMaterial(instance) == gridSelectedMaterial;
+			gridCubes.setMaterial(instance, selected ? gridMaterial : gridSelectedMaterial);
+			gridCubes.instance();
+			System.out.println("Cube " + instance + " clicked at face " + instanceHit.getFace() + "! "
+					+ (selected ? "Deselected" : "Selected"));
+		} else if (hit != null) {
+			int face = hit.getFace();
+			boolean isRed = boxFaces.getFaceColor(face).equals(ColorRGBA.Red);
+			boxFaces.setFaceColor(face, isRed ? ColorRGBA.Blue : ColorRGBA.Red);
+			System.out.println("Face " + face + " clicked! Changed to " + (isRed ? "blue" : "red"));
 		} else {
 			System.out.println("Nothing clicked!");
 		}
 	}
 
-	/** Cast ray from mouse position and check for collisions */
-	private CollisionResults getMouseCollision() {
-		Vector2f mousePos = inputManager.getCursorPosition();
-		Vector3f rayStart = cam.getWorldCoordinates(mousePos, 0f);
-		Vector3f rayEnd = cam.getWorldCoordinates(mousePos, 1f);
-		Vector3f rayDir = rayEnd.subtract(rayStart).normalizeLocal();
-
-		Ray ray = new Ray(rayStart, rayDir);
-		CollisionResults results = new CollisionResults();
-		rootNode.collideWith(ray, results);
-		return results;
+	/** Create the ray from the camera through the mouse position */
+	private Ray getMouseRay() {
+		Vector2f cursor = inputManager.getCursorPosition();
+		Vector3f start = cam.getWorldCoordinates(cursor, 0f);
+		Vector3f end = cam.getWorldCoordinates(cursor, 1f);
+		return new Ray(start, end.subtractLocal(start).normalizeLocal());
 	}
 
 	/** Enable/disable camera movement with right mouse button */
@@ -3,14 +3,11 @@ package model;
 import java.util.ArrayList;
 import java.util.List;
 
-import javafx.scene.shape.Box;
-
 public class Cube {
 
 	private Face[] faces;
 	private Point[] vertices;
 	private HalfEdge[] halfEdges;
-	private Box box;
 	private List<List<Point>> vertexList = new ArrayList<>();
 
 	public Cube(Point p, double edgeLenght) {
@@ -18,7 +15,6 @@ public class Cube {
 		initVertecies(p, edgeLenght);
 		initHalfEdges();
 		initFaces();
-		this.box = new Box(edgeLenght, edgeLenght, edgeLenght);
 
 	}
 
@@ -115,8 +111,15 @@ public class Cube {
 		return vertexList;
 	}
 
-	public Box getBox() {
-		return box;
+	/**
+	 * Wraps the faces, half-edges and vertices of this cube in a polyhedron. The
+	 * objects are shared, not copied.
+	 *
+	 * @return the cube as polyhedron
+	 */
+	public Polyhedron toPolyhedron() {
+		return new Polyhedron(new ArrayList<>(List.of(faces)), new ArrayList<>(List.of(halfEdges)),
+				new ArrayList<>(List.of(vertices)));
 	}
 
 	public static Cube createExampelCube() {
@@ -1,5 +1,6 @@
 package model;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class Face {
@@ -33,6 +34,32 @@ public class Face {
 		this.holes = holes;
 	}
 
+	/**
+	 * Collects the points of the outer ring followed by the points of every hole
+	 * ring, in the form expected by
+	 * {@link projection.PolygonProjection#projectTo2D(List, List)}.
+	 *
+	 * @return one point list per ring, outer ring first
+	 */
+	public List<List<Point>> getBoundaries() {
+		List<List<Point>> boundaries = new ArrayList<>(holes != null ? holes.size() + 1 : 1);
+		boundaries.add(ringPoints(outerHalfEdge));
+		if (holes != null) {
+			for (HalfEdge hole : holes) {
+				boundaries.add(ringPoints(hole));
+			}
+		}
+		return boundaries;
+	}
+
+	private static List<Point> ringPoints(HalfEdge start) {
+		List<Point> points = new ArrayList<>();
+		for (HalfEdgeCursor cursor = new HalfEdgeCursor().ring(start); cursor.advance();) {
+			points.add(cursor.getOrg());
+		}
+		return points;
+	}
+
 	@Override
 	public String toString() {
 		return "Face [halfEdge=" + outerHalfEdge.getOrg().xyz[0] + ", " + outerHalfEdge.getOrg().xyz[1] + ", "
@@ -0,0 +1,67 @@
+package model;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a range of faces of a polyhedron. It splits into halves of
+ * the remaining range down to single faces, so the fork/join pool of a parallel
+ * stream can balance faces of very different cost by work stealing; see
+ * {@link Polyhedron#faceStream(boolean)}.
+ */
+public final class FaceSpliterator implements Spliterator<Face> {
+
+	private final List<Face> faces;
+	private int index;
+	private final int end;
+
+	/**
+	 * @param faces the faces, with fast random access
+	 * @param from  the first face
+	 * @param to    the face after the last one
+	 */
+	public FaceSpliterator(List<Face> faces, int from, int to) {
+		this.faces = faces;
+		this.index = from;
+		this.end = to;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super Face> action) {
+		if (index >= end) {
+			return false;
+		}
+		action.accept(faces.get(index++));
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super Face> action) {
+		for (; index < end; index++) {
+			action.accept(faces.get(index));
+		}
+	}
+
+	@Override
+	public Spliterator<Face> trySplit() {
+		int mid = (index + end) >>> 1;
+		if (mid <= index) {
+			return null;
+		}
+		FaceSpliterator prefix = new FaceSpliterator(faces, index, mid);
+		index = mid;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return end - index;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | SIZED | SUBSIZED | NONNULL;
+	}
+
+}
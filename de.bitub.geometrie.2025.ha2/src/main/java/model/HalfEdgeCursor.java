@@ -0,0 +1,134 @@
+package model;
+
+/**
+ * Reusable cursor over the half-edges of a face ring, the outgoing half-edges
+ * of a vertex (its star) or a boundary loop. A cursor is reset with
+ * {@link #ring(HalfEdge)}, {@link #star(HalfEdge)} or
+ * {@link #boundary(HalfEdge)} and stepped with {@link #advance()}, so a
+ * traversal allocates nothing and one cursor can serve any number of them:
+ *
+ * <pre>
+ * for (cursor.ring(face.getHalfEdge()); cursor.advance();) {
+ * 	Point p = cursor.getOrg();
+ * }
+ * </pre>
+ *
+ * The links must not be changed during a traversal, except that the current
+ * half-edge may be removed from a ring when the traversal stops afterwards.
+ */
+public final class HalfEdgeCursor {
+
+	private static final int RING = 0, STAR = 1, BOUNDARY = 2;
+
+	private int mode;
+	private HalfEdge first;
+	private HalfEdge current;
+	private HalfEdge upcoming;
+
+	/**
+	 * Starts a traversal of a face ring (or hole) along {@code next}.
+	 *
+	 * @param start a half-edge of the ring, returned first
+	 * @return this cursor
+	 */
+	public HalfEdgeCursor ring(HalfEdge start) {
+		return reset(RING, start);
+	}
+
+	/**
+	 * Starts a traversal of the half-edges leaving the origin of {@code outgoing},
+	 * one per face around the vertex, counter-clockwise for counter-clockwise
+	 * faces ({@code twin.next}). At a boundary vertex the traversal starts at the
+	 * first half-edge of the fan, so every half-edge of the fan is returned once.
+	 *
+	 * @param outgoing a half-edge leaving the vertex
+	 * @return this cursor
+	 */
+	public HalfEdgeCursor star(HalfEdge outgoing) {
+		HalfEdge start = outgoing;
+		// rewind to the start of an open fan
+		for (HalfEdge before = outgoing.getPrev().getTwin(); before != null
+				&& before != outgoing; before = before.getPrev().getTwin()) {
+			start = before;
+		}
+		return reset(STAR, start);
+	}
+
+	/**
+	 * Starts a traversal of a boundary loop: the half-edges without twin, linked
+	 * by rotating around their end points.
+	 *
+	 * @param start a half-edge without twin
+	 * @return this cursor
+	 * @throws IllegalArgumentException if the half-edge has a twin
+	 */
+	public HalfEdgeCursor boundary(HalfEdge start) {
+		if (start.getTwin() != null) {
+			throw new IllegalArgumentException("Half-edge is not on the boundary: " + start);
+		}
+		return reset(BOUNDARY, start);
+	}
+
+	private HalfEdgeCursor reset(int mode, HalfEdge start) {
+		this.mode = mode;
+		this.first = start;
+		this.current = null;
+		this.upcoming = start;
+		return this;
+	}
+
+	/**
+	 * Moves to the next half-edge.
+	 *
+	 * @return false if the traversal is complete
+	 */
+	public boolean advance() {
+		current = upcoming;
+		if (current == null) {
+			return false;
+		}
+		HalfEdge after = switch (mode) {
+		case RING -> current.getNext();
+		case STAR -> current.getTwin() != null ? current.getTwin().getNext() : null;
+		default -> nextOnBoundary(current);
+		};
+		upcoming = after == first ? null : after;
+		return true;
+	}
+
+	private HalfEdge nextOnBoundary(HalfEdge edge) {
+		HalfEdge candidate = edge.getNext();
+		HalfEdge turn = candidate;
+		while (candidate.getTwin() != null) {
+			candidate = candidate.getTwin().getNext();
+			if (candidate == turn) {
+				// the end point has no other boundary edge, the loop is broken
+				return null;
+			}
+		}
+		return candidate;
+	}
+
+	/**
+	 * @return the current half-edge, null before the first and after the last
+	 *         {@link #advance()}
+	 */
+	public HalfEdge get() {
+		return current;
+	}
+
+	/**
+	 * @return the origin of the current half-edge
+	 */
+	public Point getOrg() {
+		return current.getOrg();
+	}
+
+	/**
+	 * @return the origin of the successor of the current half-edge in its ring
+	 */
+	public Point getDest() {
+		return current.getNext().getOrg();
+	}
+
+}
@@ -0,0 +1,94 @@
+package model;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the half-edges of a range of faces, outer rings and holes,
+ * taken from the rings themselves rather than from
+ * {@link Polyhedron#getHalfEdges()}, so it stays correct after ring edits. It
+ * splits into halves of the faces before the traversal has started; see
+ * {@link Polyhedron#halfEdgeStream(boolean)}.
+ */
+public final class HalfEdgeSpliterator implements Spliterator<HalfEdge> {
+
+	private final List<Face> faces;
+	private int face;
+	private final int end;
+
+	// position within the current face: ring -1 is the outer ring
+	private final HalfEdgeCursor cursor = new HalfEdgeCursor();
+	private int ring = -2;
+
+	/**
+	 * @param faces the faces, with fast random access
+	 * @param from  the first face
+	 * @param to    the face after the last one
+	 */
+	public HalfEdgeSpliterator(List<Face> faces, int from, int to) {
+		this.faces = faces;
+		this.face = from;
+		this.end = to;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super HalfEdge> action) {
+		while (!cursor.advance()) {
+			if (!nextRing()) {
+				return false;
+			}
+		}
+		action.accept(cursor.get());
+		return true;
+	}
+
+	/**
+	 * Moves the cursor to the next ring of the current or a following face.
+	 */
+	private boolean nextRing() {
+		while (face < end) {
+			Face f = faces.get(face);
+			List<HalfEdge> holes = f.getHoles();
+			ring++;
+			if (ring == -1) {
+				cursor.ring(f.getHalfEdge());
+				return true;
+			}
+			if (holes != null && ring < holes.size()) {
+				cursor.ring(holes.get(ring));
+				return true;
+			}
+			face++;
+			ring = -2;
+		}
+		return false;
+	}
+
+	@Override
+	public Spliterator<HalfEdge> trySplit() {
+		if (ring != -2) {
+			// a started face cannot be handed to a prefix
+			return null;
+		}
+		int mid = (face + end) >>> 1;
+		if (mid <= face) {
+			return null;
+		}
+		HalfEdgeSpliterator prefix = new HalfEdgeSpliterator(faces, face, mid);
+		face = mid;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		// quadrilaterals on average
+		return 4L * (end - face);
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL;
+	}
+
+}
@@ -2,6 +2,9 @@ package model;
 
 import java.util.List;
 
+import diagnostics.PipelineMetrics;
+import diagnostics.PipelineStage;
+
 /**
  * 
  * @author FG Bauinformatik
@@ -39,18 +42,21 @@ public class HalfEdgeUtil {
 	 * @param start is the start half-edge of the polygon
 	 * 
 	 * @param point is the origin of the half-edge that will be removed
+	 * @return true if the point was found and removed, false if it is not part
+	 *         of the polygon
 	 */
-	public static void removePointFromPolygon(HalfEdge start, Point point) {
-		HalfEdge curr = start;
-		do {
-			if (curr.getOrg() == point) {
-				removeHalfEdge(curr);
-				System.out.println("Punkt " + point + " entfernt");
-				return;
+	public static boolean removePointFromPolygon(HalfEdge start, Point point) {
+		long time = PipelineMetrics.start();
+		boolean removed = false;
+		for (HalfEdgeCursor cursor = new HalfEdgeCursor().ring(start); cursor.advance();) {
+			if (cursor.getOrg() == point) {
+				removeHalfEdge(cursor.get());
+				removed = true;
+				break;
 			}
-			curr = curr.getNext();
-		} while (curr != start);
-		System.out.println("Der Punkt liegt nicht im Polygon und wurde nicht entfernt: Punkt" + point);
+		}
+		PipelineMetrics.record(PipelineStage.EDIT, time, 1, removed ? 1 : 0);
+		return removed;
 	}
 
 	/**
@@ -89,21 +95,16 @@ public class HalfEdgeUtil {
 	 * @param start2 is an (arbitrary) half-edge of the second polygon
 	 */
 	public static void connectTwoPolygons(HalfEdge start1, HalfEdge start2) {
-		HalfEdge current1 = start1;
-
-		do {
-			HalfEdge current2 = start2;
-			do {
-				if (current1.getOrg() == current2.getNext().getOrg()
-						&& current1.getNext().getOrg() == current2.getOrg()) {
-					current1.setTwin(current2);
-					current2.setTwin(current1);
+		HalfEdgeCursor ring1 = new HalfEdgeCursor();
+		HalfEdgeCursor ring2 = new HalfEdgeCursor();
+		for (ring1.ring(start1); ring1.advance();) {
+			for (ring2.ring(start2); ring2.advance();) {
+				if (ring1.getOrg() == ring2.getDest() && ring1.getDest() == ring2.getOrg()) {
+					ring1.get().setTwin(ring2.get());
+					ring2.get().setTwin(ring1.get());
 				}
-				current2 = current2.getNext();
-			} while (current2 != start2);
-
-			current1 = current1.getNext();
-		} while (current1 != start1);
+			}
+		}
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from object references to {@code int} values, keys
+ * are compared by identity like in {@link java.util.IdentityHashMap}. Used to
+ * number {@link Point}s shared by reference, where an
+ * {@code IdentityHashMap<Point, Integer>} would box every id; the counterpart
+ * of {@link LongIntMap} for object keys, which must not be null.
+ *
+ * @param <K> the key type
+ */
+public final class IdentityIntMap<K> {
+
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private Object[] keys;
+	private int[] values;
+	private int size;
+	private int mask;
+	private int threshold;
+
+	public IdentityIntMap() {
+		this(16);
+	}
+
+	/**
+	 * @param expectedSize number of entries that fit without rehashing
+	 */
+	public IdentityIntMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+		allocate(capacity);
+	}
+
+	private void allocate(int capacity) {
+		keys = new Object[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	private static int mix(Object key) {
+		int h = System.identityHashCode(key) * 0x9e3779b9;
+		return h ^ (h >>> 16);
+	}
+
+	private int slot(Object key) {
+		int i = mix(key) & mask;
+		while (keys[i] != null && keys[i] != key) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	/**
+	 * @return the value for {@code key} or {@code missing} if absent
+	 */
+	public int get(K key, int missing) {
+		int i = slot(key);
+		return keys[i] != null ? values[i] : missing;
+	}
+
+	public boolean containsKey(K key) {
+		return keys[slot(key)] != null;
+	}
+
+	/**
+	 * Associates {@code value} with {@code key}.
+	 *
+	 * @return the previous value or {@code missing} if absent
+	 */
+	public int put(K key, int value, int missing) {
+		int i = slot(key);
+		if (keys[i] != null) {
+			int old = values[i];
+			values[i] = value;
+			return old;
+		}
+		keys[i] = key;
+		values[i] = value;
+		if (++size > threshold) {
+			rehash();
+		}
+		return missing;
+	}
+
+	/**
+	 * Stores {@code value} only if {@code key} is absent.
+	 *
+	 * @return the existing value or {@code missing} if the value was stored
+	 */
+	public int putIfAbsent(K key, int value, int missing) {
+		int i = slot(key);
+		if (keys[i] != null) {
+			return values[i];
+		}
+		keys[i] = key;
+		values[i] = value;
+		if (++size > threshold) {
+			rehash();
+		}
+		return missing;
+	}
+
+	/**
+	 * Removes the entry of {@code key}; the following entries of its probe
+	 * sequence move back, so no tombstones are left.
+	 *
+	 * @return the removed value or {@code missing} if absent
+	 */
+	public int remove(K key, int missing) {
+		int i = slot(key);
+		if (keys[i] == null) {
+			return missing;
+		}
+		int old = values[i];
+		size--;
+		for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+			int home = mix(keys[j]) & mask;
+			// move the entry unless its home slot lies cyclically in (i, j]
+			if (i <= j ? home <= i || home > j : home <= i && home > j) {
+				keys[i] = keys[j];
+				values[i] = values[j];
+				i = j;
+			}
+		}
+		keys[i] = null;
+		return old;
+	}
+
+	private void rehash() {
+		Object[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(2 * oldKeys.length);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != null) {
+				int j = slot(oldKeys[i]);
+				keys[j] = oldKeys[i];
+				values[j] = oldValues[i];
+			}
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, null);
+		size = 0;
+	}
+
+}
@@ -0,0 +1,574 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Array-backed half-edge mesh. Vertices, half-edges and faces are plain
+ * {@code int} ids into struct-of-arrays storage instead of individual
+ * {@link Point}/{@link HalfEdge}/{@link Face} objects, so a mesh with millions
+ * of half-edges costs a handful of arrays rather than millions of objects.
+ * <p>
+ * The editing operations mirror {@link HalfEdgeUtil}: boundary twins are
+ * {@link #NONE}, and vertices are compared by id (the equivalent of the
+ * reference comparison in {@link HalfEdgeUtil#connectTwoPolygons}). Use
+ * {@link #fromPolyhedron(Polyhedron)} and {@link #toPolyhedron()} to exchange
+ * data with the object model.
+ */
+public class IndexedMesh {
+
+	/**
+	 * Marker for a missing reference (no twin, no face, no further hole).
+	 */
+	public static final int NONE = -1;
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	// vertices: x, y, z interleaved
+	double[] coords;
+	int vertexCount;
+
+	// half-edges
+	int[] origin;
+	int[] next;
+	int[] prev;
+	int[] twin;
+	int[] face;
+	int halfEdgeCount;
+
+	// faces: outer half-edge and head of the hole list
+	int[] faceOuter;
+	int[] faceFirstHole;
+	int faceCount;
+
+	// holes: entry half-edge and next hole of the same face
+	int[] holeEdge;
+	int[] holeNext;
+	int holeCount;
+
+	public IndexedMesh() {
+		this(DEFAULT_CAPACITY, DEFAULT_CAPACITY, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty mesh with preallocated storage.
+	 *
+	 * @param vertexCapacity   expected number of vertices
+	 * @param halfEdgeCapacity expected number of half-edges
+	 * @param faceCapacity     expected number of faces
+	 */
+	public IndexedMesh(int vertexCapacity, int halfEdgeCapacity, int faceCapacity) {
+		vertexCapacity = Math.max(vertexCapacity, 1);
+		halfEdgeCapacity = Math.max(halfEdgeCapacity, 1);
+		faceCapacity = Math.max(faceCapacity, 1);
+		coords = new double[3 * vertexCapacity];
+		origin = new int[halfEdgeCapacity];
+		next = new int[halfEdgeCapacity];
+		prev = new int[halfEdgeCapacity];
+		twin = new int[halfEdgeCapacity];
+		face = new int[halfEdgeCapacity];
+		faceOuter = new int[faceCapacity];
+		faceFirstHole = new int[faceCapacity];
+		holeEdge = new int[DEFAULT_CAPACITY];
+		holeNext = new int[DEFAULT_CAPACITY];
+	}
+
+	// ---------------------------------------------------------------- vertices
+
+	/**
+	 * Appends a vertex to the coordinate pool.
+	 *
+	 * @return the id of the new vertex
+	 */
+	public int addVertex(double x, double y, double z) {
+		if (3 * vertexCount + 3 > coords.length) {
+			coords = Arrays.copyOf(coords, Math.max(3 * vertexCount + 3, 2 * coords.length));
+		}
+		int base = 3 * vertexCount;
+		coords[base] = x;
+		coords[base + 1] = y;
+		coords[base + 2] = z;
+		return vertexCount++;
+	}
+
+	public double getX(int vertex) {
+		return coords[3 * vertex];
+	}
+
+	public double getY(int vertex) {
+		return coords[3 * vertex + 1];
+	}
+
+	public double getZ(int vertex) {
+		return coords[3 * vertex + 2];
+	}
+
+	public void setCoordinates(int vertex, double x, double y, double z) {
+		int base = 3 * vertex;
+		coords[base] = x;
+		coords[base + 1] = y;
+		coords[base + 2] = z;
+	}
+
+	/**
+	 * Returns the backing coordinate pool (x, y, z per vertex). Only the first
+	 * {@code 3 * getVertexCount()} entries are valid; the array is replaced when
+	 * the mesh grows.
+	 *
+	 * @return the coordinate pool
+	 */
+	public double[] getCoordinatePool() {
+		return coords;
+	}
+
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	// -------------------------------------------------------------- half-edges
+
+	/**
+	 * Creates an unlinked half-edge (no next, prev, twin or face).
+	 *
+	 * @param originVertex the origin vertex id
+	 * @return the id of the new half-edge
+	 */
+	public int addHalfEdge(int originVertex) {
+		if (halfEdgeCount == origin.length) {
+			int capacity = 2 * origin.length;
+			origin = Arrays.copyOf(origin, capacity);
+			next = Arrays.copyOf(next, capacity);
+			prev = Arrays.copyOf(prev, capacity);
+			twin = Arrays.copyOf(twin, capacity);
+			face = Arrays.copyOf(face, capacity);
+		}
+		int he = halfEdgeCount++;
+		origin[he] = originVertex;
+		next[he] = NONE;
+		prev[he] = NONE;
+		twin[he] = NONE;
+		face[he] = NONE;
+		return he;
+	}
+
+	public int getOrigin(int halfEdge) {
+		return origin[halfEdge];
+	}
+
+	public int getDestination(int halfEdge) {
+		return origin[next[halfEdge]];
+	}
+
+	public int getNext(int halfEdge) {
+		return next[halfEdge];
+	}
+
+	public int getPrev(int halfEdge) {
+		return prev[halfEdge];
+	}
+
+	public int getTwin(int halfEdge) {
+		return twin[halfEdge];
+	}
+
+	public int getFace(int halfEdge) {
+		return face[halfEdge];
+	}
+
+	public void setTwin(int halfEdge, int twinEdge) {
+		twin[halfEdge] = twinEdge;
+	}
+
+	public int getHalfEdgeCount() {
+		return halfEdgeCount;
+	}
+
+	/**
+	 * Indexed counterpart of {@link HalfEdgeUtil#buildPolygon(List)}. Boundary
+	 * twins are {@link #NONE}.
+	 *
+	 * @param vertices the vertex ids of the ring in order
+	 * @return the first half-edge of the ring
+	 */
+	public int buildPolygon(int... vertices) {
+		if (vertices == null || vertices.length < 3) {
+			throw new IllegalArgumentException("Polygon needs at least 3 points");
+		}
+		int first = addHalfEdge(vertices[0]);
+		int current = first;
+
+		for (int i = 1; i < vertices.length; i++) {
+			int he = addHalfEdge(vertices[i]);
+			next[current] = he;
+			prev[he] = current;
+			current = he;
+		}
+		next[current] = first;
+		prev[first] = current;
+		return first;
+	}
+
+	/**
+	 * Indexed counterpart of {@link HalfEdgeUtil#removeHalfEdge(HalfEdge)}. If the
+	 * edge is the entry point of its face or hole, the entry moves to the
+	 * successor. The removed edge is detached: its face, next and prev become
+	 * {@link #NONE}, so {@link #stitchFaces()} skips it. Its twin link is kept.
+	 *
+	 * @param edge the half-edge to unlink
+	 */
+	public void removeHalfEdge(int edge) {
+		int p = prev[edge];
+		int n = next[edge];
+		next[p] = n;
+		prev[n] = p;
+
+		int f = face[edge];
+		if (f != NONE) {
+			if (faceOuter[f] == edge) {
+				faceOuter[f] = n;
+			}
+			for (int h = faceFirstHole[f]; h != NONE; h = holeNext[h]) {
+				if (holeEdge[h] == edge) {
+					holeEdge[h] = n;
+				}
+			}
+		}
+		face[edge] = NONE;
+		next[edge] = NONE;
+		prev[edge] = NONE;
+	}
+
+	/**
+	 * Indexed counterpart of
+	 * {@link HalfEdgeUtil#addHalfEdgeAsNext(HalfEdge, HalfEdge)}. The inserted
+	 * edge joins the face of {@code edge}.
+	 *
+	 * @param edge  the predecessor
+	 * @param toAdd the half-edge to insert
+	 */
+	public void addHalfEdgeAsNext(int edge, int toAdd) {
+		int successor = next[edge];
+
+		prev[successor] = toAdd;
+		next[toAdd] = successor;
+		next[edge] = toAdd;
+		prev[toAdd] = edge;
+		face[toAdd] = face[edge];
+	}
+
+	/**
+	 * Indexed counterpart of
+	 * {@link HalfEdgeUtil#connectTwoPolygons(HalfEdge, HalfEdge)}: twins every
+	 * pair of opposite half-edges of the two rings.
+	 *
+	 * @param start1 an (arbitrary) half-edge of the first polygon
+	 * @param start2 an (arbitrary) half-edge of the second polygon
+	 */
+	public void connectTwoPolygons(int start1, int start2) {
+		int current1 = start1;
+
+		do {
+			int current2 = start2;
+			do {
+				if (origin[current1] == origin[next[current2]] && origin[next[current1]] == origin[current2]) {
+					twin[current1] = current2;
+					twin[current2] = current1;
+				}
+				current2 = next[current2];
+			} while (current2 != start2);
+
+			current1 = next[current1];
+		} while (current1 != start1);
+	}
+
+	/**
+	 * Links the twins of all half-edges that belong to a face in one pass, keyed
+	 * by origin/destination vertex ids (linear in the number of half-edges).
+	 * Existing twin links are replaced; boundary and non-manifold half-edges get
+	 * {@link #NONE} and are listed in the report.
+	 *
+	 * @return the stitch report
+	 */
+	public StitchReport<Integer> stitchFaces() {
+		int[] edges = new int[halfEdgeCount];
+		int n = 0;
+		for (int he = 0; he < halfEdgeCount; he++) {
+			if (face[he] != NONE) {
+				edges[n++] = he;
+			}
+		}
+
+		int[] from = new int[n];
+		int[] to = new int[n];
+		for (int i = 0; i < n; i++) {
+			from[i] = origin[edges[i]];
+			to[i] = origin[next[edges[i]]];
+		}
+
+		int[] twins = new int[n];
+		TwinLinker.link(from, to, n, twins);
+
+		int linked = 0;
+		List<Integer> boundary = new ArrayList<>();
+		List<Integer> nonManifold = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			int t = twins[i];
+			if (t >= 0) {
+				twin[edges[i]] = edges[t];
+				if (t > i) {
+					linked++;
+				}
+			} else {
+				twin[edges[i]] = NONE;
+				(t == TwinLinker.BOUNDARY ? boundary : nonManifold).add(edges[i]);
+			}
+		}
+		return new StitchReport<>(linked, boundary, nonManifold);
+	}
+
+	// ------------------------------------------------------------------- faces
+
+	/**
+	 * Creates a face bounded by the ring of {@code outerHalfEdge} and the given
+	 * hole rings and assigns the face to every half-edge of these rings.
+	 *
+	 * @param outerHalfEdge a half-edge of the outer ring
+	 * @param holes         a half-edge of each hole ring
+	 * @return the id of the new face
+	 */
+	public int addFace(int outerHalfEdge, int... holes) {
+		if (faceCount == faceOuter.length) {
+			int capacity = 2 * faceOuter.length;
+			faceOuter = Arrays.copyOf(faceOuter, capacity);
+			faceFirstHole = Arrays.copyOf(faceFirstHole, capacity);
+		}
+		int f = faceCount++;
+		faceOuter[f] = outerHalfEdge;
+		faceFirstHole[f] = NONE;
+		assignFace(outerHalfEdge, f);
+
+		// keep the holes in the given order
+		int last = NONE;
+		for (int hole : holes) {
+			int h = addHole(hole);
+			if (last == NONE) {
+				faceFirstHole[f] = h;
+			} else {
+				holeNext[last] = h;
+			}
+			last = h;
+			assignFace(hole, f);
+		}
+		return f;
+	}
+
+	private int addHole(int entry) {
+		if (holeCount == holeEdge.length) {
+			int capacity = 2 * holeEdge.length;
+			holeEdge = Arrays.copyOf(holeEdge, capacity);
+			holeNext = Arrays.copyOf(holeNext, capacity);
+		}
+		int h = holeCount++;
+		holeEdge[h] = entry;
+		holeNext[h] = NONE;
+		return h;
+	}
+
+	private void assignFace(int start, int f) {
+		int he = start;
+		do {
+			face[he] = f;
+			he = next[he];
+		} while (he != start);
+	}
+
+	public int getOuterHalfEdge(int face) {
+		return faceOuter[face];
+	}
+
+	/**
+	 * Returns the first hole of a face. Iterate with {@link #getNextHole(int)} and
+	 * read the ring with {@link #getHoleHalfEdge(int)}.
+	 *
+	 * @param face the face id
+	 * @return the first hole id or {@link #NONE}
+	 */
+	public int getFirstHole(int face) {
+		return faceFirstHole[face];
+	}
+
+	public int getNextHole(int hole) {
+		return holeNext[hole];
+	}
+
+	public int getHoleHalfEdge(int hole) {
+		return holeEdge[hole];
+	}
+
+	public int getFaceCount() {
+		return faceCount;
+	}
+
+	/**
+	 * Counts the half-edges of the ring containing {@code start}.
+	 *
+	 * @param start a half-edge of the ring
+	 * @return the number of half-edges in the ring
+	 */
+	public int ringSize(int start) {
+		int n = 0;
+		int he = start;
+		do {
+			n++;
+			he = next[he];
+		} while (he != start);
+		return n;
+	}
+
+	/**
+	 * Releases unused capacity of all arrays.
+	 */
+	public void trimToSize() {
+		coords = Arrays.copyOf(coords, Math.max(3 * vertexCount, 3));
+		int he = Math.max(halfEdgeCount, 1);
+		origin = Arrays.copyOf(origin, he);
+		next = Arrays.copyOf(next, he);
+		prev = Arrays.copyOf(prev, he);
+		twin = Arrays.copyOf(twin, he);
+		face = Arrays.copyOf(face, he);
+		int f = Math.max(faceCount, 1);
+		faceOuter = Arrays.copyOf(faceOuter, f);
+		faceFirstHole = Arrays.copyOf(faceFirstHole, f);
+		int h = Math.max(holeCount, 1);
+		holeEdge = Arrays.copyOf(holeEdge, h);
+		holeNext = Arrays.copyOf(holeNext, h);
+	}
+
+	// ---------------------------------------------------------------- adapters
+
+	/**
+	 * Converts an object based polyhedron. Vertices are identified by reference
+	 * like in {@link HalfEdgeUtil#connectTwoPolygons}; the vertices of
+	 * {@link Polyhedron#getVertices()} keep their list order, vertices only
+	 * reachable through the faces are appended. Twin links are kept as long as
+	 * both half-edges belong to a face of the polyhedron.
+	 *
+	 * @param polyhedron the polyhedron to convert
+	 * @return a new indexed mesh
+	 */
+	public static IndexedMesh fromPolyhedron(Polyhedron polyhedron) {
+		List<Face> faces = polyhedron.getFaces();
+		List<Point> vertices = polyhedron.getVertices();
+		int vertexHint = vertices != null ? vertices.size() : DEFAULT_CAPACITY;
+		IndexedMesh mesh = new IndexedMesh(vertexHint, 4 * faces.size(), faces.size());
+
+		Map<Point, Integer> vertexIds = new IdentityHashMap<>();
+		if (vertices != null) {
+			for (Point p : vertices) {
+				mesh.vertexId(vertexIds, p);
+			}
+		}
+
+		Map<HalfEdge, Integer> edgeIds = new IdentityHashMap<>();
+		for (Face f : faces) {
+			int outer = mesh.copyRing(f.getHalfEdge(), vertexIds, edgeIds);
+			List<HalfEdge> holes = f.getHoles();
+			int[] holeIds = new int[holes != null ? holes.size() : 0];
+			for (int i = 0; i < holeIds.length; i++) {
+				holeIds[i] = mesh.copyRing(holes.get(i), vertexIds, edgeIds);
+			}
+			mesh.addFace(outer, holeIds);
+		}
+
+		for (Map.Entry<HalfEdge, Integer> e : edgeIds.entrySet()) {
+			HalfEdge t = e.getKey().getTwin();
+			if (t != null) {
+				Integer tid = edgeIds.get(t);
+				if (tid != null) {
+					mesh.twin[e.getValue()] = tid;
+				}
+			}
+		}
+		return mesh;
+	}
+
+	private int vertexId(Map<Point, Integer> vertexIds, Point p) {
+		Integer id = vertexIds.get(p);
+		if (id == null) {
+			id = addVertex(p.xyz[0], p.xyz[1], p.xyz[2]);
+			vertexIds.put(p, id);
+		}
+		return id;
+	}
+
+	private int copyRing(HalfEdge start, Map<Point, Integer> vertexIds, Map<HalfEdge, Integer> edgeIds) {
+		int first = NONE;
+		int last = NONE;
+		HalfEdge current = start;
+		do {
+			int he = addHalfEdge(vertexId(vertexIds, current.getOrg()));
+			edgeIds.put(current, he);
+			if (first == NONE) {
+				first = he;
+			} else {
+				next[last] = he;
+				prev[he] = last;
+			}
+			last = he;
+			current = current.getNext();
+		} while (current != start);
+		next[last] = first;
+		prev[first] = last;
+		return first;
+	}
+
+	/**
+	 * Converts this mesh into the object model. Every vertex becomes one shared
+	 * {@link Point}, every half-edge one {@link HalfEdge} and every face one
+	 * {@link Face}; next, prev and twin links are preserved.
+	 *
+	 * @return a new polyhedron
+	 */
+	public Polyhedron toPolyhedron() {
+		List<Point> points = new ArrayList<>(vertexCount);
+		for (int v = 0; v < vertexCount; v++) {
+			points.add(new Point(getX(v), getY(v), getZ(v)));
+		}
+
+		List<HalfEdge> halfEdges = new ArrayList<>(halfEdgeCount);
+		for (int he = 0; he < halfEdgeCount; he++) {
+			halfEdges.add(new HalfEdge(points.get(origin[he])));
+		}
+		for (int he = 0; he < halfEdgeCount; he++) {
+			HalfEdge h = halfEdges.get(he);
+			h.setNext(next[he] != NONE ? halfEdges.get(next[he]) : null);
+			h.setPrev(prev[he] != NONE ? halfEdges.get(prev[he]) : null);
+			h.setTwin(twin[he] != NONE ? halfEdges.get(twin[he]) : null);
+		}
+
+		List<Face> faces = new ArrayList<>(faceCount);
+		for (int f = 0; f < faceCount; f++) {
+			HalfEdge outer = halfEdges.get(faceOuter[f]);
+			if (faceFirstHole[f] == NONE) {
+				faces.add(new Face(outer));
+			} else {
+				List<HalfEdge> holes = new ArrayList<>();
+				for (int h = faceFirstHole[f]; h != NONE; h = holeNext[h]) {
+					holes.add(halfEdges.get(holeEdge[h]));
+				}
+				faces.add(new Face(outer, holes));
+			}
+		}
+		return new Polyhedron(faces, halfEdges, points);
+	}
+
+	@Override
+	public String toString() {
+		return "IndexedMesh with " + faceCount + " faces, " + halfEdgeCount + " half-edges, and " + vertexCount
+				+ " vertices.";
+	}
+
+}
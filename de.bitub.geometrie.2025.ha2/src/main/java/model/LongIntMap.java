@@ -0,0 +1,145 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive {@code long} keys to {@code int}
+ * values. Used where a {@code HashMap<Long, Integer>} would box every entry,
+ * e.g. for directed edges keyed by {@link #edgeKey(int, int)}.
+ */
+public final class LongIntMap {
+
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private long[] keys;
+	private int[] values;
+	private boolean[] used;
+	private int size;
+	private int mask;
+	private int threshold;
+
+	public LongIntMap() {
+		this(16);
+	}
+
+	/**
+	 * @param expectedSize number of entries that fit without rehashing
+	 */
+	public LongIntMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+		allocate(capacity);
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		used = new boolean[capacity];
+		mask = capacity - 1;
+		threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	/**
+	 * Packs a directed edge into a single key.
+	 *
+	 * @param from origin vertex id
+	 * @param to   destination vertex id
+	 * @return the key of the directed edge
+	 */
+	public static long edgeKey(int from, int to) {
+		return ((long) from << 32) | (to & 0xffffffffL);
+	}
+
+	private static int mix(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+	private int slot(long key) {
+		int i = mix(key) & mask;
+		while (used[i] && keys[i] != key) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	/**
+	 * @return the value for {@code key} or {@code missing} if absent
+	 */
+	public int get(long key, int missing) {
+		int i = slot(key);
+		return used[i] ? values[i] : missing;
+	}
+
+	public boolean containsKey(long key) {
+		return used[slot(key)];
+	}
+
+	/**
+	 * Associates {@code value} with {@code key}.
+	 *
+	 * @return the previous value or {@code missing} if absent
+	 */
+	public int put(long key, int value, int missing) {
+		int i = slot(key);
+		if (used[i]) {
+			int old = values[i];
+			values[i] = value;
+			return old;
+		}
+		used[i] = true;
+		keys[i] = key;
+		values[i] = value;
+		if (++size > threshold) {
+			rehash();
+		}
+		return missing;
+	}
+
+	/**
+	 * Stores {@code value} only if {@code key} is absent.
+	 *
+	 * @return the existing value or {@code missing} if the value was stored
+	 */
+	public int putIfAbsent(long key, int value, int missing) {
+		int i = slot(key);
+		if (used[i]) {
+			return values[i];
+		}
+		used[i] = true;
+		keys[i] = key;
+		values[i] = value;
+		if (++size > threshold) {
+			rehash();
+		}
+		return missing;
+	}
+
+	private void rehash() {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		boolean[] oldUsed = used;
+		allocate(2 * oldKeys.length);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldUsed[i]) {
+				int j = slot(oldKeys[i]);
+				used[j] = true;
+				keys[j] = oldKeys[i];
+				values[j] = oldValues[i];
+			}
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		Arrays.fill(used, false);
+		size = 0;
+	}
+
+}
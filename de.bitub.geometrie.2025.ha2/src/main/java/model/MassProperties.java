@@ -0,0 +1,221 @@
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Surface area, enclosed volume, centroid and axis-aligned bounding box of a
+ * {@link Polyhedron}, see {@link Polyhedron#computeMassProperties()}.
+ * <p>
+ * All quantities are computed in one pass over the face rings (outer rings and
+ * holes). The area of a face is half the length of its Newell vector, holes
+ * running the other way are subtracted. Volume and centroid follow from the
+ * divergence theorem: every face is split into a fan of triangles around its
+ * first point, and each triangle spans a signed tetrahedron with a reference
+ * point. Coordinates are taken relative to that point (the first point of the
+ * first face), so large world coordinates do not cancel.
+ * <p>
+ * The faces are processed in parallel in blocks of fixed size. The sums of a
+ * block and the block sums are added with compensated (Neumaier) summation in
+ * a fixed order, so the result does not depend on the number of threads.
+ */
+public final class MassProperties {
+
+	// faces per parallel task, fixed so the order of the additions is fixed
+	private static final int BLOCK = 1024;
+	// compensated sums: area, 6 * volume, 24 * volume * centroid (x, y, z)
+	private static final int AREA = 0, VOLUME = 1, MOMENT = 2, SUMS = 5;
+
+	private final double area;
+	private final double volume;
+	private final double[] centroid;
+	private final double[] min;
+	private final double[] max;
+
+	private MassProperties(double area, double volume, double[] centroid, double[] min, double[] max) {
+		this.area = area;
+		this.volume = volume;
+		this.centroid = centroid;
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * @param faces the faces, random access
+	 * @return the mass properties
+	 */
+	static MassProperties compute(List<Face> faces) {
+		int n = faces.size();
+		double[] min = { Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY };
+		double[] max = { Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY };
+		if (n == 0) {
+			return new MassProperties(0, 0, new double[] { Double.NaN, Double.NaN, Double.NaN }, min, max);
+		}
+		double[] reference = faces.get(0).getHalfEdge().getOrg().xyz.clone();
+
+		int blocks = (n + BLOCK - 1) / BLOCK;
+		// per block: sum and compensation of every quantity, then min and max
+		double[] partial = new double[blocks * (2 * SUMS + 6)];
+		IntStream.range(0, blocks).parallel().forEach(b -> {
+			int offset = b * (2 * SUMS + 6);
+			for (int i = 0; i < 3; i++) {
+				partial[offset + 2 * SUMS + i] = Double.POSITIVE_INFINITY;
+				partial[offset + 2 * SUMS + 3 + i] = Double.NEGATIVE_INFINITY;
+			}
+			HalfEdgeCursor cursor = new HalfEdgeCursor();
+			double[] face = new double[7];
+			for (int f = b * BLOCK; f < Math.min(n, (b + 1) * BLOCK); f++) {
+				accumulate(faces.get(f), reference, cursor, face, partial, offset);
+			}
+		});
+
+		double[] total = new double[2 * SUMS];
+		for (int b = 0; b < blocks; b++) {
+			int offset = b * (2 * SUMS + 6);
+			for (int s = 0; s < SUMS; s++) {
+				add(total, s, partial[offset + 2 * s]);
+				add(total, s, partial[offset + 2 * s + 1]);
+			}
+			for (int i = 0; i < 3; i++) {
+				min[i] = Math.min(min[i], partial[offset + 2 * SUMS + i]);
+				max[i] = Math.max(max[i], partial[offset + 2 * SUMS + 3 + i]);
+			}
+		}
+
+		double sixVolume = sum(total, VOLUME);
+		double[] centroid = new double[3];
+		for (int i = 0; i < 3; i++) {
+			// NaN without volume, e.g. for an open or flat surface
+			centroid[i] = sixVolume != 0 ? reference[i] + sum(total, MOMENT + i) / (4 * sixVolume) : Double.NaN;
+		}
+		return new MassProperties(sum(total, AREA), sixVolume / 6, centroid, min, max);
+	}
+
+	/**
+	 * Adds the contribution of one face to the sums of its block.
+	 *
+	 * @param face scratch for the Newell vector, the volume and the moment
+	 */
+	private static void accumulate(Face f, double[] reference, HalfEdgeCursor cursor, double[] face,
+			double[] partial, int offset) {
+		double[] first = f.getHalfEdge().getOrg().xyz;
+		// apex of the fan, relative to the reference point
+		double ax = first[0] - reference[0], ay = first[1] - reference[1], az = first[2] - reference[2];
+		Arrays.fill(face, 0);
+		ring(f.getHalfEdge(), first, ax, ay, az, cursor, face, partial, offset);
+		if (f.getHoles() != null) {
+			for (HalfEdge hole : f.getHoles()) {
+				ring(hole, first, ax, ay, az, cursor, face, partial, offset);
+			}
+		}
+
+		add(partial, offset, AREA, 0.5 * Math.sqrt(face[0] * face[0] + face[1] * face[1] + face[2] * face[2]));
+		add(partial, offset, VOLUME, face[3]);
+		for (int i = 0; i < 3; i++) {
+			add(partial, offset, MOMENT + i, face[4 + i]);
+		}
+	}
+
+	/**
+	 * Walks a ring of the face: every edge (p, q) forms the triangle (first, p, q)
+	 * of the fan, with the cross product c of p - first and q - first. Sums c (the
+	 * Newell vector), the tetrahedron term a · c and the moment (a · c) (a + p +
+	 * q), where a, p and q are relative to the reference point.
+	 */
+	private static void ring(HalfEdge start, double[] first, double ax, double ay, double az,
+			HalfEdgeCursor cursor, double[] face, double[] partial, int offset) {
+		for (cursor.ring(start); cursor.advance();) {
+			double[] p = cursor.getOrg().xyz, q = cursor.getDest().xyz;
+			bounds(p, partial, offset);
+			double px = p[0] - first[0], py = p[1] - first[1], pz = p[2] - first[2];
+			double qx = q[0] - first[0], qy = q[1] - first[1], qz = q[2] - first[2];
+			double cx = py * qz - pz * qy, cy = pz * qx - px * qz, cz = px * qy - py * qx;
+			double tetra = ax * cx + ay * cy + az * cz;
+			face[0] += cx;
+			face[1] += cy;
+			face[2] += cz;
+			face[3] += tetra;
+			// a + p + q relative to the reference point is 3a + (p - first) + (q - first)
+			face[4] += tetra * (3 * ax + px + qx);
+			face[5] += tetra * (3 * ay + py + qy);
+			face[6] += tetra * (3 * az + pz + qz);
+		}
+	}
+
+	private static void bounds(double[] p, double[] partial, int offset) {
+		int m = offset + 2 * SUMS;
+		for (int i = 0; i < 3; i++) {
+			partial[m + i] = Math.min(partial[m + i], p[i]);
+			partial[m + 3 + i] = Math.max(partial[m + 3 + i], p[i]);
+		}
+	}
+
+	private static void add(double[] sums, int s, double value) {
+		add(sums, 0, s, value);
+	}
+
+	/**
+	 * Neumaier's variant of Kahan summation: keeps the rounding error of every
+	 * addition in a separate compensation term.
+	 */
+	private static void add(double[] sums, int offset, int s, double value) {
+		int i = offset + 2 * s;
+		double sum = sums[i];
+		double t = sum + value;
+		if (Math.abs(sum) >= Math.abs(value)) {
+			sums[i + 1] += (sum - t) + value;
+		} else {
+			sums[i + 1] += (value - t) + sum;
+		}
+		sums[i] = t;
+	}
+
+	private static double sum(double[] sums, int s) {
+		return sums[2 * s] + sums[2 * s + 1];
+	}
+
+	/**
+	 * @return the surface area
+	 */
+	public double getArea() {
+		return area;
+	}
+
+	/**
+	 * @return the enclosed volume, positive for faces counter-clockwise seen from
+	 *         outside; only meaningful for a closed surface
+	 */
+	public double getVolume() {
+		return volume;
+	}
+
+	/**
+	 * @return the centroid of the enclosed volume as x, y, z, NaN if the volume
+	 *         is 0
+	 */
+	public double[] getCentroid() {
+		return centroid.clone();
+	}
+
+	/**
+	 * @return the smallest x, y, z of all points, positive infinity without faces
+	 */
+	public double[] getMin() {
+		return min.clone();
+	}
+
+	/**
+	 * @return the largest x, y, z of all points, negative infinity without faces
+	 */
+	public double[] getMax() {
+		return max.clone();
+	}
+
+	@Override
+	public String toString() {
+		return "MassProperties [area=" + area + ", volume=" + volume + ", centroid=" + centroid[0] + ", "
+				+ centroid[1] + ", " + centroid[2] + "]";
+	}
+
+}
@@ -0,0 +1,591 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Simplifies a polyhedron by collapsing edges in the order of the quadric error
+ * metric (Garland and Heckbert). Every face contributes the squared distance to
+ * its plane, weighted by its area, to the error quadric of its vertices; an
+ * edge is collapsed into the point minimizing the summed quadric of both end
+ * vertices.
+ * <p>
+ * The collapses work on a copy of the polyhedron as {@link IndexedMesh} and
+ * walk the vertex fans with the twin links, so the faces may be arbitrary
+ * polygons: a collapse removes one corner from the two faces at the edge and
+ * removes them if they were triangles, linking the twins of their remaining
+ * edges. Vertices on a boundary (no twin), on a non-manifold fan or on a face
+ * with holes are never moved, so borders, holes and unlinked parts are kept.
+ * Collapses that would fold a face over, pinch the surface (link condition) or
+ * merge two faces are rejected.
+ * <p>
+ * Simplification is progressive: {@link #simplify(int)} can be called with
+ * decreasing targets and the current state taken with {@link #toPolyhedron()}
+ * in between, see {@link #createLevels(Polyhedron, double...)}.
+ */
+public class MeshSimplifier {
+
+	private static final int NONE = IndexedMesh.NONE;
+
+	private final IndexedMesh mesh;
+
+	// quadric per vertex: aa, ab, ac, ad, bb, bc, bd, cc, cd, dd
+	private final double[] quadrics;
+	// an outgoing half-edge per live vertex, NONE for removed vertices
+	private final int[] vertexEdge;
+	private final boolean[] locked;
+	private int vertexCount;
+	private int faceCount;
+	private double maxError;
+
+	// version of the heap entries per edge, keyed by the smaller half-edge id
+	private final int[] edgeStamp;
+	private double[] heapCost = new double[64];
+	private int[] heapEdge = new int[64];
+	private int[] heapStamp = new int[64];
+	private int heapSize;
+
+	// scratch marks for the link condition
+	private final int[] vertexMark;
+	private final int[] faceMark;
+	private int mark;
+
+	/**
+	 * Copies the polyhedron; its twin links are used as they are.
+	 *
+	 * @param polyhedron the polyhedron to simplify
+	 */
+	public MeshSimplifier(Polyhedron polyhedron) {
+		mesh = IndexedMesh.fromPolyhedron(polyhedron);
+		int vertices = mesh.vertexCount;
+		int halfEdges = mesh.halfEdgeCount;
+		quadrics = new double[10 * vertices];
+		vertexEdge = new int[vertices];
+		locked = new boolean[vertices];
+		edgeStamp = new int[halfEdges];
+		vertexMark = new int[vertices];
+		faceMark = new int[mesh.faceCount];
+		faceCount = mesh.faceCount;
+
+		Arrays.fill(vertexEdge, NONE);
+		int[] outgoing = new int[vertices];
+		for (int he = 0; he < halfEdges; he++) {
+			int v = mesh.origin[he];
+			vertexEdge[v] = he;
+			outgoing[v]++;
+			if (mesh.twin[he] == NONE || mesh.faceFirstHole[mesh.face[he]] != NONE) {
+				locked[v] = true;
+				locked[mesh.origin[mesh.next[he]]] = true;
+			}
+		}
+		for (int v = 0; v < vertices; v++) {
+			if (vertexEdge[v] != NONE) {
+				vertexCount++;
+				// a fan that does not reach all outgoing edges is not manifold
+				if (!locked[v] && fanSize(v, outgoing[v]) != outgoing[v]) {
+					locked[v] = true;
+				}
+			}
+		}
+
+		double[] normal = new double[3];
+		for (int f = 0; f < mesh.faceCount; f++) {
+			addFaceQuadric(f, normal);
+		}
+		for (int he = 0; he < halfEdges; he++) {
+			if (he < mesh.twin[he]) {
+				push(he);
+			}
+		}
+	}
+
+	/**
+	 * Counts the outgoing half-edges reached by rotating around a vertex, at most
+	 * {@code limit + 1}.
+	 */
+	private int fanSize(int v, int limit) {
+		int start = vertexEdge[v];
+		int e = start;
+		int n = 0;
+		do {
+			n++;
+			int t = mesh.twin[mesh.prev[e]];
+			if (t == NONE || n > limit) {
+				return limit + 1;
+			}
+			e = t;
+		} while (e != start);
+		return n;
+	}
+
+	private void addFaceQuadric(int f, double[] normal) {
+		int outer = mesh.faceOuter[f];
+		newell(outer, NONE, NONE, null, normal);
+		double length = Math.sqrt(normal[0] * normal[0] + normal[1] * normal[1] + normal[2] * normal[2]);
+		if (length == 0) {
+			return;
+		}
+		double a = normal[0] / length, b = normal[1] / length, c = normal[2] / length;
+		double d = -(a * mesh.coords[3 * mesh.origin[outer]] + b * mesh.coords[3 * mesh.origin[outer] + 1]
+				+ c * mesh.coords[3 * mesh.origin[outer] + 2]);
+		double area = length / 2;
+
+		addPlane(outer, a, b, c, d, area);
+		for (int h = mesh.faceFirstHole[f]; h != NONE; h = mesh.holeNext[h]) {
+			addPlane(mesh.holeEdge[h], a, b, c, d, area);
+		}
+	}
+
+	private void addPlane(int start, double a, double b, double c, double d, double weight) {
+		int he = start;
+		do {
+			int q = 10 * mesh.origin[he];
+			quadrics[q] += weight * a * a;
+			quadrics[q + 1] += weight * a * b;
+			quadrics[q + 2] += weight * a * c;
+			quadrics[q + 3] += weight * a * d;
+			quadrics[q + 4] += weight * b * b;
+			quadrics[q + 5] += weight * b * c;
+			quadrics[q + 6] += weight * b * d;
+			quadrics[q + 7] += weight * c * c;
+			quadrics[q + 8] += weight * c * d;
+			quadrics[q + 9] += weight * d * d;
+			he = mesh.next[he];
+		} while (he != start);
+	}
+
+	/**
+	 * Newell normal (twice the area vector) of a ring; the vertices {@code u} and
+	 * {@code v} are replaced by {@code p} if {@code p} is not null.
+	 */
+	private void newell(int start, int u, int v, double[] p, double[] normal) {
+		double nx = 0, ny = 0, nz = 0;
+		int he = start;
+		do {
+			int a = mesh.origin[he];
+			int b = mesh.origin[mesh.next[he]];
+			double ax = coordinate(a, 0, u, v, p), ay = coordinate(a, 1, u, v, p), az = coordinate(a, 2, u, v, p);
+			double bx = coordinate(b, 0, u, v, p), by = coordinate(b, 1, u, v, p), bz = coordinate(b, 2, u, v, p);
+			nx += (ay - by) * (az + bz);
+			ny += (az - bz) * (ax + bx);
+			nz += (ax - bx) * (ay + by);
+			he = mesh.next[he];
+		} while (he != start);
+		normal[0] = nx;
+		normal[1] = ny;
+		normal[2] = nz;
+	}
+
+	private double coordinate(int vertex, int axis, int u, int v, double[] p) {
+		return p != null && (vertex == u || vertex == v) ? p[axis] : mesh.coords[3 * vertex + axis];
+	}
+
+	// ------------------------------------------------------------ edge costs
+
+	/**
+	 * Computes the point minimizing the summed quadric of both end vertices of an
+	 * edge, or the best of the end points and the midpoint if the quadric is
+	 * singular or its minimum lies far from the edge.
+	 *
+	 * @return the error at the point
+	 */
+	private double optimalPoint(int he, double[] p) {
+		int u = mesh.origin[he];
+		int v = mesh.origin[mesh.next[he]];
+		int qu = 10 * u, qv = 10 * v;
+		double[] q = new double[10];
+		for (int i = 0; i < 10; i++) {
+			q[i] = quadrics[qu + i] + quadrics[qv + i];
+		}
+
+		double a00 = q[0], a01 = q[1], a02 = q[2], a11 = q[4], a12 = q[5], a22 = q[7];
+		double c0 = a11 * a22 - a12 * a12;
+		double c1 = a02 * a12 - a01 * a22;
+		double c2 = a01 * a12 - a02 * a11;
+		double det = a00 * c0 + a01 * c1 + a02 * c2;
+		double trace = a00 + a11 + a22;
+		double[] c = mesh.coords;
+		if (Math.abs(det) > 1e-9 * trace * trace * trace) {
+			double b0 = -q[3], b1 = -q[6], b2 = -q[8];
+			p[0] = (c0 * b0 + c1 * b1 + c2 * b2) / det;
+			p[1] = (c1 * b0 + (a00 * a22 - a02 * a02) * b1 + (a01 * a02 - a00 * a12) * b2) / det;
+			p[2] = (c2 * b0 + (a01 * a02 - a00 * a12) * b1 + (a00 * a11 - a01 * a01) * b2) / det;
+
+			// nearly flat regions give a far away optimum, keep it close to the edge
+			double ex = c[3 * u] - c[3 * v], ey = c[3 * u + 1] - c[3 * v + 1], ez = c[3 * u + 2] - c[3 * v + 2];
+			double mx = p[0] - (c[3 * u] + c[3 * v]) / 2, my = p[1] - (c[3 * u + 1] + c[3 * v + 1]) / 2,
+					mz = p[2] - (c[3 * u + 2] + c[3 * v + 2]) / 2;
+			if (mx * mx + my * my + mz * mz <= ex * ex + ey * ey + ez * ez) {
+				return error(q, p[0], p[1], p[2]);
+			}
+		}
+
+		double best = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < 3; i++) {
+			double x, y, z;
+			if (i < 2) {
+				int w = 3 * (i == 0 ? v : u);
+				x = c[w];
+				y = c[w + 1];
+				z = c[w + 2];
+			} else {
+				x = (c[3 * u] + c[3 * v]) / 2;
+				y = (c[3 * u + 1] + c[3 * v + 1]) / 2;
+				z = (c[3 * u + 2] + c[3 * v + 2]) / 2;
+			}
+			double e = error(q, x, y, z);
+			if (e < best) {
+				best = e;
+				p[0] = x;
+				p[1] = y;
+				p[2] = z;
+			}
+		}
+		return best;
+	}
+
+	private static double error(double[] q, double x, double y, double z) {
+		double e = q[0] * x * x + 2 * q[1] * x * y + 2 * q[2] * x * z + 2 * q[3] * x + q[4] * y * y + 2 * q[5] * y * z
+				+ 2 * q[6] * y + q[7] * z * z + 2 * q[8] * z + q[9];
+		return Math.max(e, 0);
+	}
+
+	private void push(int he) {
+		if (locked[mesh.origin[he]] || locked[mesh.origin[mesh.next[he]]]) {
+			return;
+		}
+		double cost = optimalPoint(he, new double[3]);
+		if (heapSize == heapCost.length) {
+			heapCost = Arrays.copyOf(heapCost, 2 * heapSize);
+			heapEdge = Arrays.copyOf(heapEdge, 2 * heapSize);
+			heapStamp = Arrays.copyOf(heapStamp, 2 * heapSize);
+		}
+		int i = heapSize++;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (heapCost[parent] <= cost) {
+				break;
+			}
+			move(parent, i);
+			i = parent;
+		}
+		heapCost[i] = cost;
+		heapEdge[i] = he;
+		heapStamp[i] = edgeStamp[he];
+	}
+
+	private void move(int from, int to) {
+		heapCost[to] = heapCost[from];
+		heapEdge[to] = heapEdge[from];
+		heapStamp[to] = heapStamp[from];
+	}
+
+	/**
+	 * Removes the cheapest entry and leaves it at index {@code heapSize}.
+	 */
+	private void pop() {
+		int last = --heapSize;
+		double cost = heapCost[last];
+		int edge = heapEdge[last];
+		int stamp = heapStamp[last];
+		// the root goes to the free slot
+		double rootCost = heapCost[0];
+		int rootEdge = heapEdge[0];
+		int rootStamp = heapStamp[0];
+
+		int i = 0;
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= last) {
+				break;
+			}
+			if (child + 1 < last && heapCost[child + 1] < heapCost[child]) {
+				child++;
+			}
+			if (cost <= heapCost[child]) {
+				break;
+			}
+			move(child, i);
+			i = child;
+		}
+		if (last > 0) {
+			heapCost[i] = cost;
+			heapEdge[i] = edge;
+			heapStamp[i] = stamp;
+		}
+		heapCost[last] = rootCost;
+		heapEdge[last] = rootEdge;
+		heapStamp[last] = rootStamp;
+	}
+
+	// ------------------------------------------------------------- collapses
+
+	/**
+	 * Collapses edges in the order of increasing error until the number of
+	 * vertices reaches the target or no further edge can be collapsed.
+	 *
+	 * @param targetVertexCount the number of vertices to keep
+	 * @return the number of vertices reached
+	 */
+	public int simplify(int targetVertexCount) {
+		double[] p = new double[3];
+		while (vertexCount > Math.max(targetVertexCount, 4) && heapSize > 0) {
+			pop();
+			int he = heapEdge[heapSize];
+			if (mesh.face[he] == NONE || heapStamp[heapSize] != edgeStamp[he]) {
+				continue; // removed or changed since it was queued
+			}
+			double cost = optimalPoint(he, p);
+			if (!canCollapse(he, p)) {
+				continue;
+			}
+			collapse(he, p);
+			maxError = Math.max(maxError, cost);
+		}
+		return vertexCount;
+	}
+
+	/**
+	 * Checks the link condition and that no remaining face around the edge is
+	 * folded over.
+	 */
+	private boolean canCollapse(int h, double[] p) {
+		int t = mesh.twin[h];
+		int u = mesh.origin[h];
+		int v = mesh.origin[t];
+		int f = mesh.face[h];
+		int g = mesh.face[t];
+		if (f == g) {
+			return false;
+		}
+		int wf = mesh.next[mesh.next[h]] == mesh.prev[h] ? mesh.origin[mesh.prev[h]] : NONE;
+		int wg = mesh.next[mesh.next[t]] == mesh.prev[t] ? mesh.origin[mesh.prev[t]] : NONE;
+		if (wf != NONE && wf == wg) {
+			return false;
+		}
+
+		// the only common neighbors may be the opposite corners of triangles at the
+		// edge, and no other face may contain both vertices
+		mark++;
+		int e = h;
+		do {
+			vertexMark[mesh.origin[mesh.next[e]]] = mark;
+			faceMark[mesh.face[e]] = mark;
+			e = mesh.twin[mesh.prev[e]];
+		} while (e != h);
+		e = t;
+		do {
+			int w = mesh.origin[mesh.next[e]];
+			int ef = mesh.face[e];
+			if (w != u && w != wf && w != wg && vertexMark[w] == mark) {
+				return false;
+			}
+			if (ef != f && ef != g && faceMark[ef] == mark) {
+				return false;
+			}
+			e = mesh.twin[mesh.prev[e]];
+		} while (e != t);
+
+		return keepsOrientation(h, u, v, p, f, g) && keepsOrientation(t, u, v, p, f, g);
+	}
+
+	/**
+	 * Checks that the faces around the origin of {@code start} keep their
+	 * orientation when {@code u} and {@code v} move to {@code p}; the triangles
+	 * {@code f} and {@code g} at the edge are skipped as they disappear.
+	 */
+	private boolean keepsOrientation(int start, int u, int v, double[] p, int f, int g) {
+		double[] before = new double[3];
+		double[] after = new double[3];
+		int e = start;
+		do {
+			int face = mesh.face[e];
+			int ring = mesh.faceOuter[face];
+			if ((face != f && face != g) || mesh.ringSize(ring) > 3) {
+				newell(ring, NONE, NONE, null, before);
+				newell(ring, u, v, p, after);
+				double dot = before[0] * after[0] + before[1] * after[1] + before[2] * after[2];
+				if (!(dot > 0)) {
+					return false;
+				}
+			}
+			e = mesh.twin[mesh.prev[e]];
+		} while (e != start);
+		return true;
+	}
+
+	private void collapse(int h, double[] p) {
+		int t = mesh.twin[h];
+		int u = mesh.origin[h];
+		int v = mesh.origin[t];
+
+		int e = h;
+		do {
+			mesh.origin[e] = v;
+			e = mesh.twin[mesh.prev[e]];
+		} while (e != h);
+
+		removeCorner(h, v);
+		removeCorner(t, v);
+
+		vertexEdge[u] = NONE;
+		mesh.setCoordinates(v, p[0], p[1], p[2]);
+		for (int i = 0; i < 10; i++) {
+			quadrics[10 * v + i] += quadrics[10 * u + i];
+		}
+		vertexCount--;
+
+		// the costs of all edges at the moved vertex change
+		int start = vertexEdge[v];
+		e = start;
+		do {
+			int key = Math.min(e, mesh.twin[e]);
+			edgeStamp[key]++;
+			push(key);
+			e = mesh.twin[mesh.prev[e]];
+		} while (e != start);
+	}
+
+	/**
+	 * Removes a collapsed half-edge from its face; a face left with two edges is
+	 * removed and the twins of its edges are linked.
+	 */
+	private void removeCorner(int x, int v) {
+		int f = mesh.face[x];
+		int a = mesh.prev[x];
+		int b = mesh.next[x];
+		mesh.removeHalfEdge(x);
+
+		if (mesh.next[b] == a) {
+			int ta = mesh.twin[a];
+			int tb = mesh.twin[b];
+			mesh.twin[ta] = tb;
+			mesh.twin[tb] = ta;
+			mesh.face[a] = NONE;
+			mesh.face[b] = NONE;
+			mesh.faceOuter[f] = NONE;
+			faceCount--;
+			vertexEdge[mesh.origin[a]] = tb;
+			vertexEdge[v] = ta;
+		} else {
+			vertexEdge[v] = b;
+		}
+	}
+
+	// ---------------------------------------------------------------- result
+
+	/**
+	 * @return the number of remaining vertices
+	 */
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * @return the number of remaining faces
+	 */
+	public int getFaceCount() {
+		return faceCount;
+	}
+
+	/**
+	 * @return the largest quadric error of a collapse so far
+	 */
+	public double getMaxError() {
+		return maxError;
+	}
+
+	/**
+	 * Copies the current state into a compact mesh; vertices and faces keep their
+	 * relative order.
+	 *
+	 * @return a new indexed mesh
+	 */
+	public IndexedMesh toIndexedMesh() {
+		IndexedMesh result = new IndexedMesh(vertexCount, mesh.halfEdgeCount, faceCount);
+		int[] vertexIds = new int[mesh.vertexCount];
+		for (int v = 0; v < mesh.vertexCount; v++) {
+			vertexIds[v] = vertexEdge[v] != NONE ? result.addVertex(mesh.getX(v), mesh.getY(v), mesh.getZ(v)) : NONE;
+		}
+
+		int[] edgeIds = new int[mesh.halfEdgeCount];
+		Arrays.fill(edgeIds, NONE);
+		int[] ring = new int[16];
+		for (int f = 0; f < mesh.faceCount; f++) {
+			int outer = mesh.faceOuter[f];
+			if (outer == NONE) {
+				continue;
+			}
+			ring = copyRing(result, outer, vertexIds, edgeIds, ring);
+			int[] holes = new int[0];
+			for (int h = mesh.faceFirstHole[f]; h != NONE; h = mesh.holeNext[h]) {
+				holes = Arrays.copyOf(holes, holes.length + 1);
+				ring = copyRing(result, mesh.holeEdge[h], vertexIds, edgeIds, ring);
+				holes[holes.length - 1] = edgeIds[mesh.holeEdge[h]];
+			}
+			result.addFace(edgeIds[outer], holes);
+		}
+
+		for (int he = 0; he < mesh.halfEdgeCount; he++) {
+			int t = mesh.twin[he];
+			if (edgeIds[he] != NONE && t != NONE && edgeIds[t] != NONE) {
+				result.twin[edgeIds[he]] = edgeIds[t];
+			}
+		}
+		return result;
+	}
+
+	private int[] copyRing(IndexedMesh result, int start, int[] vertexIds, int[] edgeIds, int[] ring) {
+		int n = 0;
+		int he = start;
+		do {
+			if (n == ring.length) {
+				ring = Arrays.copyOf(ring, 2 * n);
+			}
+			ring[n++] = vertexIds[mesh.origin[he]];
+			he = mesh.next[he];
+		} while (he != start);
+
+		int first = result.buildPolygon(Arrays.copyOf(ring, n));
+		int copy = first;
+		do {
+			edgeIds[he] = copy;
+			he = mesh.next[he];
+			copy = result.next[copy];
+		} while (copy != first);
+		return ring;
+	}
+
+	/**
+	 * @return the current state as a new polyhedron
+	 */
+	public Polyhedron toPolyhedron() {
+		return toIndexedMesh().toPolyhedron();
+	}
+
+	/**
+	 * Creates levels of detail of a polyhedron in one progressive run.
+	 *
+	 * @param polyhedron the polyhedron
+	 * @param ratios     the fraction of vertices to keep per level, decreasing,
+	 *                   e.g. {@code 1, 0.5, 0.25}; a ratio of 1 returns a copy
+	 * @return one polyhedron per ratio
+	 */
+	public static List<Polyhedron> createLevels(Polyhedron polyhedron, double... ratios) {
+		MeshSimplifier simplifier = new MeshSimplifier(polyhedron);
+		int vertices = simplifier.getVertexCount();
+		List<Polyhedron> levels = new ArrayList<>(ratios.length);
+		double last = 1;
+		for (double ratio : ratios) {
+			if (!(ratio > 0 && ratio <= last)) {
+				throw new IllegalArgumentException("Ratios must decrease within (0, 1]: " + Arrays.toString(ratios));
+			}
+			last = ratio;
+			simplifier.simplify((int) Math.ceil(ratio * vertices));
+			levels.add(simplifier.toPolyhedron());
+		}
+		return levels;
+	}
+
+}
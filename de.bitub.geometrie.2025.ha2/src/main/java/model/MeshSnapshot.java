@@ -0,0 +1,351 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only view of an {@link IndexedMesh} stored in a binary snapshot file.
+ * <p>
+ * The file is a 64 byte header followed by the arrays of the mesh in
+ * little-endian order, each padded to 8 bytes: the coordinate pool, the
+ * half-edge arrays (origin, next, prev, twin, face), the face arrays (outer
+ * half-edge, first hole) and the hole arrays (entry half-edge, next hole). The
+ * header holds a magic number, the format {@link #VERSION}, the element counts,
+ * a CRC32 of the payload and a CRC32 of the header itself.
+ * <p>
+ * {@link #open(Path)} maps the arrays with {@link FileChannel#map} instead of
+ * reading them, so the queries work directly on the page cache and a mesh is
+ * available without parsing or copying. Use {@link #toIndexedMesh()} to get an
+ * editable copy.
+ */
+public final class MeshSnapshot {
+
+	/**
+	 * Format version written by {@link #write(IndexedMesh, Path)}.
+	 */
+	public static final int VERSION = 1;
+
+	private static final int MAGIC = 0x534d4548; // "HEMS" in little-endian
+	private static final int HEADER_SIZE = 64;
+	private static final int HEADER_CRC_OFFSET = 60;
+	private static final int CHUNK = 1 << 16;
+
+	private final int vertexCount;
+	private final int halfEdgeCount;
+	private final int faceCount;
+	private final int holeCount;
+
+	private final DoubleBuffer coords;
+	private final IntBuffer origin;
+	private final IntBuffer next;
+	private final IntBuffer prev;
+	private final IntBuffer twin;
+	private final IntBuffer face;
+	private final IntBuffer faceOuter;
+	private final IntBuffer faceFirstHole;
+	private final IntBuffer holeEdge;
+	private final IntBuffer holeNext;
+
+	private MeshSnapshot(int vertexCount, int halfEdgeCount, int faceCount, int holeCount, ByteBuffer[] sections) {
+		this.vertexCount = vertexCount;
+		this.halfEdgeCount = halfEdgeCount;
+		this.faceCount = faceCount;
+		this.holeCount = holeCount;
+		coords = sections[0].asDoubleBuffer();
+		origin = sections[1].asIntBuffer();
+		next = sections[2].asIntBuffer();
+		prev = sections[3].asIntBuffer();
+		twin = sections[4].asIntBuffer();
+		face = sections[5].asIntBuffer();
+		faceOuter = sections[6].asIntBuffer();
+		faceFirstHole = sections[7].asIntBuffer();
+		holeEdge = sections[8].asIntBuffer();
+		holeNext = sections[9].asIntBuffer();
+	}
+
+	/**
+	 * @return the byte length of every section, in file order
+	 */
+	private static long[] sectionLengths(int vertexCount, int halfEdgeCount, int faceCount, int holeCount) {
+		long he = 4L * halfEdgeCount;
+		return new long[] { 24L * vertexCount, he, he, he, he, he, 4L * faceCount, 4L * faceCount,
+				4L * holeCount, 4L * holeCount };
+	}
+
+	private static long padded(long length) {
+		return (length + 7) & ~7L;
+	}
+
+	// ------------------------------------------------------------------ write
+
+	/**
+	 * Writes a snapshot of a mesh. The file is written next to {@code path} and
+	 * moved into place when complete, so readers never see a partial snapshot.
+	 *
+	 * @param mesh the mesh
+	 * @param path the snapshot file
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(IndexedMesh mesh, Path path) throws IOException {
+		Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+			CRC32 crc = new CRC32();
+			channel.position(HEADER_SIZE);
+
+			for (int i = 0; i < 3 * mesh.vertexCount; i++) {
+				if (chunk.remaining() < Double.BYTES) {
+					flush(channel, chunk, crc);
+				}
+				chunk.putDouble(mesh.coords[i]);
+			}
+			writeInts(channel, chunk, crc, mesh.origin, mesh.halfEdgeCount);
+			writeInts(channel, chunk, crc, mesh.next, mesh.halfEdgeCount);
+			writeInts(channel, chunk, crc, mesh.prev, mesh.halfEdgeCount);
+			writeInts(channel, chunk, crc, mesh.twin, mesh.halfEdgeCount);
+			writeInts(channel, chunk, crc, mesh.face, mesh.halfEdgeCount);
+			writeInts(channel, chunk, crc, mesh.faceOuter, mesh.faceCount);
+			writeInts(channel, chunk, crc, mesh.faceFirstHole, mesh.faceCount);
+			writeInts(channel, chunk, crc, mesh.holeEdge, mesh.holeCount);
+			writeInts(channel, chunk, crc, mesh.holeNext, mesh.holeCount);
+			flush(channel, chunk, crc);
+
+			long payload = channel.position() - HEADER_SIZE;
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(MAGIC).putInt(VERSION);
+			header.putInt(mesh.vertexCount).putInt(mesh.halfEdgeCount).putInt(mesh.faceCount).putInt(mesh.holeCount);
+			header.putLong(payload).putInt((int) crc.getValue());
+			header.putInt(HEADER_CRC_OFFSET, headerCrc(header));
+			header.rewind();
+			channel.position(0);
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			channel.force(false);
+		}
+		Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static void writeInts(FileChannel channel, ByteBuffer chunk, CRC32 crc, int[] values, int count)
+			throws IOException {
+		for (int i = 0; i < count; i++) {
+			if (!chunk.hasRemaining()) {
+				flush(channel, chunk, crc);
+			}
+			chunk.putInt(values[i]);
+		}
+		// pad the section to 8 bytes; CHUNK is a multiple of 8, so this always fits
+		if ((chunk.position() & 7) != 0) {
+			chunk.putInt(0);
+		}
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer chunk, CRC32 crc) throws IOException {
+		chunk.flip();
+		crc.update(chunk.duplicate());
+		while (chunk.hasRemaining()) {
+			channel.write(chunk);
+		}
+		chunk.clear();
+	}
+
+	private static int headerCrc(ByteBuffer header) {
+		CRC32 crc = new CRC32();
+		crc.update(header.array(), 0, HEADER_CRC_OFFSET);
+		return (int) crc.getValue();
+	}
+
+	// ------------------------------------------------------------------- open
+
+	/**
+	 * Maps a snapshot and verifies its checksums.
+	 *
+	 * @param path the snapshot file
+	 * @return the mapped snapshot
+	 * @throws IOException if the file cannot be read, is no snapshot of this
+	 *                     version or is corrupt
+	 */
+	public static MeshSnapshot open(Path path) throws IOException {
+		return open(path, true);
+	}
+
+	/**
+	 * Maps a snapshot. The header is always verified; skipping the payload
+	 * checksum avoids reading the whole file, so only the pages actually queried
+	 * are loaded.
+	 *
+	 * @param path           the snapshot file
+	 * @param verifyChecksum whether to verify the checksum of the payload
+	 * @return the mapped snapshot
+	 * @throws IOException if the file cannot be read, is no snapshot of this
+	 *                     version or is corrupt
+	 */
+	public static MeshSnapshot open(Path path, boolean verifyChecksum) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			while (header.hasRemaining() && channel.read(header) >= 0) {
+				// read the complete header
+			}
+			if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+				throw new IOException(path + ": not a mesh snapshot");
+			}
+			if (header.getInt(HEADER_CRC_OFFSET) != headerCrc(header)) {
+				throw new IOException(path + ": corrupt snapshot header");
+			}
+			int version = header.getInt(4);
+			if (version != VERSION) {
+				throw new IOException(path + ": unsupported snapshot version " + version);
+			}
+			int vertexCount = header.getInt(8);
+			int halfEdgeCount = header.getInt(12);
+			int faceCount = header.getInt(16);
+			int holeCount = header.getInt(20);
+			long payload = header.getLong(24);
+			int payloadCrc = header.getInt(32);
+
+			long[] lengths = sectionLengths(vertexCount, halfEdgeCount, faceCount, holeCount);
+			long expected = 0;
+			for (long length : lengths) {
+				expected += padded(length);
+			}
+			if (payload != expected || channel.size() != HEADER_SIZE + payload) {
+				throw new IOException(path + ": truncated snapshot");
+			}
+
+			ByteBuffer[] sections = new ByteBuffer[lengths.length];
+			CRC32 crc = verifyChecksum ? new CRC32() : null;
+			long offset = HEADER_SIZE;
+			for (int i = 0; i < lengths.length; i++) {
+				long length = padded(lengths[i]);
+				if (length > Integer.MAX_VALUE) {
+					throw new IOException(path + ": section " + i + " exceeds 2 GB");
+				}
+				ByteBuffer section = channel.map(MapMode.READ_ONLY, offset, length);
+				if (crc != null) {
+					crc.update(section.duplicate());
+				}
+				sections[i] = section.limit((int) lengths[i]).order(ByteOrder.LITTLE_ENDIAN);
+				offset += length;
+			}
+			if (crc != null && (int) crc.getValue() != payloadCrc) {
+				throw new IOException(path + ": snapshot checksum mismatch");
+			}
+			// the mappings stay valid after the channel is closed
+			return new MeshSnapshot(vertexCount, halfEdgeCount, faceCount, holeCount, sections);
+		}
+	}
+
+	// ---------------------------------------------------------------- queries
+
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	public int getHalfEdgeCount() {
+		return halfEdgeCount;
+	}
+
+	public int getFaceCount() {
+		return faceCount;
+	}
+
+	public int getHoleCount() {
+		return holeCount;
+	}
+
+	public double getX(int vertex) {
+		return coords.get(3 * vertex);
+	}
+
+	public double getY(int vertex) {
+		return coords.get(3 * vertex + 1);
+	}
+
+	public double getZ(int vertex) {
+		return coords.get(3 * vertex + 2);
+	}
+
+	public int getOrigin(int halfEdge) {
+		return origin.get(halfEdge);
+	}
+
+	public int getDestination(int halfEdge) {
+		return origin.get(next.get(halfEdge));
+	}
+
+	public int getNext(int halfEdge) {
+		return next.get(halfEdge);
+	}
+
+	public int getPrev(int halfEdge) {
+		return prev.get(halfEdge);
+	}
+
+	public int getTwin(int halfEdge) {
+		return twin.get(halfEdge);
+	}
+
+	public int getFace(int halfEdge) {
+		return face.get(halfEdge);
+	}
+
+	public int getOuterHalfEdge(int face) {
+		return faceOuter.get(face);
+	}
+
+	public int getFirstHole(int face) {
+		return faceFirstHole.get(face);
+	}
+
+	public int getNextHole(int hole) {
+		return holeNext.get(hole);
+	}
+
+	public int getHoleHalfEdge(int hole) {
+		return holeEdge.get(hole);
+	}
+
+	/**
+	 * Copies the snapshot into a new, editable mesh.
+	 *
+	 * @return the mesh
+	 */
+	public IndexedMesh toIndexedMesh() {
+		IndexedMesh mesh = new IndexedMesh(vertexCount, halfEdgeCount, faceCount);
+		coords.get(0, mesh.coords, 0, 3 * vertexCount);
+		origin.get(0, mesh.origin, 0, halfEdgeCount);
+		next.get(0, mesh.next, 0, halfEdgeCount);
+		prev.get(0, mesh.prev, 0, halfEdgeCount);
+		twin.get(0, mesh.twin, 0, halfEdgeCount);
+		face.get(0, mesh.face, 0, halfEdgeCount);
+		faceOuter.get(0, mesh.faceOuter, 0, faceCount);
+		faceFirstHole.get(0, mesh.faceFirstHole, 0, faceCount);
+		mesh.holeEdge = new int[Math.max(holeCount, 1)];
+		mesh.holeNext = new int[Math.max(holeCount, 1)];
+		holeEdge.get(0, mesh.holeEdge, 0, holeCount);
+		holeNext.get(0, mesh.holeNext, 0, holeCount);
+		mesh.vertexCount = vertexCount;
+		mesh.halfEdgeCount = halfEdgeCount;
+		mesh.faceCount = faceCount;
+		mesh.holeCount = holeCount;
+		return mesh;
+	}
+
+	@Override
+	public String toString() {
+		return "MeshSnapshot [vertices=" + vertexCount + ", halfEdges=" + halfEdgeCount + ", faces=" + faceCount
+				+ ", holes=" + holeCount + "]";
+	}
+
+}
@@ -1,6 +1,15 @@
 package model;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import diagnostics.PipelineMetrics;
+import diagnostics.PipelineStage;
 
 public class Polyhedron {
 
@@ -46,6 +55,163 @@ public class Polyhedron {
 		this.vertices = vertices;
 	}
 
+	/**
+	 * Links the twins of all faces (outer rings and holes) in one pass. Vertices
+	 * are identified by reference, as in {@link HalfEdgeUtil#connectTwoPolygons},
+	 * and the directed edges are hashed by their origin/destination vertex ids, so
+	 * the cost is linear in the number of half-edges instead of calling
+	 * {@code connectTwoPolygons} for every pair of faces. Existing twin links are
+	 * replaced; boundary and non-manifold half-edges end up with a null twin and
+	 * are listed in the report.
+	 *
+	 * @return the stitch report
+	 */
+	public StitchReport<HalfEdge> stitchFaces() {
+		long time = PipelineMetrics.start();
+		List<HalfEdge> edges = new ArrayList<>();
+		for (Face face : faces) {
+			collectRing(face.getHalfEdge(), edges);
+			if (face.getHoles() != null) {
+				for (HalfEdge hole : face.getHoles()) {
+					collectRing(hole, edges);
+				}
+			}
+		}
+
+		int n = edges.size();
+		int[] from = new int[n];
+		int[] to = new int[n];
+		IdentityIntMap<Point> vertexIds = new IdentityIntMap<>(n);
+		for (int i = 0; i < n; i++) {
+			HalfEdge he = edges.get(i);
+			from[i] = vertexId(vertexIds, he.getOrg());
+			to[i] = vertexId(vertexIds, he.getNext().getOrg());
+		}
+
+		int[] twins = new int[n];
+		TwinLinker.link(from, to, n, twins);
+
+		int linked = 0;
+		List<HalfEdge> boundary = new ArrayList<>();
+		List<HalfEdge> nonManifold = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			HalfEdge he = edges.get(i);
+			int t = twins[i];
+			if (t >= 0) {
+				he.setTwin(edges.get(t));
+				if (t > i) {
+					linked++;
+				}
+			} else {
+				he.setTwin(null);
+				(t == TwinLinker.BOUNDARY ? boundary : nonManifold).add(he);
+			}
+		}
+		PipelineMetrics.record(PipelineStage.HALF_EDGE_BUILD, time, faces.size(), vertexIds.size());
+		return new StitchReport<>(linked, boundary, nonManifold);
+	}
+
+	private static int vertexId(IdentityIntMap<Point> vertexIds, Point p) {
+		int id = vertexIds.putIfAbsent(p, vertexIds.size(), -1);
+		return id >= 0 ? id : vertexIds.size() - 1;
+	}
+
+	/**
+	 * Merges coincident points with a {@link VertexWeldIndex}: every half-edge of
+	 * the faces gets the first point within the tolerance as origin, so faces
+	 * built from separately created points share them and
+	 * {@link #stitchFaces()} can link their twins. The vertex list is replaced by
+	 * the remaining points; listed points come first and keep their order. Twins
+	 * are not relinked, and edges shorter than the tolerance are left as
+	 * degenerate edges.
+	 *
+	 * @param tolerance the bound for the difference per coordinate of merged
+	 *                  points, exclusive
+	 * @return the number of points merged into another point
+	 */
+	public int weldVertices(double tolerance) {
+		List<HalfEdge> edges = new ArrayList<>();
+		for (Face face : faces) {
+			collectRing(face.getHalfEdge(), edges);
+			if (face.getHoles() != null) {
+				for (HalfEdge hole : face.getHoles()) {
+					collectRing(hole, edges);
+				}
+			}
+		}
+
+		VertexWeldIndex index = new VertexWeldIndex(tolerance, vertices.size());
+		Map<Point, Point> welded = new IdentityHashMap<>();
+		List<Point> kept = new ArrayList<>(vertices.size());
+		for (Point p : vertices) {
+			weld(p, index, welded, kept);
+		}
+		for (HalfEdge he : edges) {
+			he.setOrg(weld(he.getOrg(), index, welded, kept));
+		}
+		int merged = welded.size() - kept.size();
+		vertices = kept;
+		return merged;
+	}
+
+	private static Point weld(Point p, VertexWeldIndex index, Map<Point, Point> welded, List<Point> kept) {
+		Point result = welded.get(p);
+		if (result == null) {
+			int v = index.add(p.xyz[0], p.xyz[1], p.xyz[2]);
+			if (v == kept.size()) {
+				kept.add(p);
+			}
+			result = kept.get(v);
+			welded.put(p, result);
+		}
+		return result;
+	}
+
+	private static void collectRing(HalfEdge start, List<HalfEdge> edges) {
+		for (HalfEdgeCursor cursor = new HalfEdgeCursor().ring(start); cursor.advance();) {
+			edges.add(cursor.get());
+		}
+	}
+
+	/**
+	 * Computes surface area, enclosed volume, centroid and bounding box in one
+	 * parallel pass over the faces; the result does not depend on the number of
+	 * threads, see {@link MassProperties}.
+	 *
+	 * @return the mass properties
+	 */
+	public MassProperties computeMassProperties() {
+		return MassProperties.compute(randomAccessFaces());
+	}
+
+	/**
+	 * Streams the faces, e.g. for per-face work in parallel; see
+	 * {@link FaceSpliterator}.
+	 *
+	 * @param parallel true for a parallel stream
+	 * @return the stream of faces
+	 */
+	public Stream<Face> faceStream(boolean parallel) {
+		List<Face> list = randomAccessFaces();
+		return StreamSupport.stream(new FaceSpliterator(list, 0, list.size()), parallel);
+	}
+
+	/**
+	 * Streams the half-edges of all face rings (outer rings and holes) face by
+	 * face; see {@link HalfEdgeSpliterator}.
+	 *
+	 * @param parallel true for a parallel stream
+	 * @return the stream of half-edges
+	 */
+	public Stream<HalfEdge> halfEdgeStream(boolean parallel) {
+		List<Face> list = randomAccessFaces();
+		return StreamSupport.stream(new HalfEdgeSpliterator(list, 0, list.size()), parallel);
+	}
+
+	private List<Face> randomAccessFaces() {
+		return faces instanceof RandomAccess ? faces : new ArrayList<>(faces);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
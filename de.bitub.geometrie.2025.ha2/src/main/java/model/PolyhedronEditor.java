@@ -0,0 +1,226 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Edits the face rings of a polyhedron like {@link HalfEdgeUtil} and records
+ * which faces changed, so derived data (projection, triangles, render meshes)
+ * is only recomputed for these faces, see
+ * {@link triangulation.IncrementalTriangulator}.
+ * <p>
+ * The editor knows the face of every half-edge and the faces around every
+ * point. Unlike {@link HalfEdgeUtil#removeHalfEdge(HalfEdge)} it moves the
+ * entry half-edge of a face or hole when that edge is removed. The half-edge
+ * and vertex lists of the polyhedron are not changed; the faces are the source
+ * of truth.
+ */
+public class PolyhedronEditor {
+
+	private static final int[] NO_FACES = new int[0];
+
+	private final Polyhedron polyhedron;
+	private final Map<HalfEdge, Integer> faceOfEdge = new IdentityHashMap<>();
+	// faces using a point, the first entry is the number of faces
+	private final Map<Point, int[]> facesOfPoint = new IdentityHashMap<>();
+
+	private final BitSet dirty = new BitSet();
+	private int[] dirtyFaces = new int[16];
+	private int dirtyCount;
+
+	/**
+	 * @param polyhedron the polyhedron to edit
+	 */
+	public PolyhedronEditor(Polyhedron polyhedron) {
+		this.polyhedron = polyhedron;
+		List<Face> faces = polyhedron.getFaces();
+		for (int f = 0; f < faces.size(); f++) {
+			Face face = faces.get(f);
+			register(face.getHalfEdge(), f);
+			if (face.getHoles() != null) {
+				for (HalfEdge hole : face.getHoles()) {
+					register(hole, f);
+				}
+			}
+		}
+	}
+
+	private void register(HalfEdge start, int face) {
+		for (HalfEdgeCursor cursor = new HalfEdgeCursor().ring(start); cursor.advance();) {
+			faceOfEdge.put(cursor.get(), face);
+			addFaceOfPoint(cursor.getOrg(), face);
+		}
+	}
+
+	private void addFaceOfPoint(Point point, int face) {
+		int[] faces = facesOfPoint.get(point);
+		if (faces == null) {
+			faces = new int[4];
+		} else {
+			for (int i = 1; i <= faces[0]; i++) {
+				if (faces[i] == face) {
+					return;
+				}
+			}
+			if (faces[0] + 1 == faces.length) {
+				faces = Arrays.copyOf(faces, 2 * faces.length);
+			}
+		}
+		faces[++faces[0]] = face;
+		facesOfPoint.put(point, faces);
+	}
+
+	public Polyhedron getPolyhedron() {
+		return polyhedron;
+	}
+
+	/**
+	 * @param edge a half-edge of a face ring
+	 * @return the index of its face in {@link Polyhedron#getFaces()}
+	 * @throws IllegalArgumentException if the edge is not part of a face
+	 */
+	public int faceOf(HalfEdge edge) {
+		Integer face = faceOfEdge.get(edge);
+		if (face == null) {
+			throw new IllegalArgumentException("Half-edge is not part of a face: " + edge);
+		}
+		return face;
+	}
+
+	/**
+	 * @param point a point
+	 * @return the indices of the faces using the point (also after it was removed
+	 *         from one of them)
+	 */
+	public int[] facesOf(Point point) {
+		int[] faces = facesOfPoint.get(point);
+		return faces == null ? NO_FACES : Arrays.copyOfRange(faces, 1, faces[0] + 1);
+	}
+
+	// ----------------------------------------------------------------- edits
+
+	/**
+	 * Inserts a half-edge after {@code edge}, see
+	 * {@link HalfEdgeUtil#addHalfEdgeAsNext(HalfEdge, HalfEdge)}.
+	 *
+	 * @param edge  the predecessor, part of a face
+	 * @param toAdd the half-edge to insert
+	 */
+	public void addHalfEdgeAsNext(HalfEdge edge, HalfEdge toAdd) {
+		int face = faceOf(edge);
+		HalfEdgeUtil.addHalfEdgeAsNext(edge, toAdd);
+		faceOfEdge.put(toAdd, face);
+		addFaceOfPoint(toAdd.getOrg(), face);
+		markDirty(face);
+	}
+
+	/**
+	 * Removes a half-edge from its ring, see
+	 * {@link HalfEdgeUtil#removeHalfEdge(HalfEdge)}. If the edge is the entry of
+	 * its face or hole, the entry moves to the successor.
+	 *
+	 * @param edge the half-edge, part of a face
+	 * @throws IllegalArgumentException if the ring has only 3 half-edges
+	 */
+	public void removeHalfEdge(HalfEdge edge) {
+		int f = faceOf(edge);
+		if (edge.getNext().getNext().getNext() == edge) {
+			throw new IllegalArgumentException("Polygon needs at least 3 points");
+		}
+		Face face = polyhedron.getFaces().get(f);
+		if (face.getHalfEdge() == edge) {
+			face.setHalfEdge(edge.getNext());
+		}
+		List<HalfEdge> holes = face.getHoles();
+		if (holes != null && holes.contains(edge)) {
+			List<HalfEdge> moved = new ArrayList<>(holes);
+			moved.set(moved.indexOf(edge), edge.getNext());
+			face.setHoles(moved);
+		}
+		HalfEdgeUtil.removeHalfEdge(edge);
+		faceOfEdge.remove(edge);
+		markDirty(f);
+	}
+
+	/**
+	 * Removes the half-edge with the given origin from a ring, see
+	 * {@link HalfEdgeUtil#removePointFromPolygon(HalfEdge, Point)}.
+	 *
+	 * @param start a half-edge of the ring
+	 * @param point the origin of the half-edge to remove
+	 * @return true if the point was found and removed
+	 */
+	public boolean removePointFromPolygon(HalfEdge start, Point point) {
+		for (HalfEdgeCursor cursor = new HalfEdgeCursor().ring(start); cursor.advance();) {
+			if (cursor.getOrg() == point) {
+				removeHalfEdge(cursor.get());
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Moves a point and marks all faces using it.
+	 *
+	 * @param point the point
+	 * @param x     the new x-coordinate
+	 * @param y     the new y-coordinate
+	 * @param z     the new z-coordinate
+	 */
+	public void movePoint(Point point, double x, double y, double z) {
+		point.xyz[0] = x;
+		point.xyz[1] = y;
+		point.xyz[2] = z;
+		int[] faces = facesOfPoint.get(point);
+		if (faces != null) {
+			for (int i = 1; i <= faces[0]; i++) {
+				markDirty(faces[i]);
+			}
+		}
+	}
+
+	// ----------------------------------------------------------------- dirty
+
+	/**
+	 * Marks a face as changed, e.g. after editing it directly.
+	 *
+	 * @param face the face index
+	 */
+	public void markDirty(int face) {
+		if (!dirty.get(face)) {
+			dirty.set(face);
+			if (dirtyCount == dirtyFaces.length) {
+				dirtyFaces = Arrays.copyOf(dirtyFaces, 2 * dirtyCount);
+			}
+			dirtyFaces[dirtyCount++] = face;
+		}
+	}
+
+	public boolean isDirty(int face) {
+		return dirty.get(face);
+	}
+
+	public int getDirtyCount() {
+		return dirtyCount;
+	}
+
+	/**
+	 * Returns the faces changed since the last call and clears the marks.
+	 *
+	 * @return the face indices in the order they were first changed
+	 */
+	public int[] takeDirtyFaces() {
+		int[] result = Arrays.copyOf(dirtyFaces, dirtyCount);
+		for (int i = 0; i < dirtyCount; i++) {
+			dirty.clear(dirtyFaces[i]);
+		}
+		dirtyCount = 0;
+		return result;
+	}
+
+}
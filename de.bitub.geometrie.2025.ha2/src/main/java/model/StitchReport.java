@@ -0,0 +1,63 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Result of linking all twins of a mesh in one pass, see
+ * {@link Polyhedron#stitchFaces()} and {@link IndexedMesh#stitchFaces()}.
+ *
+ * @param <E> the half-edge type ({@link HalfEdge} or an {@link IndexedMesh}
+ *            half-edge id)
+ */
+public class StitchReport<E> {
+
+	private final int linkedPairs;
+	private final List<E> boundaryEdges;
+	private final List<E> nonManifoldEdges;
+
+	public StitchReport(int linkedPairs, List<E> boundaryEdges, List<E> nonManifoldEdges) {
+		this.linkedPairs = linkedPairs;
+		this.boundaryEdges = boundaryEdges;
+		this.nonManifoldEdges = nonManifoldEdges;
+	}
+
+	/**
+	 * @return the number of twin pairs that were linked
+	 */
+	public int getLinkedPairs() {
+		return linkedPairs;
+	}
+
+	/**
+	 * @return half-edges without an opposite half-edge (twin stays null)
+	 */
+	public List<E> getBoundaryEdges() {
+		return boundaryEdges;
+	}
+
+	/**
+	 * @return half-edges whose edge is shared by more than two half-edges or by two
+	 *         half-edges with the same direction (twin stays null)
+	 */
+	public List<E> getNonManifoldEdges() {
+		return nonManifoldEdges;
+	}
+
+	/**
+	 * @return true if every half-edge got a twin
+	 */
+	public boolean isClosed() {
+		return boundaryEdges.isEmpty() && nonManifoldEdges.isEmpty();
+	}
+
+	public boolean isManifold() {
+		return nonManifoldEdges.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "StitchReport [linkedPairs=" + linkedPairs + ", boundaryEdges=" + boundaryEdges.size()
+				+ ", nonManifoldEdges=" + nonManifoldEdges.size() + "]";
+	}
+
+}
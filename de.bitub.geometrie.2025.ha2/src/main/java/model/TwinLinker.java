@@ -0,0 +1,63 @@
+package model;
+
+/**
+ * Links twins of arbitrary many half-edges in O(E) using a directed-edge hash
+ * keyed by origin/destination vertex ids. Shared by {@link Polyhedron} and
+ * {@link IndexedMesh}.
+ */
+final class TwinLinker {
+
+	/**
+	 * Result code: no opposite half-edge exists.
+	 */
+	static final int BOUNDARY = -1;
+
+	/**
+	 * Result code: the edge is used more than twice or twice in the same
+	 * direction.
+	 */
+	static final int NON_MANIFOLD = -2;
+
+	private TwinLinker() {
+	}
+
+	/**
+	 * Computes the twin of every half-edge {@code i} given by {@code from[i]} →
+	 * {@code to[i]}.
+	 *
+	 * @param from   origin vertex ids
+	 * @param to     destination vertex ids
+	 * @param count  number of half-edges
+	 * @param result receives the twin index, {@link #BOUNDARY} or
+	 *               {@link #NON_MANIFOLD} per half-edge
+	 */
+	static void link(int[] from, int[] to, int count, int[] result) {
+		LongIntMap firstByKey = new LongIntMap(count);
+		// index of the first half-edge with the same direction and the number of
+		// half-edges sharing that direction (stored at the first index)
+		int[] first = new int[count];
+		int[] multiplicity = new int[count];
+
+		for (int i = 0; i < count; i++) {
+			int j = firstByKey.putIfAbsent(LongIntMap.edgeKey(from[i], to[i]), i, -1);
+			first[i] = j == -1 ? i : j;
+			multiplicity[first[i]]++;
+		}
+
+		for (int i = 0; i < count; i++) {
+			if (multiplicity[first[i]] > 1) {
+				result[i] = NON_MANIFOLD;
+				continue;
+			}
+			int r = from[i] == to[i] ? -1 : firstByKey.get(LongIntMap.edgeKey(to[i], from[i]), -1);
+			if (r == -1) {
+				result[i] = BOUNDARY;
+			} else if (multiplicity[r] > 1) {
+				result[i] = NON_MANIFOLD;
+			} else {
+				result[i] = r;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,211 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Spatial hash for welding vertices: a vertex is merged into an earlier one if
+ * all its coordinates differ by less than a tolerance, the comparison of
+ * {@link Point#equals(Object)}; a tolerance of 0 merges identical coordinates.
+ * {@code Point.hashCode} hashes the exact bits, so such points do not meet in
+ * hash maps; this index buckets the vertices in a grid of cells twice the
+ * tolerance wide instead, so a query looks at one to eight neighbouring cells.
+ * Coordinates whose cell number does not fit in a {@code long} are keyed by
+ * their exact bits; there neighbouring doubles are further apart than the
+ * tolerance, so only identical coordinates can match.
+ * <p>
+ * Coordinates are stored in a flat array and the cells map a primitive key to
+ * a chain of vertex indices, so adding a vertex creates no objects. The first
+ * vertex of a cluster is kept; a vertex is not moved towards the vertices
+ * merged into it, so chains of vertices each within the tolerance of the next
+ * can end up in more than one cluster.
+ */
+public final class VertexWeldIndex {
+
+	// largest cell number, far enough below Long.MAX_VALUE for the neighbours
+	private static final double CELL_LIMIT = 0x1p62;
+
+	/**
+	 * The tolerance of {@link Point#equals(Object)}.
+	 */
+	public static final double DEFAULT_TOLERANCE = 1e-10;
+
+	private final double tolerance;
+	private final double inverseCellSize;
+
+	// cell key -> last vertex added to the cell, chained by next
+	private final LongIntMap cells;
+	private double[] coordinates;
+	private int[] next;
+	private int count;
+
+	public VertexWeldIndex() {
+		this(DEFAULT_TOLERANCE, 16);
+	}
+
+	/**
+	 * @param tolerance the bound for the difference per coordinate of merged
+	 *                  vertices, exclusive; 0 merges only identical coordinates
+	 */
+	public VertexWeldIndex(double tolerance) {
+		this(tolerance, 16);
+	}
+
+	/**
+	 * @param tolerance        the bound for the difference per coordinate of
+	 *                         merged vertices, exclusive; 0 merges only
+	 *                         identical coordinates
+	 * @param expectedVertices number of vertices, if known
+	 */
+	public VertexWeldIndex(double tolerance, int expectedVertices) {
+		if (!(tolerance >= 0) || Double.isInfinite(tolerance)) {
+			throw new IllegalArgumentException("Tolerance must be finite and not negative: " + tolerance);
+		}
+		this.tolerance = tolerance;
+		this.inverseCellSize = tolerance > 0 ? 1 / (2 * tolerance) : 0;
+		int capacity = Math.max(16, expectedVertices);
+		cells = new LongIntMap(capacity);
+		coordinates = new double[3 * capacity];
+		next = new int[capacity];
+	}
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	/**
+	 * @return the number of distinct vertices
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * @param vertex a vertex index
+	 * @param axis   0, 1 or 2 for x, y or z
+	 * @return the coordinate of the first vertex of the cluster
+	 */
+	public double get(int vertex, int axis) {
+		return coordinates[3 * vertex + axis];
+	}
+
+	/**
+	 * Finds a vertex within the tolerance.
+	 *
+	 * @return the index of the earliest matching vertex in the nearest cells, or
+	 *         -1
+	 */
+	public int find(double x, double y, double z) {
+		// -0.0 and 0.0 are the same vertex
+		x += 0.0;
+		y += 0.0;
+		z += 0.0;
+		if (tolerance == 0) {
+			return findInCell(cellKey(cell(x), cell(y), cell(z)), x, y, z);
+		}
+		long x0 = lowCell(x), x1 = highCell(x);
+		long y0 = lowCell(y), y1 = highCell(y);
+		long z0 = lowCell(z), z1 = highCell(z);
+		int found = -1;
+		// compared with == to stop, so no bound can make the counters wrap
+		for (long i = x0;; i++) {
+			for (long j = y0;; j++) {
+				for (long k = z0;; k++) {
+					int v = findInCell(cellKey(i, j, k), x, y, z);
+					if (v >= 0 && (found < 0 || v < found)) {
+						found = v;
+					}
+					if (k == z1) {
+						break;
+					}
+				}
+				if (j == y1) {
+					break;
+				}
+			}
+			if (i == x1) {
+				break;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Adds a vertex unless a vertex within the tolerance exists.
+	 *
+	 * @return the index of the matching or new vertex; the vertex is new if the
+	 *         index equals the count before the call
+	 */
+	public int add(double x, double y, double z) {
+		int found = find(x, y, z);
+		if (found >= 0) {
+			return found;
+		}
+		x += 0.0;
+		y += 0.0;
+		z += 0.0;
+		if (count == next.length) {
+			next = Arrays.copyOf(next, 2 * count);
+			coordinates = Arrays.copyOf(coordinates, 6 * count);
+		}
+		int v = count++;
+		coordinates[3 * v] = x;
+		coordinates[3 * v + 1] = y;
+		coordinates[3 * v + 2] = z;
+		next[v] = cells.put(cellKey(cell(x), cell(y), cell(z)), v, -1);
+		return v;
+	}
+
+	private int findInCell(long key, double x, double y, double z) {
+		int found = -1;
+		// the chain runs from the newest vertex to the oldest
+		for (int v = cells.get(key, -1); v >= 0; v = next[v]) {
+			if (matches(coordinates[3 * v], x) && matches(coordinates[3 * v + 1], y)
+					&& matches(coordinates[3 * v + 2], z)) {
+				found = v;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Strictly less than the tolerance like {@link Point#equals(Object)}, equal
+	 * without tolerance.
+	 */
+	private boolean matches(double a, double b) {
+		return tolerance > 0 ? Math.abs(a - b) < tolerance : a == b;
+	}
+
+	private boolean isGridded(double c) {
+		return tolerance > 0 && Math.abs(c * inverseCellSize) < CELL_LIMIT;
+	}
+
+	/**
+	 * @return the number of the grid cell of the coordinate, or its exact bits
+	 *         without tolerance or outside the grid
+	 */
+	private long cell(double c) {
+		return isGridded(c) ? (long) Math.floor(c * inverseCellSize) : Double.doubleToLongBits(c);
+	}
+
+	/**
+	 * The first cell within the tolerance; with the exact bits only the cell of
+	 * the coordinate itself. Not clamped to the grid, one cell beyond the limit
+	 * still fits in a {@code long}.
+	 */
+	private long lowCell(double c) {
+		return isGridded(c) ? (long) Math.floor((c - tolerance) * inverseCellSize) : cell(c);
+	}
+
+	private long highCell(double c) {
+		return isGridded(c) ? (long) Math.floor((c + tolerance) * inverseCellSize) : cell(c);
+	}
+
+	/**
+	 * Combines the cell coordinates; collisions only make a chain longer, the
+	 * vertices are compared anyway.
+	 */
+	private static long cellKey(long i, long j, long k) {
+		return i * 0x9e3779b97f4a7c15L + j * 0xc2b2ae3d27d4eb4fL + k * 0x165667b19e3779f9L;
+	}
+
+}
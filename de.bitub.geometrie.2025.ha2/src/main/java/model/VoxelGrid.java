@@ -0,0 +1,299 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+import diagnostics.PipelineMetrics;
+import diagnostics.PipelineStage;
+
+/**
+ * Grid of equally sized cubes (voxels) that are set or empty, converted into
+ * one {@link Polyhedron} of its surface. Unlike one {@link Cube} per voxel, the
+ * corners on the lattice are shared {@link Point}s, faces between two set
+ * voxels are dropped and all half-edges are linked to their twins.
+ * <p>
+ * The polyhedron is generated in parallel, one slab of voxels with the same z
+ * index per task: the exposed faces are counted, the used lattice points
+ * numbered, then faces and half-edges are created at precomputed positions, so
+ * the result does not depend on the scheduling. Twins follow from the voxels
+ * around an edge, no edge hash is needed. Where two voxels only touch along an
+ * edge, the surface is treated as pinched: the faces of each voxel are twins of
+ * the faces of the other one.
+ */
+public class VoxelGrid {
+
+	// direction 2 * axis + (1 if positive): the offset of the neighbour
+	private static final int[][] DIRECTIONS = { { -1, 0, 0 }, { 1, 0, 0 }, { 0, -1, 0 }, { 0, 1, 0 }, { 0, 0, -1 },
+			{ 0, 0, 1 } };
+	// lattice offsets of the face corners per direction, counter-clockwise seen
+	// from outside
+	private static final int[][][] CORNERS = new int[6][4][];
+	// direction pointing from a face across its edge i, in the plane of the face
+	private static final int[][] SIDES = new int[6][4];
+
+	static {
+		int[][] positive = { { 0, 0 }, { 1, 0 }, { 1, 1 }, { 0, 1 } };
+		int[][] negative = { { 0, 0 }, { 0, 1 }, { 1, 1 }, { 1, 0 } };
+		for (int dir = 0; dir < 6; dir++) {
+			int a = dir / 2, u = (a + 1) % 3, w = (a + 2) % 3;
+			int[][] corners = dir % 2 == 1 ? positive : negative;
+			for (int i = 0; i < 4; i++) {
+				int[] offset = new int[3];
+				offset[a] = dir % 2;
+				offset[u] = corners[i][0];
+				offset[w] = corners[i][1];
+				CORNERS[dir][i] = offset;
+			}
+			for (int i = 0; i < 4; i++) {
+				int[] from = corners[i], to = corners[(i + 1) % 4];
+				SIDES[dir][i] = from[0] == to[0] ? 2 * u + from[0] : 2 * w + from[1];
+			}
+		}
+	}
+
+	private final int nx, ny, nz;
+	private final BitSet voxels;
+
+	/**
+	 * Creates an empty grid.
+	 *
+	 * @param nx number of voxels along x
+	 * @param ny number of voxels along y
+	 * @param nz number of voxels along z
+	 */
+	public VoxelGrid(int nx, int ny, int nz) {
+		if (nx < 0 || ny < 0 || nz < 0 || (long) (nx + 1) * (ny + 1) * (nz + 1) > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Invalid grid size " + nx + " x " + ny + " x " + nz);
+		}
+		this.nx = nx;
+		this.ny = ny;
+		this.nz = nz;
+		this.voxels = new BitSet(nx * ny * nz);
+	}
+
+	public int getSizeX() {
+		return nx;
+	}
+
+	public int getSizeY() {
+		return ny;
+	}
+
+	public int getSizeZ() {
+		return nz;
+	}
+
+	/**
+	 * @return true if the voxel is set, false if it is empty or outside the grid
+	 */
+	public boolean isSet(int i, int j, int k) {
+		return i >= 0 && j >= 0 && k >= 0 && i < nx && j < ny && k < nz && voxels.get(i + nx * (j + ny * k));
+	}
+
+	/**
+	 * Sets or clears a voxel.
+	 *
+	 * @throws IndexOutOfBoundsException if the voxel is outside the grid
+	 */
+	public void set(int i, int j, int k, boolean set) {
+		if (i < 0 || j < 0 || k < 0 || i >= nx || j >= ny || k >= nz) {
+			throw new IndexOutOfBoundsException("Voxel (" + i + ", " + j + ", " + k + ") outside the grid");
+		}
+		voxels.set(i + nx * (j + ny * k), set);
+	}
+
+	/**
+	 * Sets all voxels.
+	 */
+	public void fill() {
+		voxels.set(0, nx * ny * nz);
+	}
+
+	/**
+	 * @return the number of set voxels
+	 */
+	public int getCount() {
+		return voxels.cardinality();
+	}
+
+	/**
+	 * Converts the grid with voxel edge length 1 and the lattice origin at 0.
+	 *
+	 * @return the surface of the set voxels
+	 */
+	public Polyhedron toPolyhedron() {
+		return toPolyhedron(new Point(0, 0, 0), 1);
+	}
+
+	/**
+	 * Converts the surface of the set voxels into a polyhedron. Faces are
+	 * counter-clockwise seen from outside, as in {@link Cube}.
+	 *
+	 * @param origin     the corner of voxel (0, 0, 0) with the smallest
+	 *                   coordinates
+	 * @param edgeLength the edge length of a voxel
+	 * @return the polyhedron, empty if no voxel is set
+	 */
+	public Polyhedron toPolyhedron(Point origin, double edgeLength) {
+		long time = PipelineMetrics.start();
+		// exposed directions and first face (within its slab) of every voxel
+		byte[] exposed = new byte[nx * ny * nz];
+		int[] firstFace = new int[nx * ny * nz];
+		int[] slabFaces = new int[nz + 1];
+		// lattice point -> 1 if used, then its vertex index + 1
+		int[] lattice = new int[(nx + 1) * (ny + 1) * (nz + 1)];
+
+		IntStream.range(0, nz).parallel().forEach(k -> {
+			int count = 0;
+			for (int j = 0; j < ny; j++) {
+				for (int i = 0; i < nx; i++) {
+					int v = i + nx * (j + ny * k);
+					if (!voxels.get(v)) {
+						continue;
+					}
+					int mask = 0;
+					for (int dir = 0; dir < 6; dir++) {
+						int[] d = DIRECTIONS[dir];
+						if (!isSet(i + d[0], j + d[1], k + d[2])) {
+							mask |= 1 << dir;
+							for (int[] c : CORNERS[dir]) {
+								// other slabs may mark the same point, with the same value
+								lattice[latticeIndex(i + c[0], j + c[1], k + c[2])] = 1;
+							}
+						}
+					}
+					exposed[v] = (byte) mask;
+					firstFace[v] = count;
+					count += Integer.bitCount(mask);
+				}
+			}
+			slabFaces[k + 1] = count;
+		});
+		Arrays.parallelPrefix(slabFaces, Integer::sum);
+		int faceCount = slabFaces[nz];
+		if ((long) 4 * faceCount > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many faces: " + faceCount);
+		}
+
+		// number the used lattice points layer by layer
+		int layer = (nx + 1) * (ny + 1);
+		int[] layerPoints = new int[nz + 2];
+		IntStream.rangeClosed(0, nz).parallel().forEach(k -> {
+			int count = 0;
+			for (int p = k * layer; p < (k + 1) * layer; p++) {
+				count += lattice[p];
+			}
+			layerPoints[k + 1] = count;
+		});
+		Arrays.parallelPrefix(layerPoints, Integer::sum);
+		Point[] points = new Point[layerPoints[nz + 1]];
+		double x0 = origin.xyz[0], y0 = origin.xyz[1], z0 = origin.xyz[2];
+		IntStream.rangeClosed(0, nz).parallel().forEach(k -> {
+			int next = layerPoints[k];
+			for (int j = 0; j <= ny; j++) {
+				for (int i = 0; i <= nx; i++) {
+					int p = latticeIndex(i, j, k);
+					if (lattice[p] != 0) {
+						points[next] = new Point(x0 + i * edgeLength, y0 + j * edgeLength, z0 + k * edgeLength);
+						lattice[p] = ++next;
+					}
+				}
+			}
+		});
+
+		// faces and rings, then twins once all half-edges exist
+		Face[] faces = new Face[faceCount];
+		HalfEdge[] halfEdges = new HalfEdge[4 * faceCount];
+		IntStream.range(0, nz).parallel().forEach(k -> {
+			int f = slabFaces[k];
+			for (int v = nx * ny * k; v < nx * ny * (k + 1); v++) {
+				int i = v % nx, j = v / nx % ny;
+				for (int dir = 0; dir < 6; dir++) {
+					if ((exposed[v] & (1 << dir)) == 0) {
+						continue;
+					}
+					for (int e = 0; e < 4; e++) {
+						int[] c = CORNERS[dir][e];
+						halfEdges[4 * f + e] = new HalfEdge(
+								points[lattice[latticeIndex(i + c[0], j + c[1], k + c[2])] - 1]);
+					}
+					for (int e = 0; e < 4; e++) {
+						halfEdges[4 * f + e].setNext(halfEdges[4 * f + (e + 1) % 4]);
+						halfEdges[4 * f + e].setPrev(halfEdges[4 * f + (e + 3) % 4]);
+					}
+					faces[f] = new Face(halfEdges[4 * f]);
+					f++;
+				}
+			}
+		});
+		IntStream.range(0, nz).parallel().forEach(k -> {
+			int f = slabFaces[k];
+			for (int v = nx * ny * k; v < nx * ny * (k + 1); v++) {
+				int i = v % nx, j = v / nx % ny;
+				for (int dir = 0; dir < 6; dir++) {
+					if ((exposed[v] & (1 << dir)) == 0) {
+						continue;
+					}
+					for (int e = 0; e < 4; e++) {
+						halfEdges[4 * f + e].setTwin(halfEdges[twin(i, j, k, dir, e, exposed, firstFace, slabFaces)]);
+					}
+					f++;
+				}
+			}
+		});
+
+		PipelineMetrics.record(PipelineStage.HALF_EDGE_BUILD, time, faceCount, points.length);
+		return new Polyhedron(new ArrayList<>(Arrays.asList(faces)), new ArrayList<>(Arrays.asList(halfEdges)),
+				new ArrayList<>(Arrays.asList(points)));
+	}
+
+	/**
+	 * Finds the twin of edge {@code e} of the face of voxel (i, j, k) in direction
+	 * {@code dir}: turning around the edge from the inside of the voxel, the first
+	 * exposed face is the face of the diagonal voxel facing back (concave edge),
+	 * the face of the neighbour in the same plane, or the face of this voxel
+	 * across the edge (convex edge).
+	 *
+	 * @return the index of the twin half-edge
+	 */
+	private int twin(int i, int j, int k, int dir, int e, byte[] exposed, int[] firstFace, int[] slabFaces) {
+		int side = SIDES[dir][e];
+		int[] d = DIRECTIONS[dir], s = DIRECTIONS[side];
+		int ti, tj, tk, tdir;
+		if (isSet(i + d[0] + s[0], j + d[1] + s[1], k + d[2] + s[2])) {
+			ti = i + d[0] + s[0];
+			tj = j + d[1] + s[1];
+			tk = k + d[2] + s[2];
+			tdir = side ^ 1;
+		} else if (isSet(i + s[0], j + s[1], k + s[2])) {
+			ti = i + s[0];
+			tj = j + s[1];
+			tk = k + s[2];
+			tdir = dir;
+		} else {
+			ti = i;
+			tj = j;
+			tk = k;
+			tdir = side;
+		}
+
+		int v = ti + nx * (tj + ny * tk);
+		int face = slabFaces[tk] + firstFace[v] + Integer.bitCount(exposed[v] & ((1 << tdir) - 1));
+		// the twin starts at the end of this edge
+		int[] end = CORNERS[dir][(e + 1) % 4];
+		for (int te = 0; te < 4; te++) {
+			int[] c = CORNERS[tdir][te];
+			if (ti + c[0] == i + end[0] && tj + c[1] == j + end[1] && tk + c[2] == k + end[2]) {
+				return 4 * face + te;
+			}
+		}
+		throw new IllegalStateException("No twin for edge " + e + " of voxel (" + i + ", " + j + ", " + k + ")");
+	}
+
+	private int latticeIndex(int i, int j, int k) {
+		return i + (nx + 1) * (j + (ny + 1) * k);
+	}
+
+}
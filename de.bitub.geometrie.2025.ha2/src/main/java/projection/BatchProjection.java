@@ -0,0 +1,98 @@
+package projection;
+
+/**
+ * Projects many points onto a plane at once. The coordinates are given as
+ * separate x, y and z arrays (structure of arrays), so consecutive points lie
+ * in consecutive array elements and the projection runs on several points per
+ * instruction with the Vector API ({@code jdk.incubator.vector}).
+ * <p>
+ * The incubator module is only resolved when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}; without it the same loop runs
+ * scalar. Both paths compute {@code (p - origin) · axis} in the order of
+ * {@link PolygonProjection.VectorUtils#projectOnto(double[], int, double[], double[])}
+ * without fused multiply-add, so they return identical results.
+ */
+public final class BatchProjection {
+
+	private static final boolean VECTORIZED = vectorize();
+
+	private BatchProjection() {
+	}
+
+	private static boolean vectorize() {
+		try {
+			return VectorizedProjection.isSupported();
+		} catch (LinkageError e) {
+			// jdk.incubator.vector is not in the module graph
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if {@link #project} uses the Vector API
+	 */
+	public static boolean isVectorized() {
+		return VECTORIZED;
+	}
+
+	/**
+	 * Projects the points {@code 0 .. count - 1} onto the plane through
+	 * {@code origin} spanned by {@code basisX} and {@code basisY}, see
+	 * {@link PolygonProjection#fitPlane}.
+	 *
+	 * @param xs     the x-coordinates
+	 * @param ys     the y-coordinates
+	 * @param zs     the z-coordinates
+	 * @param count  the number of points
+	 * @param origin the origin of the 2D coordinates
+	 * @param basisX the unit x axis
+	 * @param basisY the unit y axis
+	 * @param us     receives the x-coordinates in the plane
+	 * @param vs     receives the y-coordinates in the plane
+	 * @throws IndexOutOfBoundsException if an array is shorter than
+	 *                                   {@code count}
+	 */
+	public static void project(double[] xs, double[] ys, double[] zs, int count, double[] origin, double[] basisX,
+			double[] basisY, double[] us, double[] vs) {
+		checkLength(count, xs, ys, zs, us, vs);
+		if (VECTORIZED) {
+			VectorizedProjection.project(xs, ys, zs, count, origin, basisX, basisY, us, vs);
+		} else {
+			projectScalar(xs, ys, zs, 0, count, origin, basisX, basisY, us, vs);
+		}
+	}
+
+	/**
+	 * Scalar variant of {@link #project}, e.g. to compare both paths.
+	 */
+	public static void projectScalar(double[] xs, double[] ys, double[] zs, int count, double[] origin,
+			double[] basisX, double[] basisY, double[] us, double[] vs) {
+		checkLength(count, xs, ys, zs, us, vs);
+		projectScalar(xs, ys, zs, 0, count, origin, basisX, basisY, us, vs);
+	}
+
+	/**
+	 * Projects the points {@code from .. to - 1}, also the tail of the vector
+	 * loop.
+	 */
+	static void projectScalar(double[] xs, double[] ys, double[] zs, int from, int to, double[] origin,
+			double[] basisX, double[] basisY, double[] us, double[] vs) {
+		double ox = origin[0], oy = origin[1], oz = origin[2];
+		double ux = basisX[0], uy = basisX[1], uz = basisX[2];
+		double vx = basisY[0], vy = basisY[1], vz = basisY[2];
+		for (int i = from; i < to; i++) {
+			double dx = xs[i] - ox, dy = ys[i] - oy, dz = zs[i] - oz;
+			us[i] = dx * ux + dy * uy + dz * uz;
+			vs[i] = dx * vx + dy * vy + dz * vz;
+		}
+	}
+
+	private static void checkLength(int count, double[]... arrays) {
+		for (double[] array : arrays) {
+			if (count < 0 || count > array.length) {
+				throw new IndexOutOfBoundsException("Count " + count + " out of bounds for length " + array.length);
+			}
+		}
+	}
+
+}
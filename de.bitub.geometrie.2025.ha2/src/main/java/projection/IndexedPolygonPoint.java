@@ -0,0 +1,42 @@
+package projection;
+
+import org.poly2tri.geometry.polygon.PolygonPoint;
+import org.poly2tri.triangulation.TriangulationPoint;
+
+/**
+ * A projected 2D point that remembers the index of its 3D point. Poly2Tri keeps
+ * the point objects it is given, so the corners of a
+ * {@link org.poly2tri.triangulation.delaunay.DelaunayTriangle} can be mapped
+ * back with {@link #indexOf(TriangulationPoint)} instead of a hash lookup.
+ */
+public class IndexedPolygonPoint extends PolygonPoint {
+
+	private final int index;
+
+	/**
+	 * @param x     the projected x coordinate
+	 * @param y     the projected y coordinate
+	 * @param index the index of the corresponding 3D point
+	 */
+	public IndexedPolygonPoint(double x, double y, int index) {
+		super(x, y);
+		this.index = index;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the 3D index of a triangle corner.
+	 *
+	 * @param point a corner of a triangle created from indexed points
+	 * @return the index of the corresponding 3D point
+	 * @throws ClassCastException if the point was not created by the projection
+	 *                            (e.g. a Steiner point)
+	 */
+	public static int indexOf(TriangulationPoint point) {
+		return ((IndexedPolygonPoint) point).index;
+	}
+
+}
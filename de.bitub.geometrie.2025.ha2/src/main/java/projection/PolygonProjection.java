@@ -1,6 +1,7 @@
 package projection;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,13 +13,16 @@ import org.poly2tri.geometry.polygon.PolygonPoint;
 import org.poly2tri.triangulation.TriangulationPoint;
 import org.poly2tri.triangulation.delaunay.DelaunayTriangle;
 
+import diagnostics.PipelineMetrics;
+import diagnostics.PipelineStage;
 import model.Point;
 
 /**
  * This class provides functionality to project 3D polygons onto a 2D plane and
  * perform triangulation on the projected polygons. Use the
- * {@link #projectTo2D(List, List)} method to create 2D point list and as input
- * for Poly2Tri and use the returned map to find the corresponding 3D points.
+ * {@link #projectTo2D(List)} method to create 2D point lists as input for
+ * Poly2Tri and use the indices of the returned points to find the
+ * corresponding 3D points.
  */
 public class PolygonProjection {
 
@@ -27,9 +31,19 @@ public class PolygonProjection {
 	 */
 	private static final double COLLINEARITY_THRESHOLD = 1e-4;
 
+	/**
+	 * Minimum ratio of twice the polygon area to its squared extent below which
+	 * the points are considered to form a line.
+	 */
+	private static final double PLANARITY_THRESHOLD = 1e-12;
+
 	/**
 	 * Projects a list of 3D polygons onto a 2D plane and returns a map associating
-	 * 2D points with their corresponding 3D points.
+	 * 2D points with their corresponding 3D points. The plane is fitted to the
+	 * first (outer) polygon, see {@link #fitPlane}.
+	 * <p>
+	 * Prefer {@link #projectTo2D(List)}, which maps triangle corners back by index
+	 * and does not build the map.
 	 *
 	 * @param boundaries List of 3D polygons represented as lists of Point objects.
 	 * @param points2D   (Empty) List to store the resulting 2D polygons.
@@ -39,106 +53,185 @@ public class PolygonProjection {
 	 */
 	public static Map<PolygonPoint, Point> projectTo2D(List<List<Point>> boundaries,
 			List<List<PolygonPoint>> points2D) {
+		Objects.requireNonNull(points2D, "Points2D list cannot be null");
+
+		ProjectionResult result = projectTo2D(boundaries);
+		points2D.addAll(result.getRings());
+
+		// Map to store the relationship between 2D points and their corresponding 3D
+		// points
+		Point[] points3D = result.getPoints3D();
+		Map<PolygonPoint, Point> pointMap = new HashMap<>();
+		for (List<PolygonPoint> ring : result.getRings()) {
+			for (PolygonPoint pp : ring) {
+				pointMap.put(pp, points3D[IndexedPolygonPoint.indexOf(pp)]);
+			}
+		}
+		return pointMap;
+	}
+
+	/**
+	 * Projects a list of 3D polygons onto a 2D plane. The plane is fitted to the
+	 * first (outer) polygon, see {@link #fitPlane}. Every projected point is an
+	 * {@link IndexedPolygonPoint} carrying the index of its 3D point in
+	 * {@link ProjectionResult#getPoints3D()}, so the corners of the triangles
+	 * created by Poly2Tri are mapped back with an array read.
+	 *
+	 * @param boundaries List of 3D polygons represented as lists of Point objects.
+	 * @return The projected rings and their 3D points.
+	 * @throws IllegalArgumentException if the input is invalid or insufficient for
+	 *                                  projection
+	 */
+	public static ProjectionResult projectTo2D(List<List<Point>> boundaries) {
 		// Validate input parameters
 		Objects.requireNonNull(boundaries, "Boundaries cannot be null");
-		Objects.requireNonNull(points2D, "Points2D list cannot be null");
+		long time = PipelineMetrics.start();
 
 		if (boundaries.isEmpty()) {
 			throw new IllegalArgumentException("Boundaries list cannot be empty");
 		}
 
-		// Extract 3D coordinates from the points
-		double[][] planePoints = findIndependentVectors(boundaries.get(0).stream()
-				.map(p -> Objects.requireNonNull(p, "Point cannot be null").xyz).toArray(double[][]::new));
+		// Fit the projection plane to the outer boundary
+		double[] origin = new double[3];
+		double[] normal = new double[3];
+		double[] basisX = new double[3];
+		double[] basisY = new double[3];
+		fitPlane(boundaries.get(0), origin, normal, basisX, basisY);
 
-		// Calculate normal and basis vectors for the plane
-		double[] normal = calculateNormal(planePoints[0], planePoints[1], planePoints[2]);
-		normal = VectorUtils.normalize(normal);
-
-		double[] basisX = VectorUtils.normalize(VectorUtils.subtract(planePoints[1], planePoints[0]));
-		double[] basisY = VectorUtils.normalize(VectorUtils.crossProduct(normal, basisX));
+		int count = 0;
+		for (List<Point> points3D : boundaries) {
+			if (points3D != null) {
+				count += points3D.size();
+			}
+		}
+		Point[] indexed = new Point[count];
+		int index = 0;
 
-		// Map to store the relationship between 2D points and their corresponding 3D
-		// points
-		Map<PolygonPoint, Point> pointMap = new HashMap<>();
+		// Scratch vector reused for every point
+		double[] vector = new double[3];
 
+		List<List<PolygonPoint>> rings = new ArrayList<>(boundaries.size());
 		for (List<Point> points3D : boundaries) {
 			if (points3D == null) {
 				continue;
 			}
 
-			List<PolygonPoint> projectedPoints = new ArrayList<>();
+			List<PolygonPoint> projectedPoints = new ArrayList<>(points3D.size());
 
 			for (Point p : points3D) {
 				if (p == null) {
 					continue;
 				}
 
-				double[] vector = VectorUtils.subtract(p.xyz, planePoints[0]);
-				PolygonPoint pp = new PolygonPoint(VectorUtils.dotProduct(vector, basisX),
-						VectorUtils.dotProduct(vector, basisY));
-				pointMap.put(pp, p);
-				projectedPoints.add(pp);
+				VectorUtils.subtract(p.xyz, origin, vector);
+				projectedPoints.add(new IndexedPolygonPoint(VectorUtils.dotProduct(vector, basisX),
+						VectorUtils.dotProduct(vector, basisY), index));
+				indexed[index++] = p;
 			}
 
-			points2D.add(projectedPoints);
+			rings.add(projectedPoints);
 		}
 
-		return pointMap;
+		PipelineMetrics.record(PipelineStage.PROJECTION, time, 1, index);
+		return new ProjectionResult(rings, index == count ? indexed : Arrays.copyOf(indexed, index));
 	}
 
 	/**
-	 * Finds three independent points from a list of 3D points that define a plane.
+	 * Fits a plane to a closed polygon in a single pass. The normal is computed
+	 * with Newell's method, i.e. summed over all edges instead of derived from
+	 * three points, which keeps it stable for long, nearly collinear or noisy
+	 * boundaries. The normal follows the orientation of the polygon, so the
+	 * polygon runs counter-clockwise in the (basisX, basisY) coordinates.
 	 *
-	 * @param points3d Array of 3D points represented as double arrays.
-	 * @return A 2D array containing three independent points.
-	 * @throws IllegalArgumentException if the points do not form a valid polygon
+	 * @param points The points of the polygon (at least 3, not null).
+	 * @param origin Receives the first point, the origin of the 2D coordinates.
+	 * @param normal Receives the unit normal.
+	 * @param basisX Receives the unit x axis, along the first edge of non-zero
+	 *               length.
+	 * @param basisY Receives the unit y axis (normal x basisX).
+	 * @throws IllegalArgumentException if there are less than 3 points or the
+	 *                                  points form a line
 	 */
-	private static double[][] findIndependentVectors(double[][] points3d) {
-		if (points3d.length < 3) {
-			throw new IllegalArgumentException("Not enough points to form a polygon (minimum 3 required)");
+	public static void fitPlane(List<Point> points, double[] origin, double[] normal, double[] basisX,
+			double[] basisY) {
+		int count = 0;
+		// previous point and running sums, relative to the first point to avoid
+		// cancellation for large coordinates
+		double px = 0, py = 0, pz = 0;
+		double nx = 0, ny = 0, nz = 0;
+		double dx = 0, dy = 0, dz = 0;
+		boolean hasDirection = false;
+		double extent = 0;
+
+		for (Point point : points) {
+			double[] xyz = Objects.requireNonNull(point, "Point cannot be null").xyz;
+			if (count++ == 0) {
+				origin[0] = xyz[0];
+				origin[1] = xyz[1];
+				origin[2] = xyz[2];
+				continue;
+			}
+			double x = xyz[0] - origin[0];
+			double y = xyz[1] - origin[1];
+			double z = xyz[2] - origin[2];
+
+			nx += (py - y) * (pz + z);
+			ny += (pz - z) * (px + x);
+			nz += (px - x) * (py + y);
+
+			if (!hasDirection && (x != 0 || y != 0 || z != 0)) {
+				dx = x;
+				dy = y;
+				dz = z;
+				hasDirection = true;
+			}
+			extent = Math.max(extent, Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z))));
+
+			px = x;
+			py = y;
+			pz = z;
 		}
 
-		double[] p0 = points3d[0];
-		double[] p1 = points3d[1];
+		if (count < 3) {
+			throw new IllegalArgumentException("Not enough points to form a polygon (minimum 3 required)");
+		}
 
-		for (int i = 2; i < points3d.length; i++) {
-			double[] p2 = points3d[i];
+		// closing edge back to the first point (0, 0, 0)
+		nx += py * pz;
+		ny += pz * px;
+		nz += px * py;
 
-			if (!isCollinear(p0, p1, p2)) {
-				return new double[][] { p0, p1, p2 };
+		// |n| is twice the polygon area, compare it to the size of the polygon
+		double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+		if (!(length > PLANARITY_THRESHOLD * extent * extent)) {
+			throw new IllegalArgumentException("The points form a line, not a polygon");
+		}
+		normal[0] = nx / length;
+		normal[1] = ny / length;
+		normal[2] = nz / length;
+
+		// x axis: first edge direction without its normal component
+		double d = dx * normal[0] + dy * normal[1] + dz * normal[2];
+		basisX[0] = dx - d * normal[0];
+		basisX[1] = dy - d * normal[1];
+		basisX[2] = dz - d * normal[2];
+		double lengthX = VectorUtils.getLength(basisX);
+		if (lengthX <= PLANARITY_THRESHOLD * extent) {
+			// fall back to the coordinate axis least aligned with the normal
+			int axis = Math.abs(normal[0]) <= Math.abs(normal[1])
+					? (Math.abs(normal[0]) <= Math.abs(normal[2]) ? 0 : 2)
+					: (Math.abs(normal[1]) <= Math.abs(normal[2]) ? 1 : 2);
+			for (int i = 0; i < 3; i++) {
+				basisX[i] = (i == axis ? 1 : 0) - normal[axis] * normal[i];
 			}
+			lengthX = VectorUtils.getLength(basisX);
 		}
-
-		throw new IllegalArgumentException("The points form a line, not a polygon");
-	}
-
-	/**
-	 * Checks if three points are collinear.
-	 *
-	 * @param p0 The first point.
-	 * @param p1 The second point.
-	 * @param p2 The third point.
-	 * @return True if the points are collinear, false otherwise.
-	 */
-	private static boolean isCollinear(double[] p0, double[] p1, double[] p2) {
-		double[] normal = calculateNormal(p0, p1, p2);
-		double length = VectorUtils.getLength(normal);
-		return Math.abs(length) < COLLINEARITY_THRESHOLD;
-	}
-
-	/**
-	 * Calculates the normal vector of the plane defined by three points.
-	 *
-	 * @param p0 The first point.
-	 * @param p1 The second point.
-	 * @param p2 The third point.
-	 * @return The normal vector of the plane.
-	 */
-	private static double[] calculateNormal(double[] p0, double[] p1, double[] p2) {
-		double[] v1 = VectorUtils.subtract(p1, p0);
-		double[] v2 = VectorUtils.subtract(p2, p0);
-		return VectorUtils.crossProduct(v1, v2);
+		// not VectorUtils.normalize: its absolute threshold rejects small polygons,
+		// the length was already compared to the extent
+		basisX[0] /= lengthX;
+		basisX[1] /= lengthX;
+		basisX[2] /= lengthX;
+		VectorUtils.crossProduct(normal, basisX, basisY);
 	}
 
 	/**
@@ -202,11 +295,128 @@ public class PolygonProjection {
 		public static double getLength(double[] v) {
 			return Math.sqrt(v[0] * v[0] + v[1] * v[1] + v[2] * v[2]);
 		}
+
+		/*
+		 * Allocation-free variants. They write into a caller-provided result vector
+		 * and return it; the result may be one of the inputs.
+		 */
+
+		/**
+		 * Subtracts one vector from another without allocating.
+		 *
+		 * @param v1  The first vector.
+		 * @param v2  The second vector.
+		 * @param out The vector receiving v1 - v2.
+		 * @return out
+		 */
+		public static double[] subtract(double[] v1, double[] v2, double[] out) {
+			out[0] = v1[0] - v2[0];
+			out[1] = v1[1] - v2[1];
+			out[2] = v1[2] - v2[2];
+			return out;
+		}
+
+		/**
+		 * Calculates the cross product of two vectors without allocating.
+		 *
+		 * @param v1  The first vector.
+		 * @param v2  The second vector.
+		 * @param out The vector receiving v1 x v2.
+		 * @return out
+		 */
+		public static double[] crossProduct(double[] v1, double[] v2, double[] out) {
+			double x = v1[1] * v2[2] - v1[2] * v2[1];
+			double y = v1[2] * v2[0] - v1[0] * v2[2];
+			double z = v1[0] * v2[1] - v1[1] * v2[0];
+			out[0] = x;
+			out[1] = y;
+			out[2] = z;
+			return out;
+		}
+
+		/**
+		 * Normalizes a vector without allocating.
+		 *
+		 * @param v   The vector to be normalized.
+		 * @param out The vector receiving the normalized vector.
+		 * @return out
+		 */
+		public static double[] normalize(double[] v, double[] out) {
+			double length = getLength(v);
+			if (Math.abs(length) < COLLINEARITY_THRESHOLD) {
+				throw new IllegalArgumentException("Cannot normalize a zero-length vector");
+			}
+			out[0] = v[0] / length;
+			out[1] = v[1] / length;
+			out[2] = v[2] / length;
+			return out;
+		}
+
+		/**
+		 * Normalizes a vector in place.
+		 *
+		 * @param v The vector to be normalized.
+		 * @return v
+		 */
+		public static double[] normalizeInPlace(double[] v) {
+			return normalize(v, v);
+		}
+
+		/*
+		 * Coordinate pool variants. A pool stores x, y, z of consecutive vertices in
+		 * one flat array, vertex i starts at offset 3 * i.
+		 */
+
+		/**
+		 * Subtracts a vector from a vertex of a coordinate pool without allocating.
+		 *
+		 * @param pool   The coordinate pool.
+		 * @param vertex The vertex index in the pool.
+		 * @param v      The vector to subtract.
+		 * @param out    The vector receiving pool[vertex] - v.
+		 * @return out
+		 */
+		public static double[] subtract(double[] pool, int vertex, double[] v, double[] out) {
+			int i = 3 * vertex;
+			out[0] = pool[i] - v[0];
+			out[1] = pool[i + 1] - v[1];
+			out[2] = pool[i + 2] - v[2];
+			return out;
+		}
+
+		/**
+		 * Calculates the dot product of a vertex of a coordinate pool and a vector.
+		 *
+		 * @param pool   The coordinate pool.
+		 * @param vertex The vertex index in the pool.
+		 * @param v      The vector.
+		 * @return The dot product.
+		 */
+		public static double dotProduct(double[] pool, int vertex, double[] v) {
+			int i = 3 * vertex;
+			return pool[i] * v[0] + pool[i + 1] * v[1] + pool[i + 2] * v[2];
+		}
+
+		/**
+		 * Calculates (pool[vertex] - origin) · axis, i.e. the coordinate of a vertex
+		 * along an axis through origin, without a temporary vector.
+		 *
+		 * @param pool   The coordinate pool.
+		 * @param vertex The vertex index in the pool.
+		 * @param origin The origin of the axis.
+		 * @param axis   The (normalized) axis direction.
+		 * @return The coordinate along the axis.
+		 */
+		public static double projectOnto(double[] pool, int vertex, double[] origin, double[] axis) {
+			int i = 3 * vertex;
+			return (pool[i] - origin[0]) * axis[0] + (pool[i + 1] - origin[1]) * axis[1]
+					+ (pool[i + 2] - origin[2]) * axis[2];
+		}
 	}
 
 	/**
      * Main method for testing the PolygonProjection class.
-     * Example usage: Use the map to get the 3D points from the triangles.
+     * Example usage: Use the projection result to get the 3D points from the triangles.
      * 
      * <!-- @formatter:off --> <pre>
      * Polygon (outer and inner boundary):
@@ -248,15 +458,10 @@ public class PolygonProjection {
 		List<Point> reversedHole = hole.reversed();
 
 		// Project the 3D polygons to 2D
-		List<List<PolygonPoint>> points2D = new ArrayList<>();
-		Map<PolygonPoint, Point> pointMap = projectTo2D(List.of(points3D, reversedHole), points2D);
+		ProjectionResult projection = projectTo2D(List.of(points3D, reversedHole));
 
 		// Create the polygon with holes
-		Polygon polygon = new Polygon(points2D.get(0));
-
-		for (int i = 1; i < points2D.size(); i++) {
-			polygon.addHole(new Polygon(points2D.get(i)));
-		}
+		Polygon polygon = projection.toPolygon();
 
 		// Triangulate the polygon
 		Poly2Tri.triangulate(polygon);
@@ -267,7 +472,7 @@ public class PolygonProjection {
 			System.out.println("\nTriangle:");
 			for (int i = 0; i < 3; i++) {
 				TriangulationPoint pp = tri.points[i];
-				Point p3d = pointMap.get(pp);
+				Point p3d = projection.get3DPoint(pp);
 				System.out.printf("  2D Point: (%.2f, %.2f) -> 3D Point: (%.2f, %.2f, %.2f)%n", pp.getX(), pp.getY(),
 						p3d.xyz[0], p3d.xyz[1], p3d.xyz[2]);
 			}
@@ -0,0 +1,65 @@
+package projection;
+
+import java.util.List;
+
+import org.poly2tri.geometry.polygon.Polygon;
+import org.poly2tri.geometry.polygon.PolygonPoint;
+import org.poly2tri.triangulation.TriangulationPoint;
+
+import model.Point;
+
+/**
+ * Result of {@link PolygonProjection#projectTo2D(List)}: the projected rings
+ * and the 3D points in the same order. Every projected point is an
+ * {@link IndexedPolygonPoint} whose index addresses {@link #getPoints3D()}.
+ */
+public class ProjectionResult {
+
+	private final List<List<PolygonPoint>> rings;
+	private final Point[] points3D;
+
+	public ProjectionResult(List<List<PolygonPoint>> rings, Point[] points3D) {
+		this.rings = rings;
+		this.points3D = points3D;
+	}
+
+	/**
+	 * @return the projected rings, outer ring first
+	 */
+	public List<List<PolygonPoint>> getRings() {
+		return rings;
+	}
+
+	/**
+	 * @return the 3D points of all rings in order, skipping null entries of the
+	 *         input
+	 */
+	public Point[] getPoints3D() {
+		return points3D;
+	}
+
+	/**
+	 * Maps a triangle corner back to its 3D point.
+	 *
+	 * @param point a corner of a triangle of {@link #toPolygon()}
+	 * @return the 3D point
+	 */
+	public Point get3DPoint(TriangulationPoint point) {
+		return points3D[IndexedPolygonPoint.indexOf(point)];
+	}
+
+	/**
+	 * Creates a poly2tri polygon with the first ring as outer boundary and the
+	 * others as holes.
+	 *
+	 * @return the polygon, ready for {@code Poly2Tri.triangulate}
+	 */
+	public Polygon toPolygon() {
+		Polygon polygon = new Polygon(rings.get(0));
+		for (int i = 1; i < rings.size(); i++) {
+			polygon.addHole(new Polygon(rings.get(i)));
+		}
+		return polygon;
+	}
+
+}
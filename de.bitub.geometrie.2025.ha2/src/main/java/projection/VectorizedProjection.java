@@ -0,0 +1,51 @@
+package projection;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The vector loop of {@link BatchProjection}. Loading this class fails with a
+ * {@link LinkageError} if {@code jdk.incubator.vector} is not resolved, so it
+ * is only used through {@link BatchProjection}.
+ */
+final class VectorizedProjection {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	private VectorizedProjection() {
+	}
+
+	/**
+	 * @return true if the preferred species holds more than one double, i.e. the
+	 *         vector loop is faster than the scalar one
+	 */
+	static boolean isSupported() {
+		return SPECIES.length() > 1;
+	}
+
+	static void project(double[] xs, double[] ys, double[] zs, int count, double[] origin, double[] basisX,
+			double[] basisY, double[] us, double[] vs) {
+		DoubleVector ox = DoubleVector.broadcast(SPECIES, origin[0]);
+		DoubleVector oy = DoubleVector.broadcast(SPECIES, origin[1]);
+		DoubleVector oz = DoubleVector.broadcast(SPECIES, origin[2]);
+		DoubleVector ux = DoubleVector.broadcast(SPECIES, basisX[0]);
+		DoubleVector uy = DoubleVector.broadcast(SPECIES, basisX[1]);
+		DoubleVector uz = DoubleVector.broadcast(SPECIES, basisX[2]);
+		DoubleVector vx = DoubleVector.broadcast(SPECIES, basisY[0]);
+		DoubleVector vy = DoubleVector.broadcast(SPECIES, basisY[1]);
+		DoubleVector vz = DoubleVector.broadcast(SPECIES, basisY[2]);
+
+		int bound = SPECIES.loopBound(count);
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i).sub(ox);
+			DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, i).sub(oy);
+			DoubleVector dz = DoubleVector.fromArray(SPECIES, zs, i).sub(oz);
+			// mul and add instead of fma, the results equal the scalar loop
+			dx.mul(ux).add(dy.mul(uy)).add(dz.mul(uz)).intoArray(us, i);
+			dx.mul(vx).add(dy.mul(vy)).add(dz.mul(vz)).intoArray(vs, i);
+		}
+		BatchProjection.projectScalar(xs, ys, zs, i, count, origin, basisX, basisY, us, vs);
+	}
+
+}
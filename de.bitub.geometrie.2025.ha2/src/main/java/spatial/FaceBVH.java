@@ -0,0 +1,737 @@
+package spatial;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+
+import model.Polyhedron;
+import triangulation.TriangleBuffer;
+import triangulation.TriangulationService;
+
+/**
+ * Bounding volume hierarchy over the triangles of a {@link TriangleBuffer}, for
+ * picking and proximity queries on meshes with many faces.
+ * <p>
+ * The tree is built top-down with the surface area heuristic evaluated on
+ * {@value #BINS} centroid bins per axis; subtrees with more than
+ * {@value #PARALLEL_THRESHOLD} triangles are built in parallel on a
+ * {@link ForkJoinPool}. The result does not depend on the number of threads.
+ * Afterwards the tree is flattened into arrays in depth-first order (the left
+ * child of node {@code i} is {@code i + 1}) and the triangle corners are copied
+ * in leaf order, so a traversal touches memory mostly sequentially.
+ * <p>
+ * Queries work in the coordinates of the triangle buffer and are thread-safe.
+ */
+public class FaceBVH {
+
+	private static final int BINS = 16;
+	private static final int PARALLEL_THRESHOLD = 4096;
+
+	/**
+	 * Leaves up to this size are kept when splitting does not pay off.
+	 */
+	private static final int MAX_LEAF_SIZE = 8;
+
+	// per node: min x, y, z, max x, y, z; without triangles the single root is
+	// neither a leaf nor an interior node, so the queries return early
+	private final double[] nodeBounds;
+	// leaf: first slot, interior: index of the right child
+	private final int[] nodeStart;
+	// leaf: number of triangles, interior: 0
+	private final int[] nodeCount;
+
+	// per slot (leaf order): triangle index, face id and the nine corner coordinates
+	private final int[] triangles;
+	private final int[] faces;
+	private final double[] corners;
+
+	private FaceBVH(int nodes, int[] triangles, int[] faces, double[] corners) {
+		this.nodeBounds = new double[6 * nodes];
+		this.nodeStart = new int[nodes];
+		this.nodeCount = new int[nodes];
+		this.triangles = triangles;
+		this.faces = faces;
+		this.corners = corners;
+	}
+
+	/**
+	 * Triangulates a polyhedron and builds the hierarchy over its faces.
+	 *
+	 * @param polyhedron the polyhedron
+	 * @return the hierarchy, face ids are indices into
+	 *         {@link Polyhedron#getFaces()}
+	 */
+	public static FaceBVH build(Polyhedron polyhedron) {
+		return build(new TriangulationService().triangulate(polyhedron));
+	}
+
+	/**
+	 * Builds the hierarchy on the common pool.
+	 *
+	 * @param buffer the triangles
+	 * @return the hierarchy
+	 */
+	public static FaceBVH build(TriangleBuffer buffer) {
+		return build(buffer, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Builds the hierarchy.
+	 *
+	 * @param buffer the triangles
+	 * @param pool   the pool for the parallel build
+	 * @return the hierarchy
+	 */
+	public static FaceBVH build(TriangleBuffer buffer, ForkJoinPool pool) {
+		Builder builder = new Builder(buffer);
+		BuildNode root = pool.invoke(builder.new Task(0, builder.order.length));
+
+		int n = builder.order.length;
+		int[] faceIds = buffer.getFaceIds();
+		int[] faces = new int[n];
+		double[] corners = new double[9 * n];
+		double[] positions = buffer.getPositions();
+		int[] indices = buffer.getIndices();
+		for (int s = 0; s < n; s++) {
+			int t = builder.order[s];
+			faces[s] = faceIds[t];
+			for (int c = 0; c < 3; c++) {
+				System.arraycopy(positions, 3 * indices[3 * t + c], corners, 9 * s + 3 * c, 3);
+			}
+		}
+
+		FaceBVH bvh = new FaceBVH(root.size(), builder.order, faces, corners);
+		bvh.flatten(root, 0);
+		return bvh;
+	}
+
+	private int flatten(BuildNode node, int index) {
+		System.arraycopy(node.bounds, 0, nodeBounds, 6 * index, 6);
+		if (node.left == null) {
+			nodeStart[index] = node.start;
+			nodeCount[index] = node.count;
+			return index + 1;
+		}
+		int right = flatten(node.left, index + 1);
+		nodeStart[index] = right;
+		return flatten(node.right, right);
+	}
+
+	/**
+	 * @return the number of triangles
+	 */
+	public int getTriangleCount() {
+		return triangles.length;
+	}
+
+	/**
+	 * @return the number of nodes of the flattened tree
+	 */
+	public int getNodeCount() {
+		return nodeStart.length;
+	}
+
+	// --------------------------------------------------------------- ray cast
+
+	/**
+	 * Finds the closest triangle hit by a ray. Both sides of a triangle are hit.
+	 *
+	 * @param ox          ray origin x
+	 * @param oy          ray origin y
+	 * @param oz          ray origin z
+	 * @param dx          ray direction x
+	 * @param dy          ray direction y
+	 * @param dz          ray direction z
+	 * @param maxDistance largest ray parameter accepted
+	 * @return the closest hit or null
+	 */
+	public FaceHit raycast(double ox, double oy, double oz, double dx, double dy, double dz, double maxDistance) {
+		if (triangles.length == 0) {
+			return null;
+		}
+		// a zero component would give 0 * infinity for origins on a slab
+		double ix = 1 / (dx != 0 ? dx : Double.MIN_NORMAL);
+		double iy = 1 / (dy != 0 ? dy : Double.MIN_NORMAL);
+		double iz = 1 / (dz != 0 ? dz : Double.MIN_NORMAL);
+
+		double best = maxDistance;
+		int bestSlot = -1;
+		double bestU = 0, bestV = 0;
+
+		int[] stack = new int[64];
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			// the hit found meanwhile may lie before the box
+			if (!(entry(node, ox, oy, oz, ix, iy, iz, best) <= best)) {
+				continue;
+			}
+			if (nodeCount[node] > 0) {
+				for (int s = nodeStart[node], end = s + nodeCount[node]; s < end; s++) {
+					int k = 9 * s;
+					double ax = corners[k], ay = corners[k + 1], az = corners[k + 2];
+					double e1x = corners[k + 3] - ax, e1y = corners[k + 4] - ay, e1z = corners[k + 5] - az;
+					double e2x = corners[k + 6] - ax, e2y = corners[k + 7] - ay, e2z = corners[k + 8] - az;
+					double px = dy * e2z - dz * e2y, py = dz * e2x - dx * e2z, pz = dx * e2y - dy * e2x;
+					double det = e1x * px + e1y * py + e1z * pz;
+					if (det == 0) {
+						continue;
+					}
+					double inv = 1 / det;
+					double tx = ox - ax, ty = oy - ay, tz = oz - az;
+					double u = (tx * px + ty * py + tz * pz) * inv;
+					if (u < 0 || u > 1) {
+						continue;
+					}
+					double qx = ty * e1z - tz * e1y, qy = tz * e1x - tx * e1z, qz = tx * e1y - ty * e1x;
+					double v = (dx * qx + dy * qy + dz * qz) * inv;
+					if (v < 0 || u + v > 1) {
+						continue;
+					}
+					double t = (e2x * qx + e2y * qy + e2z * qz) * inv;
+					if (t >= 0 && t <= best) {
+						best = t;
+						bestSlot = s;
+						bestU = u;
+						bestV = v;
+					}
+				}
+			} else {
+				int left = node + 1;
+				int right = nodeStart[node];
+				double tl = entry(left, ox, oy, oz, ix, iy, iz, best);
+				double tr = entry(right, ox, oy, oz, ix, iy, iz, best);
+				if (top + 2 > stack.length) {
+					stack = Arrays.copyOf(stack, 2 * stack.length);
+				}
+				// push the farther child first so the nearer one is visited first
+				if (tl <= tr) {
+					if (tr <= best) {
+						stack[top++] = right;
+					}
+					if (tl <= best) {
+						stack[top++] = left;
+					}
+				} else {
+					if (tl <= best) {
+						stack[top++] = left;
+					}
+					if (tr <= best) {
+						stack[top++] = right;
+					}
+				}
+			}
+		}
+
+		if (bestSlot < 0) {
+			return null;
+		}
+		int k = 9 * bestSlot;
+		double w = 1 - bestU - bestV;
+		return new FaceHit(triangles[bestSlot], faces[bestSlot], best,
+				w * corners[k] + bestU * corners[k + 3] + bestV * corners[k + 6],
+				w * corners[k + 1] + bestU * corners[k + 4] + bestV * corners[k + 7],
+				w * corners[k + 2] + bestU * corners[k + 5] + bestV * corners[k + 8]);
+	}
+
+	/**
+	 * @return the ray parameter where the ray enters the box of {@code node}, or
+	 *         NaN if it misses the box before {@code maxDistance}; NaN fails every
+	 *         comparison, also against an infinite {@code maxDistance}
+	 */
+	private double entry(int node, double ox, double oy, double oz, double ix, double iy, double iz,
+			double maxDistance) {
+		int b = 6 * node;
+		double t1 = (nodeBounds[b] - ox) * ix, t2 = (nodeBounds[b + 3] - ox) * ix;
+		double near = Math.min(t1, t2), far = Math.max(t1, t2);
+		t1 = (nodeBounds[b + 1] - oy) * iy;
+		t2 = (nodeBounds[b + 4] - oy) * iy;
+		near = Math.max(near, Math.min(t1, t2));
+		far = Math.min(far, Math.max(t1, t2));
+		t1 = (nodeBounds[b + 2] - oz) * iz;
+		t2 = (nodeBounds[b + 5] - oz) * iz;
+		near = Math.max(near, Math.min(t1, t2));
+		far = Math.min(far, Math.max(t1, t2));
+		near = Math.max(near, 0);
+		return near <= far && near <= maxDistance ? near : Double.NaN;
+	}
+
+	// ---------------------------------------------------------------- nearest
+
+	/**
+	 * Finds the triangle closest to a point.
+	 *
+	 * @param x           x-coordinate of the query point
+	 * @param y           y-coordinate of the query point
+	 * @param z           z-coordinate of the query point
+	 * @param maxDistance largest distance accepted
+	 * @return the closest point on the closest triangle, or null if no triangle is
+	 *         within {@code maxDistance}
+	 */
+	public FaceHit nearest(double x, double y, double z, double maxDistance) {
+		if (triangles.length == 0) {
+			return null;
+		}
+		double best = maxDistance * maxDistance;
+		int bestSlot = -1;
+		double[] closest = new double[3];
+		double[] bestPoint = new double[3];
+
+		int[] stack = new int[64];
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			if (boxDistanceSquared(node, x, y, z) > best) {
+				continue;
+			}
+			if (nodeCount[node] > 0) {
+				for (int s = nodeStart[node], end = s + nodeCount[node]; s < end; s++) {
+					closestPoint(9 * s, x, y, z, closest);
+					double ddx = closest[0] - x, ddy = closest[1] - y, ddz = closest[2] - z;
+					double d = ddx * ddx + ddy * ddy + ddz * ddz;
+					if (d <= best) {
+						best = d;
+						bestSlot = s;
+						System.arraycopy(closest, 0, bestPoint, 0, 3);
+					}
+				}
+			} else {
+				int left = node + 1;
+				int right = nodeStart[node];
+				double dl = boxDistanceSquared(left, x, y, z);
+				double dr = boxDistanceSquared(right, x, y, z);
+				if (top + 2 > stack.length) {
+					stack = Arrays.copyOf(stack, 2 * stack.length);
+				}
+				if (dl <= dr) {
+					stack[top++] = right;
+					stack[top++] = left;
+				} else {
+					stack[top++] = left;
+					stack[top++] = right;
+				}
+			}
+		}
+
+		if (bestSlot < 0) {
+			return null;
+		}
+		return new FaceHit(triangles[bestSlot], faces[bestSlot], Math.sqrt(best), bestPoint[0], bestPoint[1],
+				bestPoint[2]);
+	}
+
+	private double boxDistanceSquared(int node, double x, double y, double z) {
+		int b = 6 * node;
+		double dx = Math.max(0, Math.max(nodeBounds[b] - x, x - nodeBounds[b + 3]));
+		double dy = Math.max(0, Math.max(nodeBounds[b + 1] - y, y - nodeBounds[b + 4]));
+		double dz = Math.max(0, Math.max(nodeBounds[b + 2] - z, z - nodeBounds[b + 5]));
+		return dx * dx + dy * dy + dz * dz;
+	}
+
+	/**
+	 * Closest point on the triangle starting at {@code corners[k]} (Ericson,
+	 * Real-Time Collision Detection, 5.1.5).
+	 */
+	private void closestPoint(int k, double px, double py, double pz, double[] out) {
+		double ax = corners[k], ay = corners[k + 1], az = corners[k + 2];
+		double bx = corners[k + 3], by = corners[k + 4], bz = corners[k + 5];
+		double cx = corners[k + 6], cy = corners[k + 7], cz = corners[k + 8];
+		double abx = bx - ax, aby = by - ay, abz = bz - az;
+		double acx = cx - ax, acy = cy - ay, acz = cz - az;
+
+		double apx = px - ax, apy = py - ay, apz = pz - az;
+		double d1 = abx * apx + aby * apy + abz * apz;
+		double d2 = acx * apx + acy * apy + acz * apz;
+		if (d1 <= 0 && d2 <= 0) {
+			set(out, ax, ay, az);
+			return;
+		}
+
+		double bpx = px - bx, bpy = py - by, bpz = pz - bz;
+		double d3 = abx * bpx + aby * bpy + abz * bpz;
+		double d4 = acx * bpx + acy * bpy + acz * bpz;
+		if (d3 >= 0 && d4 <= d3) {
+			set(out, bx, by, bz);
+			return;
+		}
+
+		double vc = d1 * d4 - d3 * d2;
+		if (vc <= 0 && d1 >= 0 && d3 <= 0) {
+			double v = d1 / (d1 - d3);
+			set(out, ax + v * abx, ay + v * aby, az + v * abz);
+			return;
+		}
+
+		double cpx = px - cx, cpy = py - cy, cpz = pz - cz;
+		double d5 = abx * cpx + aby * cpy + abz * cpz;
+		double d6 = acx * cpx + acy * cpy + acz * cpz;
+		if (d6 >= 0 && d5 <= d6) {
+			set(out, cx, cy, cz);
+			return;
+		}
+
+		double vb = d5 * d2 - d1 * d6;
+		if (vb <= 0 && d2 >= 0 && d6 <= 0) {
+			double w = d2 / (d2 - d6);
+			set(out, ax + w * acx, ay + w * acy, az + w * acz);
+			return;
+		}
+
+		double va = d3 * d6 - d5 * d4;
+		if (va <= 0 && d4 - d3 >= 0 && d5 - d6 >= 0) {
+			double w = (d4 - d3) / ((d4 - d3) + (d5 - d6));
+			set(out, bx + w * (cx - bx), by + w * (cy - by), bz + w * (cz - bz));
+			return;
+		}
+
+		double denom = 1 / (va + vb + vc);
+		double v = vb * denom;
+		double w = vc * denom;
+		set(out, ax + abx * v + acx * w, ay + aby * v + acy * w, az + abz * v + acz * w);
+	}
+
+	private static void set(double[] out, double x, double y, double z) {
+		out[0] = x;
+		out[1] = y;
+		out[2] = z;
+	}
+
+	// ---------------------------------------------------------------- overlap
+
+	/**
+	 * Reports every triangle intersecting an axis-aligned box.
+	 *
+	 * @param min      minimum corner of the box (x, y, z)
+	 * @param max      maximum corner of the box (x, y, z)
+	 * @param consumer receives the triangle indices, in no particular order
+	 */
+	public void overlap(double[] min, double[] max, IntConsumer consumer) {
+		overlapSlots(min, max, s -> consumer.accept(triangles[s]));
+	}
+
+	/**
+	 * Collects the faces with at least one triangle intersecting an axis-aligned
+	 * box.
+	 *
+	 * @param min minimum corner of the box (x, y, z)
+	 * @param max maximum corner of the box (x, y, z)
+	 * @return the face ids, ascending and without duplicates
+	 */
+	public int[] overlappingFaces(double[] min, double[] max) {
+		IntArray found = new IntArray();
+		overlapSlots(min, max, s -> found.add(faces[s]));
+		int[] result = found.values;
+		int n = found.size;
+		Arrays.sort(result, 0, n);
+		int unique = 0;
+		for (int i = 0; i < n; i++) {
+			if (unique == 0 || result[unique - 1] != result[i]) {
+				result[unique++] = result[i];
+			}
+		}
+		return Arrays.copyOf(result, unique);
+	}
+
+	private static final class IntArray {
+		int[] values = new int[16];
+		int size;
+
+		void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, 2 * size);
+			}
+			values[size++] = value;
+		}
+	}
+
+	private void overlapSlots(double[] min, double[] max, IntConsumer slots) {
+		if (triangles.length == 0) {
+			return;
+		}
+		double cx = (min[0] + max[0]) / 2, cy = (min[1] + max[1]) / 2, cz = (min[2] + max[2]) / 2;
+		double hx = (max[0] - min[0]) / 2, hy = (max[1] - min[1]) / 2, hz = (max[2] - min[2]) / 2;
+
+		int[] stack = new int[64];
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			int b = 6 * node;
+			if (nodeBounds[b] > max[0] || nodeBounds[b + 3] < min[0] || nodeBounds[b + 1] > max[1]
+					|| nodeBounds[b + 4] < min[1] || nodeBounds[b + 2] > max[2] || nodeBounds[b + 5] < min[2]) {
+				continue;
+			}
+			if (nodeCount[node] > 0) {
+				for (int s = nodeStart[node], end = s + nodeCount[node]; s < end; s++) {
+					if (triangleOverlapsBox(9 * s, cx, cy, cz, hx, hy, hz)) {
+						slots.accept(s);
+					}
+				}
+			} else {
+				if (top + 2 > stack.length) {
+					stack = Arrays.copyOf(stack, 2 * stack.length);
+				}
+				stack[top++] = nodeStart[node];
+				stack[top++] = node + 1;
+			}
+		}
+	}
+
+	/**
+	 * Separating axis test of a triangle against a box given by center and half
+	 * extents (Akenine-Möller): the three box axes, the triangle normal and the
+	 * nine cross products of box axes and triangle edges.
+	 */
+	private boolean triangleOverlapsBox(int k, double cx, double cy, double cz, double hx, double hy, double hz) {
+		double v0x = corners[k] - cx, v0y = corners[k + 1] - cy, v0z = corners[k + 2] - cz;
+		double v1x = corners[k + 3] - cx, v1y = corners[k + 4] - cy, v1z = corners[k + 5] - cz;
+		double v2x = corners[k + 6] - cx, v2y = corners[k + 7] - cy, v2z = corners[k + 8] - cz;
+
+		// box axes
+		if (Math.min(v0x, Math.min(v1x, v2x)) > hx || Math.max(v0x, Math.max(v1x, v2x)) < -hx
+				|| Math.min(v0y, Math.min(v1y, v2y)) > hy || Math.max(v0y, Math.max(v1y, v2y)) < -hy
+				|| Math.min(v0z, Math.min(v1z, v2z)) > hz || Math.max(v0z, Math.max(v1z, v2z)) < -hz) {
+			return false;
+		}
+
+		double[] e = { v1x - v0x, v1y - v0y, v1z - v0z, v2x - v1x, v2y - v1y, v2z - v1z, v0x - v2x, v0y - v2y,
+				v0z - v2z };
+
+		// triangle normal
+		double nx = e[1] * e[5] - e[2] * e[4];
+		double ny = e[2] * e[3] - e[0] * e[5];
+		double nz = e[0] * e[4] - e[1] * e[3];
+		if (separates(nx, ny, nz, v0x, v0y, v0z, v1x, v1y, v1z, v2x, v2y, v2z, hx, hy, hz)) {
+			return false;
+		}
+
+		// box axis x edge; unit axes make the cross products simple permutations
+		for (int i = 0; i < 9; i += 3) {
+			double ex = e[i], ey = e[i + 1], ez = e[i + 2];
+			if (separates(0, -ez, ey, v0x, v0y, v0z, v1x, v1y, v1z, v2x, v2y, v2z, hx, hy, hz)
+					|| separates(ez, 0, -ex, v0x, v0y, v0z, v1x, v1y, v1z, v2x, v2y, v2z, hx, hy, hz)
+					|| separates(-ey, ex, 0, v0x, v0y, v0z, v1x, v1y, v1z, v2x, v2y, v2z, hx, hy, hz)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean separates(double ax, double ay, double az, double v0x, double v0y, double v0z,
+			double v1x, double v1y, double v1z, double v2x, double v2y, double v2z, double hx, double hy, double hz) {
+		double p0 = ax * v0x + ay * v0y + az * v0z;
+		double p1 = ax * v1x + ay * v1y + az * v1z;
+		double p2 = ax * v2x + ay * v2y + az * v2z;
+		double r = hx * Math.abs(ax) + hy * Math.abs(ay) + hz * Math.abs(az);
+		return Math.min(p0, Math.min(p1, p2)) > r || Math.max(p0, Math.max(p1, p2)) < -r;
+	}
+
+	// ------------------------------------------------------------------ build
+
+	/**
+	 * Node of the temporary, pointer based tree.
+	 */
+	private static final class BuildNode {
+		final double[] bounds = new double[6];
+		BuildNode left, right;
+		int start, count;
+
+		int size() {
+			return left == null ? 1 : 1 + left.size() + right.size();
+		}
+	}
+
+	/**
+	 * Shared state of one build: triangle bounds, centroids and the triangle
+	 * order that the tasks partition in disjoint ranges.
+	 */
+	private static final class Builder {
+
+		final double[] triBounds;
+		final double[] centroids;
+		final int[] order;
+
+		Builder(TriangleBuffer buffer) {
+			int n = buffer.getTriangleCount();
+			double[] positions = buffer.getPositions();
+			int[] indices = buffer.getIndices();
+			triBounds = new double[6 * n];
+			centroids = new double[3 * n];
+			order = new int[n];
+			for (int t = 0; t < n; t++) {
+				order[t] = t;
+				for (int axis = 0; axis < 3; axis++) {
+					double a = positions[3 * indices[3 * t] + axis];
+					double b = positions[3 * indices[3 * t + 1] + axis];
+					double c = positions[3 * indices[3 * t + 2] + axis];
+					double lo = Math.min(a, Math.min(b, c));
+					double hi = Math.max(a, Math.max(b, c));
+					triBounds[6 * t + axis] = lo;
+					triBounds[6 * t + 3 + axis] = hi;
+					centroids[3 * t + axis] = (lo + hi) / 2;
+				}
+			}
+		}
+
+		final class Task extends RecursiveTask<BuildNode> {
+
+			private static final long serialVersionUID = 1L;
+
+			private final int start, end;
+
+			Task(int start, int end) {
+				this.start = start;
+				this.end = end;
+			}
+
+			@Override
+			protected BuildNode compute() {
+				return build(start, end);
+			}
+
+			private BuildNode build(int start, int end) {
+				BuildNode node = new BuildNode();
+				node.start = start;
+				node.count = end - start;
+				double[] centroidBounds = new double[6];
+				empty(node.bounds);
+				empty(centroidBounds);
+				for (int i = start; i < end; i++) {
+					int t = order[i];
+					grow(node.bounds, triBounds, 6 * t);
+					for (int axis = 0; axis < 3; axis++) {
+						double c = centroids[3 * t + axis];
+						centroidBounds[axis] = Math.min(centroidBounds[axis], c);
+						centroidBounds[axis + 3] = Math.max(centroidBounds[axis + 3], c);
+					}
+				}
+				int n = end - start;
+				if (n <= 2) {
+					return node;
+				}
+
+				// binned surface area heuristic
+				int bestAxis = -1;
+				int bestSplit = -1;
+				double bestCost = Double.POSITIVE_INFINITY;
+				int[] binCount = new int[BINS];
+				double[] binBounds = new double[6 * BINS];
+				double[] rightArea = new double[BINS];
+				int[] rightCount = new int[BINS];
+				double[] sweep = new double[6];
+				for (int axis = 0; axis < 3; axis++) {
+					double lo = centroidBounds[axis];
+					double extent = centroidBounds[axis + 3] - lo;
+					if (!(extent > 0)) {
+						continue;
+					}
+					double scale = BINS / extent;
+					Arrays.fill(binCount, 0);
+					for (int b = 0; b < BINS; b++) {
+						empty(binBounds, 6 * b);
+					}
+					for (int i = start; i < end; i++) {
+						int t = order[i];
+						int b = bin(centroids[3 * t + axis], lo, scale);
+						binCount[b]++;
+						grow(binBounds, 6 * b, triBounds, 6 * t);
+					}
+
+					empty(sweep);
+					int count = 0;
+					for (int b = BINS - 1; b > 0; b--) {
+						grow(sweep, 0, binBounds, 6 * b);
+						count += binCount[b];
+						rightArea[b] = count > 0 ? area(sweep) : 0;
+						rightCount[b] = count;
+					}
+					empty(sweep);
+					count = 0;
+					for (int b = 1; b < BINS; b++) {
+						grow(sweep, 0, binBounds, 6 * (b - 1));
+						count += binCount[b - 1];
+						if (count == 0 || rightCount[b] == 0) {
+							continue;
+						}
+						double cost = area(sweep) * count + rightArea[b] * rightCount[b];
+						if (cost < bestCost) {
+							bestCost = cost;
+							bestAxis = axis;
+							bestSplit = b;
+						}
+					}
+				}
+
+				// traversal cost of one node is taken as one triangle test
+				double nodeArea = area(node.bounds);
+				if (bestAxis < 0 || (n <= MAX_LEAF_SIZE && nodeArea + bestCost >= n * nodeArea)) {
+					return node;
+				}
+
+				double lo = centroidBounds[bestAxis];
+				double scale = BINS / (centroidBounds[bestAxis + 3] - lo);
+				int i = start;
+				int j = end - 1;
+				while (i <= j) {
+					if (bin(centroids[3 * order[i] + bestAxis], lo, scale) < bestSplit) {
+						i++;
+					} else {
+						int tmp = order[i];
+						order[i] = order[j];
+						order[j--] = tmp;
+					}
+				}
+				int mid = i;
+
+				node.count = 0;
+				if (n > PARALLEL_THRESHOLD) {
+					Task left = new Task(start, mid);
+					left.fork();
+					node.right = build(mid, end);
+					node.left = left.join();
+				} else {
+					node.left = build(start, mid);
+					node.right = build(mid, end);
+				}
+				return node;
+			}
+		}
+
+		private static int bin(double c, double lo, double scale) {
+			return Math.min(BINS - 1, (int) ((c - lo) * scale));
+		}
+
+		private static void empty(double[] bounds) {
+			empty(bounds, 0);
+		}
+
+		private static void empty(double[] bounds, int offset) {
+			for (int axis = 0; axis < 3; axis++) {
+				bounds[offset + axis] = Double.POSITIVE_INFINITY;
+				bounds[offset + axis + 3] = Double.NEGATIVE_INFINITY;
+			}
+		}
+
+		private static void grow(double[] bounds, double[] source, int offset) {
+			grow(bounds, 0, source, offset);
+		}
+
+		private static void grow(double[] bounds, int offset, double[] source, int sourceOffset) {
+			for (int axis = 0; axis < 3; axis++) {
+				bounds[offset + axis] = Math.min(bounds[offset + axis], source[sourceOffset + axis]);
+				bounds[offset + axis + 3] = Math.max(bounds[offset + axis + 3], source[sourceOffset + axis + 3]);
+			}
+		}
+
+		private static double area(double[] bounds) {
+			double dx = bounds[3] - bounds[0];
+			double dy = bounds[4] - bounds[1];
+			double dz = bounds[5] - bounds[2];
+			return dx * dy + dy * dz + dz * dx;
+		}
+	}
+
+}
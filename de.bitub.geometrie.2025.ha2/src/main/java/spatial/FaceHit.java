@@ -0,0 +1,66 @@
+package spatial;
+
+/**
+ * Result of a {@link FaceBVH} query: the triangle found, the face it belongs
+ * to, the point on the triangle and its distance.
+ */
+public final class FaceHit {
+
+	private final int triangle;
+	private final int face;
+	private final double distance;
+	private final double x, y, z;
+
+	/**
+	 * @param triangle the triangle index in the triangle buffer
+	 * @param face     the face id of the triangle
+	 * @param distance the ray parameter or the distance to the query point
+	 * @param x        x-coordinate of the point on the triangle
+	 * @param y        y-coordinate of the point on the triangle
+	 * @param z        z-coordinate of the point on the triangle
+	 */
+	public FaceHit(int triangle, int face, double distance, double x, double y, double z) {
+		this.triangle = triangle;
+		this.face = face;
+		this.distance = distance;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+	public int getTriangle() {
+		return triangle;
+	}
+
+	public int getFace() {
+		return face;
+	}
+
+	/**
+	 * @return for a ray cast the ray parameter of the hit (the distance if the
+	 *         direction has unit length), otherwise the distance to the query
+	 *         point
+	 */
+	public double getDistance() {
+		return distance;
+	}
+
+	public double getX() {
+		return x;
+	}
+
+	public double getY() {
+		return y;
+	}
+
+	public double getZ() {
+		return z;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("FaceHit [face=%d, triangle=%d, distance=%.4f, point=(%.4f, %.4f, %.4f)]", face, triangle,
+				distance, x, y, z);
+	}
+
+}
@@ -0,0 +1,195 @@
+package triangulation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import model.Point;
+
+/**
+ * Fast path for small faces without holes. Convex faces are triangulated as a
+ * fan without any allocation besides the result, other simple faces by ear
+ * clipping. The face is not projected; it is viewed along the dominant axis of
+ * its Newell normal instead.
+ * <p>
+ * Faces with holes, faces with more than {@link #MAX_VERTICES} vertices and
+ * faces where ear clipping gets stuck (self-intersections) are passed to the
+ * fallback strategy.
+ */
+public class EarClippingTriangulation extends triangulation {
+
+	/**
+	 * Largest face handled here; ear clipping is quadratic in the vertex count.
+	 */
+	public static final int MAX_VERTICES = 64;
+
+	private final triangulation fallback;
+
+	/**
+	 * @param fallback strategy for faces this one does not handle
+	 */
+	public EarClippingTriangulation(triangulation fallback) {
+		this.fallback = fallback;
+	}
+
+	@Override
+	public int[] triangulate(List<List<Point>> boundaries) {
+		if (boundaries.size() != 1 || boundaries.get(0).size() > MAX_VERTICES) {
+			return fallback.triangulate(boundaries);
+		}
+		List<Point> ring = boundaries.get(0);
+		int n = ring.size();
+		if (n < 3) {
+			return NO_TRIANGLES;
+		}
+
+		// Newell normal, only needed to choose the view axis and orientation
+		double nx = 0, ny = 0, nz = 0;
+		for (int i = 0; i < n; i++) {
+			double[] p = ring.get(i).xyz;
+			double[] q = ring.get(i + 1 == n ? 0 : i + 1).xyz;
+			nx += (p[1] - q[1]) * (p[2] + q[2]);
+			ny += (p[2] - q[2]) * (p[0] + q[0]);
+			nz += (p[0] - q[0]) * (p[1] + q[1]);
+		}
+		double ax = Math.abs(nx), ay = Math.abs(ny), az = Math.abs(nz);
+		int drop = ax >= ay ? (ax >= az ? 0 : 2) : (ay >= az ? 1 : 2);
+		double dominant = drop == 0 ? nx : drop == 1 ? ny : nz;
+		if (dominant == 0) {
+			return NO_TRIANGLES;
+		}
+		View view = new View(ring, (drop + 1) % 3, (drop + 2) % 3, dominant > 0 ? 1 : -1);
+
+		if (n == 3 || view.isStrictlyConvex()) {
+			int[] corners = new int[3 * (n - 2)];
+			for (int i = 1, k = 0; i < n - 1; i++) {
+				corners[k++] = 0;
+				corners[k++] = i;
+				corners[k++] = i + 1;
+			}
+			return corners;
+		}
+
+		int[] corners = view.clipEars();
+		return corners != null ? corners : fallback.triangulate(boundaries);
+	}
+
+	/**
+	 * The ring seen along the dominant axis, counter-clockwise.
+	 */
+	private static final class View {
+
+		private final List<Point> ring;
+		private final int u, v;
+		private final double sign;
+
+		View(List<Point> ring, int u, int v, double sign) {
+			this.ring = ring;
+			this.u = u;
+			this.v = v;
+			this.sign = sign;
+		}
+
+		/**
+		 * Twice the signed area of (a, b, c), positive for a left turn.
+		 */
+		double orient(int a, int b, int c) {
+			double[] pa = ring.get(a).xyz, pb = ring.get(b).xyz, pc = ring.get(c).xyz;
+			return sign * ((pb[u] - pa[u]) * (pc[v] - pa[v]) - (pb[v] - pa[v]) * (pc[u] - pa[u]));
+		}
+
+		/**
+		 * Every vertex turns left and the edge directions sweep around only once.
+		 */
+		boolean isStrictlyConvex() {
+			int n = ring.size();
+			int uChanges = 0, vChanges = 0;
+			double lastDu = 0, lastDv = 0;
+			for (int i = 0; i < n; i++) {
+				int j = i + 1 == n ? 0 : i + 1;
+				if (orient(i, j, j + 1 == n ? 0 : j + 1) <= 0) {
+					return false;
+				}
+				double du = ring.get(j).xyz[u] - ring.get(i).xyz[u];
+				double dv = ring.get(j).xyz[v] - ring.get(i).xyz[v];
+				if (du != 0) {
+					if (lastDu != 0 && (du > 0) != (lastDu > 0)) {
+						uChanges++;
+					}
+					lastDu = du;
+				}
+				if (dv != 0) {
+					if (lastDv != 0 && (dv > 0) != (lastDv > 0)) {
+						vChanges++;
+					}
+					lastDv = dv;
+				}
+			}
+			// the closing comparison of the last and first direction is not counted
+			return uChanges <= 2 && vChanges <= 2;
+		}
+
+		/**
+		 * @return the triangles, or null if no ear can be found
+		 */
+		int[] clipEars() {
+			int n = ring.size();
+			// next links in [0, n), prev links in [n, 2n)
+			int[] links = new int[2 * n];
+			for (int i = 0; i < n; i++) {
+				links[i] = i + 1 == n ? 0 : i + 1;
+				links[n + i] = i == 0 ? n - 1 : i - 1;
+			}
+
+			int[] corners = new int[3 * (n - 2)];
+			int k = 0;
+			int remaining = n;
+			int i = 0;
+			int misses = 0;
+			while (remaining > 3) {
+				int p = links[n + i];
+				int q = links[i];
+				double turn = orient(p, i, q);
+				if (turn == 0 || (turn > 0 && isEar(p, i, q, links, n))) {
+					// collinear vertices are dropped without a (zero-area) triangle
+					if (turn != 0) {
+						corners[k++] = p;
+						corners[k++] = i;
+						corners[k++] = q;
+					}
+					links[p] = q;
+					links[n + q] = p;
+					remaining--;
+					misses = 0;
+				} else if (++misses > remaining) {
+					return null;
+				}
+				i = q;
+			}
+			int p = links[n + i];
+			int q = links[i];
+			if (orient(p, i, q) != 0) {
+				corners[k++] = p;
+				corners[k++] = i;
+				corners[k++] = q;
+			}
+			return k == corners.length ? corners : Arrays.copyOf(corners, k);
+		}
+
+		private boolean isEar(int a, int b, int c, int[] links, int n) {
+			for (int r = links[c]; r != a; r = links[r]) {
+				if (same(r, a) || same(r, b) || same(r, c)) {
+					continue;
+				}
+				if (orient(a, b, r) >= 0 && orient(b, c, r) >= 0 && orient(c, a, r) >= 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean same(int a, int b) {
+			return Arrays.equals(ring.get(a).xyz, ring.get(b).xyz);
+		}
+	}
+
+}
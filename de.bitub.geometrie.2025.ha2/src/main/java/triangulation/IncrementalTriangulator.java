@@ -0,0 +1,376 @@
+package triangulation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import diagnostics.PipelineMetrics;
+import diagnostics.PipelineStage;
+import model.Face;
+import model.IdentityIntMap;
+import model.Point;
+import model.PolyhedronEditor;
+
+/**
+ * Keeps the triangles of a polyhedron up to date while it is edited with a
+ * {@link PolyhedronEditor}: {@link #update()} re-triangulates only the faces
+ * marked dirty by the editor.
+ * <p>
+ * Every face owns a range of triangle slots in one index array. A face whose
+ * new triangles fit into its range is rewritten in place, unused slots are
+ * filled with degenerate triangles; otherwise the face moves to a larger range
+ * at the end. Vertices are shared by reference as in
+ * {@link TriangulationService}. Every vertex counts the triangle corners using
+ * it; the id of a point no longer used is reused by the next new point, so the
+ * vertices only grow to the largest number of points in use at once. New points
+ * without a free id are appended. The slots and vertices written since
+ * {@link #clearDirty()} are reported as ranges, so render buffers only need to
+ * upload these parts.
+ */
+public final class IncrementalTriangulator {
+
+	private final PolyhedronEditor editor;
+	private final List<Face> faces;
+	private final triangulation strategy;
+
+	private final IdentityIntMap<Point> vertexIds = new IdentityIntMap<>();
+	private double[] positions;
+	private int vertexCount;
+	// the point and the number of triangle corners of every vertex id
+	private Point[] vertexPoints;
+	private int[] vertexRefs;
+	// ids whose point is no longer used, reused before new ids
+	private int[] freeIds = new int[16];
+	private int freeCount;
+
+	// three vertex ids per slot and the face of every slot (-1 for padding)
+	private int[] indices;
+	private int[] slotFaces;
+	private int slotCount;
+
+	// the slot range of every face and its number of triangles
+	private final int[] faceStart;
+	private final int[] faceCapacity;
+	private final int[] faceTriangles;
+
+	private int dirtySlotFrom, dirtySlotTo;
+	private int dirtyVertexFrom, dirtyVertexTo;
+	private boolean resized;
+
+	/**
+	 * Triangulates all faces with {@link TriangulationService#defaultStrategy()}.
+	 *
+	 * @param editor the editor of the polyhedron
+	 */
+	public IncrementalTriangulator(PolyhedronEditor editor) {
+		this(editor, TriangulationService.defaultStrategy());
+	}
+
+	/**
+	 * Triangulates all faces in parallel; faces already marked dirty stay marked.
+	 *
+	 * @param editor   the editor of the polyhedron
+	 * @param strategy the triangulation of a single face
+	 */
+	public IncrementalTriangulator(PolyhedronEditor editor, triangulation strategy) {
+		this.editor = editor;
+		this.faces = editor.getPolyhedron().getFaces();
+		this.strategy = strategy;
+
+		int n = faces.size();
+		int[][] corners = new int[n][];
+		IntStream.range(0, n).parallel().forEach(f -> corners[f] = strategy.triangulate(faces.get(f).getBoundaries()));
+
+		int slots = 0;
+		for (int[] c : corners) {
+			slots += c.length / 3;
+		}
+		indices = new int[3 * Math.max(slots, 1)];
+		slotFaces = new int[Math.max(slots, 1)];
+		positions = new double[3 * Math.max(slots, 4)];
+		vertexPoints = new Point[Math.max(slots, 4)];
+		vertexRefs = new int[Math.max(slots, 4)];
+		faceStart = new int[n];
+		faceCapacity = new int[n];
+		faceTriangles = new int[n];
+		for (int f = 0; f < n; f++) {
+			faceStart[f] = slotCount;
+			faceCapacity[f] = corners[f].length / 3;
+			slotCount += faceCapacity[f];
+			write(f, faces.get(f).getBoundaries(), corners[f]);
+		}
+		clearDirty();
+	}
+
+	/**
+	 * Re-triangulates the faces marked dirty by the editor and clears the marks.
+	 *
+	 * @return the number of faces updated
+	 */
+	public int update() {
+		long time = PipelineMetrics.start();
+		int[] dirty = editor.takeDirtyFaces();
+		for (int f : dirty) {
+			List<List<Point>> boundaries = faces.get(f).getBoundaries();
+			write(f, boundaries, strategy.triangulate(boundaries));
+		}
+		PipelineMetrics.record(PipelineStage.TRIANGULATION, time, dirty.length,
+				Math.max(dirtyVertexTo - dirtyVertexFrom, 0));
+		return dirty.length;
+	}
+
+	private void write(int f, List<List<Point>> boundaries, int[] corners) {
+		int count = corners.length / 3;
+		int[] ids = vertexIds(boundaries, corners);
+		// after taking the new ids, so points kept by the face keep their id
+		for (int i = 3 * faceStart[f]; i < 3 * (faceStart[f] + faceTriangles[f]); i++) {
+			release(indices[i]);
+		}
+
+		if (count > faceCapacity[f]) {
+			// free the old range and move to the end with room to grow
+			pad(faceStart[f], faceStart[f] + faceCapacity[f], 0);
+			markSlots(faceStart[f], faceStart[f] + faceCapacity[f]);
+			faceStart[f] = allocate(count + Math.max(2, count / 2));
+			faceCapacity[f] = slotCount - faceStart[f];
+		}
+
+		int start = faceStart[f];
+		System.arraycopy(ids, 0, indices, 3 * start, ids.length);
+		for (int s = start; s < start + count; s++) {
+			slotFaces[s] = f;
+		}
+		pad(start + count, start + faceCapacity[f], count > 0 ? indices[3 * start] : 0);
+		faceTriangles[f] = count;
+		markSlots(start, start + faceCapacity[f]);
+	}
+
+	private int allocate(int slots) {
+		int start = slotCount;
+		slotCount += slots;
+		if (slotCount > slotFaces.length) {
+			int capacity = Math.max(slotCount, 2 * slotFaces.length);
+			indices = Arrays.copyOf(indices, 3 * capacity);
+			slotFaces = Arrays.copyOf(slotFaces, capacity);
+		}
+		resized = true;
+		return start;
+	}
+
+	/**
+	 * Fills slots with degenerate triangles, which cover no pixels.
+	 */
+	private void pad(int from, int to, int vertex) {
+		Arrays.fill(indices, 3 * from, 3 * to, vertex);
+		Arrays.fill(slotFaces, from, to, -1);
+	}
+
+	private void markSlots(int from, int to) {
+		dirtySlotFrom = Math.min(dirtySlotFrom, from);
+		dirtySlotTo = Math.max(dirtySlotTo, to);
+	}
+
+	/**
+	 * Maps the corners of the triangles to vertex ids and counts them as used.
+	 */
+	private int[] vertexIds(List<List<Point>> boundaries, int[] corners) {
+		int ringStart = 0;
+		int[] ringOffsets = new int[boundaries.size() + 1];
+		for (int r = 0; r < boundaries.size(); r++) {
+			ringOffsets[r] = ringStart;
+			ringStart += boundaries.get(r).size();
+		}
+		ringOffsets[boundaries.size()] = ringStart;
+
+		int[] ids = new int[corners.length];
+		for (int i = 0; i < corners.length; i++) {
+			int r = 0;
+			while (corners[i] >= ringOffsets[r + 1]) {
+				r++;
+			}
+			ids[i] = vertexId(boundaries.get(r).get(corners[i] - ringOffsets[r]));
+			vertexRefs[ids[i]]++;
+		}
+		return ids;
+	}
+
+	/**
+	 * Drops one use of a vertex; frees its id when the point is no longer used.
+	 */
+	private void release(int id) {
+		if (--vertexRefs[id] == 0) {
+			vertexIds.remove(vertexPoints[id], -1);
+			vertexPoints[id] = null;
+			if (freeCount == freeIds.length) {
+				freeIds = Arrays.copyOf(freeIds, 2 * freeCount);
+			}
+			freeIds[freeCount++] = id;
+		}
+	}
+
+	/**
+	 * Returns the vertex id of a point and writes its current coordinates.
+	 */
+	private int vertexId(Point p) {
+		int id = vertexIds.get(p, -1);
+		if (id < 0) {
+			if (freeCount > 0) {
+				id = freeIds[--freeCount];
+			} else {
+				id = vertexCount++;
+				if (vertexCount > vertexRefs.length) {
+					int capacity = Math.max(vertexCount, 2 * vertexRefs.length);
+					positions = Arrays.copyOf(positions, 3 * capacity);
+					vertexPoints = Arrays.copyOf(vertexPoints, capacity);
+					vertexRefs = Arrays.copyOf(vertexRefs, capacity);
+				}
+				resized = true;
+			}
+			vertexIds.put(p, id, -1);
+			vertexPoints[id] = p;
+		}
+		int base = 3 * id;
+		positions[base] = p.xyz[0];
+		positions[base + 1] = p.xyz[1];
+		positions[base + 2] = p.xyz[2];
+		dirtyVertexFrom = Math.min(dirtyVertexFrom, id);
+		dirtyVertexTo = Math.max(dirtyVertexTo, id + 1);
+		return id;
+	}
+
+	// ---------------------------------------------------------------- ranges
+
+	/**
+	 * @return the first slot written since {@link #clearDirty()}
+	 */
+	public int getDirtySlotFrom() {
+		return Math.min(dirtySlotFrom, dirtySlotTo);
+	}
+
+	/**
+	 * @return the slot after the last one written since {@link #clearDirty()}
+	 */
+	public int getDirtySlotTo() {
+		return dirtySlotTo;
+	}
+
+	/**
+	 * @return the first vertex written since {@link #clearDirty()}
+	 */
+	public int getDirtyVertexFrom() {
+		return Math.min(dirtyVertexFrom, dirtyVertexTo);
+	}
+
+	/**
+	 * @return the vertex after the last one written since {@link #clearDirty()}
+	 */
+	public int getDirtyVertexTo() {
+		return dirtyVertexTo;
+	}
+
+	/**
+	 * @return true if slots or vertices were appended since {@link #clearDirty()},
+	 *         so render buffers must grow
+	 */
+	public boolean isResized() {
+		return resized;
+	}
+
+	/**
+	 * Forgets the written ranges, call after the render buffers were updated.
+	 */
+	public void clearDirty() {
+		dirtySlotFrom = Integer.MAX_VALUE;
+		dirtySlotTo = 0;
+		dirtyVertexFrom = Integer.MAX_VALUE;
+		dirtyVertexTo = 0;
+		resized = false;
+	}
+
+	// --------------------------------------------------------------- buffers
+
+	/**
+	 * @return three vertex ids per slot, the first {@code 3 * getSlotCount()}
+	 *         entries are valid
+	 */
+	public int[] getIndices() {
+		return indices;
+	}
+
+	/**
+	 * @return the number of triangle slots, including degenerate padding
+	 */
+	public int getSlotCount() {
+		return slotCount;
+	}
+
+	/**
+	 * @param slot a triangle slot, e.g. a picked triangle
+	 * @return its face index, -1 for padding
+	 */
+	public int getFace(int slot) {
+		return slotFaces[slot];
+	}
+
+	/**
+	 * @return x, y, z per vertex, the first {@code 3 * getVertexCount()} entries
+	 *         are valid
+	 */
+	public double[] getPositions() {
+		return positions;
+	}
+
+	/**
+	 * @return the number of vertex ids, including free ones not used by any
+	 *         triangle
+	 */
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * @return the number of vertices used by the triangles
+	 */
+	public int getUsedVertexCount() {
+		return vertexCount - freeCount;
+	}
+
+	public int getFaceSlotStart(int face) {
+		return faceStart[face];
+	}
+
+	public int getFaceTriangleCount(int face) {
+		return faceTriangles[face];
+	}
+
+	/**
+	 * Copies the triangles without padding, faces in order, e.g. to build a
+	 * {@link spatial.FaceBVH}.
+	 *
+	 * @return the triangle buffer
+	 */
+	public TriangleBuffer toTriangleBuffer() {
+		int triangles = 0;
+		int failed = 0;
+		for (int f = 0; f < faces.size(); f++) {
+			triangles += faceTriangles[f];
+			if (faceTriangles[f] == 0) {
+				failed++;
+			}
+		}
+		int[] compact = new int[3 * triangles];
+		int[] faceIds = new int[triangles];
+		int[] faceOffsets = new int[faces.size() + 1];
+		int t = 0;
+		for (int f = 0; f < faces.size(); f++) {
+			faceOffsets[f] = t;
+			System.arraycopy(indices, 3 * faceStart[f], compact, 3 * t, 3 * faceTriangles[f]);
+			Arrays.fill(faceIds, t, t + faceTriangles[f], f);
+			t += faceTriangles[f];
+		}
+		faceOffsets[faces.size()] = t;
+		return new TriangleBuffer(Arrays.copyOf(positions, 3 * vertexCount), vertexCount, compact, faceIds,
+				faceOffsets, failed);
+	}
+
+}
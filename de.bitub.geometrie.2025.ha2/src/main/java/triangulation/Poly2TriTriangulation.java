@@ -0,0 +1,56 @@
+package triangulation;
+
+import java.util.List;
+
+import org.poly2tri.Poly2Tri;
+import org.poly2tri.geometry.polygon.Polygon;
+import org.poly2tri.triangulation.delaunay.DelaunayTriangle;
+import org.poly2tri.triangulation.delaunay.sweep.PointOnEdgeException;
+
+import diagnostics.PipelineMetrics;
+import diagnostics.PipelineStage;
+import model.Point;
+import projection.IndexedPolygonPoint;
+import projection.PolygonProjection;
+
+/**
+ * Constrained Delaunay triangulation with poly2tri. Handles holes and arbitrary
+ * simple polygons.
+ */
+public class Poly2TriTriangulation extends triangulation {
+
+	@Override
+	public int[] triangulate(List<List<Point>> boundaries) {
+		Polygon polygon;
+		try {
+			polygon = PolygonProjection.projectTo2D(boundaries).toPolygon();
+			Poly2Tri.triangulate(polygon);
+		} catch (IllegalArgumentException | PointOnEdgeException e) {
+			// too few points, collinear points or points on a constrained edge
+			PipelineMetrics.recordFailure(PipelineStage.TRIANGULATION, e);
+			return NO_TRIANGLES;
+		} catch (RuntimeException e) {
+			// poly2tri reports other degenerate input (intersecting or touching
+			// rings) with plain RuntimeExceptions; subclasses are real bugs
+			if (e.getClass() != RuntimeException.class) {
+				throw e;
+			}
+			PipelineMetrics.recordFailure(PipelineStage.TRIANGULATION, e);
+			return NO_TRIANGLES;
+		}
+
+		// poly2tri returns counter-clockwise triangles in the plane, and the plane of
+		// PolygonProjection.fitPlane makes the outer ring counter-clockwise, so the
+		// triangles keep the winding of the face
+		List<DelaunayTriangle> triangles = polygon.getTriangles();
+		int[] corners = new int[3 * triangles.size()];
+		int k = 0;
+		for (DelaunayTriangle t : triangles) {
+			corners[k++] = IndexedPolygonPoint.indexOf(t.points[0]);
+			corners[k++] = IndexedPolygonPoint.indexOf(t.points[1]);
+			corners[k++] = IndexedPolygonPoint.indexOf(t.points[2]);
+		}
+		return corners;
+	}
+
+}
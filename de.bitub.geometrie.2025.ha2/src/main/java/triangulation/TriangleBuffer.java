@@ -0,0 +1,93 @@
+package triangulation;
+
+/**
+ * Indexed triangle soup of a whole polyhedron: a shared vertex pool, three
+ * vertex indices per triangle and the id (list index) of the face each triangle
+ * belongs to. Triangles are stored face by face, so the triangles of face
+ * {@code f} are {@code getFaceTriangleStart(f)} to
+ * {@code getFaceTriangleStart(f + 1) - 1}.
+ */
+public class TriangleBuffer {
+
+	private final double[] positions;
+	private final int vertexCount;
+	private final int[] indices;
+	private final int[] faceIds;
+	private final int[] faceOffsets;
+	private final int failedFaceCount;
+
+	/**
+	 * @param positions       vertex pool, x, y, z per vertex
+	 * @param vertexCount     number of vertices in the pool
+	 * @param indices         three vertex indices per triangle
+	 * @param faceIds         face id per triangle
+	 * @param faceOffsets     first triangle of every face, plus the triangle count
+	 *                        as last entry
+	 * @param failedFaceCount number of faces that could not be triangulated
+	 */
+	public TriangleBuffer(double[] positions, int vertexCount, int[] indices, int[] faceIds, int[] faceOffsets,
+			int failedFaceCount) {
+		this.positions = positions;
+		this.vertexCount = vertexCount;
+		this.indices = indices;
+		this.faceIds = faceIds;
+		this.faceOffsets = faceOffsets;
+		this.failedFaceCount = failedFaceCount;
+	}
+
+	/**
+	 * @return the vertex pool (x, y, z per vertex)
+	 */
+	public double[] getPositions() {
+		return positions;
+	}
+
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * @return three vertex indices per triangle
+	 */
+	public int[] getIndices() {
+		return indices;
+	}
+
+	/**
+	 * @return the face id of every triangle
+	 */
+	public int[] getFaceIds() {
+		return faceIds;
+	}
+
+	public int getTriangleCount() {
+		return faceIds.length;
+	}
+
+	public int getFaceCount() {
+		return faceOffsets.length - 1;
+	}
+
+	/**
+	 * @param face the face id
+	 * @return the index of the first triangle of the face
+	 */
+	public int getFaceTriangleStart(int face) {
+		return faceOffsets[face];
+	}
+
+	/**
+	 * @return number of faces skipped because they were degenerate or rejected by
+	 *         the triangulator
+	 */
+	public int getFailedFaceCount() {
+		return failedFaceCount;
+	}
+
+	@Override
+	public String toString() {
+		return "TriangleBuffer [faces=" + getFaceCount() + ", triangles=" + getTriangleCount() + ", vertices="
+				+ vertexCount + ", failedFaces=" + failedFaceCount + "]";
+	}
+
+}
@@ -0,0 +1,274 @@
+package triangulation;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import model.Point;
+
+/**
+ * Bounded LRU cache for face triangulations, so that repeated faces (floor
+ * plates, openings, instances of the same element) are triangulated once.
+ * <p>
+ * The key is a canonical form of the face geometry: every ring starts at its
+ * lexicographically smallest vertex, the holes are sorted by that vertex, and
+ * the coordinates are taken relative to the smallest vertex of the outer ring
+ * and rounded to {@code quantum}. It is therefore invariant to the starting
+ * vertex of the rings, to the order of the holes and to translation, but not
+ * to the orientation of the rings. Cached triangles refer to the canonical
+ * vertex order and are mapped back to the caller's point order on every hit.
+ * <p>
+ * Eviction is by estimated memory footprint. All methods are thread-safe; two
+ * threads missing the same face at the same time may both triangulate it.
+ */
+public class TriangulationCache {
+
+	/**
+	 * Default rounding of the relative coordinates.
+	 */
+	public static final double DEFAULT_QUANTUM = 1e-9;
+
+	// rough per-entry overhead of the map entry, key and value objects
+	private static final long ENTRY_OVERHEAD = 128;
+
+	private final long maxBytes;
+	private final double quantum;
+	private final LinkedHashMap<FaceKey, int[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+	private long bytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * @param maxBytes estimated memory the cached keys and triangles may occupy
+	 */
+	public TriangulationCache(long maxBytes) {
+		this(maxBytes, DEFAULT_QUANTUM);
+	}
+
+	/**
+	 * @param maxBytes estimated memory the cached keys and triangles may occupy
+	 * @param quantum  rounding applied to relative coordinates before comparing
+	 *                 faces
+	 */
+	public TriangulationCache(long maxBytes, double quantum) {
+		if (maxBytes <= 0 || !(quantum > 0)) {
+			throw new IllegalArgumentException("maxBytes and quantum must be positive");
+		}
+		this.maxBytes = maxBytes;
+		this.quantum = quantum;
+	}
+
+	/**
+	 * Returns the triangulation of a face from the cache or computes and stores
+	 * it.
+	 *
+	 * @param boundaries   outer ring followed by the hole rings
+	 * @param triangulator computes three corner indices per triangle into the
+	 *                     concatenated rings on a miss
+	 * @return three corner indices per triangle into the concatenated rings of
+	 *         {@code boundaries}
+	 */
+	public int[] triangulate(List<List<Point>> boundaries, Function<List<List<Point>>, int[]> triangulator) {
+		FaceKey key = FaceKey.of(boundaries, quantum);
+
+		int[] canonical;
+		synchronized (this) {
+			canonical = entries.get(key);
+			if (canonical != null) {
+				hits++;
+			} else {
+				misses++;
+			}
+		}
+
+		if (canonical == null) {
+			int[] local = triangulator.apply(boundaries);
+			canonical = new int[local.length];
+			for (int i = 0; i < local.length; i++) {
+				canonical[i] = key.localToCanonical[local[i]];
+			}
+			put(key, canonical);
+			return local;
+		}
+
+		int[] local = new int[canonical.length];
+		for (int i = 0; i < canonical.length; i++) {
+			local[i] = key.canonicalToLocal[canonical[i]];
+		}
+		return local;
+	}
+
+	private synchronized void put(FaceKey key, int[] canonical) {
+		long size = key.weight() + 4L * canonical.length;
+		int[] old = entries.put(key, canonical);
+		if (old != null) {
+			bytes -= key.weight() + 4L * old.length;
+		}
+		bytes += size;
+
+		Iterator<Map.Entry<FaceKey, int[]>> it = entries.entrySet().iterator();
+		while (bytes > maxBytes && it.hasNext()) {
+			Map.Entry<FaceKey, int[]> eldest = it.next();
+			bytes -= eldest.getKey().weight() + 4L * eldest.getValue().length;
+			it.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return the number of cached faces
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return the estimated memory of the cached entries in bytes
+	 */
+	public synchronized long getEstimatedBytes() {
+		return bytes;
+	}
+
+	public synchronized double getHitRate() {
+		long requests = hits + misses;
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+
+	/**
+	 * Removes all entries; the statistics are kept.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		bytes = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format(
+				"TriangulationCache [entries=%d, bytes=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.2f]",
+				entries.size(), bytes, hits, misses, evictions, getHitRate());
+	}
+
+	/**
+	 * Canonical, translation-invariant form of a face.
+	 */
+	private static final class FaceKey {
+
+		private final long[] coords;
+		private final int[] ringSizes;
+		private final int hash;
+		// not part of equality: maps between canonical and caller order
+		private final int[] canonicalToLocal;
+		private final int[] localToCanonical;
+
+		private FaceKey(long[] coords, int[] ringSizes, int[] canonicalToLocal, int[] localToCanonical) {
+			this.coords = coords;
+			this.ringSizes = ringSizes;
+			this.canonicalToLocal = canonicalToLocal;
+			this.localToCanonical = localToCanonical;
+			this.hash = 31 * Arrays.hashCode(coords) + Arrays.hashCode(ringSizes);
+		}
+
+		static FaceKey of(List<List<Point>> boundaries, double quantum) {
+			int rings = boundaries.size();
+			int[] offsets = new int[rings + 1];
+			for (int r = 0; r < rings; r++) {
+				offsets[r + 1] = offsets[r] + boundaries.get(r).size();
+			}
+			int total = offsets[rings];
+
+			Point[] points = new Point[total];
+			int[] starts = new int[rings];
+			for (int r = 0, k = 0; r < rings; r++) {
+				int start = 0;
+				List<Point> ring = boundaries.get(r);
+				for (int i = 0; i < ring.size(); i++, k++) {
+					points[k] = ring.get(i);
+					if (compare(points[k], ring.get(start)) < 0) {
+						start = i;
+					}
+				}
+				starts[r] = start;
+			}
+
+			// outer ring first, holes sorted by their smallest vertex
+			Integer[] order = new Integer[rings];
+			for (int r = 0; r < rings; r++) {
+				order[r] = r;
+			}
+			Arrays.sort(order, 1, rings,
+					(a, b) -> compare(points[offsets[a] + starts[a]], points[offsets[b] + starts[b]]));
+
+			double[] reference = points[starts[0]].xyz;
+			long[] coords = new long[3 * total];
+			int[] ringSizes = new int[rings];
+			int[] canonicalToLocal = new int[total];
+			int[] localToCanonical = new int[total];
+			int c = 0;
+			for (int o = 0; o < rings; o++) {
+				int r = order[o];
+				int size = offsets[r + 1] - offsets[r];
+				ringSizes[o] = size;
+				for (int i = 0; i < size; i++, c++) {
+					int local = offsets[r] + (starts[r] + i) % size;
+					double[] xyz = points[local].xyz;
+					coords[3 * c] = Math.round((xyz[0] - reference[0]) / quantum);
+					coords[3 * c + 1] = Math.round((xyz[1] - reference[1]) / quantum);
+					coords[3 * c + 2] = Math.round((xyz[2] - reference[2]) / quantum);
+					canonicalToLocal[c] = local;
+					localToCanonical[local] = c;
+				}
+			}
+			return new FaceKey(coords, ringSizes, canonicalToLocal, localToCanonical);
+		}
+
+		private static int compare(Point a, Point b) {
+			for (int i = 0; i < 3; i++) {
+				int c = Double.compare(a.xyz[i], b.xyz[i]);
+				if (c != 0) {
+					return c;
+				}
+			}
+			return 0;
+		}
+
+		long weight() {
+			return ENTRY_OVERHEAD + 8L * coords.length + 4L * ringSizes.length + 8L * canonicalToLocal.length;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof FaceKey other)) {
+				return false;
+			}
+			return hash == other.hash && Arrays.equals(ringSizes, other.ringSizes)
+					&& Arrays.equals(coords, other.coords);
+		}
+	}
+
+}
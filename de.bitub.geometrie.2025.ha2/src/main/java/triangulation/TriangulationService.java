@@ -0,0 +1,209 @@
+package triangulation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import diagnostics.PipelineMetrics;
+import diagnostics.PipelineStage;
+import model.Face;
+import model.IdentityIntMap;
+import model.Point;
+import model.Polyhedron;
+
+/**
+ * Triangulates every face of a polyhedron in parallel and collects the result
+ * in one {@link TriangleBuffer}. The faces are triangulated with a
+ * {@link triangulation} strategy, by default {@link #defaultStrategy()}.
+ * <p>
+ * Faces are triangulated independently on a {@link ForkJoinPool}; the results
+ * are merged in face order afterwards, so the buffer does not depend on the
+ * number of threads. Vertices are shared between faces by reference, i.e. every
+ * {@link Point} object becomes exactly one vertex of the buffer.
+ */
+public class TriangulationService {
+
+	/**
+	 * Number of faces below which a task is not split any further.
+	 */
+	private static final int SEQUENTIAL_THRESHOLD = 64;
+
+	private final ForkJoinPool pool;
+	private final triangulation strategy;
+	private final TriangulationCache cache;
+
+	/**
+	 * Creates a service running on the common pool.
+	 */
+	public TriangulationService() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public TriangulationService(ForkJoinPool pool) {
+		this(pool, null);
+	}
+
+	/**
+	 * @param pool  the pool running the face tasks
+	 * @param cache cache for repeated faces, may be null
+	 */
+	public TriangulationService(ForkJoinPool pool, TriangulationCache cache) {
+		this(pool, defaultStrategy(), cache);
+	}
+
+	/**
+	 * @param pool     the pool running the face tasks
+	 * @param strategy the triangulation of a single face
+	 * @param cache    cache for repeated faces, may be null
+	 */
+	public TriangulationService(ForkJoinPool pool, triangulation strategy, TriangulationCache cache) {
+		this.pool = pool;
+		this.strategy = strategy;
+		this.cache = cache;
+	}
+
+	/**
+	 * @return ear clipping for small faces without holes, poly2tri for all others
+	 */
+	public static triangulation defaultStrategy() {
+		return new EarClippingTriangulation(new Poly2TriTriangulation());
+	}
+
+	/**
+	 * Triangulates all faces of a polyhedron.
+	 *
+	 * @param polyhedron the polyhedron
+	 * @return the combined triangles, face ids are indices into
+	 *         {@link Polyhedron#getFaces()}
+	 */
+	public TriangleBuffer triangulate(Polyhedron polyhedron) {
+		return triangulate(polyhedron.getFaces());
+	}
+
+	/**
+	 * Triangulates a list of faces (with holes).
+	 *
+	 * @param faces the faces
+	 * @return the combined triangles, face ids are indices into {@code faces}
+	 */
+	public TriangleBuffer triangulate(List<Face> faces) {
+		long time = PipelineMetrics.start();
+		Face[] array = faces.toArray(Face[]::new);
+		Point[][] points = new Point[array.length][];
+		int[][] corners = new int[array.length][];
+		pool.invoke(new FaceTask(this, array, points, corners, 0, array.length));
+		TriangleBuffer buffer = assemble(points, corners);
+		PipelineMetrics.record(PipelineStage.TRIANGULATION, time, array.length, buffer.getVertexCount());
+		return buffer;
+	}
+
+	private int[] triangulateFace(List<List<Point>> boundaries) {
+		return cache == null ? strategy.triangulate(boundaries) : cache.triangulate(boundaries, strategy::triangulate);
+	}
+
+	/**
+	 * Merges the per-face results into one buffer, assigning vertex ids in order
+	 * of first use. The points of every face were collected by its task, the ids
+	 * are kept in an {@link IdentityIntMap}, so the merge boxes nothing.
+	 */
+	private static TriangleBuffer assemble(Point[][] points, int[][] corners) {
+		int triangleCount = 0;
+		int failed = 0;
+		for (int[] c : corners) {
+			triangleCount += c.length / 3;
+			if (c.length == 0) {
+				failed++;
+			}
+		}
+
+		int[] indices = new int[3 * triangleCount];
+		int[] faceIds = new int[triangleCount];
+		int[] faceOffsets = new int[points.length + 1];
+		double[] positions = new double[3 * Math.max(triangleCount, 1)];
+		IdentityIntMap<Point> vertexIds = new IdentityIntMap<>(triangleCount);
+
+		int t = 0;
+		for (int f = 0; f < points.length; f++) {
+			faceOffsets[f] = t;
+			int[] c = corners[f];
+			for (int i = 0; i < c.length; i++) {
+				Point p = points[f][c[i]];
+				int id = vertexIds.putIfAbsent(p, vertexIds.size(), -1);
+				if (id < 0) {
+					id = vertexIds.size() - 1;
+					if (3 * id + 3 > positions.length) {
+						positions = Arrays.copyOf(positions, 2 * positions.length);
+					}
+					positions[3 * id] = p.xyz[0];
+					positions[3 * id + 1] = p.xyz[1];
+					positions[3 * id + 2] = p.xyz[2];
+				}
+				indices[3 * t + i] = id;
+			}
+			Arrays.fill(faceIds, t, t + c.length / 3, f);
+			t += c.length / 3;
+		}
+		faceOffsets[points.length] = t;
+
+		int vertexCount = vertexIds.size();
+		return new TriangleBuffer(Arrays.copyOf(positions, 3 * vertexCount), vertexCount, indices, faceIds,
+				faceOffsets, failed);
+	}
+
+	/**
+	 * Triangulates a range of faces, splitting it in halves while it is large,
+	 * and keeps the points of every face for {@link #assemble}. Tasks are never
+	 * serialized, the references to the service and the faces are transient.
+	 */
+	private static class FaceTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient TriangulationService service;
+		private final transient Face[] faces;
+		private final transient Point[][] points;
+		private final int[][] corners;
+		private final int from, to;
+
+		FaceTask(TriangulationService service, Face[] faces, Point[][] points, int[][] corners, int from, int to) {
+			this.service = service;
+			this.faces = faces;
+			this.points = points;
+			this.corners = corners;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= SEQUENTIAL_THRESHOLD) {
+				for (int f = from; f < to; f++) {
+					List<List<Point>> boundaries = faces[f].getBoundaries();
+					corners[f] = service.triangulateFace(boundaries);
+					points[f] = flatten(boundaries);
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new FaceTask(service, faces, points, corners, from, mid),
+					new FaceTask(service, faces, points, corners, mid, to));
+		}
+
+		private static Point[] flatten(List<List<Point>> boundaries) {
+			int count = 0;
+			for (List<Point> ring : boundaries) {
+				count += ring.size();
+			}
+			Point[] result = new Point[count];
+			int i = 0;
+			for (List<Point> ring : boundaries) {
+				for (Point p : ring) {
+					result[i++] = p;
+				}
+			}
+			return result;
+		}
+	}
+
+}
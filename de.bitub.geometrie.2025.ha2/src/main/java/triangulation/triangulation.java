@@ -1,5 +1,32 @@
 package triangulation;
 
+import java.util.List;
+
+import model.Point;
+
+/**
+ * Strategy for triangulating a single planar face. Implementations return the
+ * triangles as corner indices into the points of all rings concatenated in
+ * order (outer ring first), so the result can be mapped back to the 3D points
+ * without any lookup.
+ *
+ * @see Poly2TriTriangulation
+ * @see EarClippingTriangulation
+ */
 public abstract class triangulation {
 
+	/**
+	 * Empty result for faces that cannot be triangulated.
+	 */
+	protected static final int[] NO_TRIANGLES = new int[0];
+
+	/**
+	 * Triangulates a face. Triangles keep the orientation of the outer ring.
+	 *
+	 * @param boundaries outer ring followed by the hole rings
+	 * @return three corner indices per triangle; empty if the face is degenerate
+	 *         or cannot be triangulated
+	 */
+	public abstract int[] triangulate(List<List<Point>> boundaries);
+
 }
@@ -0,0 +1,152 @@
+package diagnostics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.Cube;
+import model.HalfEdge;
+import model.HalfEdgeUtil;
+import model.Point;
+import model.Polyhedron;
+import triangulation.Poly2TriTriangulation;
+import triangulation.TriangulationService;
+
+/**
+ * Testet die Zähler und Flight-Recorder-Ereignisse der Geometrie-Pipeline.
+ */
+public class PipelineMetricsTest {
+
+	@TempDir
+	Path dir;
+
+	@AfterEach
+	public void disable() {
+		PipelineMetrics.setEnabled(false);
+		PipelineMetrics.reset();
+	}
+
+	/**
+	 * Testet, dass Triangulation und Bearbeitung mit Flächen- und Punktzahlen
+	 * gezählt werden, aber nur solange die Zähler eingeschaltet sind.
+	 */
+	@Test
+	@DisplayName("Test der Zähler")
+	public void testCounters() {
+		PipelineMetrics.reset();
+		PipelineMetrics.setEnabled(true);
+		Polyhedron cube = Cube.createExampelCube().toPolyhedron();
+		new TriangulationService().triangulate(cube);
+
+		PipelineMetrics.Stats stats = PipelineMetrics.get(PipelineStage.TRIANGULATION);
+		assertEquals(1, stats.getCount());
+		assertEquals(6, stats.getFaces());
+		assertEquals(8, stats.getVertices());
+		assertTrue(stats.getTotalNanos() > 0);
+		assertEquals(stats.getMaxNanos(), stats.getTotalNanos());
+
+		HalfEdge start = cube.getFaces().get(0).getHalfEdge();
+		assertTrue(HalfEdgeUtil.removePointFromPolygon(start, start.getNext().getOrg()));
+		assertFalse(HalfEdgeUtil.removePointFromPolygon(start, new Point(5, 5, 5)));
+		PipelineMetrics.Stats edits = PipelineMetrics.get(PipelineStage.EDIT);
+		assertEquals(2, edits.getCount());
+		assertEquals(1, edits.getVertices());
+
+		PipelineMetrics.setEnabled(false);
+		new TriangulationService().triangulate(cube);
+		assertEquals(1, stats.getCount());
+	}
+
+	/**
+	 * Testet das Histogramm: Zweierpotenz-Klassen, Summe gleich Anzahl und
+	 * Perzentile als obere Klassengrenze.
+	 */
+	@Test
+	@DisplayName("Test des Histogramms")
+	public void testHistogram() {
+		assertEquals(0, PipelineMetrics.Stats.bucket(0));
+		assertEquals(1, PipelineMetrics.Stats.bucket(1));
+		assertEquals(2, PipelineMetrics.Stats.bucket(3));
+		assertEquals(11, PipelineMetrics.Stats.bucket(1024));
+		assertEquals(63, PipelineMetrics.Stats.bucket(Long.MAX_VALUE));
+
+		PipelineMetrics.reset();
+		PipelineMetrics.setEnabled(true);
+		for (int i = 0; i < 100; i++) {
+			PipelineMetrics.record(PipelineStage.PROJECTION, PipelineMetrics.start(), 1, 4);
+		}
+		PipelineMetrics.Stats stats = PipelineMetrics.get(PipelineStage.PROJECTION);
+		long sum = 0;
+		for (long b : stats.getHistogram()) {
+			sum += b;
+		}
+		assertEquals(100, sum);
+		assertEquals(400, stats.getVertices());
+		assertTrue(stats.getPercentileNanos(1.0) >= stats.getMaxNanos());
+		assertTrue(stats.getPercentileNanos(0.5) <= stats.getPercentileNanos(1.0));
+		assertEquals(0, PipelineMetrics.get(PipelineStage.IMPORT).getPercentileNanos(0.99));
+
+		PipelineMetrics.setEnabled(false);
+		assertEquals(PipelineMetrics.NOT_TIMED, PipelineMetrics.start());
+	}
+
+	/**
+	 * Testet, dass eine entartete Fläche als Fehlschlag gezählt wird, andere
+	 * Ausnahmen aber nicht verschluckt werden.
+	 */
+	@Test
+	@DisplayName("Test der Zählung fehlgeschlagener Flächen")
+	public void testFailures() {
+		PipelineMetrics.reset();
+		PipelineMetrics.setEnabled(true);
+		Poly2TriTriangulation poly2tri = new Poly2TriTriangulation();
+
+		List<Point> line = List.of(new Point(0, 0, 0), new Point(1, 1, 1), new Point(2, 2, 2));
+		int[] corners = poly2tri.triangulate(List.of(line));
+
+		assertEquals(0, corners.length);
+		assertEquals(1, PipelineMetrics.get(PipelineStage.TRIANGULATION).getFailures());
+		assertThrows(NullPointerException.class, () -> poly2tri.triangulate(null));
+		assertEquals(1, PipelineMetrics.get(PipelineStage.TRIANGULATION).getFailures());
+	}
+
+	/**
+	 * Testet, dass während einer Aufzeichnung Flight-Recorder-Ereignisse
+	 * geschrieben werden, auch wenn die Zähler ausgeschaltet sind.
+	 */
+	@Test
+	@DisplayName("Test der Flight-Recorder-Ereignisse")
+	public void testFlightRecorder() throws IOException {
+		Path file = dir.resolve("pipeline.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("geometrie.PipelineStage");
+			recording.start();
+			new TriangulationService().triangulate(Cube.createExampelCube().toPolyhedron());
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+				.filter(e -> e.getEventType().getName().equals("geometrie.PipelineStage")
+						&& e.getString("stage").equals("TRIANGULATION"))
+				.toList();
+		assertEquals(1, events.size());
+		assertEquals(6, events.get(0).getInt("faces"));
+		assertEquals(8, events.get(0).getInt("vertices"));
+		assertEquals(0, PipelineMetrics.get(PipelineStage.TRIANGULATION).getCount());
+	}
+
+}
@@ -0,0 +1,98 @@
+package fx3D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.Group;
+import javafx.scene.ParallelCamera;
+import javafx.scene.PerspectiveCamera;
+import javafx.scene.shape.Box;
+import javafx.scene.transform.Rotate;
+
+/**
+ * Testet das Ausblenden von Objekten außerhalb des Sichtkegels.
+ */
+public class FrustumCullerTest {
+
+	private static Box box(Group world, double x, double y, double z) {
+		Box box = new Box(1, 1, 1);
+		box.setTranslateX(x);
+		box.setTranslateY(y);
+		box.setTranslateZ(z);
+		world.getChildren().add(box);
+		return box;
+	}
+
+	/**
+	 * Testet Objekte vor, neben und hinter der Kamera sowie das Nachführen nach
+	 * dem Verschieben und Drehen.
+	 */
+	@Test
+	@DisplayName("Test des Sichtkegels")
+	public void testFrustum() {
+		Group world = new Group();
+		Box center = box(world, 0, 0, 0);
+		Box farRight = box(world, 100, 0, 0);
+		Box behind = box(world, 0, 0, -20);
+		Box edge = box(world, 5.5, 0, 0);
+
+		FrustumCuller culler = new FrustumCuller();
+		for (Box box : new Box[] { center, farRight, behind, edge }) {
+			culler.add(box);
+		}
+		assertTrue(culler.isDirty());
+
+		// Kamera bei z = -15 blickt entlang +z, 30 Grad vertikaler Öffnungswinkel
+		PerspectiveCamera camera = new PerspectiveCamera(true);
+		camera.setTranslateZ(-15);
+		camera.setFarClip(1000);
+		assertEquals(2, culler.update(camera, world, 800, 600));
+		assertFalse(culler.isDirty());
+		assertTrue(center.isVisible());
+		assertFalse(farRight.isVisible());
+		assertFalse(behind.isVisible());
+		// halbe Breite bei z = 0: 15 * tan(15°) * 4/3 = 5.36, die Kugel reicht bis
+		// dorthin
+		assertTrue(edge.isVisible());
+
+		// schmaleres Fenster: der Randwürfel fällt heraus
+		assertEquals(1, culler.update(camera, world, 400, 600));
+		assertFalse(edge.isVisible());
+
+		// verschobene Objekte werden neu eingelesen
+		farRight.setTranslateX(1);
+		assertTrue(culler.isDirty());
+		assertEquals(2, culler.update(camera, world, 400, 600));
+		assertTrue(farRight.isVisible());
+
+		// Drehung der Welt um 180 Grad bringt den hinteren Würfel nach vorn
+		world.getTransforms().add(new Rotate(180, Rotate.Y_AXIS));
+		assertEquals(3, culler.update(camera, world, 400, 600));
+		assertTrue(behind.isVisible());
+
+		// entfernte Objekte werden wieder angezeigt
+		culler.remove(edge);
+		assertTrue(edge.isVisible());
+		assertEquals(3, culler.getNodeCount());
+	}
+
+	/**
+	 * Testet, dass ohne perspektivische Kamera nichts ausgeblendet wird.
+	 */
+	@Test
+	@DisplayName("Test ohne perspektivische Kamera")
+	public void testOtherCamera() {
+		Group world = new Group();
+		Box box = box(world, 1000, 0, 0);
+		FrustumCuller culler = new FrustumCuller();
+		culler.add(box);
+		box.setVisible(false);
+		assertEquals(1, culler.update(new ParallelCamera(), world, 800, 600));
+		assertTrue(box.isVisible());
+	}
+
+}
@@ -0,0 +1,48 @@
+package fx3D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.PerspectiveCamera;
+import javafx.scene.shape.TriangleMesh;
+import model.Cube;
+import model.MeshSimplifier;
+
+/**
+ * Testet das Umschalten der Detailstufen einer JavaFX-MeshView.
+ */
+public class LodMeshViewTest {
+
+	/**
+	 * Testet Standardabstände und Umschalten mit der Kameraposition.
+	 */
+	@Test
+	@DisplayName("Test des Umschaltens nach Abstand")
+	public void testSwitchByDistance() {
+		TriangleMesh fine = PolyhedronMeshConverter.toTriangleMesh(Cube.createExampelCube().toPolyhedron());
+		TriangleMesh coarse = PolyhedronMeshConverter
+				.toTriangleMesh(MeshSimplifier.createLevels(Cube.createExampelCube().toPolyhedron(), 1).get(0));
+		LodMeshView view = new LodMeshView(fine, coarse);
+		assertSame(fine, view.getMesh());
+
+		// Würfeldiagonale sqrt(3), Stufe 1 ab dem doppelten Wert
+		double diagonal = Math.sqrt(3);
+		assertEquals(0, view.levelAt(2 * diagonal - 0.01));
+		assertEquals(1, view.levelAt(2 * diagonal + 0.01));
+
+		PerspectiveCamera camera = new PerspectiveCamera(true);
+		camera.setTranslateZ(-2);
+		view.update(camera);
+		assertEquals(0, view.getLevel());
+		assertSame(fine, view.getMesh());
+
+		camera.setTranslateZ(-20);
+		view.update(camera);
+		assertEquals(1, view.getLevel());
+		assertSame(coarse, view.getMesh());
+	}
+
+}
@@ -0,0 +1,159 @@
+package fx3D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.shape.TriangleMesh;
+import model.Cube;
+import model.Face;
+import model.HalfEdgeUtil;
+import model.Point;
+import model.Polyhedron;
+import model.PolyhedronEditor;
+import triangulation.IncrementalTriangulator;
+import triangulation.TriangleBuffer;
+import triangulation.TriangulationService;
+
+/**
+ * Testet die Umwandlung von Polyedern in JavaFX-TriangleMeshes.
+ */
+public class PolyhedronMeshConverterTest {
+
+	/**
+	 * Testet den Beispielwürfel: 8 gemeinsame Punkte, 12 Dreiecke und gleiche
+	 * Glättungsgruppe nur innerhalb einer Fläche.
+	 */
+	@Test
+	@DisplayName("Test der Umwandlung des Würfels")
+	public void testCube() {
+		TriangleBuffer buffer = new TriangulationService().triangulate(Cube.createExampelCube().toPolyhedron());
+		TriangleMesh mesh = PolyhedronMeshConverter.toTriangleMesh(buffer);
+
+		assertEquals(3 * 8, mesh.getPoints().size());
+		assertEquals(2, mesh.getTexCoords().size());
+		assertEquals(12, mesh.getFaces().size() / mesh.getFaceElementSize());
+		assertEquals(12, mesh.getFaceSmoothingGroups().size());
+
+		// Punktindizes entsprechen dem Dreieckspuffer, Texturkoordinate ist immer 0
+		int[] indices = buffer.getIndices();
+		for (int i = 0; i < indices.length; i++) {
+			assertEquals(indices[i], mesh.getFaces().get(2 * i));
+			assertEquals(0, mesh.getFaces().get(2 * i + 1));
+		}
+
+		// Dreiecke einer Fläche teilen die Gruppe, benachbarte Flächen nie
+		int[] faceIds = buffer.getFaceIds();
+		for (int s = 0; s < 12; s++) {
+			int group = mesh.getFaceSmoothingGroups().get(s);
+			assertEquals(1, Integer.bitCount(group));
+			for (int t = 0; t < 12; t++) {
+				if (faceIds[s] == faceIds[t]) {
+					assertEquals(group, mesh.getFaceSmoothingGroups().get(t));
+				} else if (sharePoint(indices, s, t)) {
+					assertNotEquals(group, mesh.getFaceSmoothingGroups().get(t));
+				}
+			}
+		}
+	}
+
+	private static boolean sharePoint(int[] indices, int s, int t) {
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 3; j++) {
+				if (indices[3 * s + i] == indices[3 * t + j]) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Testet eine Fläche mit Loch: 8 Punkte und 8 Dreiecke in einer Gruppe.
+	 */
+	@Test
+	@DisplayName("Test der Umwandlung einer Fläche mit Loch")
+	public void testFaceWithHole() {
+		Face withHole = new Face(
+				HalfEdgeUtil.buildPolygon(List.of(new Point(0, 0, 0), new Point(10, 0, 0), new Point(10, 5, 0),
+						new Point(0, 5, 0))),
+				List.of(HalfEdgeUtil.buildPolygon(List.of(new Point(1, 1, 0), new Point(1, 4, 0),
+						new Point(8, 4, 0), new Point(8, 1, 0)))));
+
+		TriangleMesh mesh = PolyhedronMeshConverter
+				.toTriangleMesh(new Polyhedron(List.of(withHole), List.of(), List.of()));
+
+		assertEquals(3 * 8, mesh.getPoints().size());
+		assertEquals(8, mesh.getFaceSmoothingGroups().size());
+		for (int t = 0; t < 8; t++) {
+			assertEquals(1, mesh.getFaceSmoothingGroups().get(t));
+		}
+	}
+
+	/**
+	 * Testet, dass nach dem Verschieben eines Würfelpunkts die Punkte im Mesh
+	 * aktualisiert werden, ohne dass sich die Größe des Meshs ändert.
+	 */
+	@Test
+	@DisplayName("Test der Aktualisierung nach einer Bearbeitung")
+	public void testUpdateIncremental() {
+		Polyhedron cube = Cube.createExampelCube().toPolyhedron();
+		PolyhedronEditor editor = new PolyhedronEditor(cube);
+		IncrementalTriangulator triangulator = new IncrementalTriangulator(editor);
+		TriangleMesh mesh = PolyhedronMeshConverter.toTriangleMesh(triangulator);
+		assertEquals(12, mesh.getFaces().size() / mesh.getFaceElementSize());
+
+		Point point = cube.getFaces().get(0).getHalfEdge().getOrg();
+		editor.movePoint(point, point.xyz[0], point.xyz[1], point.xyz[2] + 0.5);
+		triangulator.update();
+		PolyhedronMeshConverter.update(mesh, triangulator);
+
+		double[] positions = triangulator.getPositions();
+		assertEquals(3 * triangulator.getVertexCount(), mesh.getPoints().size());
+		for (int i = 0; i < mesh.getPoints().size(); i++) {
+			assertEquals((float) positions[i], mesh.getPoints().get(i));
+		}
+		int[] indices = triangulator.getIndices();
+		for (int i = 0; i < 3 * triangulator.getSlotCount(); i++) {
+			assertEquals(indices[i], mesh.getFaces().get(2 * i));
+		}
+		assertEquals(0, triangulator.getDirtySlotTo());
+	}
+
+	/**
+	 * Testet, dass eine Fläche ohne freie Gruppe flach schattiert wird (Gruppe 0).
+	 */
+	@Test
+	@DisplayName("Test der Glättungsgruppen bei mehr als 32 Nachbarn")
+	public void testSmoothingGroupsExhausted() {
+		// 33 Dreiecke als Fächer um Punkt 0, jedes ist eine eigene Fläche
+		int count = 33;
+		double[] positions = new double[3 * (count + 2)];
+		int[] indices = new int[3 * count];
+		int[] faceIds = new int[count];
+		int[] faceOffsets = new int[count + 1];
+		for (int i = 0; i <= count; i++) {
+			positions[3 * (i + 1)] = Math.cos(0.1 * i);
+			positions[3 * (i + 1) + 1] = Math.sin(0.1 * i);
+		}
+		for (int f = 0; f < count; f++) {
+			indices[3 * f] = 0;
+			indices[3 * f + 1] = f + 1;
+			indices[3 * f + 2] = f + 2;
+			faceIds[f] = f;
+			faceOffsets[f + 1] = f + 1;
+		}
+		int[] groups = PolyhedronMeshConverter
+				.smoothingGroups(new TriangleBuffer(positions, count + 2, indices, faceIds, faceOffsets, 0));
+
+		for (int f = 0; f < 32; f++) {
+			assertEquals(1 << f, groups[f]);
+		}
+		assertEquals(0, groups[32]);
+	}
+
+}
@@ -0,0 +1,226 @@
+package io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.HalfEdge;
+import model.Polyhedron;
+
+/**
+ * Testet das Einlesen von OBJ- und OFF-Dateien mit ObjReader und OffReader.
+ */
+public class MeshReaderTest {
+
+	@TempDir
+	Path dir;
+
+	/**
+	 * Würfel als OBJ mit Kommentaren, Normalen, Texturkoordinaten, negativen
+	 * Indizes und einem doppelten Eckpunkt.
+	 */
+	private static final String CUBE_OBJ = """
+			# Einheitswürfel
+			o cube
+			v 0 0 0
+			v 1 0 0
+			v 1 1 0
+			v 0 1 0
+			v 0.0 0.0 1.0
+			v 1.0e0 0 1
+			v 1 1 1
+			v 0 1 1
+			v -0.0 0 0
+			vn 0 0 1
+			vt 0 0
+			f 9 4 3 2
+			f 5/1 6/1 7/1 8/1
+			f 1//1 2//1 6//1 5//1
+			f -8 -7 -3 -4
+			f 3 4 8 7
+			f 4 1 5 8
+			""";
+
+	private static final String CUBE_OFF = """
+			OFF
+			# Einheitswürfel mit Farben an den Flächen
+			8 6 12
+			0 0 0
+			1 0 0
+			1 1 0
+			0 1 0
+
+			0 0 1
+			1 0 1
+			1 1 1
+			0 1 1
+			4 0 3 2 1 255 0 0
+			4 4 5 6 7
+			4 0 1 5 4
+			4 1 2 6 5
+			4 2 3 7 6
+			4 3 0 4 7
+			""";
+
+	/**
+	 * Testet, dass der OBJ-Würfel 8 Eckpunkte, 6 Flächen und 24 vollständig
+	 * verknüpfte Halbkanten hat.
+	 */
+	@Test
+	@DisplayName("Test des Einlesens eines Würfels im OBJ-Format")
+	public void testReadObjCube() throws IOException {
+		Polyhedron cube = ObjReader.read(write("cube.obj", CUBE_OBJ));
+
+		assertEquals(8, cube.getVertices().size());
+		assertEquals(6, cube.getFaces().size());
+		assertEquals(24, cube.getHalfEdges().size());
+		assertClosed(cube);
+	}
+
+	/**
+	 * Testet den OFF-Würfel mit Leerzeilen, Kommentaren und Farbwerten.
+	 */
+	@Test
+	@DisplayName("Test des Einlesens eines Würfels im OFF-Format")
+	public void testReadOffCube() throws IOException {
+		Polyhedron cube = OffReader.read(write("cube.off", CUBE_OFF));
+
+		assertEquals(8, cube.getVertices().size());
+		assertEquals(6, cube.getFaces().size());
+		assertClosed(cube);
+	}
+
+	/**
+	 * Testet, dass Eckpunkte mit Rundungsfehlern nur mit passender Toleranz
+	 * zusammengeführt und die Flächen dann verknüpft werden.
+	 */
+	@Test
+	@DisplayName("Test des Einlesens mit Toleranz")
+	public void testReadWithTolerance() throws IOException {
+		// die rechte Seite hat eigene, gerundete Eckpunkte
+		Path file = write("rounded.off", """
+				OFF
+				11 6 0
+				0 0 0
+				1 0 0
+				1 1 0
+				0 1 0
+				0 0 1
+				1 0 1
+				1 1 1
+				0 1 1
+				0.9999999 0 0
+				1 1.0000001 0
+				1 1 0.9999998
+				4 0 3 2 1
+				4 4 5 6 7
+				4 0 1 5 4
+				4 8 9 10 5
+				4 2 3 7 6
+				4 3 0 4 7
+				""");
+		Polyhedron exact = OffReader.read(file);
+		assertEquals(11, exact.getVertices().size());
+		assertFalse(exact.stitchFaces().isClosed());
+
+		Polyhedron welded = OffReader.read(file, 1e-6);
+		assertEquals(8, welded.getVertices().size());
+		assertClosed(welded);
+	}
+
+	/**
+	 * Testet das Lesen über sehr kleine Speicherfenster, sodass Zahlen über die
+	 * Fenstergrenzen hinweg gelesen werden.
+	 */
+	@Test
+	@DisplayName("Test des Lesens mit kleinen Speicherfenstern")
+	public void testSmallWindows() throws IOException {
+		Path file = write("cube.obj", CUBE_OBJ);
+		for (int window = 1; window < 16; window++) {
+			MeshBuilder builder = new MeshBuilder();
+			try (MappedInput in = new MappedInput(file, window)) {
+				ObjReader.read(in, builder);
+			}
+			Polyhedron cube = builder.build();
+			assertEquals(8, cube.getVertices().size());
+			assertEquals(1, builder.getDuplicateVertexCount());
+			assertClosed(cube);
+		}
+	}
+
+	/**
+	 * Testet den Zahlenparser mit Exponenten, langen Mantissen und Sonderwerten
+	 * gegen Double.parseDouble.
+	 */
+	@Test
+	@DisplayName("Test des Zahlenparsers")
+	public void testReadDouble() throws IOException {
+		String[] numbers = { "0", "-0", "+1.5", "3.", ".25", "1e3", "-2.5E-3", "123456789012345678901234",
+				"0.1000000000000000055511151231257827", "1.7976931348623157e308", "4.9e-324", "2.2250738585072014E-308",
+				"1e23", "9007199254740993", "NaN", "-Infinity" };
+		Path file = write("numbers.txt", String.join(" ", numbers) + "\n");
+		try (MappedInput in = new MappedInput(file)) {
+			for (String number : numbers) {
+				assertEquals(Double.parseDouble(number), in.readDouble(), number);
+			}
+		}
+	}
+
+	/**
+	 * Testet, dass fehlerhafte Dateien mit Zeilennummer abgelehnt werden und
+	 * entartete Flächen übersprungen werden.
+	 */
+	@Test
+	@DisplayName("Test fehlerhafter und entarteter Eingaben")
+	public void testInvalidInput() throws IOException {
+		IOException e = assertThrows(IOException.class,
+				() -> ObjReader.read(write("bad.obj", "v 0 0 0\nv 1 0 0\nf 1 2 3\n")));
+		assertEquals(true, e.getMessage().endsWith(":3: vertex index 3 out of range"));
+		assertThrows(IOException.class, () -> ObjReader.read(write("bad.obj", "v 0 0 x\n")));
+		assertThrows(IOException.class, () -> OffReader.read(write("bad.off", "PLY\n")));
+		// zu große Anzahlen im Kopf reservieren keinen Speicher, die Datei endet vorher
+		assertThrows(IOException.class,
+				() -> OffReader.read(write("huge.off", "OFF\n2000000000 2000000000 0\n0 0 0\n")));
+
+		// die erwarteten Anzahlen sind nur Hinweise
+		MeshBuilder huge = new MeshBuilder(Integer.MAX_VALUE, Integer.MAX_VALUE);
+		huge.addVertex(0, 0, 0);
+		assertEquals(1, huge.getInputVertexCount());
+
+		MeshBuilder builder = new MeshBuilder();
+		try (MappedInput in = new MappedInput(write("flat.obj", "v 0 0 0\nv 1 0 0\nv 0 0 0\nf 1 2 3\n"))) {
+			ObjReader.read(in, builder);
+		}
+		assertEquals(1, builder.getDegenerateFaceCount());
+		assertEquals(0, builder.build().getFaces().size());
+	}
+
+	private Path write(String name, String content) throws IOException {
+		return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Prüft, dass jede Halbkante einen Zwilling mit vertauschten Endpunkten hat.
+	 */
+	private static void assertClosed(Polyhedron polyhedron) {
+		for (HalfEdge he : polyhedron.getHalfEdges()) {
+			HalfEdge twin = he.getTwin();
+			assertNotNull(twin, "Randkante " + he);
+			assertSame(he, twin.getTwin());
+			assertSame(he.getOrg(), twin.getNext().getOrg());
+			assertSame(he.getNext().getOrg(), twin.getOrg());
+		}
+	}
+
+}
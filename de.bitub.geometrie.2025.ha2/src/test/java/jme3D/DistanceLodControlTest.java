@@ -0,0 +1,78 @@
+package jme3D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.shape.Box;
+
+import model.Cube;
+import model.MeshSimplifier;
+import model.Polyhedron;
+
+/**
+ * Testet das Umschalten der Detailstufen nach dem Kameraabstand.
+ */
+public class DistanceLodControlTest {
+
+	/**
+	 * Testet die Stufenwahl und das Austauschen des Meshs beim Update.
+	 */
+	@Test
+	@DisplayName("Test des Umschaltens nach Abstand")
+	public void testSwitchByDistance() {
+		Mesh[] levels = { new Box(1, 1, 1), new Box(1, 1, 1), new Box(1, 1, 1) };
+		Camera cam = new Camera(640, 480);
+		DistanceLodControl control = new DistanceLodControl(cam, levels, new float[] { 10, 20 });
+		assertEquals(0, control.levelAt(5));
+		assertEquals(1, control.levelAt(10));
+		assertEquals(2, control.levelAt(100));
+
+		Geometry geometry = new Geometry("Model", levels[0]);
+		geometry.addControl(control);
+		geometry.setLocalTranslation(0, 0, -50);
+		geometry.updateGeometricState();
+
+		cam.setLocation(new Vector3f(0, 0, -45));
+		geometry.updateLogicalState(0.1f);
+		assertEquals(0, control.getLevel());
+		assertSame(levels[0], geometry.getMesh());
+
+		cam.setLocation(new Vector3f(0, 0, -35));
+		geometry.updateLogicalState(0.1f);
+		assertEquals(1, control.getLevel());
+		assertSame(levels[1], geometry.getMesh());
+
+		cam.setLocation(new Vector3f(0, 0, 0));
+		geometry.updateLogicalState(0.1f);
+		assertSame(levels[2], geometry.getMesh());
+	}
+
+	/**
+	 * Testet die Standardabstände: Stufe i ab 2^i Diagonalen des feinsten Meshs.
+	 */
+	@Test
+	@DisplayName("Test der Standardabstände")
+	public void testDefaultDistances() {
+		List<Polyhedron> models = MeshSimplifier.createLevels(Cube.createExampelCube().toPolyhedron(), 1, 1);
+		Mesh[] levels = { PolyhedronMeshConverter.toMesh(models.get(0)), PolyhedronMeshConverter.toMesh(models.get(1)) };
+		DistanceLodControl control = new DistanceLodControl(new Camera(640, 480), levels);
+
+		double diagonal = Math.sqrt(3);
+		assertEquals(0, control.levelAt((float) (2 * diagonal) - 0.01f));
+		assertEquals(1, control.levelAt((float) (2 * diagonal) + 0.01f));
+
+		assertThrows(IllegalArgumentException.class,
+				() -> new DistanceLodControl(new Camera(640, 480), levels, new float[0]));
+	}
+
+}
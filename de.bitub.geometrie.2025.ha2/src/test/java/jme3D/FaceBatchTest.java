@@ -0,0 +1,74 @@
+package jme3D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.FloatBuffer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer.Type;
+
+import spatial.FaceBVH;
+import spatial.FaceHit;
+
+/**
+ * Testet das Zusammenfassen der Würfelflächen zu einem Mesh mit FaceBatch.
+ */
+public class FaceBatchTest {
+
+	/**
+	 * Testet, dass 100 Würfel ein einziges Mesh mit 600 Flächen ergeben und jedes
+	 * Dreieck seiner Fläche zugeordnet ist.
+	 */
+	@Test
+	@DisplayName("Test eines Batches aus vielen Würfeln")
+	public void testManyCubes() {
+		FaceBatch batch = new FaceBatch();
+		MyCubeJMonkey cube = new MyCubeJMonkey(1f);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(6 * i, cube.addTo(batch, new Vector3f(2 * i, 0, 0), ColorRGBA.Red));
+		}
+		Mesh mesh = batch.build();
+
+		assertEquals(600, batch.getFaceCount());
+		assertEquals(1200, batch.getTriangleCount());
+		assertEquals(2400, mesh.getVertexCount());
+		assertEquals(1200, mesh.getTriangleCount());
+		for (int t = 0; t < batch.getTriangleCount(); t++) {
+			assertEquals(t / 2, batch.getFace(t));
+		}
+	}
+
+	/**
+	 * Testet, dass eine gepickte Fläche über die BVH gefunden und nur ihre Farbe im
+	 * Mesh geändert wird.
+	 */
+	@Test
+	@DisplayName("Test des Pickens und Umfärbens einer Fläche")
+	public void testPickAndRecolor() {
+		FaceBatch batch = new FaceBatch();
+		new MyCubeJMonkey(2f).addTo(batch, Vector3f.ZERO, ColorRGBA.Red);
+		Mesh mesh = batch.build();
+		FaceBVH bvh = FaceBVH.build(batch.toTriangleBuffer());
+
+		// Strahl von oben trifft die Deckfläche z = 1 (Fläche 5)
+		FaceHit hit = bvh.raycast(0.2, 0.3, 5, 0, 0, -1, Double.POSITIVE_INFINITY);
+		assertEquals(5, hit.getFace());
+		assertEquals(4, hit.getDistance(), 1e-6);
+
+		batch.setFaceColor(hit.getFace(), ColorRGBA.Blue);
+		assertEquals(ColorRGBA.Blue, batch.getFaceColor(5));
+		assertEquals(ColorRGBA.Red, batch.getFaceColor(4));
+
+		FloatBuffer colors = (FloatBuffer) mesh.getBuffer(Type.Color).getData();
+		for (int v = 0; v < mesh.getVertexCount(); v++) {
+			float blue = colors.get(4 * v + 2);
+			assertEquals(v >= 20 ? 1f : 0f, blue, "Ecke " + v);
+		}
+	}
+
+}
@@ -0,0 +1,138 @@
+package jme3D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.DesktopAssetManager;
+import com.jme3.material.Material;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.FastMath;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Ray;
+import com.jme3.math.Transform;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Geometry;
+
+import model.Cube;
+
+/**
+ * Testet das Instanzieren gleicher Elemente und das Picken einzelner Instanzen.
+ */
+public class InstancedElementsTest {
+
+	private static AssetManager assetManager;
+
+	@BeforeAll
+	public static void loadAssets() {
+		assetManager = new DesktopAssetManager(true);
+	}
+
+	private static Material material() {
+		return new Material(assetManager, "Common/MatDefs/Misc/Unshaded.j3md");
+	}
+
+	/**
+	 * Testet eine Reihe von Würfeln entlang der x-Achse: der Strahl trifft den
+	 * vordersten Würfel, nicht die dahinter liegenden.
+	 */
+	@Test
+	@DisplayName("Test des Pickens der vordersten Instanz")
+	public void testPickClosestInstance() {
+		FaceBatch batch = new FaceBatch();
+		new MyCubeJMonkey(1f).addTo(batch, Vector3f.ZERO, ColorRGBA.Red);
+		InstancedElements cubes = InstancedElements.of("Cubes", batch);
+		Material material = material();
+		for (int i = 0; i < 10; i++) {
+			cubes.addInstance(new Transform(new Vector3f(2 * i, 0, 0)), material);
+		}
+		cubes.instance();
+		assertEquals(10, cubes.getInstanceCount());
+
+		// von +x nach -x: Instanz 9 liegt vorne, getroffen wird ihre Seite x = 18.5
+		InstanceHit hit = cubes.pick(new Ray(new Vector3f(30, 0.1f, 0.2f), new Vector3f(-1, 0, 0)));
+		assertNotNull(hit);
+		assertEquals(9, hit.getInstance());
+		assertEquals(11.5, hit.getDistance(), 1e-5);
+		assertEquals(0.5, hit.getFaceHit().getX(), 1e-5);
+
+		// von -x nach +x: Instanz 0
+		hit = cubes.pick(new Ray(new Vector3f(-5, 0.1f, 0.2f), new Vector3f(1, 0, 0)));
+		assertEquals(0, hit.getInstance());
+		assertEquals(4.5, hit.getDistance(), 1e-5);
+
+		// senkrecht durch Instanz 4
+		hit = cubes.pick(new Ray(new Vector3f(8.2f, 0, 10), new Vector3f(0, 0, -1)));
+		assertEquals(4, hit.getInstance());
+		assertEquals(9.5, hit.getDistance(), 1e-5);
+
+		// zwischen zwei Würfeln hindurch
+		assertNull(cubes.pick(new Ray(new Vector3f(3, 0, 10), new Vector3f(0, 0, -1))));
+	}
+
+	/**
+	 * Testet gedrehte, skalierte und verschobene Instanzen eines Polyeders sowie
+	 * einen verschobenen Knoten.
+	 */
+	@Test
+	@DisplayName("Test des Pickens transformierter Instanzen")
+	public void testPickTransformedInstances() {
+		// Einheitswürfel von (0,0,0) bis (1,1,1)
+		InstancedElements cubes = InstancedElements.of("Cubes", Cube.createExampelCube().toPolyhedron());
+		Material material = material();
+		Quaternion rotation = new Quaternion().fromAngleAxis(FastMath.HALF_PI, Vector3f.UNIT_Z);
+		cubes.addInstance(new Transform(new Vector3f(0, 0, 0), rotation, new Vector3f(2, 2, 2)), material);
+		cubes.addInstance(new Transform(new Vector3f(10, 0, 0)), material);
+		cubes.getNode().setLocalTranslation(0, 0, 5);
+		cubes.getNode().updateGeometricState();
+
+		// Instanz 0 bedeckt x in [-2, 0], y in [0, 2], z in [5, 7]
+		InstanceHit hit = cubes.pick(new Ray(new Vector3f(-1, 1, 20), new Vector3f(0, 0, -1)));
+		assertNotNull(hit);
+		assertEquals(0, hit.getInstance());
+		assertEquals(13, hit.getDistance(), 1e-4);
+
+		hit = cubes.pick(new Ray(new Vector3f(10.5f, 0.5f, 20), new Vector3f(0, 0, -1)));
+		assertEquals(1, hit.getInstance());
+		assertEquals(14, hit.getDistance(), 1e-4);
+
+		// nach dem Verschieben liegt Instanz 1 nicht mehr auf dem Strahl
+		cubes.setTransform(1, new Transform(new Vector3f(20, 0, 0)));
+		assertNull(cubes.pick(new Ray(new Vector3f(10.5f, 0.5f, 20), new Vector3f(0, 0, -1))));
+
+		// die Reichweite des Strahls wird beachtet
+		Ray shortRay = new Ray(new Vector3f(-1, 1, 20), new Vector3f(0, 0, -1));
+		shortRay.setLimit(12);
+		assertNull(cubes.pick(shortRay));
+	}
+
+	/**
+	 * Testet, dass alle Instanzen das gemeinsame Mesh verwenden und ein
+	 * Materialwechsel nur die eine Instanz betrifft.
+	 */
+	@Test
+	@DisplayName("Test des gemeinsamen Meshs und des Materialwechsels")
+	public void testSharedMeshAndMaterial() {
+		InstancedElements cubes = InstancedElements.of("Cubes", Cube.createExampelCube().toPolyhedron());
+		Material material = material();
+		Material selected = material();
+		for (int i = 0; i < 3; i++) {
+			cubes.addInstance(new Transform(new Vector3f(2 * i, 0, 0)), material);
+		}
+		cubes.setMaterial(1, selected);
+
+		assertSame(material, cubes.getMaterial(0));
+		assertSame(selected, cubes.getMaterial(1));
+		assertSame(material, cubes.getMaterial(2));
+		for (int i = 0; i < 3; i++) {
+			assertSame(cubes.getMesh(), ((Geometry) cubes.getNode().getChild("Cubes-" + i)).getMesh());
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+package jme3D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer.Type;
+
+import model.Cube;
+import model.Face;
+import model.HalfEdgeUtil;
+import model.Point;
+import model.Polyhedron;
+
+/**
+ * Testet die Umwandlung von Polyedern in jME-Meshes.
+ */
+public class PolyhedronMeshConverterTest {
+
+	/**
+	 * Testet den Beispielwürfel: 4 eigene Eckpunkte je Fläche, 12 Dreiecke und
+	 * nach außen zeigende Einheitsnormalen.
+	 */
+	@Test
+	@DisplayName("Test der Umwandlung des Würfels")
+	public void testCube() {
+		Mesh mesh = PolyhedronMeshConverter.toMesh(Cube.createExampelCube().toPolyhedron());
+
+		assertEquals(24, mesh.getVertexCount());
+		assertEquals(12, mesh.getTriangleCount());
+
+		FloatBuffer positions = (FloatBuffer) mesh.getBuffer(Type.Position).getData();
+		FloatBuffer normals = (FloatBuffer) mesh.getBuffer(Type.Normal).getData();
+		for (int v = 0; v < 24; v++) {
+			float nx = normals.get(3 * v), ny = normals.get(3 * v + 1), nz = normals.get(3 * v + 2);
+			assertEquals(1, nx * nx + ny * ny + nz * nz, 1e-6);
+			// Normale zeigt vom Würfelmittelpunkt (0.5, 0.5, 0.5) weg
+			double dot = nx * (positions.get(3 * v) - 0.5) + ny * (positions.get(3 * v + 1) - 0.5)
+					+ nz * (positions.get(3 * v + 2) - 0.5);
+			assertTrue(dot > 0, "Normale an Ecke " + v + " zeigt nach innen");
+		}
+
+		// Dreiecke sind gegen den Uhrzeigersinn um die Normale orientiert
+		IntBuffer indices = (IntBuffer) mesh.getBuffer(Type.Index).getData();
+		for (int t = 0; t < 12; t++) {
+			int a = indices.get(3 * t), b = indices.get(3 * t + 1), c = indices.get(3 * t + 2);
+			float[] u = new float[3], w = new float[3];
+			for (int i = 0; i < 3; i++) {
+				u[i] = positions.get(3 * b + i) - positions.get(3 * a + i);
+				w[i] = positions.get(3 * c + i) - positions.get(3 * a + i);
+			}
+			float cx = u[1] * w[2] - u[2] * w[1], cy = u[2] * w[0] - u[0] * w[2], cz = u[0] * w[1] - u[1] * w[0];
+			assertTrue(cx * normals.get(3 * a) + cy * normals.get(3 * a + 1) + cz * normals.get(3 * a + 2) > 0);
+		}
+	}
+
+	/**
+	 * Testet eine Fläche mit Loch: 8 Eckpunkte und 8 Dreiecke.
+	 */
+	@Test
+	@DisplayName("Test der Umwandlung einer Fläche mit Loch")
+	public void testFaceWithHole() {
+		Face withHole = new Face(
+				HalfEdgeUtil.buildPolygon(List.of(new Point(0, 0, 0), new Point(10, 0, 0), new Point(10, 5, 0),
+						new Point(0, 5, 0))),
+				List.of(HalfEdgeUtil.buildPolygon(List.of(new Point(1, 1, 0), new Point(1, 4, 0),
+						new Point(8, 4, 0), new Point(8, 1, 0)))));
+
+		Mesh mesh = PolyhedronMeshConverter.toMesh(new Polyhedron(List.of(withHole), List.of(), List.of()));
+
+		assertEquals(8, mesh.getVertexCount());
+		assertEquals(8, mesh.getTriangleCount());
+		FloatBuffer normals = (FloatBuffer) mesh.getBuffer(Type.Normal).getData();
+		assertEquals(1, normals.get(2), 1e-6);
+	}
+
+}
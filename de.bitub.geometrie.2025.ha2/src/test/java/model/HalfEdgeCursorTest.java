@@ -0,0 +1,144 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testet die Traversierung von Halbkanten mit HalfEdgeCursor und die
+ * Spliteratoren über die Flächen eines Polyeders.
+ */
+public class HalfEdgeCursorTest {
+
+	/**
+	 * Testet Ringe und Sterne am geschlossenen Würfel: jede Ecke hat drei
+	 * ausgehende Halbkanten, ein Cursor lässt sich beliebig oft verwenden.
+	 */
+	@Test
+	@DisplayName("Test von Ring und Stern am Würfel")
+	public void testRingAndStar() {
+		VoxelGrid grid = new VoxelGrid(1, 1, 1);
+		grid.fill();
+		Polyhedron cube = grid.toPolyhedron();
+		HalfEdgeCursor cursor = new HalfEdgeCursor();
+
+		HalfEdge start = cube.getFaces().get(0).getHalfEdge();
+		List<HalfEdge> ring = new ArrayList<>();
+		for (cursor.ring(start); cursor.advance();) {
+			ring.add(cursor.get());
+			assertSame(cursor.get().getNext().getOrg(), cursor.getDest());
+		}
+		assertEquals(4, ring.size());
+		assertSame(start, ring.get(0));
+		assertFalse(cursor.advance());
+		assertNull(cursor.get());
+
+		for (HalfEdge he : cube.getHalfEdges()) {
+			Set<Point> neighbours = Collections.newSetFromMap(new IdentityHashMap<>());
+			int count = 0;
+			for (cursor.star(he); cursor.advance();) {
+				assertSame(he.getOrg(), cursor.getOrg());
+				neighbours.add(cursor.getDest());
+				count++;
+			}
+			assertEquals(3, count);
+			assertEquals(3, neighbours.size());
+		}
+	}
+
+	/**
+	 * Testet Sterne und Randschleifen an einem ebenen Gitter aus 2 x 2 Vierecken:
+	 * der Fächer an einem Randpunkt wird vollständig durchlaufen, egal bei welcher
+	 * Halbkante begonnen wird, und der Rand besteht aus 8 Halbkanten.
+	 */
+	@Test
+	@DisplayName("Test von Stern und Rand an einem offenen Gitter")
+	public void testBoundary() {
+		Polyhedron grid = TestPolyhedra.grid(2);
+		grid.stitchFaces();
+		HalfEdgeCursor cursor = new HalfEdgeCursor();
+
+		HalfEdge boundary = null;
+		for (HalfEdge he : grid.getHalfEdges()) {
+			if (he.getTwin() == null) {
+				boundary = he;
+			}
+			// eine ausgehende Halbkante je Fläche: 4 am Innenpunkt (1, 1), 2 an den
+			// Randmitten, 1 an den Ecken
+			double[] p = he.getOrg().xyz;
+			int expected = (p[0] == 1 ? 2 : 1) * (p[1] == 1 ? 2 : 1);
+			int count = 0;
+			for (cursor.star(he); cursor.advance();) {
+				count++;
+			}
+			assertEquals(expected, count, "Stern von " + he.getOrg());
+		}
+
+		List<HalfEdge> loop = new ArrayList<>();
+		for (cursor.boundary(boundary); cursor.advance();) {
+			assertNull(cursor.get().getTwin());
+			loop.add(cursor.get());
+		}
+		assertEquals(8, loop.size());
+		assertEquals(8, new HashSet<>(loop).size());
+		for (int i = 0; i < 8; i++) {
+			assertSame(loop.get(i).getNext().getOrg(), loop.get((i + 1) % 8).getOrg());
+		}
+
+		HalfEdge inner = grid.getFaces().get(0).getHalfEdge().getNext();
+		assertTrue(inner.getTwin() != null || inner.getNext().getTwin() != null);
+		HalfEdge twinned = inner.getTwin() != null ? inner : inner.getNext();
+		assertThrows(IllegalArgumentException.class, () -> cursor.boundary(twinned));
+	}
+
+	/**
+	 * Testet, dass die Spliteratoren sequentiell und parallel alle Flächen und
+	 * Halbkanten einschließlich der Löcher genau einmal liefern.
+	 */
+	@Test
+	@DisplayName("Test der Spliteratoren über Flächen und Halbkanten")
+	public void testSpliterators() {
+		VoxelGrid voxels = new VoxelGrid(6, 5, 4);
+		voxels.fill();
+		Polyhedron block = voxels.toPolyhedron();
+		// eine Fläche mit Loch
+		List<Point> outer = List.of(new Point(0, 0, 9), new Point(4, 0, 9), new Point(4, 4, 9), new Point(0, 4, 9));
+		List<Point> hole = List.of(new Point(1, 1, 9), new Point(1, 2, 9), new Point(2, 2, 9));
+		block.getFaces().add(new Face(HalfEdgeUtil.buildPolygon(outer), List.of(HalfEdgeUtil.buildPolygon(hole))));
+		int faces = block.getFaces().size();
+		int halfEdges = block.getHalfEdges().size() + 7;
+
+		assertEquals(faces, block.faceStream(false).count());
+		assertEquals(faces, block.faceStream(true).collect(Collectors.toSet()).size());
+		List<HalfEdge> sequential = block.halfEdgeStream(false).toList();
+		assertEquals(halfEdges, sequential.size());
+		assertEquals(halfEdges, block.halfEdgeStream(true).collect(Collectors.toSet()).size());
+		assertEquals(sequential, block.halfEdgeStream(true).toList());
+
+		Spliterator<Face> spliterator = new FaceSpliterator(block.getFaces(), 0, faces);
+		Spliterator<Face> prefix = spliterator.trySplit();
+		assertEquals(faces, prefix.estimateSize() + spliterator.estimateSize());
+		assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+
+		HalfEdgeSpliterator started = new HalfEdgeSpliterator(block.getFaces(), 0, faces);
+		assertTrue(started.tryAdvance(he -> {
+		}));
+		assertNull(started.trySplit());
+	}
+
+}
@@ -0,0 +1,199 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testet die IndexedMesh-Klasse und die Adapter zwischen Objektmodell und
+ * Array-Darstellung.
+ */
+public class IndexedMeshTest {
+
+	/**
+	 * Erstellt zwei Dreiecke, die sich die Kante 1-2 teilen.
+	 */
+	private static IndexedMesh twoTriangles() {
+		IndexedMesh mesh = new IndexedMesh();
+		mesh.addVertex(0, 0, 0);
+		mesh.addVertex(1, 0, 0);
+		mesh.addVertex(0, 1, 0);
+		mesh.addVertex(1, 1, 0);
+		mesh.addFace(mesh.buildPolygon(0, 1, 2));
+		mesh.addFace(mesh.buildPolygon(1, 3, 2));
+		return mesh;
+	}
+
+	@Test
+	@DisplayName("Test von buildPolygon: Ring ist geschlossen und verkettet")
+	public void testBuildPolygon() {
+		IndexedMesh mesh = twoTriangles();
+
+		assertEquals(4, mesh.getVertexCount());
+		assertEquals(6, mesh.getHalfEdgeCount());
+		assertEquals(2, mesh.getFaceCount());
+
+		int start = mesh.getOuterHalfEdge(0);
+		assertEquals(3, mesh.ringSize(start));
+		assertEquals(start, mesh.getNext(mesh.getPrev(start)));
+		assertEquals(IndexedMesh.NONE, mesh.getTwin(start));
+		assertEquals(0, mesh.getFace(mesh.getNext(start)));
+	}
+
+	@Test
+	@DisplayName("Test von buildPolygon mit zu wenigen Punkten")
+	public void testBuildPolygonTooSmall() {
+		IndexedMesh mesh = new IndexedMesh();
+		assertThrows(IllegalArgumentException.class, () -> mesh.buildPolygon(0, 1));
+	}
+
+	@Test
+	@DisplayName("Test von connectTwoPolygons: gemeinsame Kante wird verzwillingt")
+	public void testConnectTwoPolygons() {
+		IndexedMesh mesh = twoTriangles();
+		mesh.connectTwoPolygons(mesh.getOuterHalfEdge(0), mesh.getOuterHalfEdge(1));
+
+		// Kante 1->2 im ersten Dreieck, Kante 2->1 im zweiten Dreieck
+		int e12 = mesh.getNext(mesh.getOuterHalfEdge(0));
+		assertEquals(1, mesh.getOrigin(e12));
+		int twin = mesh.getTwin(e12);
+		assertEquals(2, mesh.getOrigin(twin));
+		assertEquals(1, mesh.getDestination(twin));
+		assertEquals(e12, mesh.getTwin(twin));
+	}
+
+	@Test
+	@DisplayName("Test von addHalfEdgeAsNext und removeHalfEdge")
+	public void testAddAndRemoveHalfEdge() {
+		IndexedMesh mesh = twoTriangles();
+		int start = mesh.getOuterHalfEdge(0);
+
+		int added = mesh.addHalfEdge(mesh.addVertex(0.5, -0.5, 0));
+		mesh.addHalfEdgeAsNext(start, added);
+		assertEquals(4, mesh.ringSize(start));
+		assertEquals(0, mesh.getFace(added));
+
+		mesh.removeHalfEdge(start);
+		assertEquals(3, mesh.ringSize(added));
+		// Einstiegskante der Fläche wurde weitergereicht
+		assertEquals(added, mesh.getOuterHalfEdge(0));
+	}
+
+	/**
+	 * Eine entfernte Halbkante gehört zu keiner Fläche mehr und wird von
+	 * stitchFaces nicht als Randkante gemeldet.
+	 */
+	@Test
+	@DisplayName("Test von stitchFaces nach removeHalfEdge")
+	public void testStitchAfterRemoveHalfEdge() {
+		IndexedMesh mesh = twoTriangles();
+		int start = mesh.getOuterHalfEdge(0);
+		int added = mesh.addHalfEdge(mesh.addVertex(0.5, -0.5, 0));
+		mesh.addHalfEdgeAsNext(start, added);
+		mesh.removeHalfEdge(start);
+
+		assertEquals(IndexedMesh.NONE, mesh.getFace(start));
+		StitchReport<Integer> report = mesh.stitchFaces();
+		assertEquals(1, report.getLinkedPairs());
+		assertEquals(4, report.getBoundaryEdges().size());
+		assertFalse(report.getBoundaryEdges().contains(start));
+		assertTrue(report.isManifold());
+	}
+
+	@Test
+	@DisplayName("Test der Umwandlung Polyhedron -> IndexedMesh -> Polyhedron")
+	public void testPolyhedronRoundTrip() {
+		Point a = new Point(0, 0, 0);
+		Point b = new Point(4, 0, 0);
+		Point c = new Point(4, 4, 0);
+		Point d = new Point(0, 4, 0);
+		Point e = new Point(4, 0, -4);
+		HalfEdge quad = HalfEdgeUtil.buildPolygon(List.of(a, b, c, d));
+		HalfEdge hole = HalfEdgeUtil.buildPolygon(
+				List.of(new Point(1, 1, 0), new Point(1, 3, 0), new Point(3, 3, 0), new Point(3, 1, 0)));
+		HalfEdge side = HalfEdgeUtil.buildPolygon(List.of(b, a, e));
+		HalfEdgeUtil.connectTwoPolygons(quad, side);
+
+		List<Face> faces = new ArrayList<>();
+		faces.add(new Face(quad, List.of(hole)));
+		faces.add(new Face(side));
+		Polyhedron polyhedron = new Polyhedron(faces, List.of(quad, side), List.of(a, b, c, d, e));
+
+		IndexedMesh mesh = IndexedMesh.fromPolyhedron(polyhedron);
+		assertEquals(9, mesh.getVertexCount());
+		assertEquals(11, mesh.getHalfEdgeCount());
+		assertEquals(0, mesh.getOrigin(mesh.getOuterHalfEdge(0)));
+		int firstHole = mesh.getFirstHole(0);
+		assertEquals(4, mesh.ringSize(mesh.getHoleHalfEdge(firstHole)));
+		assertEquals(IndexedMesh.NONE, mesh.getNextHole(firstHole));
+		assertEquals(IndexedMesh.NONE, mesh.getFirstHole(1));
+		assertEquals(mesh.getOuterHalfEdge(1), mesh.getTwin(mesh.getOuterHalfEdge(0)));
+
+		Polyhedron copy = mesh.toPolyhedron();
+		assertEquals(2, copy.getFaces().size());
+		assertEquals(9, copy.getVertices().size());
+		HalfEdge copiedQuad = copy.getFaces().get(0).getHalfEdge();
+		assertEquals(a, copiedQuad.getOrg());
+		assertNotNull(copiedQuad.getTwin());
+		assertSame(copiedQuad, copiedQuad.getTwin().getTwin());
+		assertSame(copiedQuad.getOrg(), copiedQuad.getTwin().getNext().getOrg());
+		assertEquals(1, copy.getFaces().get(0).getHoles().size());
+	}
+
+	@Test
+	@DisplayName("Test von stitchFaces: geschlossenes Tetraeder wird vollständig verzwillingt")
+	public void testStitchClosedTetrahedron() {
+		Point a = new Point(0, 0, 0);
+		Point b = new Point(1, 0, 0);
+		Point c = new Point(0, 1, 0);
+		Point d = new Point(0, 0, 1);
+		List<Face> faces = new ArrayList<>();
+		faces.add(new Face(HalfEdgeUtil.buildPolygon(List.of(a, c, b))));
+		faces.add(new Face(HalfEdgeUtil.buildPolygon(List.of(a, b, d))));
+		faces.add(new Face(HalfEdgeUtil.buildPolygon(List.of(b, c, d))));
+		faces.add(new Face(HalfEdgeUtil.buildPolygon(List.of(c, a, d))));
+		Polyhedron tetrahedron = new Polyhedron(faces, new ArrayList<>(), List.of(a, b, c, d));
+
+		StitchReport<HalfEdge> report = tetrahedron.stitchFaces();
+
+		assertTrue(report.isClosed());
+		assertEquals(6, report.getLinkedPairs());
+		for (Face f : faces) {
+			HalfEdge he = f.getHalfEdge();
+			do {
+				assertSame(he, he.getTwin().getTwin());
+				assertSame(he.getOrg(), he.getTwin().getNext().getOrg());
+				he = he.getNext();
+			} while (he != f.getHalfEdge());
+		}
+	}
+
+	@Test
+	@DisplayName("Test von stitchFaces: Rand- und nicht-mannigfaltige Kanten werden gemeldet")
+	public void testStitchBoundaryAndNonManifold() {
+		IndexedMesh mesh = twoTriangles();
+		// drittes Dreieck an der bereits geteilten Kante 1-2
+		mesh.addFace(mesh.buildPolygon(2, 1, mesh.addVertex(1, 1, 1)));
+
+		StitchReport<Integer> report = mesh.stitchFaces();
+
+		assertEquals(0, report.getLinkedPairs());
+		assertEquals(3, report.getNonManifoldEdges().size());
+		assertEquals(6, report.getBoundaryEdges().size());
+		assertFalse(report.isManifold());
+
+		StitchReport<Integer> open = twoTriangles().stitchFaces();
+		assertEquals(1, open.getLinkedPairs());
+		assertEquals(4, open.getBoundaryEdges().size());
+		assertTrue(open.isManifold());
+	}
+}
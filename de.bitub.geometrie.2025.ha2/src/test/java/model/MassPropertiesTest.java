@@ -0,0 +1,160 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testet Oberfläche, Volumen, Schwerpunkt und Hüllquader von Polyedern.
+ */
+public class MassPropertiesTest {
+
+	private static final double DELTA = 1e-9;
+
+	/**
+	 * Erzeugt eine Kugel aus Voxeln mit dem angegebenen Durchmesser.
+	 */
+	private static VoxelGrid ball(int n) {
+		VoxelGrid grid = new VoxelGrid(n, n, n);
+		double r = n / 2.0;
+		for (int k = 0; k < n; k++) {
+			for (int j = 0; j < n; j++) {
+				for (int i = 0; i < n; i++) {
+					double x = i + 0.5 - r, y = j + 0.5 - r, z = k + 0.5 - r;
+					grid.set(i, j, k, x * x + y * y + z * z <= r * r);
+				}
+			}
+		}
+		return grid;
+	}
+
+	@Test
+	@DisplayName("Test eines vollen Blocks")
+	public void testFilledBlock() {
+		VoxelGrid grid = new VoxelGrid(3, 3, 3);
+		grid.fill();
+
+		MassProperties properties = grid.toPolyhedron().computeMassProperties();
+
+		assertEquals(54, properties.getArea(), DELTA);
+		assertEquals(27, properties.getVolume(), DELTA);
+		assertArrayEquals(new double[] { 1.5, 1.5, 1.5 }, properties.getCentroid(), DELTA);
+		assertArrayEquals(new double[] { 0, 0, 0 }, properties.getMin(), 0.0);
+		assertArrayEquals(new double[] { 3, 3, 3 }, properties.getMax(), 0.0);
+	}
+
+	/**
+	 * Die Flächen des Hohlraums zeigen nach innen, sein Volumen wird abgezogen,
+	 * seine Oberfläche gezählt.
+	 */
+	@Test
+	@DisplayName("Test eines Blocks mit Hohlraum")
+	public void testCavity() {
+		VoxelGrid grid = new VoxelGrid(3, 3, 3);
+		grid.fill();
+		grid.set(1, 1, 1, false);
+
+		MassProperties properties = grid.toPolyhedron().computeMassProperties();
+
+		assertEquals(60, properties.getArea(), DELTA);
+		assertEquals(26, properties.getVolume(), DELTA);
+		assertArrayEquals(new double[] { 1.5, 1.5, 1.5 }, properties.getCentroid(), DELTA);
+	}
+
+	/**
+	 * Ein L aus drei Voxeln weit vom Ursprung: die Koordinaten werden relativ zu
+	 * einem Punkt des Polyeders summiert, die großen Werte löschen sich nicht aus.
+	 */
+	@Test
+	@DisplayName("Test mit großen Koordinaten")
+	public void testLargeCoordinates() {
+		VoxelGrid grid = new VoxelGrid(2, 2, 1);
+		grid.set(0, 0, 0, true);
+		grid.set(1, 0, 0, true);
+		grid.set(0, 1, 0, true);
+		Point origin = new Point(4.5e6, 5.3e6, 120);
+
+		MassProperties properties = grid.toPolyhedron(origin, 0.5).computeMassProperties();
+
+		assertEquals(3.5, properties.getArea(), 1e-12);
+		assertEquals(0.375, properties.getVolume(), 1e-12);
+		// Schwerpunkt des L: (0.25 + 0.75 + 0.25) / 3 = 5 / 12 in x und y
+		double[] centroid = properties.getCentroid();
+		assertEquals(origin.xyz[0] + 5.0 / 12, centroid[0], 1e-8);
+		assertEquals(origin.xyz[1] + 5.0 / 12, centroid[1], 1e-8);
+		assertEquals(origin.xyz[2] + 0.25, centroid[2], 1e-8);
+	}
+
+	@Test
+	@DisplayName("Test einer offenen Fläche mit Loch")
+	public void testFaceWithHole() {
+		HalfEdge outer = HalfEdgeUtil.buildPolygon(List.of(new Point(0, 0, 5), new Point(10, 0, 5),
+				new Point(10, 10, 5), new Point(0, 10, 5)));
+		// das Loch läuft im Uhrzeigersinn
+		HalfEdge hole = HalfEdgeUtil.buildPolygon(
+				List.of(new Point(4, 4, 5), new Point(4, 6, 5), new Point(6, 6, 5), new Point(6, 4, 5)));
+		List<Face> faces = new ArrayList<>(List.of(new Face(outer, new ArrayList<>(List.of(hole)))));
+		Polyhedron polyhedron = new Polyhedron(faces, new ArrayList<>(), new ArrayList<>());
+
+		MassProperties properties = polyhedron.computeMassProperties();
+
+		assertEquals(96, properties.getArea(), DELTA);
+		assertEquals(0, properties.getVolume(), DELTA);
+		assertTrue(Double.isNaN(properties.getCentroid()[0]));
+		assertArrayEquals(new double[] { 0, 0, 5 }, properties.getMin(), 0.0);
+		assertArrayEquals(new double[] { 10, 10, 5 }, properties.getMax(), 0.0);
+	}
+
+	@Test
+	@DisplayName("Test eines leeren Polyeders")
+	public void testEmpty() {
+		MassProperties properties = new Polyhedron(new ArrayList<>(), new ArrayList<>(), new ArrayList<>())
+				.computeMassProperties();
+
+		assertEquals(0, properties.getArea());
+		assertEquals(0, properties.getVolume());
+		assertEquals(Double.POSITIVE_INFINITY, properties.getMin()[0]);
+		assertEquals(Double.NEGATIVE_INFINITY, properties.getMax()[0]);
+	}
+
+	/**
+	 * Eine Kugel aus Voxeln hat viele Blöcke von Flächen. Mit einem und mit vier
+	 * Threads müssen alle Werte bitgleich sein.
+	 */
+	@Test
+	@DisplayName("Test, dass das Ergebnis nicht von der Anzahl der Threads abhängt")
+	public void testDeterministic() throws Exception {
+		VoxelGrid grid = ball(40);
+		Polyhedron polyhedron = grid.toPolyhedron(new Point(-20, -20, -20), 1);
+		assertTrue(polyhedron.getFaces().size() > 4 * 1024);
+
+		MassProperties single = run(polyhedron, 1);
+		MassProperties parallel = run(polyhedron, 4);
+
+		assertEquals(single.getArea(), parallel.getArea(), 0.0);
+		assertEquals(single.getVolume(), parallel.getVolume(), 0.0);
+		assertArrayEquals(single.getCentroid(), parallel.getCentroid(), 0.0);
+		assertArrayEquals(single.getMin(), parallel.getMin(), 0.0);
+		assertArrayEquals(single.getMax(), parallel.getMax(), 0.0);
+
+		assertEquals(grid.getCount(), single.getVolume(), DELTA);
+		assertArrayEquals(new double[] { 0, 0, 0 }, single.getCentroid(), DELTA);
+	}
+
+	private static MassProperties run(Polyhedron polyhedron, int threads) throws Exception {
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			return pool.submit(polyhedron::computeMassProperties).get();
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+}
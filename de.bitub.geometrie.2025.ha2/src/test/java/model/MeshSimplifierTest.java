@@ -0,0 +1,188 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.MeshBuilder;
+
+/**
+ * Testet die Vereinfachung von Polyedern durch Kantenkollaps.
+ */
+public class MeshSimplifierTest {
+
+	/**
+	 * Erzeugt eine Kugel aus Vierecken mit Dreiecken an den Polen, nach außen
+	 * orientiert.
+	 */
+	private static Polyhedron sphere(double radius, int rings, int segments) {
+		MeshBuilder builder = new MeshBuilder();
+		int south = builder.addVertex(0, 0, -radius);
+		for (int i = 1; i < rings; i++) {
+			double theta = Math.PI * i / rings - Math.PI / 2;
+			for (int j = 0; j < segments; j++) {
+				double phi = 2 * Math.PI * j / segments;
+				builder.addVertex(radius * Math.cos(theta) * Math.cos(phi), radius * Math.cos(theta) * Math.sin(phi),
+						radius * Math.sin(theta));
+			}
+		}
+		int north = builder.addVertex(0, 0, radius);
+
+		for (int j = 0; j < segments; j++) {
+			int j1 = (j + 1) % segments;
+			builder.addFace(new int[] { south, 1 + j1, 1 + j }, 3);
+			for (int i = 0; i < rings - 2; i++) {
+				int a = 1 + i * segments;
+				int b = a + segments;
+				builder.addFace(new int[] { a + j, a + j1, b + j1, b + j }, 4);
+			}
+			int top = 1 + (rings - 2) * segments;
+			builder.addFace(new int[] { north, top + j, top + j1 }, 3);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Prüft, dass jede Halbkante einen passenden Zwilling hat und dass die
+	 * Euler-Charakteristik einer Kugel (V - E + F = 2) gilt.
+	 */
+	private static void assertClosedSphere(Polyhedron polyhedron) {
+		IndexedMesh mesh = IndexedMesh.fromPolyhedron(polyhedron);
+		Set<Integer> used = new HashSet<>();
+		for (int he = 0; he < mesh.getHalfEdgeCount(); he++) {
+			int twin = mesh.getTwin(he);
+			assertTrue(twin != IndexedMesh.NONE, "Halbkante " + he + " ohne Zwilling");
+			assertEquals(he, mesh.getTwin(twin));
+			assertEquals(mesh.getOrigin(he), mesh.getDestination(twin));
+			assertTrue(mesh.getOrigin(he) != mesh.getDestination(he));
+			used.add(mesh.getOrigin(he));
+		}
+		for (int f = 0; f < mesh.getFaceCount(); f++) {
+			assertTrue(mesh.ringSize(mesh.getOuterHalfEdge(f)) >= 3);
+		}
+		int edges = mesh.getHalfEdgeCount() / 2;
+		assertEquals(2, used.size() - edges + mesh.getFaceCount());
+	}
+
+	/**
+	 * Testet mehrere Detailstufen einer Kugel: die Eckenzahl sinkt wie verlangt,
+	 * die Fläche bleibt geschlossen und die Ecken bleiben nahe der Kugel.
+	 */
+	@Test
+	@DisplayName("Test der Detailstufen einer Kugel")
+	public void testSphereLevels() {
+		Polyhedron sphere = sphere(1, 24, 48);
+		int vertices = sphere.getVertices().size();
+		assertEquals(2 + 23 * 48, vertices);
+
+		List<Polyhedron> levels = MeshSimplifier.createLevels(sphere, 1, 0.5, 0.2, 0.05);
+		assertEquals(4, levels.size());
+		assertEquals(vertices, levels.get(0).getVertices().size());
+		assertEquals(sphere.getFaces().size(), levels.get(0).getFaces().size());
+
+		double[] ratios = { 1, 0.5, 0.2, 0.05 };
+		// die Ecken wandern nach außen, um die Tangentialebenen anzunähern
+		double[] tolerances = { 1e-12, 0.02, 0.03, 0.12 };
+		int lastFaces = Integer.MAX_VALUE;
+		for (int i = 0; i < levels.size(); i++) {
+			Polyhedron level = levels.get(i);
+			assertEquals((int) Math.ceil(ratios[i] * vertices), level.getVertices().size());
+			assertTrue(level.getFaces().size() < lastFaces);
+			lastFaces = level.getFaces().size();
+			assertClosedSphere(level);
+			for (Point p : level.getVertices()) {
+				double r = Math.sqrt(p.xyz[0] * p.xyz[0] + p.xyz[1] * p.xyz[1] + p.xyz[2] * p.xyz[2]);
+				assertEquals(1, r, tolerances[i], "Ecke zu weit von der Kugel entfernt: " + p);
+			}
+		}
+	}
+
+	/**
+	 * Testet ein ebenes, offenes Gitter: Randecken bleiben unverändert, innere
+	 * Ecken werden ohne Fehler entfernt und alles bleibt in der Ebene.
+	 */
+	@Test
+	@DisplayName("Test der Vereinfachung eines ebenen Gitters mit Rand")
+	public void testFlatGridKeepsBoundary() {
+		int n = 10;
+		MeshBuilder builder = new MeshBuilder();
+		for (int i = 0; i <= n; i++) {
+			for (int j = 0; j <= n; j++) {
+				builder.addVertex(i, j, 0);
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				int a = i * (n + 1) + j;
+				builder.addFace(new int[] { a, a + n + 1, a + n + 2, a + 1 }, 4);
+			}
+		}
+		MeshSimplifier simplifier = new MeshSimplifier(builder.build());
+		assertEquals(121, simplifier.getVertexCount());
+
+		int reached = simplifier.simplify(0);
+		assertTrue(reached < 121 - 40, "zu wenige Ecken entfernt: " + reached);
+		assertEquals(0, simplifier.getMaxError(), 1e-12);
+
+		Polyhedron result = simplifier.toPolyhedron();
+		int boundary = 0;
+		for (Point p : result.getVertices()) {
+			assertEquals(0, p.xyz[2], 1e-12);
+			boolean onBorder = p.xyz[0] == 0 || p.xyz[0] == n || p.xyz[1] == 0 || p.xyz[1] == n;
+			if (onBorder) {
+				assertEquals(Math.rint(p.xyz[0]), p.xyz[0]);
+				assertEquals(Math.rint(p.xyz[1]), p.xyz[1]);
+				boundary++;
+			}
+		}
+		assertEquals(4 * n, boundary);
+
+		// die Fläche des Gitters bleibt erhalten, alle Flächen zeigen nach +z
+		double area = 0;
+		for (Face face : result.getFaces()) {
+			List<Point> ring = face.getBoundaries().get(0);
+			double a = 0;
+			for (int k = 0; k < ring.size(); k++) {
+				Point p = ring.get(k), q = ring.get((k + 1) % ring.size());
+				a += p.xyz[0] * q.xyz[1] - q.xyz[0] * p.xyz[1];
+			}
+			assertTrue(a > 0);
+			area += a / 2;
+		}
+		assertEquals(n * n, area, 1e-9);
+	}
+
+	/**
+	 * Testet den Würfel: er lässt sich nicht unter 4 Ecken vereinfachen und
+	 * bleibt geschlossen.
+	 */
+	@Test
+	@DisplayName("Test der Vereinfachung des Würfels")
+	public void testCube() {
+		Polyhedron cube = Cube.createExampelCube().toPolyhedron();
+		cube.stitchFaces();
+		MeshSimplifier simplifier = new MeshSimplifier(cube);
+		assertEquals(8, simplifier.getVertexCount());
+		assertTrue(simplifier.simplify(0) >= 4);
+		assertClosedSphere(simplifier.toPolyhedron());
+	}
+
+	/**
+	 * Testet, dass die Anteile der Stufen abnehmen müssen.
+	 */
+	@Test
+	@DisplayName("Test ungültiger Anteile")
+	public void testInvalidRatios() {
+		Polyhedron sphere = sphere(1, 4, 8);
+		assertThrows(IllegalArgumentException.class, () -> MeshSimplifier.createLevels(sphere, 0.5, 1));
+		assertThrows(IllegalArgumentException.class, () -> MeshSimplifier.createLevels(sphere, 0));
+	}
+
+}
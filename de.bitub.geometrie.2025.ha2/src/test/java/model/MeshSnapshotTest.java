@@ -0,0 +1,132 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Testet das Schreiben und das speichergemappte Lesen von MeshSnapshot-Dateien.
+ */
+public class MeshSnapshotTest {
+
+	@TempDir
+	Path dir;
+
+	/**
+	 * Würfel mit einem zusätzlichen Quadrat, das ein Loch hat.
+	 */
+	private static IndexedMesh cubeWithHole() {
+		IndexedMesh mesh = IndexedMesh.fromPolyhedron(Cube.createExampelCube().toPolyhedron());
+		mesh.stitchFaces();
+		int a = mesh.addVertex(0, 0, 5);
+		int b = mesh.addVertex(4, 0, 5);
+		int c = mesh.addVertex(4, 4, 5);
+		int d = mesh.addVertex(0, 4, 5);
+		int e = mesh.addVertex(1, 1, 5);
+		int f = mesh.addVertex(1, 2, 5);
+		int g = mesh.addVertex(2, 2, 5);
+		mesh.addFace(mesh.buildPolygon(a, b, c, d), mesh.buildPolygon(e, f, g));
+		return mesh;
+	}
+
+	/**
+	 * Testet, dass der Snapshot alle Arrays unverändert wiedergibt, sowohl direkt
+	 * als auch als Kopie.
+	 */
+	@Test
+	@DisplayName("Test des Schreibens und Lesens eines Snapshots")
+	public void testRoundTrip() throws IOException {
+		IndexedMesh mesh = cubeWithHole();
+		Path file = dir.resolve("cube.mesh");
+		MeshSnapshot.write(mesh, file);
+
+		MeshSnapshot snapshot = MeshSnapshot.open(file);
+		assertEquals(mesh.getVertexCount(), snapshot.getVertexCount());
+		assertEquals(mesh.getHalfEdgeCount(), snapshot.getHalfEdgeCount());
+		assertEquals(mesh.getFaceCount(), snapshot.getFaceCount());
+		assertEquals(1, snapshot.getHoleCount());
+		assertSame(mesh, snapshot);
+
+		IndexedMesh copy = snapshot.toIndexedMesh();
+		assertSame(copy, snapshot);
+		assertSame(mesh, MeshSnapshot.open(file, false));
+
+		// die Kopie bleibt editierbar
+		copy.addFace(copy.buildPolygon(0, 1, 2));
+		assertEquals(mesh.getFaceCount() + 1, copy.getFaceCount());
+	}
+
+	/**
+	 * Testet, dass ein verändertes Byte in den Nutzdaten oder im Kopf erkannt
+	 * wird und abgeschnittene Dateien abgelehnt werden.
+	 */
+	@Test
+	@DisplayName("Test der Erkennung beschädigter Snapshots")
+	public void testCorruption() throws IOException {
+		Path file = dir.resolve("cube.mesh");
+		MeshSnapshot.write(cubeWithHole(), file);
+		byte[] original = Files.readAllBytes(file);
+
+		byte[] payload = original.clone();
+		payload[100] ^= 1;
+		Files.write(file, payload);
+		IOException e = assertThrows(IOException.class, () -> MeshSnapshot.open(file));
+		assertTrue(e.getMessage().endsWith("checksum mismatch"));
+		// ohne Prüfung der Nutzdaten wird die Datei geöffnet
+		MeshSnapshot.open(file, false);
+
+		byte[] header = original.clone();
+		header[8] ^= 1;
+		Files.write(file, header);
+		e = assertThrows(IOException.class, () -> MeshSnapshot.open(file, false));
+		assertTrue(e.getMessage().endsWith("corrupt snapshot header"));
+
+		Files.write(file, original);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(original.length - 8);
+		}
+		e = assertThrows(IOException.class, () -> MeshSnapshot.open(file));
+		assertTrue(e.getMessage().endsWith("truncated snapshot"));
+
+		Files.writeString(file, "OFF\n0 0 0\n");
+		assertThrows(IOException.class, () -> MeshSnapshot.open(file));
+	}
+
+	/**
+	 * Vergleicht alle Einträge des Snapshots mit dem Netz.
+	 */
+	private static void assertSame(IndexedMesh mesh, MeshSnapshot snapshot) {
+		for (int v = 0; v < mesh.getVertexCount(); v++) {
+			assertEquals(mesh.getX(v), snapshot.getX(v));
+			assertEquals(mesh.getY(v), snapshot.getY(v));
+			assertEquals(mesh.getZ(v), snapshot.getZ(v));
+		}
+		for (int he = 0; he < mesh.getHalfEdgeCount(); he++) {
+			assertEquals(mesh.getOrigin(he), snapshot.getOrigin(he));
+			assertEquals(mesh.getDestination(he), snapshot.getDestination(he));
+			assertEquals(mesh.getNext(he), snapshot.getNext(he));
+			assertEquals(mesh.getPrev(he), snapshot.getPrev(he));
+			assertEquals(mesh.getTwin(he), snapshot.getTwin(he));
+			assertEquals(mesh.getFace(he), snapshot.getFace(he));
+		}
+		for (int f = 0; f < mesh.getFaceCount(); f++) {
+			assertEquals(mesh.getOuterHalfEdge(f), snapshot.getOuterHalfEdge(f));
+			assertEquals(mesh.getFirstHole(f), snapshot.getFirstHole(f));
+		}
+		for (int h = 0; h < snapshot.getHoleCount(); h++) {
+			assertEquals(mesh.getNextHole(h), snapshot.getNextHole(h));
+			assertEquals(mesh.getHoleHalfEdge(h), snapshot.getHoleHalfEdge(h));
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testet das Bearbeiten von Polyedern mit Verfolgung der geänderten Flächen.
+ */
+public class PolyhedronEditorTest {
+
+	/**
+	 * Testet, dass das Verschieben eines inneren Punkts genau die vier
+	 * angrenzenden Flächen markiert und die Markierungen danach gelöscht sind.
+	 */
+	@Test
+	@DisplayName("Test der Markierung beim Verschieben eines Punkts")
+	public void testMovePoint() {
+		Polyhedron grid = TestPolyhedra.grid(3);
+		PolyhedronEditor editor = new PolyhedronEditor(grid);
+		// Punkt (1, 1) gehört zu den Flächen 0, 1, 3 und 4
+		Point point = grid.getFaces().get(0).getHalfEdge().getNext().getNext().getOrg();
+		assertEquals(1, point.xyz[0]);
+		assertEquals(1, point.xyz[1]);
+
+		editor.movePoint(point, 1.2, 0.9, 0.1);
+
+		assertEquals(1.2, point.xyz[0]);
+		assertEquals(4, editor.getDirtyCount());
+		int[] dirty = editor.takeDirtyFaces();
+		Arrays.sort(dirty);
+		assertArrayEquals(new int[] { 0, 1, 3, 4 }, dirty);
+		assertEquals(0, editor.getDirtyCount());
+		assertFalse(editor.isDirty(0));
+	}
+
+	/**
+	 * Testet Einfügen und Entfernen von Halbkanten: nur die bearbeitete Fläche
+	 * wird markiert, die Einstiegskante der Fläche wird beim Entfernen
+	 * weitergesetzt und Dreiecke werden nicht weiter verkleinert.
+	 */
+	@Test
+	@DisplayName("Test des Einfügens und Entfernens von Halbkanten")
+	public void testAddAndRemoveHalfEdge() {
+		Polyhedron grid = TestPolyhedra.grid(2);
+		PolyhedronEditor editor = new PolyhedronEditor(grid);
+		Face face = grid.getFaces().get(3);
+		HalfEdge entry = face.getHalfEdge();
+
+		HalfEdge added = new HalfEdge(new Point(1.5, 1, 0));
+		editor.addHalfEdgeAsNext(entry, added);
+		assertEquals(3, editor.faceOf(added));
+		assertArrayEquals(new int[] { 3 }, editor.takeDirtyFaces());
+
+		editor.removeHalfEdge(entry);
+		assertSame(added, face.getHalfEdge());
+		assertTrue(editor.isDirty(3));
+		assertThrows(IllegalArgumentException.class, () -> editor.faceOf(entry));
+
+		assertFalse(editor.removePointFromPolygon(added, new Point(9, 9, 9)));
+		assertTrue(editor.removePointFromPolygon(added, added.getNext().getOrg()));
+		assertEquals(3, face.getBoundaries().get(0).size());
+		assertThrows(IllegalArgumentException.class, () -> editor.removeHalfEdge(added));
+		assertEquals(1, editor.getDirtyCount());
+	}
+
+}
@@ -0,0 +1,33 @@
+package model;
+
+import io.MeshBuilder;
+
+/**
+ * Polyeder, die von Tests mehrerer Pakete gemeinsam verwendet werden.
+ */
+public final class TestPolyhedra {
+
+	private TestPolyhedra() {
+	}
+
+	/**
+	 * Erzeugt ein ebenes Gitter aus n x n Vierecken, Fläche {@code i * n + j}
+	 * liegt in Zeile i und Spalte j.
+	 */
+	public static Polyhedron grid(int n) {
+		MeshBuilder builder = new MeshBuilder();
+		for (int i = 0; i <= n; i++) {
+			for (int j = 0; j <= n; j++) {
+				builder.addVertex(j, i, 0);
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				int a = i * (n + 1) + j;
+				builder.addFace(new int[] { a, a + 1, a + n + 2, a + n + 1 }, 4);
+			}
+		}
+		return builder.build();
+	}
+
+}
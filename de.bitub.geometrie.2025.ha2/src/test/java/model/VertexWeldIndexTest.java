@@ -0,0 +1,152 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Testet das Zusammenführen naher Eckpunkte mit dem VertexWeldIndex.
+ */
+public class VertexWeldIndexTest {
+
+	/**
+	 * Testet, dass Punkte innerhalb der Toleranz auch über Zellgrenzen hinweg
+	 * zusammengeführt werden und weiter entfernte Punkte neu sind.
+	 */
+	@Test
+	@DisplayName("Test des Zusammenführens mit Toleranz")
+	public void testTolerance() {
+		VertexWeldIndex index = new VertexWeldIndex(1e-3);
+
+		// 0.002 liegt auf einer Zellgrenze (Zellbreite 0.002)
+		assertEquals(0, index.add(0.0019995, 1, -1));
+		assertEquals(0, index.add(0.0020005, 1.0009, -1.0009));
+		assertEquals(0, index.find(0.0029994, 1, -1));
+		assertEquals(-1, index.find(0.0030005, 1, -1));
+		assertEquals(1, index.add(0.0030005, 1, -1));
+		assertEquals(2, index.getCount());
+		assertEquals(0.0019995, index.get(0, 0));
+		assertEquals(0.0030005, index.get(1, 0));
+	}
+
+	/**
+	 * Testet, dass ein Abstand gleich der Toleranz wie bei
+	 * {@link Point#equals(Object)} nicht mehr zusammengeführt wird.
+	 */
+	@Test
+	@DisplayName("Test des Zusammenführens an der Toleranzgrenze")
+	public void testToleranceExclusive() {
+		VertexWeldIndex index = new VertexWeldIndex(VertexWeldIndex.DEFAULT_TOLERANCE);
+		Point p = new Point(0.25, 0.5, 1);
+		Point q = new Point(0.25 + VertexWeldIndex.DEFAULT_TOLERANCE, 0.5, 1);
+		double difference = q.xyz[0] - p.xyz[0];
+		VertexWeldIndex exact = new VertexWeldIndex(difference);
+
+		index.add(0.25, 0.5, 1);
+		exact.add(0.25, 0.5, 1);
+
+		assertEquals(p.equals(q) ? 0 : -1, index.find(q.xyz[0], 0.5, 1));
+		assertEquals(-1, exact.find(q.xyz[0], 0.5, 1));
+		assertEquals(0, exact.find(Math.nextDown(q.xyz[0]), 0.5, 1));
+	}
+
+	/**
+	 * Testet große Koordinaten, deren Zellnummer nicht in einen long passt: die
+	 * Suche endet, gleiche Punkte werden zusammengeführt und benachbarte Werte,
+	 * die weiter als die Toleranz auseinander liegen, bleiben getrennt.
+	 */
+	@Test
+	@Timeout(10)
+	@DisplayName("Test des Zusammenführens großer Koordinaten")
+	public void testLargeCoordinates() {
+		VertexWeldIndex index = new VertexWeldIndex();
+
+		assertEquals(0, index.add(5.8e9, 2, 3));
+		assertEquals(0, index.add(5.8e9, 2, 3));
+		assertEquals(1, index.add(Math.nextUp(5.8e9), 2, 3));
+		assertEquals(2, index.add(1e10, -1e10, 1e10));
+		assertEquals(2, index.find(1e10, -1e10, 1e10));
+		assertEquals(3, index.add(1e300, -1e300, 2));
+		assertEquals(3, index.add(1e300, -1e300, 2 + 0.5 * VertexWeldIndex.DEFAULT_TOLERANCE));
+		assertEquals(-1, index.find(Math.nextDown(1e300), -1e300, 2));
+		assertEquals(4, index.add(Double.MAX_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE));
+		assertEquals(5, index.getCount());
+
+		// eine große Toleranz lässt auch große Koordinaten im Raster
+		VertexWeldIndex coarse = new VertexWeldIndex(1);
+		assertEquals(0, coarse.add(1e10, 0, 0));
+		assertEquals(0, coarse.add(1e10 + 0.5, 0, 0));
+	}
+
+	/**
+	 * Testet, dass ohne Toleranz nur gleiche Koordinaten zusammengeführt werden,
+	 * wobei -0.0 und 0.0 gleich sind, und dass ungültige Toleranzen abgelehnt
+	 * werden.
+	 */
+	@Test
+	@DisplayName("Test des Zusammenführens ohne Toleranz")
+	public void testExact() {
+		VertexWeldIndex index = new VertexWeldIndex(0);
+
+		assertEquals(0, index.add(0, 0, 0));
+		assertEquals(0, index.add(-0.0, 0, -0.0));
+		assertEquals(1, index.add(Math.ulp(0.0), 0, 0));
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i + 2, index.add(i, 0.5 * i, 1));
+		}
+		assertEquals(502, index.find(500, 250, 1));
+		assertEquals(1002, index.getCount());
+
+		assertThrows(IllegalArgumentException.class, () -> new VertexWeldIndex(-1));
+		assertThrows(IllegalArgumentException.class, () -> new VertexWeldIndex(Double.NaN));
+	}
+
+	/**
+	 * Testet das Zusammenführen eines Würfels, dessen Flächen jeweils eigene,
+	 * leicht verrauschte Eckpunkte haben: danach teilen sich die Flächen 8 Punkte
+	 * und alle Halbkanten haben einen Zwilling.
+	 */
+	@Test
+	@DisplayName("Test des Zusammenführens der Punkte eines Polyeders")
+	public void testWeldPolyhedron() {
+		int[][] corners = { { 0, 3, 2, 1 }, { 4, 5, 6, 7 }, { 0, 1, 5, 4 }, { 1, 2, 6, 5 }, { 2, 3, 7, 6 },
+				{ 3, 0, 4, 7 } };
+		List<Face> faces = new ArrayList<>();
+		List<HalfEdge> halfEdges = new ArrayList<>();
+		for (int[] face : corners) {
+			List<Point> points = new ArrayList<>();
+			for (int c : face) {
+				double noise = 1e-12 * (faces.size() - 3);
+				points.add(new Point((c & 1 ^ c >> 1 & 1) + noise, (c >> 1 & 1) - noise, (c >> 2) + noise));
+			}
+			HalfEdge start = HalfEdgeUtil.buildPolygon(points);
+			faces.add(new Face(start));
+			HalfEdge current = start;
+			do {
+				halfEdges.add(current);
+				current = current.getNext();
+			} while (current != start);
+		}
+		Polyhedron cube = new Polyhedron(faces, halfEdges, new ArrayList<>());
+
+		assertEquals(0, cube.stitchFaces().getLinkedPairs());
+		assertEquals(16, cube.weldVertices(VertexWeldIndex.DEFAULT_TOLERANCE));
+
+		assertEquals(8, cube.getVertices().size());
+		assertEquals(12, cube.stitchFaces().getLinkedPairs());
+		for (HalfEdge he : halfEdges) {
+			assertSame(he, he.getTwin().getTwin());
+			assertTrue(cube.getVertices().stream().anyMatch(p -> p == he.getOrg()));
+		}
+		assertEquals(0, cube.weldVertices(VertexWeldIndex.DEFAULT_TOLERANCE));
+	}
+
+}
@@ -0,0 +1,149 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testet die Erzeugung der Oberfläche von Voxelgittern.
+ */
+public class VoxelGridTest {
+
+	/**
+	 * Prüft, dass jede Halbkante einen Zwilling in Gegenrichtung hat und jede
+	 * Fläche nach außen zeigt: hinter ihr liegt ein gesetzter Voxel, vor ihr
+	 * nicht. Das Gitter hat Kantenlänge 1 und Ursprung 0.
+	 */
+	private static void assertLinkedAndOutward(Polyhedron polyhedron, VoxelGrid grid) {
+		for (HalfEdge he : polyhedron.getHalfEdges()) {
+			HalfEdge twin = he.getTwin();
+			assertNotNull(twin, "Randkante " + he);
+			assertSame(he, twin.getTwin());
+			assertSame(he.getOrg(), twin.getNext().getOrg());
+			assertSame(he.getNext().getOrg(), twin.getOrg());
+		}
+		for (Face face : polyhedron.getFaces()) {
+			List<Point> ring = face.getBoundaries().get(0);
+			double[] a = ring.get(0).xyz, b = ring.get(1).xyz, c = ring.get(2).xyz;
+			double[] n = { (b[1] - a[1]) * (c[2] - a[2]) - (b[2] - a[2]) * (c[1] - a[1]),
+					(b[2] - a[2]) * (c[0] - a[0]) - (b[0] - a[0]) * (c[2] - a[2]),
+					(b[0] - a[0]) * (c[1] - a[1]) - (b[1] - a[1]) * (c[0] - a[0]) };
+			double[] center = new double[3];
+			for (Point p : ring) {
+				for (int i = 0; i < 3; i++) {
+					center[i] += p.xyz[i] / 4;
+				}
+			}
+			assertTrue(isSet(grid, center, n, -0.5), "Fläche ohne Voxel " + face);
+			assertTrue(!isSet(grid, center, n, 0.5), "Fläche zwischen Voxeln " + face);
+		}
+	}
+
+	private static boolean isSet(VoxelGrid grid, double[] center, double[] n, double t) {
+		return grid.isSet((int) Math.floor(center[0] + t * n[0]), (int) Math.floor(center[1] + t * n[1]),
+				(int) Math.floor(center[2] + t * n[2]));
+	}
+
+	/**
+	 * Testet einen vollen 3 x 3 x 3 Block: nur die 54 äußeren Flächen bleiben,
+	 * die 56 Punkte der Oberfläche werden geteilt und die Euler-Charakteristik
+	 * ist 2.
+	 */
+	@Test
+	@DisplayName("Test eines vollen Blocks")
+	public void testFilledBlock() {
+		VoxelGrid grid = new VoxelGrid(3, 3, 3);
+		grid.fill();
+		Polyhedron block = grid.toPolyhedron();
+
+		assertEquals(27, grid.getCount());
+		assertEquals(54, block.getFaces().size());
+		assertEquals(216, block.getHalfEdges().size());
+		assertEquals(56, block.getVertices().size());
+		assertEquals(2, block.getVertices().size() - block.getHalfEdges().size() / 2 + block.getFaces().size());
+		assertLinkedAndOutward(block, grid);
+	}
+
+	/**
+	 * Testet einen einzelnen Voxel mit Ursprung und Kantenlänge gegen den Würfel
+	 * aus Cube.
+	 */
+	@Test
+	@DisplayName("Test eines einzelnen Voxels")
+	public void testSingleVoxel() {
+		VoxelGrid grid = new VoxelGrid(2, 1, 1);
+		grid.set(1, 0, 0, true);
+		Polyhedron voxel = grid.toPolyhedron(new Point(-1, 0, 0), 1);
+		Polyhedron cube = Cube.createExampelCube().toPolyhedron();
+
+		assertEquals(cube.getVertices().size(), voxel.getVertices().size());
+		assertEquals(cube.getFaces().size(), voxel.getFaces().size());
+		for (Point p : cube.getVertices()) {
+			assertTrue(voxel.getVertices().contains(p), "Fehlender Punkt " + p);
+		}
+		assertLinkedAndOutward(grid.toPolyhedron(), grid);
+		assertThrows(IndexOutOfBoundsException.class, () -> grid.set(2, 0, 0, true));
+	}
+
+	/**
+	 * Testet einen Block mit Hohlraum und ausgeschnittener Ecke: die Zwillinge
+	 * stimmen mit denen aus Polyhedron.stitchFaces überein.
+	 */
+	@Test
+	@DisplayName("Test eines Blocks mit Hohlraum")
+	public void testCavity() {
+		VoxelGrid grid = new VoxelGrid(3, 3, 3);
+		grid.fill();
+		grid.set(1, 1, 1, false);
+		grid.set(2, 2, 2, false);
+		Polyhedron block = grid.toPolyhedron();
+
+		assertEquals(54 + 6, block.getFaces().size());
+		assertLinkedAndOutward(block, grid);
+		List<HalfEdge> twins = new ArrayList<>();
+		for (HalfEdge he : block.getHalfEdges()) {
+			twins.add(he.getTwin());
+		}
+		StitchReport<HalfEdge> report = block.stitchFaces();
+		assertTrue(report.isClosed() && report.isManifold());
+		for (int i = 0; i < twins.size(); i++) {
+			assertSame(twins.get(i), block.getHalfEdges().get(i).getTwin());
+		}
+	}
+
+	/**
+	 * Testet zufällige Gitter mit Voxeln, die sich nur an Kanten berühren: alle
+	 * Halbkanten sind verknüpft und das Ergebnis ist bei jedem Aufruf gleich.
+	 */
+	@Test
+	@DisplayName("Test zufälliger Gitter")
+	public void testRandom() {
+		Random random = new Random(7);
+		VoxelGrid grid = new VoxelGrid(9, 7, 11);
+		for (int k = 0; k < 11; k++) {
+			for (int j = 0; j < 7; j++) {
+				for (int i = 0; i < 9; i++) {
+					grid.set(i, j, k, random.nextBoolean());
+				}
+			}
+		}
+		Polyhedron first = grid.toPolyhedron();
+		Polyhedron second = grid.toPolyhedron();
+
+		assertLinkedAndOutward(first, grid);
+		assertEquals(first.getFaces().size(), second.getFaces().size());
+		for (int i = 0; i < first.getHalfEdges().size(); i++) {
+			assertEquals(first.getHalfEdges().get(i).getOrg(), second.getHalfEdges().get(i).getOrg());
+		}
+	}
+
+}
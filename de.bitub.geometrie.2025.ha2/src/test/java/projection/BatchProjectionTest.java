@@ -0,0 +1,95 @@
+package projection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testet die Projektion von Koordinaten-Arrays. Die Tests laufen mit
+ * {@code --add-modules jdk.incubator.vector} (argLine von Surefire in der
+ * pom.xml), sonst schlägt der Vergleich des vektorisierten mit dem skalaren
+ * Pfad fehl.
+ */
+public class BatchProjectionTest {
+
+	private static final double[] ORIGIN = { 1, 2, 3 };
+	private static final double[] BASIS_X = PolygonProjection.VectorUtils.normalize(new double[] { 1, 1, 0 });
+	private static final double[] BASIS_Y = PolygonProjection.VectorUtils.normalize(new double[] { -1, 1, 1 });
+
+	@Test
+	@DisplayName("Test, dass die Batch-Projektion der Projektion einzelner Punkte entspricht")
+	public void testMatchesProjectOnto() {
+		// ungerade Anzahl, damit auch der Rest nach der Vektorschleife geprüft wird
+		int count = 1001;
+		Random random = new Random(7);
+		double[] xs = new double[count], ys = new double[count], zs = new double[count];
+		double[] pool = new double[3 * count];
+		for (int i = 0; i < count; i++) {
+			xs[i] = pool[3 * i] = random.nextDouble() * 1e4 - 5e3;
+			ys[i] = pool[3 * i + 1] = random.nextDouble() * 1e4 - 5e3;
+			zs[i] = pool[3 * i + 2] = random.nextDouble() * 1e4 - 5e3;
+		}
+
+		double[] us = new double[count], vs = new double[count];
+		BatchProjection.project(xs, ys, zs, count, ORIGIN, BASIS_X, BASIS_Y, us, vs);
+
+		for (int i = 0; i < count; i++) {
+			// bitgleich, nicht nur innerhalb einer Toleranz
+			assertEquals(PolygonProjection.VectorUtils.projectOnto(pool, i, ORIGIN, BASIS_X), us[i], 0.0);
+			assertEquals(PolygonProjection.VectorUtils.projectOnto(pool, i, ORIGIN, BASIS_Y), vs[i], 0.0);
+		}
+	}
+
+	@Test
+	@DisplayName("Test, dass der vektorisierte und der skalare Pfad übereinstimmen")
+	public void testVectorizedEqualsScalar() {
+		assertTrue(BatchProjection.isVectorized(), "jdk.incubator.vector fehlt, es wird nur skalar gerechnet");
+		Random random = new Random(11);
+		// bis über zwei Vektorlängen hinaus, auch bei 512 Bit breiten Vektoren
+		for (int count = 0; count <= 19; count++) {
+			double[] xs = random.doubles(count).toArray();
+			double[] ys = random.doubles(count).toArray();
+			double[] zs = random.doubles(count).toArray();
+			double[] us = new double[count], vs = new double[count];
+			double[] scalarUs = new double[count], scalarVs = new double[count];
+
+			BatchProjection.project(xs, ys, zs, count, ORIGIN, BASIS_X, BASIS_Y, us, vs);
+			BatchProjection.projectScalar(xs, ys, zs, count, ORIGIN, BASIS_X, BASIS_Y, scalarUs, scalarVs);
+
+			assertArrayEquals(scalarUs, us, 0.0);
+			assertArrayEquals(scalarVs, vs, 0.0);
+		}
+	}
+
+	@Test
+	@DisplayName("Test, dass nur die ersten count Punkte projiziert werden")
+	public void testCount() {
+		double[] xs = { 2, 3, 4 }, ys = { 2, 3, 4 }, zs = { 3, 3, 3 };
+		double[] us = { -1, -1, -1 }, vs = { -1, -1, -1 };
+
+		BatchProjection.project(xs, ys, zs, 2, ORIGIN, BASIS_X, BASIS_Y, us, vs);
+
+		assertEquals(Math.sqrt(0.5), us[0], 1e-12);
+		assertEquals(-1 / Math.sqrt(3), vs[0], 1e-12);
+		assertEquals(-1, us[2]);
+		assertEquals(-1, vs[2]);
+	}
+
+	@Test
+	@DisplayName("Test für zu kurze Arrays")
+	public void testArrayTooShort() {
+		double[] three = new double[3], two = new double[2];
+
+		assertThrows(IndexOutOfBoundsException.class,
+				() -> BatchProjection.project(three, three, three, 3, ORIGIN, BASIS_X, BASIS_Y, three, two));
+		assertThrows(IndexOutOfBoundsException.class,
+				() -> BatchProjection.project(three, three, three, -1, ORIGIN, BASIS_X, BASIS_Y, three, three));
+	}
+
+}
@@ -2,6 +2,7 @@ package projection;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -187,4 +188,109 @@ public class PolygonProjectionTest {
 			PolygonProjection.projectTo2D(List.of(points), null);
 		});
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Testet die Rückabbildung der Dreiecksecken über den Index der projizierten
+	 * Punkte.
+	 */
+	@Test
+	@DisplayName("Test der indizierten Projektion mit Rückabbildung über den Index")
+	public void testIndexedProjection() {
+		List<Point> outerPolygon = List.of(new Point(0, 10, 0), new Point(10, 10, 0), new Point(10, 10, 5),
+				new Point(0, 10, 5));
+		List<Point> hole = List.of(new Point(1, 10, 1), new Point(1, 10, 4), new Point(8, 10, 4),
+				new Point(8, 10, 1));
+
+		ProjectionResult result = PolygonProjection.projectTo2D(List.of(outerPolygon, hole));
+
+		assertEquals(2, result.getRings().size());
+		assertEquals(8, result.getPoints3D().length);
+		for (int i = 0; i < 4; i++) {
+			assertSame(outerPolygon.get(i), result.getPoints3D()[i]);
+			assertSame(hole.get(i), result.getPoints3D()[4 + i]);
+			assertEquals(4 + i, ((IndexedPolygonPoint) result.getRings().get(1).get(i)).getIndex());
+		}
+
+		Polygon polygon = result.toPolygon();
+		Poly2Tri.triangulate(polygon);
+		assertEquals(8, polygon.getTriangles().size());
+		for (DelaunayTriangle triangle : polygon.getTriangles()) {
+			for (int i = 0; i < 3; i++) {
+				// 2D-Koordinaten gehören zum zurückgegebenen 3D-Punkt (Ebene y = 10)
+				Point p3d = result.get3DPoint(triangle.points[i]);
+				assertEquals(10, p3d.xyz[1], 1e-12);
+				assertEquals(Math.abs(triangle.points[i].getX()) + Math.abs(triangle.points[i].getY()),
+						p3d.xyz[0] + p3d.xyz[2], 1e-9);
+			}
+		}
+	}
+
+	/**
+	 * Testet die Projektion eines langen, schmalen und leicht verrauschten
+	 * Polygons, dessen erste Punkte fast kollinear sind.
+	 */
+	@Test
+	@DisplayName("Test der Projektion eines langen, fast kollinearen Polygons")
+	public void testProjectLongNearlyCollinearPolygon() {
+		// 1000 m langer, 0,5 m breiter Streifen in einer geneigten Ebene mit Rauschen
+		double[] u = { 0.6, 0.8, 0 };
+		double[] v = { 0, 0, 1 };
+		List<Point> strip = new ArrayList<>();
+		int n = 20_000;
+		for (int i = 0; i <= n; i++) {
+			strip.add(pointOnPlane(u, v, 1000.0 * i / n, 1e-9 * Math.sin(i)));
+		}
+		for (int i = n; i >= 0; i--) {
+			strip.add(pointOnPlane(u, v, 1000.0 * i / n, 0.5 + 1e-9 * Math.cos(i)));
+		}
+
+		List<List<PolygonPoint>> points2D = new ArrayList<>();
+		PolygonProjection.projectTo2D(List.of(strip), points2D);
+
+		List<PolygonPoint> ring = points2D.get(0);
+		assertEquals(strip.size(), ring.size());
+
+		// Abstände zum ersten Punkt bleiben erhalten
+		double[] first = strip.get(0).xyz;
+		for (int i = 0; i < ring.size(); i += 997) {
+			double[] p = strip.get(i).xyz;
+			double d3 = Math.sqrt(Math.pow(p[0] - first[0], 2) + Math.pow(p[1] - first[1], 2)
+					+ Math.pow(p[2] - first[2], 2));
+			double d2 = Math.hypot(ring.get(i).getX() - ring.get(0).getX(), ring.get(i).getY() - ring.get(0).getY());
+			assertEquals(d3, d2, 1e-6);
+		}
+
+		// Fläche 500 m² und gegen den Uhrzeigersinn orientiert
+		double area = 0;
+		for (int i = 0; i < ring.size(); i++) {
+			PolygonPoint a = ring.get(i);
+			PolygonPoint b = ring.get((i + 1) % ring.size());
+			area += a.getX() * b.getY() - b.getX() * a.getY();
+		}
+		assertEquals(500.0, area / 2, 1e-3);
+	}
+
+	/**
+	 * Testet ein Viereck mit Kanten von 10 µm, z. B. Millimeter-Geometrie in
+	 * Metern: die Prüfungen sind relativ zur Ausdehnung, nicht absolut.
+	 */
+	@Test
+	@DisplayName("Test der Projektion eines sehr kleinen Polygons")
+	public void testProjectTinyPolygon() {
+		double[] u = { 0.6, 0.8, 0 };
+		double[] v = { 0, 0, 1 };
+		List<Point> square = List.of(pointOnPlane(u, v, 0, 0), pointOnPlane(u, v, 1e-5, 0),
+				pointOnPlane(u, v, 1e-5, 1e-5), pointOnPlane(u, v, 0, 1e-5));
+
+		ProjectionResult result = PolygonProjection.projectTo2D(List.of(square));
+
+		List<PolygonPoint> ring = result.getRings().get(0);
+		assertEquals(1e-5, ring.get(1).getX(), 1e-12);
+		assertEquals(0, ring.get(1).getY(), 1e-12);
+		assertEquals(1e-5, ring.get(2).getY(), 1e-12);
+	}
+
+	private static Point pointOnPlane(double[] u, double[] v, double s, double t) {
+		return new Point(100 + s * u[0] + t * v[0], 200 + s * u[1] + t * v[1], 300 + s * u[2] + t * v[2]);
+	}
+}
@@ -1,6 +1,8 @@
 package projection;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -99,4 +101,38 @@ public class VectorUtilsTest {
 
 		assertEquals(0.0, result, DELTA);
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("Test der allokationsfreien subtract- und crossProduct-Methoden")
+	public void testOutParameterVariants() {
+		double[] out = new double[3];
+
+		double[] result = PolygonProjection.VectorUtils.subtract(new double[] { 3.0, 4.0, 5.0 },
+				new double[] { 1.0, 2.0, 3.0 }, out);
+		assertSame(out, result);
+		assertArrayEquals(new double[] { 2.0, 2.0, 2.0 }, out, DELTA);
+
+		// Ergebnisvektor darf gleichzeitig Eingabe sein
+		double[] v1 = { 2.0, 3.0, 4.0 };
+		PolygonProjection.VectorUtils.crossProduct(v1, new double[] { 5.0, 6.0, 7.0 }, v1);
+		assertArrayEquals(new double[] { -3.0, 6.0, -3.0 }, v1, DELTA);
+
+		double[] v = { 3.0, 0.0, 4.0 };
+		assertSame(v, PolygonProjection.VectorUtils.normalizeInPlace(v));
+		assertArrayEquals(new double[] { 0.6, 0.0, 0.8 }, v, DELTA);
+	}
+
+	@Test
+	@DisplayName("Test der Methoden für Koordinaten-Pools")
+	public void testPoolVariants() {
+		double[] pool = { 0.0, 0.0, 0.0, 3.0, 4.0, 5.0 };
+		double[] origin = { 1.0, 2.0, 3.0 };
+		double[] axis = { 0.0, 1.0, 0.0 };
+
+		assertArrayEquals(new double[] { 2.0, 2.0, 2.0 },
+				PolygonProjection.VectorUtils.subtract(pool, 1, origin, new double[3]), DELTA);
+		assertEquals(4.0, PolygonProjection.VectorUtils.dotProduct(pool, 1, axis), DELTA);
+		assertEquals(2.0, PolygonProjection.VectorUtils.projectOnto(pool, 1, origin, axis), DELTA);
+		assertEquals(-2.0, PolygonProjection.VectorUtils.projectOnto(pool, 0, origin, axis), DELTA);
+	}
+}
@@ -0,0 +1,245 @@
+package spatial;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import model.Cube;
+import model.Polyhedron;
+import triangulation.TriangleBuffer;
+
+/**
+ * Testet die Anfragen der FaceBVH gegen eine Brute-Force-Suche über alle
+ * Dreiecke.
+ */
+public class FaceBVHTest {
+
+	/**
+	 * Erzeugt zufällige kleine Dreiecke in einem Würfel der Kantenlänge 100; je
+	 * zwei Dreiecke bilden eine Fläche.
+	 */
+	private static TriangleBuffer randomTriangles(int count, long seed) {
+		Random random = new Random(seed);
+		double[] positions = new double[9 * count];
+		int[] indices = new int[3 * count];
+		int[] faceIds = new int[count];
+		for (int t = 0; t < count; t++) {
+			double cx = 100 * random.nextDouble(), cy = 100 * random.nextDouble(), cz = 100 * random.nextDouble();
+			for (int i = 0; i < 9; i++) {
+				positions[9 * t + i] = (i % 3 == 0 ? cx : i % 3 == 1 ? cy : cz) + 4 * random.nextDouble() - 2;
+			}
+			for (int c = 0; c < 3; c++) {
+				indices[3 * t + c] = 3 * t + c;
+			}
+			faceIds[t] = t / 2;
+		}
+		return new TriangleBuffer(positions, 3 * count, indices, faceIds, new int[0], 0);
+	}
+
+	/**
+	 * Testet Strahlanfragen gegen die Brute-Force-Suche, inklusive Strahlen, die
+	 * nichts treffen.
+	 */
+	@Test
+	@DisplayName("Test des Strahltests gegen Brute-Force")
+	public void testRaycast() {
+		TriangleBuffer buffer = randomTriangles(20000, 1);
+		FaceBVH bvh = FaceBVH.build(buffer);
+		Random random = new Random(2);
+		int hits = 0;
+		for (int i = 0; i < 500; i++) {
+			double ox = 100 * random.nextDouble(), oy = 100 * random.nextDouble(), oz = -10;
+			double dx = random.nextDouble() - 0.5, dy = random.nextDouble() - 0.5, dz = 1;
+			FaceHit hit = bvh.raycast(ox, oy, oz, dx, dy, dz, Double.POSITIVE_INFINITY);
+			double expected = bruteForceRay(buffer, ox, oy, oz, dx, dy, dz);
+			if (Double.isInfinite(expected)) {
+				assertNull(hit);
+			} else {
+				hits++;
+				assertNotNull(hit);
+				assertEquals(expected, hit.getDistance(), 1e-9);
+				assertEquals(buffer.getFaceIds()[hit.getTriangle()], hit.getFace());
+				assertEquals(ox + hit.getDistance() * dx, hit.getX(), 1e-9);
+				assertEquals(oz + hit.getDistance() * dz, hit.getZ(), 1e-9);
+			}
+		}
+		// die meisten Strahlen treffen bei dieser Dichte ein Dreieck
+		assertEquals(true, hits > 250);
+
+		// ein kurzer Strahl erreicht nichts
+		assertNull(bvh.raycast(50, 50, -10, 0, 0, 1, 5));
+	}
+
+	/**
+	 * Testet die Suche nach der nächsten Fläche gegen die Brute-Force-Suche.
+	 */
+	@Test
+	@DisplayName("Test der Suche nach der nächsten Fläche")
+	public void testNearest() {
+		TriangleBuffer buffer = randomTriangles(5000, 3);
+		FaceBVH bvh = FaceBVH.build(buffer);
+		Random random = new Random(4);
+		for (int i = 0; i < 300; i++) {
+			double x = 120 * random.nextDouble() - 10, y = 120 * random.nextDouble() - 10,
+					z = 120 * random.nextDouble() - 10;
+			FaceHit hit = bvh.nearest(x, y, z, Double.POSITIVE_INFINITY);
+			assertEquals(bruteForceNearest(buffer, x, y, z), hit.getDistance(), 1e-9);
+		}
+		assertNull(bvh.nearest(-1000, 0, 0, 10));
+	}
+
+	/**
+	 * Testet alle Anfragen an einem Netz ohne Dreiecke.
+	 */
+	@Test
+	@DisplayName("Test eines leeren Netzes")
+	public void testEmptyMesh() {
+		FaceBVH bvh = FaceBVH.build(new Polyhedron(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
+
+		assertEquals(0, bvh.getTriangleCount());
+		assertNull(bvh.raycast(0, 0, -10, 0, 0, 1, Double.POSITIVE_INFINITY));
+		assertNull(bvh.nearest(0, 0, 0, Double.POSITIVE_INFINITY));
+		assertEquals(0, bvh.overlappingFaces(new double[] { -1, -1, -1 }, new double[] { 1, 1, 1 }).length);
+	}
+
+	/**
+	 * Testet die Anfrage mit einem Quader am Beispielwürfel: der Quader um die
+	 * untere Ecke berührt drei Flächen.
+	 */
+	@Test
+	@DisplayName("Test der Quader-Anfrage am Würfel")
+	public void testOverlapCube() {
+		FaceBVH bvh = FaceBVH.build(Cube.createExampelCube().toPolyhedron());
+
+		int[] faces = bvh.overlappingFaces(new double[] { -0.1, -0.1, -0.1 }, new double[] { 0.1, 0.1, 0.1 });
+		assertArrayEquals(new int[] { 0, 2, 5 }, faces);
+
+		// ein Quader im Inneren berührt keine Fläche
+		assertEquals(0, bvh.overlappingFaces(new double[] { 0.2, 0.2, 0.2 }, new double[] { 0.8, 0.8, 0.8 }).length);
+	}
+
+	/**
+	 * Testet Quader-Anfragen und die Unabhängigkeit des Baums von der Anzahl der
+	 * Threads.
+	 */
+	@Test
+	@DisplayName("Test der Quader-Anfrage und des parallelen Aufbaus")
+	public void testOverlapAndParallelBuild() {
+		TriangleBuffer buffer = randomTriangles(20000, 5);
+		FaceBVH parallel = FaceBVH.build(buffer, new ForkJoinPool(4));
+		FaceBVH sequential = FaceBVH.build(buffer, new ForkJoinPool(1));
+		assertEquals(sequential.getNodeCount(), parallel.getNodeCount());
+
+		double[] min = { 40, 40, 40 }, max = { 55, 50, 60 };
+		TreeSet<Integer> found = new TreeSet<>();
+		parallel.overlap(min, max, found::add);
+		TreeSet<Integer> expected = new TreeSet<>();
+		sequential.overlap(min, max, expected::add);
+		assertEquals(expected, found);
+
+		// jedes Dreieck mit einer Ecke im Quader muss gefunden werden
+		double[] p = buffer.getPositions();
+		for (int t = 0; t < buffer.getTriangleCount(); t++) {
+			for (int c = 0; c < 3; c++) {
+				int v = 3 * (3 * t + c);
+				if (p[v] >= min[0] && p[v] <= max[0] && p[v + 1] >= min[1] && p[v + 1] <= max[1] && p[v + 2] >= min[2]
+						&& p[v + 2] <= max[2]) {
+					assertEquals(true, found.contains(t), "Dreieck " + t);
+				}
+			}
+		}
+		// und jedes gefundene Dreieck muss den Quader zumindest mit seiner Hülle schneiden
+		for (int t : found) {
+			for (int axis = 0; axis < 3; axis++) {
+				double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+				for (int c = 0; c < 3; c++) {
+					lo = Math.min(lo, p[9 * t + 3 * c + axis]);
+					hi = Math.max(hi, p[9 * t + 3 * c + axis]);
+				}
+				assertEquals(true, lo <= max[axis] && hi >= min[axis]);
+			}
+		}
+	}
+
+	private static double bruteForceRay(TriangleBuffer buffer, double ox, double oy, double oz, double dx, double dy,
+			double dz) {
+		double[] p = buffer.getPositions();
+		double best = Double.POSITIVE_INFINITY;
+		for (int t = 0; t < buffer.getTriangleCount(); t++) {
+			int k = 9 * t;
+			double[] e1 = { p[k + 3] - p[k], p[k + 4] - p[k + 1], p[k + 5] - p[k + 2] };
+			double[] e2 = { p[k + 6] - p[k], p[k + 7] - p[k + 1], p[k + 8] - p[k + 2] };
+			double[] d = { dx, dy, dz };
+			double[] h = cross(d, e2);
+			double det = dot(e1, h);
+			if (det == 0) {
+				continue;
+			}
+			double[] s = { ox - p[k], oy - p[k + 1], oz - p[k + 2] };
+			double u = dot(s, h) / det;
+			double[] q = cross(s, e1);
+			double v = dot(d, q) / det;
+			double t2 = dot(e2, q) / det;
+			if (u >= 0 && v >= 0 && u + v <= 1 && t2 >= 0) {
+				best = Math.min(best, t2);
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Nächster Abstand über alle Dreiecke: Abstand zur Ebene, falls der Lotfußpunkt
+	 * im Dreieck liegt, sonst der kleinste Abstand zu den drei Kanten.
+	 */
+	private static double bruteForceNearest(TriangleBuffer buffer, double x, double y, double z) {
+		double[] p = buffer.getPositions();
+		double[] q = { x, y, z };
+		double best = Double.POSITIVE_INFINITY;
+		for (int t = 0; t < buffer.getTriangleCount(); t++) {
+			double[] a = { p[9 * t], p[9 * t + 1], p[9 * t + 2] };
+			double[] b = { p[9 * t + 3], p[9 * t + 4], p[9 * t + 5] };
+			double[] c = { p[9 * t + 6], p[9 * t + 7], p[9 * t + 8] };
+			double[] n = cross(sub(b, a), sub(c, a));
+			double len = Math.sqrt(dot(n, n));
+			double dist = dot(sub(q, a), n) / len;
+			double[] foot = { x - dist * n[0] / len, y - dist * n[1] / len, z - dist * n[2] / len };
+			boolean inside = dot(cross(sub(b, a), sub(foot, a)), n) >= 0 && dot(cross(sub(c, b), sub(foot, b)), n) >= 0
+					&& dot(cross(sub(a, c), sub(foot, c)), n) >= 0;
+			if (inside) {
+				best = Math.min(best, Math.abs(dist));
+			} else {
+				best = Math.min(best, Math.min(segment(q, a, b), Math.min(segment(q, b, c), segment(q, c, a))));
+			}
+		}
+		return best;
+	}
+
+	private static double segment(double[] q, double[] a, double[] b) {
+		double[] ab = sub(b, a);
+		double s = Math.max(0, Math.min(1, dot(sub(q, a), ab) / dot(ab, ab)));
+		double[] d = sub(q, new double[] { a[0] + s * ab[0], a[1] + s * ab[1], a[2] + s * ab[2] });
+		return Math.sqrt(dot(d, d));
+	}
+
+	private static double[] sub(double[] a, double[] b) {
+		return new double[] { a[0] - b[0], a[1] - b[1], a[2] - b[2] };
+	}
+
+	private static double[] cross(double[] a, double[] b) {
+		return new double[] { a[1] * b[2] - a[2] * b[1], a[2] * b[0] - a[0] * b[2], a[0] * b[1] - a[1] * b[0] };
+	}
+
+	private static double dot(double[] a, double[] b) {
+		return a[0] * b[0] + a[1] * b[1] + a[2] * b[2];
+	}
+
+}
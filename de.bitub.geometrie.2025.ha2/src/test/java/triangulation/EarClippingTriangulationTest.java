@@ -0,0 +1,147 @@
+package triangulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import model.Point;
+
+/**
+ * Testet den Ear-Clipping-Schnellpfad und die Übergabe an poly2tri.
+ */
+public class EarClippingTriangulationTest {
+
+	/**
+	 * Merkt sich, ob eine Fläche an die Rückfallstrategie übergeben wurde.
+	 */
+	private static class RecordingTriangulation extends triangulation {
+		List<List<Point>> last;
+
+		@Override
+		public int[] triangulate(List<List<Point>> boundaries) {
+			last = boundaries;
+			return NO_TRIANGLES;
+		}
+	}
+
+	/**
+	 * Testet, dass ein konvexes Viereck als Fächer um den ersten Punkt zerlegt
+	 * wird.
+	 */
+	@Test
+	@DisplayName("Test der Fächertriangulation eines konvexen Vierecks")
+	public void testConvexFan() {
+		RecordingTriangulation fallback = new RecordingTriangulation();
+		List<List<Point>> face = ring(0, 0, 1, 0, 1, 1, 0, 1);
+
+		int[] corners = new EarClippingTriangulation(fallback).triangulate(face);
+
+		assertArrayEquals(new int[] { 0, 1, 2, 0, 2, 3 }, corners);
+		assertNull(fallback.last);
+	}
+
+	/**
+	 * Testet ein L-förmiges, nicht konvexes Sechseck: 4 Dreiecke, die zusammen die
+	 * Fläche 3 haben und alle die Orientierung der Fläche behalten.
+	 */
+	@Test
+	@DisplayName("Test des Ear-Clippings eines L-förmigen Polygons")
+	public void testConcaveFace() {
+		RecordingTriangulation fallback = new RecordingTriangulation();
+		List<List<Point>> face = ring(0, 0, 2, 0, 2, 1, 1, 1, 1, 2, 0, 2);
+
+		int[] corners = new EarClippingTriangulation(fallback).triangulate(face);
+
+		assertEquals(12, corners.length);
+		assertNull(fallback.last);
+		double total = 0;
+		for (int t = 0; t < corners.length; t += 3) {
+			double area = area(face.get(0), corners[t], corners[t + 1], corners[t + 2]);
+			assertTrue(area > 0, "Dreieck " + t / 3 + " ist falsch orientiert");
+			total += area;
+		}
+		assertEquals(3, total, 1e-12);
+	}
+
+	/**
+	 * Testet, dass Punkte auf einer Kante keine Dreiecke ohne Fläche erzeugen.
+	 */
+	@Test
+	@DisplayName("Test eines Polygons mit kollinearen Punkten")
+	public void testCollinearPoints() {
+		List<List<Point>> face = ring(0, 0, 1, 0, 2, 0, 2, 1, 0, 1);
+
+		int[] corners = new EarClippingTriangulation(new RecordingTriangulation()).triangulate(face);
+
+		double total = 0;
+		for (int t = 0; t < corners.length; t += 3) {
+			double area = area(face.get(0), corners[t], corners[t + 1], corners[t + 2]);
+			assertTrue(area > 0, "Dreieck " + t / 3 + " ist entartet");
+			total += area;
+		}
+		assertEquals(2, total, 1e-12);
+	}
+
+	/**
+	 * Testet, dass Flächen mit Löchern an die Rückfallstrategie gehen und
+	 * entartete Flächen leer bleiben.
+	 */
+	@Test
+	@DisplayName("Test der Rückfallstrategie und entarteter Flächen")
+	public void testFallbackAndDegenerate() {
+		RecordingTriangulation fallback = new RecordingTriangulation();
+		EarClippingTriangulation strategy = new EarClippingTriangulation(fallback);
+
+		List<List<Point>> withHole = ring(0, 0, 4, 0, 4, 4, 0, 4);
+		withHole.addAll(ring(1, 1, 1, 2, 2, 2, 2, 1));
+		strategy.triangulate(withHole);
+		assertSame(withHole, fallback.last);
+
+		fallback.last = null;
+		assertEquals(0, strategy.triangulate(ring(0, 0, 1, 1, 2, 2)).length);
+		assertNull(fallback.last);
+	}
+
+	/**
+	 * Testet die Standardstrategie mit poly2tri als Rückfall für eine Fläche mit
+	 * Loch.
+	 */
+	@Test
+	@DisplayName("Test der Standardstrategie für eine Fläche mit Loch")
+	public void testDefaultStrategyWithHole() {
+		List<List<Point>> withHole = ring(0, 0, 4, 0, 4, 4, 0, 4);
+		withHole.addAll(ring(1, 1, 1, 2, 2, 2, 2, 1));
+
+		int[] corners = TriangulationService.defaultStrategy().triangulate(withHole);
+
+		// 8 Punkte, ein Loch: 8 + 2 * 1 - 2 = 8 Dreiecke
+		assertEquals(24, corners.length);
+	}
+
+	/**
+	 * Erzeugt einen Ring in der Ebene z = 0 aus x/y-Paaren.
+	 */
+	private static List<List<Point>> ring(double... xy) {
+		List<Point> ring = new ArrayList<>();
+		for (int i = 0; i < xy.length; i += 2) {
+			ring.add(new Point(xy[i], xy[i + 1], 0));
+		}
+		List<List<Point>> boundaries = new ArrayList<>();
+		boundaries.add(ring);
+		return boundaries;
+	}
+
+	private static double area(List<Point> ring, int a, int b, int c) {
+		double[] p = ring.get(a).xyz, q = ring.get(b).xyz, r = ring.get(c).xyz;
+		return ((q[0] - p[0]) * (r[1] - p[1]) - (q[1] - p[1]) * (r[0] - p[0])) / 2;
+	}
+
+}
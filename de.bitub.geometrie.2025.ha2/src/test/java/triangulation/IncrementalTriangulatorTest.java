@@ -0,0 +1,159 @@
+package triangulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import model.Face;
+import model.HalfEdge;
+import model.Point;
+import model.Polyhedron;
+import model.PolyhedronEditor;
+import model.TestPolyhedra;
+
+/**
+ * Testet die inkrementelle Triangulation bearbeiteter Polyeder.
+ */
+public class IncrementalTriangulatorTest {
+
+	/**
+	 * Beschreibt die Dreiecke jeder Fläche durch ihre Koordinaten, unabhängig von
+	 * der Nummerierung der Eckpunkte.
+	 */
+	private static List<String> triangles(TriangleBuffer buffer) {
+		List<String> result = new ArrayList<>();
+		double[] p = buffer.getPositions();
+		int[] indices = buffer.getIndices();
+		for (int t = 0; t < buffer.getTriangleCount(); t++) {
+			StringBuilder s = new StringBuilder("f" + buffer.getFaceIds()[t]);
+			for (int c = 0; c < 3; c++) {
+				int v = indices[3 * t + c];
+				s.append(" (").append(p[3 * v]).append(", ").append(p[3 * v + 1]).append(", ").append(p[3 * v + 2])
+						.append(")");
+			}
+			result.add(s.toString());
+		}
+		return result;
+	}
+
+	private static void assertSameAsFull(Polyhedron polyhedron, IncrementalTriangulator triangulator) {
+		TriangleBuffer full = new TriangulationService().triangulate(polyhedron);
+		assertEquals(triangles(full), triangles(triangulator.toTriangleBuffer()));
+	}
+
+	/**
+	 * Testet, dass die erste Triangulation der vollständigen entspricht und nichts
+	 * als geändert gemeldet wird.
+	 */
+	@Test
+	@DisplayName("Test der ersten Triangulation")
+	public void testInitial() {
+		Polyhedron grid = TestPolyhedra.grid(4);
+		IncrementalTriangulator triangulator = new IncrementalTriangulator(new PolyhedronEditor(grid));
+
+		assertEquals(32, triangulator.getSlotCount());
+		assertEquals(25, triangulator.getVertexCount());
+		assertEquals(0, triangulator.getDirtySlotTo() - triangulator.getDirtySlotFrom());
+		assertSameAsFull(grid, triangulator);
+	}
+
+	/**
+	 * Testet, dass nach dem Verschieben eines Punkts nur die angrenzenden Flächen
+	 * neu trianguliert und nur ihre Bereiche als geändert gemeldet werden.
+	 */
+	@Test
+	@DisplayName("Test der Aktualisierung nach dem Verschieben eines Punkts")
+	public void testMovePoint() {
+		Polyhedron grid = TestPolyhedra.grid(4);
+		PolyhedronEditor editor = new PolyhedronEditor(grid);
+		IncrementalTriangulator triangulator = new IncrementalTriangulator(editor);
+		// Punkt (3, 3) gehört zu den Flächen 10, 11, 14 und 15
+		Point point = grid.getFaces().get(15).getHalfEdge().getOrg();
+		editor.movePoint(point, point.xyz[0] + 0.2, point.xyz[1] - 0.1, 0.3);
+
+		assertEquals(4, triangulator.update());
+
+		assertTrue(triangulator.getDirtySlotFrom() >= triangulator.getFaceSlotStart(10));
+		assertEquals(triangulator.getFaceSlotStart(15) + 2, triangulator.getDirtySlotTo());
+		assertTrue(triangulator.getDirtyVertexFrom() < triangulator.getDirtyVertexTo());
+		assertFalse(triangulator.isResized());
+		assertSameAsFull(grid, triangulator);
+
+		triangulator.clearDirty();
+		assertEquals(0, triangulator.update());
+		assertEquals(0, triangulator.getDirtySlotTo() - triangulator.getDirtySlotFrom());
+	}
+
+	/**
+	 * Testet, dass eine Fläche mit mehr Dreiecken ans Ende verschoben wird, ihre
+	 * alten Plätze zu entarteten Dreiecken werden und kleinere Flächen an ihrem
+	 * Platz bleiben.
+	 */
+	@Test
+	@DisplayName("Test der Aktualisierung nach Einfügen und Entfernen von Punkten")
+	public void testGrowAndShrink() {
+		Polyhedron grid = TestPolyhedra.grid(3);
+		PolyhedronEditor editor = new PolyhedronEditor(grid);
+		IncrementalTriangulator triangulator = new IncrementalTriangulator(editor);
+		Face face = grid.getFaces().get(4);
+		HalfEdge entry = face.getHalfEdge();
+		Point org = entry.getOrg(), dest = entry.getNext().getOrg();
+		int oldStart = triangulator.getFaceSlotStart(4);
+
+		editor.addHalfEdgeAsNext(entry, new HalfEdge(
+				new Point((org.xyz[0] + dest.xyz[0]) / 2, (org.xyz[1] + dest.xyz[1]) / 2, 0)));
+		assertEquals(1, triangulator.update());
+
+		assertTrue(triangulator.isResized());
+		assertEquals(3, triangulator.getFaceTriangleCount(4));
+		assertEquals(18, triangulator.getFaceSlotStart(4));
+		assertEquals(-1, triangulator.getFace(oldStart));
+		assertEquals(-1, triangulator.getFace(oldStart + 1));
+		assertEquals(17, triangulator.getVertexCount());
+		assertSameAsFull(grid, triangulator);
+		triangulator.clearDirty();
+
+		// zurück zum Viereck: die Fläche bleibt am neuen Platz
+		editor.removePointFromPolygon(entry, entry.getNext().getOrg());
+		triangulator.update();
+		assertFalse(triangulator.isResized());
+		assertEquals(18, triangulator.getFaceSlotStart(4));
+		assertEquals(2, triangulator.getFaceTriangleCount(4));
+		assertEquals(-1, triangulator.getFace(20));
+		assertSameAsFull(grid, triangulator);
+	}
+
+	/**
+	 * Testet, dass die Nummern entfernter Punkte wiederverwendet werden und die
+	 * Eckpunkte bei wiederholtem Einfügen und Entfernen nicht wachsen.
+	 */
+	@Test
+	@DisplayName("Test der Wiederverwendung von Eckpunkten entfernter Punkte")
+	public void testReuseVertices() {
+		Polyhedron grid = TestPolyhedra.grid(3);
+		PolyhedronEditor editor = new PolyhedronEditor(grid);
+		IncrementalTriangulator triangulator = new IncrementalTriangulator(editor);
+		HalfEdge entry = grid.getFaces().get(4).getHalfEdge();
+
+		for (int i = 0; i < 100; i++) {
+			Point org = entry.getOrg(), dest = entry.getNext().getOrg();
+			editor.addHalfEdgeAsNext(entry, new HalfEdge(
+					new Point((org.xyz[0] + dest.xyz[0]) / 2, (org.xyz[1] + dest.xyz[1]) / 2, 0)));
+			triangulator.update();
+			assertEquals(17, triangulator.getUsedVertexCount());
+			editor.removePointFromPolygon(entry, entry.getNext().getOrg());
+			triangulator.update();
+			assertEquals(16, triangulator.getUsedVertexCount());
+		}
+
+		assertEquals(17, triangulator.getVertexCount());
+		assertSameAsFull(grid, triangulator);
+	}
+
+}
@@ -0,0 +1,145 @@
+package triangulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import model.Cube;
+import model.Face;
+import model.HalfEdgeUtil;
+import model.Point;
+import model.Polyhedron;
+
+/**
+ * Testet die parallele Triangulation ganzer Polyeder mit dem
+ * TriangulationService.
+ */
+public class TriangulationServiceTest {
+
+	/**
+	 * Testet die Triangulation des Beispielwürfels: 6 Vierecke ergeben 12 Dreiecke
+	 * über 8 gemeinsamen Eckpunkten, jeweils mit der Orientierung der Fläche.
+	 */
+	@Test
+	@DisplayName("Test der Triangulation eines Würfels")
+	public void testTriangulateCube() {
+		Polyhedron cube = Cube.createExampelCube().toPolyhedron();
+
+		TriangleBuffer buffer = new TriangulationService().triangulate(cube);
+
+		assertEquals(12, buffer.getTriangleCount());
+		assertEquals(8, buffer.getVertexCount());
+		assertEquals(6, buffer.getFaceCount());
+		assertEquals(0, buffer.getFailedFaceCount());
+		for (int f = 0; f < 6; f++) {
+			assertEquals(2 * f, buffer.getFaceTriangleStart(f));
+			assertEquals(f, buffer.getFaceIds()[2 * f]);
+			assertEquals(f, buffer.getFaceIds()[2 * f + 1]);
+		}
+
+		// Alle Dreiecksnormalen zeigen aus dem Würfel heraus
+		double[] pos = buffer.getPositions();
+		int[] idx = buffer.getIndices();
+		for (int t = 0; t < buffer.getTriangleCount(); t++) {
+			double[] a = vertex(pos, idx[3 * t]);
+			double[] b = vertex(pos, idx[3 * t + 1]);
+			double[] c = vertex(pos, idx[3 * t + 2]);
+			double[] n = cross(sub(b, a), sub(c, a));
+			double[] center = { (a[0] + b[0] + c[0]) / 3 - 0.5, (a[1] + b[1] + c[1]) / 3 - 0.5,
+					(a[2] + b[2] + c[2]) / 3 - 0.5 };
+			assertTrue(n[0] * center[0] + n[1] * center[1] + n[2] * center[2] > 0, "Dreieck " + t + " zeigt nach innen");
+		}
+	}
+
+	/**
+	 * Testet eine Fläche mit Loch und eine entartete Fläche, die übersprungen
+	 * wird.
+	 */
+	@Test
+	@DisplayName("Test der Triangulation einer Fläche mit Loch und einer entarteten Fläche")
+	public void testFaceWithHoleAndDegenerateFace() {
+		Face withHole = new Face(
+				HalfEdgeUtil.buildPolygon(List.of(new Point(0, 10, 0), new Point(10, 10, 0), new Point(10, 10, 5),
+						new Point(0, 10, 5))),
+				List.of(HalfEdgeUtil.buildPolygon(List.of(new Point(1, 10, 1), new Point(1, 10, 4),
+						new Point(8, 10, 4), new Point(8, 10, 1)))));
+		Face line = new Face(
+				HalfEdgeUtil.buildPolygon(List.of(new Point(0, 0, 0), new Point(1, 1, 1), new Point(2, 2, 2))));
+
+		TriangleBuffer buffer = new TriangulationService().triangulate(List.of(withHole, line));
+
+		// Viereck mit viereckigem Loch: 8 Punkte, 8 Dreiecke
+		assertEquals(8, buffer.getTriangleCount());
+		assertEquals(8, buffer.getVertexCount());
+		assertEquals(1, buffer.getFailedFaceCount());
+		assertEquals(8, buffer.getFaceTriangleStart(1));
+		assertEquals(8, buffer.getFaceTriangleStart(2));
+	}
+
+	/**
+	 * Testet, dass das Ergebnis nicht von der Anzahl der Threads abhängt.
+	 */
+	@Test
+	@DisplayName("Test des Determinismus bei unterschiedlicher Parallelität")
+	public void testDeterministicAcrossPools() {
+		List<Face> faces = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			faces.addAll(new Cube(new Point(i, 0, 0), 1).toPolyhedron().getFaces());
+		}
+
+		TriangleBuffer single = new TriangulationService(new ForkJoinPool(1)).triangulate(faces);
+		TriangleBuffer parallel = new TriangulationService(new ForkJoinPool(4)).triangulate(faces);
+
+		assertEquals(3600, single.getTriangleCount());
+		assertArrayEquals(single.getIndices(), parallel.getIndices());
+		assertArrayEquals(single.getFaceIds(), parallel.getFaceIds());
+		assertArrayEquals(single.getPositions(), parallel.getPositions());
+	}
+
+	/**
+	 * Testet den Cache: verschobene Würfel bestehen aus nur 6 verschiedenen
+	 * Flächen, das Ergebnis entspricht dem ungecachten.
+	 */
+	@Test
+	@DisplayName("Test der Triangulation mit Cache für wiederholte Flächen")
+	public void testCachedTriangulation() {
+		List<Face> faces = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			faces.addAll(new Cube(new Point(3 * i, -i, 2 * i), 1).toPolyhedron().getFaces());
+		}
+		TriangulationCache cache = new TriangulationCache(1 << 20);
+
+		TriangleBuffer cached = new TriangulationService(new ForkJoinPool(1), cache).triangulate(faces);
+		TriangleBuffer uncached = new TriangulationService(new ForkJoinPool(1)).triangulate(faces);
+
+		assertEquals(6, cache.getMisses());
+		assertEquals(594, cache.getHits());
+		assertEquals(6, cache.size());
+		assertArrayEquals(uncached.getIndices(), cached.getIndices());
+
+		// Ein sehr kleiner Cache verdrängt die ältesten Einträge
+		TriangulationCache small = new TriangulationCache(1);
+		new TriangulationService(new ForkJoinPool(1), small).triangulate(faces);
+		assertEquals(0, small.size());
+		assertEquals(600, small.getEvictions());
+	}
+
+	private static double[] vertex(double[] pool, int v) {
+		return new double[] { pool[3 * v], pool[3 * v + 1], pool[3 * v + 2] };
+	}
+
+	private static double[] sub(double[] a, double[] b) {
+		return new double[] { a[0] - b[0], a[1] - b[1], a[2] - b[2] };
+	}
+
+	private static double[] cross(double[] a, double[] b) {
+		return new double[] { a[1] * b[2] - a[2] * b[1], a[2] * b[0] - a[0] * b[2], a[0] * b[1] - a[1] * b[0] };
+	}
+}